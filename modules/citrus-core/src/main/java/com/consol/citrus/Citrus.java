@@ -101,6 +101,7 @@ public final class Citrus {
     /** Default variable names */
     public static final String TEST_NAME_VARIABLE = "citrus.test.name";
     public static final String TEST_PACKAGE_VARIABLE = "citrus.test.package";
+    public static final String TEST_INVOCATION_ID_VARIABLE = "citrus.test.invocation.id";
 
     /** File encoding system property */
     public static final String CITRUS_FILE_ENCODING_PROPERTY = "citrus.file.encoding";
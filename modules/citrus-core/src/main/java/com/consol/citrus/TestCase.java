@@ -68,6 +68,9 @@ public class TestCase extends AbstractActionContainer implements BeanNameAware {
     /** The result of this test case */
     private TestResult testResult;
 
+    /** Unique id of this test case instance, distinguishes parallel invocations of the same test */
+    private final String invocationId = UUID.randomUUID().toString();
+
     /** Marks this test case as test runner instance that grows in size step by step as test actions are executed */
     private boolean testRunner = false;
 
@@ -111,6 +114,7 @@ public class TestCase extends AbstractActionContainer implements BeanNameAware {
             // add default variables for test
             context.setVariable(Citrus.TEST_NAME_VARIABLE, getName());
             context.setVariable(Citrus.TEST_PACKAGE_VARIABLE, getPackageName());
+            context.setVariable(Citrus.TEST_INVOCATION_ID_VARIABLE, getInvocationId());
 
             for (Entry<String, Object> paramEntry : parameters.entrySet()) {
                 if (log.isDebugEnabled()) {
@@ -366,6 +370,14 @@ public class TestCase extends AbstractActionContainer implements BeanNameAware {
         return packageName;
     }
 
+    /**
+     * Gets the unique invocation id of this test case instance.
+     * @return
+     */
+    public String getInvocationId() {
+        return invocationId;
+    }
+
     /**
      * Set the test class type.
      * @param type
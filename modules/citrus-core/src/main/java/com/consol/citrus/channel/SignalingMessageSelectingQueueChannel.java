@@ -0,0 +1,170 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.channel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.integration.core.MessageSelector;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Message selecting queue channel that does not poll the queue with a fixed interval when waiting
+ * for a message to arrive. Instead consumers register their message selector as waiter on the channel and
+ * get signaled as soon as a producer sends a matching message. Waiting selectors are only evaluated on newly arrived
+ * messages so the queue is scanned exactly once per receive operation.
+ *
+ * Polling interval setting inherited from parent class is ignored by this channel implementation.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public class SignalingMessageSelectingQueueChannel extends MessageSelectingQueueChannel {
+
+    /** Logger */
+    private static final Logger RETRY_LOG = LoggerFactory.getLogger("com.consol.citrus.RetryLogger");
+
+    /** Blocking in memory message store */
+    private final BlockingQueue<Message<?>> queue;
+
+    /** Lock guarding waiter registration and message dispatching */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Waiting consumers in order of registration */
+    private final List<SelectorWaiter> waiters = new LinkedList<>();
+
+    /**
+     * Create a channel with the specified queue.
+     */
+    public SignalingMessageSelectingQueueChannel(BlockingQueue<Message<?>> queue) {
+        super(queue);
+
+        this.queue = queue;
+    }
+
+    /**
+     * Create a channel with the specified queue capacity.
+     */
+    public SignalingMessageSelectingQueueChannel(int capacity) {
+        this(new LinkedBlockingQueue<Message<?>>(capacity));
+
+        Assert.isTrue(capacity > 0, "The capacity must be a positive integer. " +
+                "For a zero-capacity alternative, consider using a 'RendezvousChannel'.");
+    }
+
+    /**
+     * Default constructor.
+     */
+    public SignalingMessageSelectingQueueChannel() {
+        this(new LinkedBlockingQueue<Message<?>>());
+    }
+
+    @Override
+    protected boolean doSend(Message<?> message, long timeout) {
+        if (!super.doSend(message, timeout)) {
+            return false;
+        }
+
+        lock.lock();
+        try {
+            Iterator<SelectorWaiter> it = waiters.iterator();
+            while (it.hasNext()) {
+                SelectorWaiter waiter = it.next();
+                if (waiter.selector.accept(message)) {
+                    if (queue.remove(message)) {
+                        it.remove();
+                        waiter.message = message;
+                        waiter.condition.signal();
+                    }
+
+                    break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * Consume messages on the channel via message selector. Initially scans all messages
+     * on the queue. When no message is accepted by the selector the consumer waits to get signaled by producers
+     * sending a new matching message. Returns null when timeout is exceeded.
+     *
+     * @param selector
+     * @param timeout
+     * @return
+     */
+    @Override
+    public Message<?> receive(MessageSelector selector, long timeout) {
+        lock.lock();
+        try {
+            Message<?> message = receive(selector);
+
+            if (message != null || timeout <= 0) {
+                return message;
+            }
+
+            SelectorWaiter waiter = new SelectorWaiter(selector, lock.newCondition());
+            waiters.add(waiter);
+
+            try {
+                long nanosLeft = TimeUnit.MILLISECONDS.toNanos(timeout);
+                while (waiter.message == null && nanosLeft > 0) {
+                    nanosLeft = waiter.condition.awaitNanos(nanosLeft);
+                }
+            } catch (InterruptedException e) {
+                RETRY_LOG.warn("Thread interrupted while waiting for message", e);
+                Thread.currentThread().interrupt();
+            } finally {
+                waiters.remove(waiter);
+            }
+
+            if (waiter.message == null && RETRY_LOG.isDebugEnabled()) {
+                RETRY_LOG.debug("No message received with message selector within " + timeout + "ms");
+            }
+
+            return waiter.message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Consumer waiting for a message accepted by its selector.
+     */
+    private static class SelectorWaiter {
+        private final MessageSelector selector;
+        private final Condition condition;
+        private Message<?> message;
+
+        SelectorWaiter(MessageSelector selector, Condition condition) {
+            this.selector = selector;
+            this.condition = condition;
+        }
+    }
+}
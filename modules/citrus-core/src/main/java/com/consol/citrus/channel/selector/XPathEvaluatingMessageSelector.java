@@ -15,6 +15,7 @@
  */
 package com.consol.citrus.channel.selector;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.XMLUtils;
 import com.consol.citrus.xml.namespace.NamespaceContextBuilder;
 import com.consol.citrus.xml.xpath.XPathUtils;
@@ -22,11 +23,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
 import org.springframework.integration.core.MessageSelector;
-import org.springframework.xml.xpath.XPathExpressionFactory;
-import org.springframework.xml.xpath.XPathParseException;
+import org.springframework.xml.namespace.SimpleNamespaceContext;
 import org.w3c.dom.Document;
 import org.w3c.dom.ls.LSException;
 
+import javax.xml.xpath.XPathConstants;
+
 import java.util.Map;
 
 /**
@@ -89,17 +91,18 @@ public class XPathEvaluatingMessageSelector implements MessageSelector {
             // add default namespace mappings
             namespaces.putAll(nsContextBuilder.getNamespaceMappings());
             
+            SimpleNamespaceContext namespaceContext = new SimpleNamespaceContext();
             if (XPathUtils.hasDynamicNamespaces(expression)) {
                 namespaces.putAll(XPathUtils.getDynamicNamespaces(expression));
-                return XPathExpressionFactory.createXPathExpression(XPathUtils.replaceDynamicNamespaces(expression, namespaces), namespaces)
-                        .evaluateAsString(doc).equals(control);
+                namespaceContext.setBindings(namespaces);
+                return XPathUtils.evaluateExpression(doc, XPathUtils.replaceDynamicNamespaces(expression, namespaces), namespaceContext, XPathConstants.STRING)
+                        .equals(control);
             } else {
-                return XPathExpressionFactory.createXPathExpression(expression, namespaces)
-                        .evaluateAsString(doc).equals(control);
+                namespaceContext.setBindings(namespaces);
+                return XPathUtils.evaluateExpression(doc, expression, namespaceContext, XPathConstants.STRING)
+                        .equals(control);
             }
-            
-            
-        } catch (XPathParseException e) {
+        } catch (CitrusRuntimeException e) {
             log.warn("Could not evaluate XPath expression for message selector - ignoring message (" + e.getClass().getName() + ")");
             return false; // wrong XML message - not accepted
         }
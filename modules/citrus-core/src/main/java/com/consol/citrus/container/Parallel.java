@@ -23,22 +23,43 @@ import com.consol.citrus.exceptions.ParallelContainerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Test action will execute nested actions in parallel. Each action is executed in a
- * separate thread. Container joins all threads and waiting for them to end successfully.
+ * Test action will execute nested actions in parallel. Actions are executed on a shared executor
+ * service. Container waits for all actions to end successfully.
+ *
+ * By default all nested actions run at the same time. Max concurrency limits the number of actions running at the same time,
+ * remaining actions are executed as soon as a running action has finished. Fail fast mode cancels all running and pending actions
+ * as soon as the first action fails.
+ *
+ * Default executor uses virtual threads when supported by the JVM. Otherwise a shared thread pool is used. The pool
+ * reuses idle threads and creates new threads as needed so actions never wait for a free thread. Nested parallel containers
+ * and actions depending on each other therefore always run at the same time.
  * 
  * @author Christoph Deppisch
  */
 public class Parallel extends AbstractActionContainer {
 
-    /** Store created threads in stack */
-    private Stack<Thread> threads = new Stack<Thread>();
+    /** System property enabling/disabling virtual threads on JVMs supporting them */
+    public static final String VIRTUAL_THREADS_PROPERTY = "citrus.parallel.virtual.threads";
+
+    /** Shared default executor */
+    private static ExecutorService defaultExecutor;
+
+    /** Max number of actions running at the same time - zero or negative means all actions */
+    private int maxConcurrency = 0;
+
+    /** Cancel running and pending actions on first failure */
+    private boolean failFast = false;
+
+    /** Optional custom executor service */
+    private ExecutorService executorService;
 
-    /** Collect exceptions in list */
-    private List<CitrusRuntimeException> exceptions = new ArrayList<CitrusRuntimeException>();
-    
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(Parallel.class);
 
@@ -51,79 +72,302 @@ public class Parallel extends AbstractActionContainer {
 
     @Override
     public void doExecute(TestContext context) {
-        for (final TestAction action : actions) {
-            Thread t = new Thread(new ActionRunner(action, context) {
+        ExecutorService executor = executorService != null ? executorService : getDefaultExecutor();
+
+        final Queue<TestAction> pending = new ConcurrentLinkedQueue<>(actions);
+        final List<CitrusRuntimeException> exceptions = new ArrayList<>();
+        final List<ActionRunner> runners = new ArrayList<>();
+        final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        int workers = maxConcurrency > 0 ? Math.min(maxConcurrency, actions.size()) : actions.size();
+        final CountDownLatch finished = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            runners.add(new ActionRunner(pending, cancelled, context, finished) {
                 @Override
-                public void exceptionCallback(CitrusRuntimeException e) {
-                    if (exceptions.isEmpty()) {
-                        setLastExecutedAction(action);
+                public void exceptionCallback(TestAction action, CitrusRuntimeException e) {
+                    synchronized (exceptions) {
+                        if (failFast && cancelled.get()) {
+                            log.debug("Ignoring error of parallel test action after parallel container has been cancelled");
+                            return;
+                        }
+
+                        if (exceptions.isEmpty()) {
+                            setLastExecutedAction(action);
+                        }
+
+                        exceptions.add(e);
+                    }
+
+                    if (failFast && cancelled.compareAndSet(false, true)) {
+                        cancel(runners, futures);
                     }
-                    
-                    exceptions.add(e);
                 }
             });
+        }
 
-            threads.push(t);
-            t.start();
+        try {
+            for (ActionRunner runner : runners) {
+                if (cancelled.get()) {
+                    break;
+                }
+
+                futures.add(executor.submit(runner));
+            }
+        } catch (RejectedExecutionException e) {
+            cancelled.set(true);
+            cancel(runners, futures);
+            awaitRunners(finished);
+            throw new CitrusRuntimeException("Failed to execute parallel test actions", e);
+        }
+
+        if (cancelled.get()) {
+            cancel(runners, futures);
+        }
+
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            log.error("Interrupted while waiting for parallel test actions", e);
+            cancelled.set(true);
+            cancel(runners, futures);
+            awaitRunners(finished);
+            Thread.currentThread().interrupt();
         }
 
-        while (!threads.isEmpty()) {
+        for (Future<?> future : futures) {
+            if (future.isCancelled()) {
+                log.debug("Parallel test action has been cancelled");
+                continue;
+            }
+
             try {
-                threads.pop().join();
+                future.get();
             } catch (InterruptedException e) {
-                log.error("Unable to join thread", e);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                synchronized (exceptions) {
+                    exceptions.add(new CitrusRuntimeException(e.getCause()));
+                }
             }
         }
-        
-        if (!exceptions.isEmpty()) {
-            if (exceptions.size() == 1) {
-                throw exceptions.get(0);
-            } else {
-                throw new ParallelContainerException(exceptions);
+
+        synchronized (exceptions) {
+            if (!exceptions.isEmpty()) {
+                if (exceptions.size() == 1) {
+                    throw exceptions.get(0);
+                } else {
+                    throw new ParallelContainerException(new ArrayList<>(exceptions));
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels all runners. Runners that have not started yet never run, running actions get interrupted.
+     * @param runners
+     * @param futures
+     */
+    private void cancel(List<ActionRunner> runners, List<Future<?>> futures) {
+        for (ActionRunner runner : runners) {
+            runner.skip();
+        }
+
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Waits for all runners to exit after cancellation so interrupted actions do not overlap with
+     * subsequent test actions. Interrupts are deferred until all runners have exited.
+     * @param finished
+     */
+    private void awaitRunners(CountDownLatch finished) {
+        boolean interrupted = false;
+        while (finished.getCount() > 0) {
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the shared default executor service. Executor is created on first usage.
+     * @return
+     */
+    public static synchronized ExecutorService getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            defaultExecutor = createDefaultExecutor();
+        }
+
+        return defaultExecutor;
+    }
+
+    /**
+     * Creates executor using virtual threads if supported by the JVM, otherwise uses
+     * a shared thread pool growing on demand. Idle pooled threads are released after 60 seconds.
+     * @return
+     */
+    private static ExecutorService createDefaultExecutor() {
+        if (Boolean.valueOf(System.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.TRUE.toString()))) {
+            try {
+                Method virtualThreadExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                log.debug("Using virtual threads for parallel test actions");
+                return (ExecutorService) virtualThreadExecutor.invoke(null);
+            } catch (NoSuchMethodException e) {
+                log.debug("Virtual threads not supported - using thread pool for parallel test actions");
+            } catch (Exception e) {
+                log.warn("Failed to create virtual thread executor - using thread pool for parallel test actions", e);
             }
         }
+
+        final ThreadFactory threadFactory = new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "citrus-parallel-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), threadFactory);
+    }
+
+    /**
+     * Gets the max concurrency.
+     * @return
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the max number of actions running at the same time.
+     * @param maxConcurrency
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Gets the fail fast mode.
+     * @return
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * Sets the fail fast mode.
+     * @param failFast
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
     }
 
     /**
-     * Runnable wrapper for executing an action in separate Thread.
+     * Gets the custom executor service.
+     * @return
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Sets custom executor service to use instead of shared default executor.
+     * @param executorService
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Runnable executing pending actions one after another until all actions are done or
+     * container has been cancelled.
      */
     private abstract static class ActionRunner implements Runnable {
-        /** Test action to execute */
-        private TestAction action;
+        /** Pending test actions */
+        private final Queue<TestAction> pending;
+
+        /** Cancel flag */
+        private final AtomicBoolean cancelled;
         
         /** Test context */
-        private TestContext context;
+        private final TestContext context;
+
+        /** Counted down when runner has exited or has been skipped before it started */
+        private final CountDownLatch finished;
+
+        /** Runner has either started or has been skipped */
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
         
-        public ActionRunner(TestAction action, TestContext context) {
-            this.action = action;
+        public ActionRunner(Queue<TestAction> pending, AtomicBoolean cancelled, TestContext context, CountDownLatch finished) {
+            this.pending = pending;
+            this.cancelled = cancelled;
             this.context = context;
+            this.finished = finished;
         }
 
         /**
-         * Run the test action
+         * Run the test actions
          */
         public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+
             try {
-                action.execute(context);
-            } catch (CitrusRuntimeException e) {
-                log.error("Parallel test action raised error", e);
-                exceptionCallback(e);
-            } catch (RuntimeException e) {
-                log.error("Parallel test action raised error", e);
-                exceptionCallback(new CitrusRuntimeException(e));
-            } catch (Exception e) {
-                log.error("Parallel test action raised error", e);
-                exceptionCallback(new CitrusRuntimeException(e));
-            } catch (AssertionError e) {
-                log.error("Parallel test action raised error", e);
-                exceptionCallback(new CitrusRuntimeException(e));
+                runActions();
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        /**
+         * Skips this runner in case it has not started yet.
+         */
+        public void skip() {
+            if (claimed.compareAndSet(false, true)) {
+                finished.countDown();
+            }
+        }
+
+        private void runActions() {
+            TestAction action;
+            while (!cancelled.get() && (action = pending.poll()) != null) {
+                try {
+                    action.execute(context);
+                } catch (CitrusRuntimeException e) {
+                    log.error("Parallel test action raised error", e);
+                    exceptionCallback(action, e);
+                } catch (RuntimeException e) {
+                    log.error("Parallel test action raised error", e);
+                    exceptionCallback(action, new CitrusRuntimeException(e));
+                } catch (Exception e) {
+                    log.error("Parallel test action raised error", e);
+                    exceptionCallback(action, new CitrusRuntimeException(e));
+                } catch (AssertionError e) {
+                    log.error("Parallel test action raised error", e);
+                    exceptionCallback(action, new CitrusRuntimeException(e));
+                }
             }
         }
         
         /**
          * Callback for exception tracking.
+         * @param action
          * @param exception
          */
-        public abstract void exceptionCallback(CitrusRuntimeException exception);
+        public abstract void exceptionCallback(TestAction action, CitrusRuntimeException exception);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import com.consol.citrus.Citrus;
+import com.consol.citrus.exceptions.NoSuchVariableException;
+import com.consol.citrus.functions.FunctionUtils;
+import com.consol.citrus.variable.VariableUtils;
+
+import java.util.*;
+
+/**
+ * String template compiled to literal, variable and function nodes in a single pass. Compiled templates are immutable
+ * and can be evaluated against any test context without scanning the source string again.
+ *
+ * Evaluation produces the same result as replacing variables with {@link VariableUtils} and functions with
+ * {@link FunctionUtils} afterwards. Variable values and function results are dynamic, so whenever they introduce new function
+ * expressions or change the parenthesis structure of a function call the template falls back to this two step replacement
+ * on the source string. Templates that can not be compiled safely, for instance because of unterminated function
+ * expressions, always use the fallback.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public final class DynamicContentTemplate {
+
+    /** Source string */
+    private final String source;
+
+    /** Function library prefixes this template was compiled with */
+    private final List<String> prefixes;
+
+    /** Compiled nodes - null if template always uses the fallback */
+    private final Node[] nodes;
+
+    /** Max length of function library prefixes */
+    private final int maxPrefixLength;
+
+    /**
+     * Constructor using fields.
+     * @param source
+     * @param prefixes
+     * @param nodes
+     */
+    private DynamicContentTemplate(String source, List<String> prefixes, Node[] nodes) {
+        this.source = source;
+        this.prefixes = prefixes;
+        this.nodes = nodes;
+
+        int max = 0;
+        for (String prefix : prefixes) {
+            max = Math.max(max, prefix.length());
+        }
+        this.maxPrefixLength = max;
+    }
+
+    /**
+     * Compiles source string with given function library prefixes.
+     * @param source
+     * @param prefixes
+     * @return
+     */
+    public static DynamicContentTemplate compile(String source, List<String> prefixes) {
+        return new DynamicContentTemplate(source, prefixes, parse(source, prefixes));
+    }
+
+    /**
+     * Creates template for static source string without any variable or function expression. Source is not parsed
+     * and evaluation returns the source string as is.
+     * @param source
+     * @param prefixes
+     * @return
+     */
+    static DynamicContentTemplate literal(String source, List<String> prefixes) {
+        return new DynamicContentTemplate(source, prefixes, new Node[] { new Literal(source) });
+    }
+
+    /**
+     * Checks if source string has any variable or function expression.
+     * @param source
+     * @param prefixes
+     * @return
+     */
+    public static boolean isDynamic(String source, List<String> prefixes) {
+        if (source.contains(Citrus.VARIABLE_PREFIX)) {
+            return true;
+        }
+
+        for (String prefix : prefixes) {
+            if (source.contains(prefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Evaluates template with test context replacing all variables and functions.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    public String evaluate(TestContext context, boolean enableQuoting) {
+        if (nodes == null) {
+            return replaceInSource(context, enableQuoting);
+        }
+
+        if (nodes.length == 1 && nodes[0] instanceof Literal) {
+            return ((Literal) nodes[0]).text;
+        }
+
+        String[] values = new String[nodes.length];
+
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] instanceof Literal) {
+                values[i] = ((Literal) nodes[i]).text;
+            } else if (nodes[i] instanceof Function) {
+                values[i] = ((Function) nodes[i]).expression;
+            }
+        }
+
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] instanceof Variable) {
+                String variableName = ((Variable) nodes[i]).name;
+                String value = context.getVariable(variableName);
+                if (value == null) {
+                    throw new NoSuchVariableException("Variable: " + variableName + " could not be found");
+                }
+
+                values[i] = enableQuoting ? "'" + value + "'" : value;
+            }
+        }
+
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] instanceof Variable && containsPrefix(values, i)) {
+                return replaceInSource(context, enableQuoting);
+            }
+        }
+
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] instanceof Function) {
+                Function function = (Function) nodes[i];
+
+                String value;
+                if (function.hasVariables) {
+                    String expression = VariableUtils.replaceVariablesInString(function.expression, context, enableQuoting);
+                    if (findFunctionEnd(expression, 0) != expression.length() - 1) {
+                        return replaceInSource(context, enableQuoting);
+                    }
+
+                    value = FunctionUtils.replaceFunctionsInString(expression, context, enableQuoting);
+                } else {
+                    value = FunctionUtils.resolveFunction(function.expression, context);
+                    value = enableQuoting ? "'" + value + "'" : value;
+                }
+
+                values[i] = value;
+            }
+        }
+
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] instanceof Function && containsPrefix(values, i)) {
+                return replaceInSource(context, enableQuoting);
+            }
+        }
+
+        int length = 0;
+        for (String value : values) {
+            length += value.length();
+        }
+
+        StringBuilder result = new StringBuilder(length);
+        for (String value : values) {
+            result.append(value);
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Replaces variables and functions in source string with two separate passes.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    private String replaceInSource(TestContext context, boolean enableQuoting) {
+        String result = VariableUtils.replaceVariablesInString(source, context, enableQuoting);
+        return FunctionUtils.replaceFunctionsInString(result, context, enableQuoting);
+    }
+
+    /**
+     * Checks if value at given index creates a function library prefix on its own or in combination with
+     * the surrounding values.
+     * @param values
+     * @param index
+     * @return
+     */
+    private boolean containsPrefix(String[] values, int index) {
+        int context = maxPrefixLength - 1;
+
+        // function library prefixes end with ':' so any new prefix needs a colon in value or in following characters
+        boolean colon = values[index].indexOf(':') >= 0;
+        for (int i = index + 1, remaining = context; !colon && i < values.length && remaining > 0; i++) {
+            String following = values[i].length() > remaining ? values[i].substring(0, remaining) : values[i];
+            colon = following.indexOf(':') >= 0;
+            remaining -= following.length();
+        }
+
+        if (!colon) {
+            return false;
+        }
+
+        StringBuilder leading = new StringBuilder();
+        for (int i = index - 1; i >= 0 && leading.length() < context; i--) {
+            leading.insert(0, values[i].substring(Math.max(0, values[i].length() - (context - leading.length()))));
+        }
+
+        StringBuilder trailing = new StringBuilder();
+        for (int i = index + 1; i < values.length && trailing.length() < context; i++) {
+            trailing.append(values[i].substring(0, Math.min(values[i].length(), context - trailing.length())));
+        }
+
+        int start = leading.length();
+        int end = start + values[index].length();
+        String window = leading.toString() + values[index] + trailing.toString();
+
+        for (String prefix : prefixes) {
+            int occurrence = window.indexOf(prefix);
+            while (occurrence != -1) {
+                if (occurrence < end && occurrence + prefix.length() > start) {
+                    return true;
+                }
+
+                occurrence = window.indexOf(prefix, occurrence + 1);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Parses source string to template nodes. Returns null in case source can not be compiled safely.
+     * @param source
+     * @param prefixes
+     * @return
+     */
+    private static Node[] parse(String source, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (prefix.indexOf(':') != prefix.length() - 1) {
+                return null;
+            }
+
+            for (String other : prefixes) {
+                if (prefix != other && other.contains(prefix)) {
+                    return null;
+                }
+            }
+        }
+
+        List<Node> nodes = new ArrayList<>();
+
+        // variable expressions are located the same way as done in VariableUtils
+        List<int[]> variableRanges = new ArrayList<>();
+        List<String> variableNames = new ArrayList<>();
+
+        int startIndex = 0;
+        int searchIndex;
+        while ((searchIndex = source.indexOf(Citrus.VARIABLE_PREFIX, startIndex)) != -1) {
+            int control = 0;
+            int curIndex = searchIndex + Citrus.VARIABLE_PREFIX.length();
+            int nameEnd = -1;
+
+            while (curIndex < source.length() && nameEnd < 0) {
+                if (source.startsWith(Citrus.VARIABLE_PREFIX, curIndex)) {
+                    control++;
+                }
+
+                if ((!Character.isJavaIdentifierPart(source.charAt(curIndex)) && (source.charAt(curIndex) == Citrus.VARIABLE_SUFFIX.charAt(0))) || (curIndex + 1 == source.length())) {
+                    if (control == 0) {
+                        nameEnd = curIndex;
+                    } else {
+                        control--;
+                    }
+                }
+
+                ++curIndex;
+            }
+
+            variableRanges.add(new int[] { searchIndex, curIndex });
+            variableNames.add(source.substring(searchIndex + Citrus.VARIABLE_PREFIX.length(), nameEnd < 0 ? curIndex : nameEnd));
+            startIndex = curIndex;
+        }
+
+        // next occurrence of each function library prefix
+        int[] occurrences = new int[prefixes.size()];
+        for (int i = 0; i < prefixes.size(); i++) {
+            occurrences[i] = source.indexOf(prefixes.get(i));
+        }
+
+        int position = 0;
+        int variableIndex = 0;
+        while (position < source.length()) {
+            int literalEnd = variableIndex < variableRanges.size() ? variableRanges.get(variableIndex)[0] : source.length();
+
+            int functionStart = -1;
+            String functionPrefix = null;
+            for (int i = 0; i < prefixes.size(); i++) {
+                if (occurrences[i] != -1 && occurrences[i] < position) {
+                    occurrences[i] = source.indexOf(prefixes.get(i), position);
+                }
+
+                if (occurrences[i] != -1 && occurrences[i] < literalEnd && (functionStart < 0 || occurrences[i] < functionStart)) {
+                    functionStart = occurrences[i];
+                    functionPrefix = prefixes.get(i);
+                }
+            }
+
+            if (functionStart < 0 || functionStart + functionPrefix.length() > literalEnd) {
+                if (functionStart >= 0) {
+                    return null;
+                }
+
+                if (literalEnd > position) {
+                    nodes.add(new Literal(source.substring(position, literalEnd)));
+                }
+
+                if (variableIndex < variableRanges.size()) {
+                    nodes.add(new Variable(variableNames.get(variableIndex)));
+                    position = variableRanges.get(variableIndex)[1];
+                    variableIndex++;
+                } else {
+                    position = source.length();
+                }
+
+                continue;
+            }
+
+            int functionEnd = findFunctionEnd(source, functionStart);
+            if (functionEnd < 0) {
+                return null;
+            }
+
+            boolean hasVariables = false;
+            while (variableIndex < variableRanges.size() && variableRanges.get(variableIndex)[0] < functionEnd) {
+                if (variableRanges.get(variableIndex)[1] > functionEnd) {
+                    return null;
+                }
+
+                hasVariables = true;
+                variableIndex++;
+            }
+
+            String expression = source.substring(functionStart, functionEnd + 1);
+            for (String prefix : prefixes) {
+                if (!prefix.equals(functionPrefix) && expression.contains(prefix)) {
+                    return null;
+                }
+            }
+
+            if (functionStart > position) {
+                nodes.add(new Literal(source.substring(position, functionStart)));
+            }
+
+            nodes.add(new Function(expression, hasVariables));
+            position = functionEnd + 1;
+        }
+
+        return nodes.toArray(new Node[nodes.size()]);
+    }
+
+    /**
+     * Finds closing parenthesis of function expression starting at given index the same way as done in {@link FunctionUtils}.
+     * Returns -1 in case function expression is not terminated properly.
+     * @param str
+     * @param startIndex
+     * @return
+     */
+    private static int findFunctionEnd(String str, int startIndex) {
+        int control = -1;
+
+        for (int curIndex = startIndex; curIndex < str.length(); curIndex++) {
+            if (str.charAt(curIndex) == '(') {
+                control++;
+            }
+
+            if (str.charAt(curIndex) == ')' || curIndex == str.length() - 1) {
+                if (control == 0) {
+                    return str.charAt(curIndex) == ')' ? curIndex : -1;
+                } else {
+                    control--;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the source string.
+     * @return
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the function library prefixes this template was compiled with.
+     * @return
+     */
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * Checks if template was compiled or uses fallback replacement on source string.
+     * @return
+     */
+    public boolean isCompiled() {
+        return nodes != null;
+    }
+
+    /**
+     * Template node marker.
+     */
+    private interface Node {
+    }
+
+    /**
+     * Static text.
+     */
+    private static final class Literal implements Node {
+        private final String text;
+
+        private Literal(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * Variable place holder.
+     */
+    private static final class Variable implements Node {
+        private final String name;
+
+        private Variable(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Function expression with optional variable place holders in its parameters.
+     */
+    private static final class Function implements Node {
+        private final String expression;
+        private final boolean hasVariables;
+
+        private Function(String expression, boolean hasVariables) {
+            this.expression = expression;
+            this.hasVariables = hasVariables;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import com.consol.citrus.functions.FunctionLibrary;
+import com.consol.citrus.functions.FunctionRegistry;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded least recently used cache of compiled dynamic content templates. Cache key is the template source string. Templates
+ * compiled with a different set of function library prefixes are compiled again. Compiled templates are immutable so cache
+ * is shared across all test contexts and threads.
+ *
+ * Static strings without any variable or function expression are neither compiled nor cached. Cache is bounded by the number
+ * of templates and by the total length of cached source strings. Large message payloads are cached as long as they fit into
+ * the total length, so memory held by the cache is roughly twice the max total length in chars. When a bound is exceeded the
+ * least recently used templates are evicted. Lookups are lock free, only adding templates is synchronized.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public class DynamicContentTemplateCache {
+
+    /** System property defining max number of cached templates */
+    public static final String MAX_SIZE_PROPERTY = "citrus.dynamic.content.cache.size";
+    public static final int DEFAULT_MAX_SIZE = Integer.valueOf(System.getProperty(MAX_SIZE_PROPERTY, "1000"));
+
+    /** System property defining max total length of cached template source strings */
+    public static final String MAX_TOTAL_LENGTH_PROPERTY = "citrus.dynamic.content.cache.max.total.length";
+    public static final long DEFAULT_MAX_TOTAL_LENGTH = Long.valueOf(System.getProperty(MAX_TOTAL_LENGTH_PROPERTY, String.valueOf(16 * 1024 * 1024)));
+
+    /** Max number of cached templates - zero disables caching */
+    private final int maxSize;
+
+    /** Max total length of cached source strings */
+    private final long maxTotalLength;
+
+    /** Compiled templates */
+    private final ConcurrentMap<String, CachedTemplate> templates = new ConcurrentHashMap<>();
+
+    /** Lock guarding additions and evictions */
+    private final Object evictionLock = new Object();
+
+    /** Total length of cached source strings - guarded by eviction lock */
+    private long totalLength = 0L;
+
+    /** Access clock for least recently used eviction */
+    private final AtomicLong accessClock = new AtomicLong();
+
+    /** Cache metrics */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor using max size and default max total length.
+     * @param maxSize
+     */
+    public DynamicContentTemplateCache(int maxSize) {
+        this(maxSize, DEFAULT_MAX_TOTAL_LENGTH);
+    }
+
+    /**
+     * Constructor using fields.
+     * @param maxSize
+     * @param maxTotalLength
+     */
+    public DynamicContentTemplateCache(int maxSize, long maxTotalLength) {
+        this.maxSize = maxSize;
+        this.maxTotalLength = maxTotalLength;
+    }
+
+    /**
+     * Gets compiled template for source string using function libraries of given registry.
+     * @param source
+     * @param functionRegistry
+     * @return
+     */
+    public DynamicContentTemplate getTemplate(String source, FunctionRegistry functionRegistry) {
+        List<String> prefixes = new ArrayList<>(functionRegistry.getFunctionLibraries().size());
+        for (FunctionLibrary library : functionRegistry.getFunctionLibraries()) {
+            prefixes.add(library.getPrefix());
+        }
+
+        return getTemplate(source, prefixes);
+    }
+
+    /**
+     * Gets compiled template for source string and function library prefixes. Static strings without any
+     * variable or function expression are neither compiled nor cached. Source strings longer than the max total
+     * length are compiled but never cached.
+     * @param source
+     * @param prefixes
+     * @return
+     */
+    public DynamicContentTemplate getTemplate(String source, List<String> prefixes) {
+        if (!DynamicContentTemplate.isDynamic(source, prefixes)) {
+            return DynamicContentTemplate.literal(source, prefixes);
+        }
+
+        if (maxSize <= 0 || source.length() > maxTotalLength) {
+            return DynamicContentTemplate.compile(source, prefixes);
+        }
+
+        CachedTemplate cached = templates.get(source);
+        if (cached != null && cached.template.getPrefixes().equals(prefixes)) {
+            cached.lastAccess = accessClock.incrementAndGet();
+            hits.incrementAndGet();
+            return cached.template;
+        }
+
+        misses.incrementAndGet();
+        DynamicContentTemplate template = DynamicContentTemplate.compile(source, prefixes);
+        add(source, template);
+
+        return template;
+    }
+
+    /**
+     * Adds template to the cache and evicts least recently used templates as long as the cache exceeds its bounds.
+     * @param source
+     * @param template
+     */
+    private void add(String source, DynamicContentTemplate template) {
+        synchronized (evictionLock) {
+            if (templates.put(source, new CachedTemplate(template, accessClock.incrementAndGet())) == null) {
+                totalLength += source.length();
+            }
+
+            while (templates.size() > maxSize || totalLength > maxTotalLength) {
+                evictLeastRecentlyUsed();
+            }
+        }
+    }
+
+    /**
+     * Removes least recently used template from the cache. Must be called with eviction lock held.
+     */
+    private void evictLeastRecentlyUsed() {
+        Map.Entry<String, CachedTemplate> eldest = null;
+        for (Map.Entry<String, CachedTemplate> entry : templates.entrySet()) {
+            if (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess) {
+                eldest = entry;
+            }
+        }
+
+        if (eldest != null && templates.remove(eldest.getKey()) != null) {
+            totalLength -= eldest.getKey().length();
+        }
+    }
+
+    /**
+     * Removes all cached templates and resets metrics.
+     */
+    public void clear() {
+        synchronized (evictionLock) {
+            templates.clear();
+            totalLength = 0L;
+        }
+
+        hits.set(0L);
+        misses.set(0L);
+    }
+
+    /**
+     * Gets the number of cached templates.
+     * @return
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * Gets the number of cache hits.
+     * @return
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of cache misses.
+     * @return
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the max number of cached templates.
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the max total length of cached source strings.
+     * @return
+     */
+    public long getMaxTotalLength() {
+        return maxTotalLength;
+    }
+
+    /**
+     * Gets the total length of cached source strings.
+     * @return
+     */
+    public long getTotalLength() {
+        synchronized (evictionLock) {
+            return totalLength;
+        }
+    }
+
+    /**
+     * Cached template with time of last access.
+     */
+    private static final class CachedTemplate {
+        private final DynamicContentTemplate template;
+        private volatile long lastAccess;
+
+        CachedTemplate(DynamicContentTemplate template, long lastAccess) {
+            this.template = template;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -53,6 +53,9 @@ public class TestContext {
      * Logger
      */
     private static Logger log = LoggerFactory.getLogger(TestContext.class);
+
+    /** Compiled dynamic content templates shared by all test contexts */
+    private static final DynamicContentTemplateCache templateCache = new DynamicContentTemplateCache(DynamicContentTemplateCache.DEFAULT_MAX_SIZE);
     
     /** Local variables */
     protected Map<String, Object> variables;
@@ -279,18 +282,31 @@ public class TestContext {
 
     /**
      * Method replacing variable declarations and functions in a string, optionally 
-     * the variable values get surrounded with single quotes.
+     * the variable values get surrounded with single quotes. String is compiled to a template
+     * once and cached so subsequent calls with the same string do not parse it again.
      * 
      * @param str the string to parse for variable place holders.
      * @param enableQuoting flag marking surrounding quotes should be added or not.
      * @return resulting string without any variable place holders.
      */
     public String replaceDynamicContentInString(final String str, boolean enableQuoting) {
-        String result;
-        result = VariableUtils.replaceVariablesInString(str, this, enableQuoting);
-        result = FunctionUtils.replaceFunctionsInString(result, this, enableQuoting);
-        
-        return result;
+        if (str == null || functionRegistry == null) {
+            String result;
+            result = VariableUtils.replaceVariablesInString(str, this, enableQuoting);
+            result = FunctionUtils.replaceFunctionsInString(result, this, enableQuoting);
+
+            return result;
+        }
+
+        return templateCache.getTemplate(str, functionRegistry).evaluate(this, enableQuoting);
+    }
+
+    /**
+     * Gets the cache of compiled dynamic content templates shared by all test contexts.
+     * @return
+     */
+    public static DynamicContentTemplateCache getTemplateCache() {
+        return templateCache;
     }
     
     /**
@@ -23,8 +23,11 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.support.PropertiesLoaderUtils;
 
@@ -33,6 +36,8 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Default endpoint factory implementation uses registered endpoint components in Spring application context to create endpoint
@@ -42,10 +47,13 @@ import java.util.concurrent.ConcurrentHashMap;
  * Default endpoint components are listed in property file reference where key is the component name and value is the fully qualified class name
  * of the implementing endpoint component class.
  *
+ * Endpoint components and annotation parsers found in the application context are looked up once and kept until the
+ * application context changes or gets refreshed. Default components and parsers are instantiated once per factory.
+ *
  * @author Christoph Deppisch
  * @since 1.4.1
  */
-public class DefaultEndpointFactory implements EndpointFactory {
+public class DefaultEndpointFactory implements EndpointFactory, ApplicationListener<ContextRefreshedEvent> {
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(DefaultEndpointFactory.class);
@@ -57,7 +65,19 @@ public class DefaultEndpointFactory implements EndpointFactory {
     private Properties endpointParserProperties;
 
     /** Endpoint cache for endpoint reuse */
-    private Map<String, Endpoint> endpointCache = new ConcurrentHashMap<>();
+    private ConcurrentMap<String, Endpoint> endpointCache = new ConcurrentHashMap<>();
+
+    /** Endpoint components and annotation parsers resolved from application context */
+    private volatile BeanRegistry<EndpointComponent> endpointComponents;
+    private volatile BeanRegistry<AnnotationConfigParser> annotationParsers;
+
+    /** Default endpoint components and annotation parsers already instantiated */
+    private ConcurrentMap<String, EndpointComponent> defaultComponents = new ConcurrentHashMap<>();
+    private ConcurrentMap<String, AnnotationConfigParser> defaultAnnotationParsers = new ConcurrentHashMap<>();
+
+    /** Endpoint cache metrics */
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
 
     @Autowired
     private ReferenceResolver referenceResolver;
@@ -72,12 +92,12 @@ public class DefaultEndpointFactory implements EndpointFactory {
 
     @Override
     public Endpoint create(String endpointName, Annotation endpointConfig, TestContext context) {
-        String qualifier = endpointConfig.annotationType().getAnnotation(CitrusEndpointConfig.class).qualifier();
+        final String qualifier = endpointConfig.annotationType().getAnnotation(CitrusEndpointConfig.class).qualifier();
         AnnotationConfigParser parser = getAnnotationParser(context.getApplicationContext()).get(qualifier);
 
         if (parser == null) {
             // try to get parser from default Citrus modules
-            parser = resolveDefaultAnnotationParser(qualifier);
+            parser = defaultAnnotationParsers.computeIfAbsent(qualifier, this::resolveDefaultAnnotationParser);
         }
 
         if (parser == null) {
@@ -106,7 +126,7 @@ public class DefaultEndpointFactory implements EndpointFactory {
 
         if (component == null) {
             // try to get component from default Citrus modules
-            component = resolveDefaultComponent(componentName);
+            component = defaultComponents.computeIfAbsent(componentName, this::resolveDefaultComponent);
         }
 
         if (component == null) {
@@ -121,22 +141,60 @@ public class DefaultEndpointFactory implements EndpointFactory {
             cachedEndpointName = endpointUri;
         }
 
-        synchronized (endpointCache) {
-            if (endpointCache.containsKey(cachedEndpointName)) {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Found cached endpoint for uri '%s'", cachedEndpointName));
-                }
-                return endpointCache.get(cachedEndpointName);
-            } else {
-                Endpoint endpoint = component.createEndpoint(endpointUri, context);
-                endpointCache.put(cachedEndpointName, endpoint);
-                return endpoint;
+        Endpoint endpoint = endpointCache.get(cachedEndpointName);
+        if (endpoint != null) {
+            cacheHits.incrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Found cached endpoint for uri '%s'", cachedEndpointName));
+            }
+            return endpoint;
+        }
+
+        // create endpoint outside of the cache as components may resolve further endpoints from this factory
+        cacheMisses.incrementAndGet();
+        endpoint = component.createEndpoint(endpointUri, context);
+
+        Endpoint cachedEndpoint = endpointCache.putIfAbsent(cachedEndpointName, endpoint);
+        if (cachedEndpoint != null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Endpoint for uri '%s' has been created concurrently, using cached endpoint", cachedEndpointName));
+            }
+
+            destroyEndpoint(endpoint);
+            return cachedEndpoint;
+        }
+
+        return endpoint;
+    }
+
+    /**
+     * Releases resources of endpoint that lost the race for the endpoint cache, e.g. subscriptions registered on creation.
+     * @param endpoint
+     */
+    private void destroyEndpoint(Endpoint endpoint) {
+        if (endpoint instanceof DisposableBean) {
+            try {
+                ((DisposableBean) endpoint).destroy();
+            } catch (Exception e) {
+                log.warn(String.format("Failed to destroy endpoint '%s'", endpoint.getName()), e);
             }
         }
     }
 
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        endpointComponents = null;
+        annotationParsers = null;
+    }
+
     private Map<String, EndpointComponent> getEndpointComponents(ApplicationContext applicationContext) {
-        return applicationContext.getBeansOfType(EndpointComponent.class);
+        BeanRegistry<EndpointComponent> registry = endpointComponents;
+        if (registry == null || registry.applicationContext != applicationContext) {
+            registry = new BeanRegistry<>(applicationContext, EndpointComponent.class);
+            endpointComponents = registry;
+        }
+
+        return registry.beans;
     }
 
     private EndpointComponent resolveDefaultComponent(String componentName) {
@@ -161,7 +219,13 @@ public class DefaultEndpointFactory implements EndpointFactory {
     }
 
     private Map<String, AnnotationConfigParser> getAnnotationParser(ApplicationContext applicationContext) {
-        return applicationContext.getBeansOfType(AnnotationConfigParser.class);
+        BeanRegistry<AnnotationConfigParser> registry = annotationParsers;
+        if (registry == null || registry.applicationContext != applicationContext) {
+            registry = new BeanRegistry<>(applicationContext, AnnotationConfigParser.class);
+            annotationParsers = registry;
+        }
+
+        return registry.beans;
     }
 
     private AnnotationConfigParser resolveDefaultAnnotationParser(String qualifier) {
@@ -207,4 +271,35 @@ public class DefaultEndpointFactory implements EndpointFactory {
             log.warn("Unable to laod default endpoint annotation parsers from resource '%s'", e);
         }
     }
+
+    /**
+     * Gets the number of endpoint cache hits.
+     * @return
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Gets the number of endpoint cache misses.
+     * @return
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Beans of given type resolved from application context.
+     */
+    private static final class BeanRegistry<T> {
+        private final ApplicationContext applicationContext;
+        private final Map<String, T> beans;
+
+        BeanRegistry(ApplicationContext applicationContext, Class<T> type) {
+            this.applicationContext = applicationContext;
+
+            Map<String, T> resolved = applicationContext.getBeansOfType(type);
+            this.beans = resolved != null ? new HashMap<>(resolved) : Collections.<String, T>emptyMap();
+        }
+    }
 }
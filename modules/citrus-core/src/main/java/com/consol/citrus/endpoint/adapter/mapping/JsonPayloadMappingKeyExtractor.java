@@ -35,27 +35,28 @@ public class JsonPayloadMappingKeyExtractor extends AbstractMappingKeyExtractor
     /** XPath expression evaluated on message payload */
     private String jsonPathExpression = "$.keySet()";
 
+    /** Compiled JsonPath expression and optional JsonPath function */
+    private JsonPath compiledPath;
+    private String jsonPathFunction;
+
+    /**
+     * Default constructor compiling default expression.
+     */
+    public JsonPayloadMappingKeyExtractor() {
+        compileExpression();
+    }
+
     @Override
     public String getMappingKey(Message request) {
         try {
             JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
             Object receivedJson = parser.parse(request.getPayload(String.class));
-            ReadContext readerContext = JsonPath.parse(receivedJson);
-
-            String expression = jsonPathExpression;
-            String jsonPathFunction = null;
-            for (String name : JsonPathFunctions.getSupportedFunctions()) {
-                if (expression.endsWith(String.format(".%s()", name))) {
-                    jsonPathFunction = name;
-                    expression = expression.substring(0, expression.length() - String.format(".%s()", name).length());
-                }
-            }
 
             Object jsonPathResult;
-            if (JsonPath.isPathDefinite(expression)) {
-                jsonPathResult = readerContext.read(expression);
+            if (compiledPath.isDefinite()) {
+                jsonPathResult = compiledPath.read(receivedJson);
             } else {
-                JSONArray values = readerContext.read(expression);
+                JSONArray values = compiledPath.read(receivedJson);
                 if (values.size() == 1) {
                     jsonPathResult = values.get(0);
                 } else {
@@ -75,6 +76,25 @@ public class JsonPayloadMappingKeyExtractor extends AbstractMappingKeyExtractor
         }
     }
 
+    /**
+     * Splits optional JsonPath function from expression and compiles the remaining path once so the expression
+     * is not parsed again for each message.
+     */
+    private void compileExpression() {
+        String expression = jsonPathExpression;
+        String function = null;
+
+        for (String name : JsonPathFunctions.getSupportedFunctions()) {
+            if (expression.endsWith(String.format(".%s()", name))) {
+                function = name;
+                expression = expression.substring(0, expression.length() - String.format(".%s()", name).length());
+            }
+        }
+
+        this.jsonPathFunction = function;
+        this.compiledPath = JsonPath.compile(expression);
+    }
+
     /**
      * Sets the jsonPathExpression property.
      *
@@ -82,5 +102,6 @@ public class JsonPayloadMappingKeyExtractor extends AbstractMappingKeyExtractor
      */
     public void setJsonPathExpression(String jsonPathExpression) {
         this.jsonPathExpression = jsonPathExpression;
+        compileExpression();
     }
 }
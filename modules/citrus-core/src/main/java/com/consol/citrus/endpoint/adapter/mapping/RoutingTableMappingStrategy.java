@@ -0,0 +1,378 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.endpoint.adapter.mapping;
+
+import com.consol.citrus.endpoint.Endpoint;
+import com.consol.citrus.endpoint.EndpointAdapter;
+import com.consol.citrus.endpoint.EndpointConfiguration;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.Message;
+import org.springframework.util.PatternMatchUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Endpoint adapter mapping strategy holding a precompiled routing table. Routes are built once from the static adapter
+ * mappings. Mapping keys may use '*' wildcards, e.g. 'Order*'. Exact keys are resolved with a single map lookup, wildcard
+ * keys are matched in the order of the mappings.
+ *
+ * Mapping keys without static route are resolved with the optional delegate mapping strategy e.g. a bean name or context loading
+ * mapping strategy. Resolved adapter instances are cached so the delegate is asked only once per mapping key. Unknown mapping
+ * keys are routed to the optional fallback endpoint adapter.
+ *
+ * Each route records hit count, error count and handling latency of its endpoint adapter.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public class RoutingTableMappingStrategy implements EndpointAdapterMappingStrategy {
+
+    /** Static adapter mappings, keys may contain wildcards */
+    private Map<String, EndpointAdapter> adapterMappings = new LinkedHashMap<>();
+
+    /** Optional strategy resolving mapping keys without static route */
+    private EndpointAdapterMappingStrategy mappingStrategy;
+
+    /** Optional endpoint adapter handling messages with unknown mapping key */
+    private EndpointAdapter fallbackEndpointAdapter;
+
+    /** Max number of cached mapping keys resolved via wildcard routes, delegate strategy or fallback */
+    private int maxCacheSize = 1000;
+
+    /** Compiled routes */
+    private Map<String, Route> exactRoutes = Collections.emptyMap();
+    private List<Route> wildcardRoutes = Collections.emptyList();
+    private Route fallbackRoute;
+
+    /** Routes resolved at runtime by mapping key */
+    private final ConcurrentHashMap<String, Route> resolvedRoutes = new ConcurrentHashMap<>();
+
+    /** Routes by route key */
+    private final ConcurrentHashMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    @Override
+    public EndpointAdapter getEndpointAdapter(String mappingKey) {
+        Route route = exactRoutes.get(mappingKey);
+
+        if (route == null) {
+            route = resolvedRoutes.get(mappingKey);
+        }
+
+        if (route == null) {
+            route = resolveRoute(mappingKey);
+
+            if (resolvedRoutes.size() < maxCacheSize) {
+                resolvedRoutes.putIfAbsent(mappingKey, route);
+            }
+        }
+
+        return route;
+    }
+
+    /**
+     * Resolves route for mapping key without exact static route. Tries wildcard routes, delegate mapping strategy and
+     * fallback route in this order.
+     * @param mappingKey
+     * @return
+     */
+    private Route resolveRoute(String mappingKey) {
+        for (Route wildcardRoute : wildcardRoutes) {
+            if (PatternMatchUtils.simpleMatch(wildcardRoute.getRouteKey(), mappingKey)) {
+                return wildcardRoute;
+            }
+        }
+
+        if (mappingStrategy != null) {
+            try {
+                EndpointAdapter endpointAdapter = mappingStrategy.getEndpointAdapter(mappingKey);
+                Route route = new Route(mappingKey, endpointAdapter);
+                Route existing = routes.putIfAbsent(mappingKey, route);
+                return existing != null ? existing : route;
+            } catch (CitrusRuntimeException e) {
+                if (fallbackRoute == null) {
+                    throw e;
+                }
+            }
+        }
+
+        if (fallbackRoute != null) {
+            return fallbackRoute;
+        }
+
+        throw new CitrusRuntimeException("Unable to find matching endpoint adapter with mapping key '" + mappingKey + "'");
+    }
+
+    /**
+     * Compiles static adapter mappings and fallback adapter to routes. Clears previously resolved routes.
+     */
+    private void compileRoutes() {
+        Map<String, Route> exact = new HashMap<>();
+        List<Route> wildcards = new ArrayList<>();
+
+        routes.clear();
+        resolvedRoutes.clear();
+
+        for (Map.Entry<String, EndpointAdapter> mapping : adapterMappings.entrySet()) {
+            Route route = new Route(mapping.getKey(), mapping.getValue());
+
+            if (mapping.getKey().contains("*")) {
+                wildcards.add(route);
+            } else {
+                exact.put(mapping.getKey(), route);
+            }
+
+            routes.put(mapping.getKey(), route);
+        }
+
+        exactRoutes = exact;
+        wildcardRoutes = wildcards;
+        fallbackRoute = fallbackEndpointAdapter != null ? new Route("fallback", fallbackEndpointAdapter) : null;
+    }
+
+    /**
+     * Gets all routes by route key. Contains static routes and routes resolved with delegate mapping strategy.
+     * @return
+     */
+    public Map<String, Route> getRoutes() {
+        return Collections.unmodifiableMap(routes);
+    }
+
+    /**
+     * Gets the route handling unknown mapping keys.
+     * @return
+     */
+    public Route getFallbackRoute() {
+        return fallbackRoute;
+    }
+
+    /**
+     * Resets hit counters and latency metrics of all routes.
+     */
+    public void resetMetrics() {
+        for (Route route : routes.values()) {
+            route.resetMetrics();
+        }
+
+        if (fallbackRoute != null) {
+            fallbackRoute.resetMetrics();
+        }
+    }
+
+    /**
+     * Sets the static endpoint adapter mappings. Mapping keys may contain '*' wildcards.
+     * @param mappings
+     */
+    public void setAdapterMappings(Map<String, EndpointAdapter> mappings) {
+        this.adapterMappings = new LinkedHashMap<>(mappings);
+        compileRoutes();
+    }
+
+    /**
+     * Gets the static endpoint adapter mappings.
+     * @return
+     */
+    public Map<String, EndpointAdapter> getAdapterMappings() {
+        return adapterMappings;
+    }
+
+    /**
+     * Sets the delegate mapping strategy resolving mapping keys without static route.
+     * @param mappingStrategy
+     */
+    public void setMappingStrategy(EndpointAdapterMappingStrategy mappingStrategy) {
+        this.mappingStrategy = mappingStrategy;
+        compileRoutes();
+    }
+
+    /**
+     * Gets the delegate mapping strategy.
+     * @return
+     */
+    public EndpointAdapterMappingStrategy getMappingStrategy() {
+        return mappingStrategy;
+    }
+
+    /**
+     * Sets the fallback endpoint adapter handling messages with unknown mapping key.
+     * @param fallbackEndpointAdapter
+     */
+    public void setFallbackEndpointAdapter(EndpointAdapter fallbackEndpointAdapter) {
+        this.fallbackEndpointAdapter = fallbackEndpointAdapter;
+        compileRoutes();
+    }
+
+    /**
+     * Gets the fallback endpoint adapter.
+     * @return
+     */
+    public EndpointAdapter getFallbackEndpointAdapter() {
+        return fallbackEndpointAdapter;
+    }
+
+    /**
+     * Sets the max number of cached mapping keys resolved at runtime.
+     * @param maxCacheSize
+     */
+    public void setMaxCacheSize(int maxCacheSize) {
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    /**
+     * Gets the max number of cached mapping keys resolved at runtime.
+     * @return
+     */
+    public int getMaxCacheSize() {
+        return maxCacheSize;
+    }
+
+    /**
+     * Route in routing table delegates to endpoint adapter and records hit count, error count and latency.
+     */
+    public static final class Route implements EndpointAdapter {
+        private final String routeKey;
+        private final EndpointAdapter endpointAdapter;
+
+        /** Route metrics */
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong totalLatency = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        Route(String routeKey, EndpointAdapter endpointAdapter) {
+            this.routeKey = routeKey;
+            this.endpointAdapter = endpointAdapter;
+        }
+
+        @Override
+        public Message handleMessage(Message message) {
+            long start = System.nanoTime();
+            boolean success = false;
+
+            try {
+                Message response = endpointAdapter.handleMessage(message);
+                success = true;
+                return response;
+            } finally {
+                record(System.nanoTime() - start, success);
+            }
+        }
+
+        /**
+         * Records route hit with latency.
+         * @param latency
+         * @param success
+         */
+        private void record(long latency, boolean success) {
+            hits.incrementAndGet();
+            totalLatency.addAndGet(latency);
+
+            if (!success) {
+                errors.incrementAndGet();
+            }
+
+            long max = maxLatency.get();
+            while (latency > max && !maxLatency.compareAndSet(max, latency)) {
+                max = maxLatency.get();
+            }
+        }
+
+        /**
+         * Resets route metrics.
+         */
+        void resetMetrics() {
+            hits.set(0L);
+            errors.set(0L);
+            totalLatency.set(0L);
+            maxLatency.set(0L);
+        }
+
+        @Override
+        public Endpoint getEndpoint() {
+            return endpointAdapter.getEndpoint();
+        }
+
+        @Override
+        public EndpointConfiguration getEndpointConfiguration() {
+            return endpointAdapter.getEndpointConfiguration();
+        }
+
+        /**
+         * Gets the route key which is the mapping key or wildcard pattern of this route.
+         * @return
+         */
+        public String getRouteKey() {
+            return routeKey;
+        }
+
+        /**
+         * Gets the target endpoint adapter.
+         * @return
+         */
+        public EndpointAdapter getEndpointAdapter() {
+            return endpointAdapter;
+        }
+
+        /**
+         * Gets the number of messages handled by this route.
+         * @return
+         */
+        public long getHitCount() {
+            return hits.get();
+        }
+
+        /**
+         * Gets the number of messages that caused the endpoint adapter to raise an error.
+         * @return
+         */
+        public long getErrorCount() {
+            return errors.get();
+        }
+
+        /**
+         * Gets the total handling time in nanoseconds.
+         * @return
+         */
+        public long getTotalLatency() {
+            return totalLatency.get();
+        }
+
+        /**
+         * Gets the average handling time in nanoseconds.
+         * @return
+         */
+        public long getAverageLatency() {
+            long count = hits.get();
+            return count > 0 ? totalLatency.get() / count : 0L;
+        }
+
+        /**
+         * Gets the max handling time in nanoseconds.
+         * @return
+         */
+        public long getMaxLatency() {
+            return maxLatency.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Route[%s, hits: %d, errors: %d, average latency: %dns, max latency: %dns]",
+                    routeKey, getHitCount(), getErrorCount(), getAverageLatency(), getMaxLatency());
+        }
+    }
+}
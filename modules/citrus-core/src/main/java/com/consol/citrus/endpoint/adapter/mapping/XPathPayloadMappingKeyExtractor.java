@@ -35,12 +35,15 @@ public class XPathPayloadMappingKeyExtractor extends AbstractMappingKeyExtractor
     /** Namespace context builder for XPath expression evaluation */
     private NamespaceContextBuilder namespaceContextBuilder = new NamespaceContextBuilder();
 
+    /** Expression uses namespace prefixes and needs namespace context */
+    private boolean namespaceAware = false;
+
     @Override
     public String getMappingKey(Message request) {
         return XPathUtils.evaluateAsString(
-                XMLUtils.parseMessagePayload(request.getPayload(String.class)),
+                XMLUtils.parseMessagePayload(request),
                 xpathExpression,
-                namespaceContextBuilder.buildContext(request, null));
+                namespaceAware ? namespaceContextBuilder.buildContext(request, null) : null);
     }
 
     /**
@@ -49,6 +52,7 @@ public class XPathPayloadMappingKeyExtractor extends AbstractMappingKeyExtractor
      */
     public void setXpathExpression(String xpathExpression) {
         this.xpathExpression = xpathExpression;
+        this.namespaceAware = xpathExpression.contains(":");
     }
 
     /**
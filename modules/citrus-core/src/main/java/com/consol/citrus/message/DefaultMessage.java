@@ -21,6 +21,7 @@ import com.consol.citrus.util.TypeConversionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
+import org.w3c.dom.Document;
 
 import java.util.*;
 
@@ -45,6 +46,12 @@ public class DefaultMessage implements Message {
     /** Message headers */
     private final Map<String, Object> headers;
 
+    /** Cached DOM representation of XML payload */
+    private transient Document payloadDocument;
+
+    /** Payload object the cached DOM representation was parsed from */
+    private transient Object payloadDocumentSource;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(DefaultMessage.class);
 
@@ -160,6 +167,31 @@ public class DefaultMessage implements Message {
     @Override
     public void setPayload(Object payload) {
         this.payload = payload;
+        this.payloadDocument = null;
+        this.payloadDocumentSource = null;
+    }
+
+    /**
+     * Gets the cached DOM representation of the message payload. Returns null in case no document
+     * has been cached yet or payload has changed since the document was cached.
+     * @return
+     */
+    public Document getPayloadDocument() {
+        if (payloadDocument != null && payloadDocumentSource == getPayload()) {
+            return payloadDocument;
+        }
+
+        return null;
+    }
+
+    /**
+     * Caches DOM representation of current message payload. Cached document is shared with all readers so
+     * clients must not modify it.
+     * @param payloadDocument
+     */
+    public void setPayloadDocument(Document payloadDocument) {
+        this.payloadDocument = payloadDocument;
+        this.payloadDocumentSource = getPayload();
     }
 
     @Override
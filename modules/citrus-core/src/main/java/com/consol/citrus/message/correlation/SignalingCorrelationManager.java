@@ -0,0 +1,185 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message.correlation;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.endpoint.PollableEndpointConfiguration;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+
+/**
+ * Correlation manager waits for correlated objects to be stored instead of sleeping a fixed polling interval. Each waiting
+ * find operation registers a future for its correlation key that is completed as soon as an object gets stored with that key.
+ * Same mechanism is used for correlation keys that get saved to the test context.
+ *
+ * Objects and correlation keys that bypass this manager, for instance when added directly to the object store, are still found
+ * as waiting clients recheck the store at least once per endpoint polling interval.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public class SignalingCorrelationManager<T> extends PollingCorrelationManager<T> {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SignalingCorrelationManager.class);
+
+    /** Retry logger */
+    private static final Logger RETRY_LOG = LoggerFactory.getLogger("com.consol.citrus.RetryLogger");
+
+    /** Time to wait for correlation key to be saved in test context */
+    private static final long CORRELATION_KEY_TIMEOUT = 1000L;
+
+    /** Pending find operations waiting for correlated object */
+    private final ConcurrentMap<String, CompletableFuture<Boolean>> objectSignals = new ConcurrentHashMap<>();
+
+    /** Pending correlation key lookups waiting for test variable */
+    private final ConcurrentMap<String, CompletableFuture<Boolean>> correlationKeySignals = new ConcurrentHashMap<>();
+
+    private final PollableEndpointConfiguration endpointConfiguration;
+
+    /**
+     * Constructor using fields.
+     * @param endpointConfiguration
+     * @param retryLogMessage
+     */
+    public SignalingCorrelationManager(PollableEndpointConfiguration endpointConfiguration, String retryLogMessage) {
+        super(endpointConfiguration, retryLogMessage);
+        this.endpointConfiguration = endpointConfiguration;
+    }
+
+    @Override
+    public void saveCorrelationKey(String correlationKeyName, String correlationKey, TestContext context) {
+        super.saveCorrelationKey(correlationKeyName, correlationKey, context);
+        signal(correlationKeySignals, correlationKeyName);
+    }
+
+    @Override
+    public String getCorrelationKey(String correlationKeyName, TestContext context) {
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Get correlation key for '%s'", correlationKeyName));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CORRELATION_KEY_TIMEOUT);
+        String correlationKey;
+
+        while (true) {
+            CompletableFuture<Boolean> signal = correlationKeySignals.computeIfAbsent(correlationKeyName, key -> new CompletableFuture<>());
+            correlationKey = lookupCorrelationKey(correlationKeyName, context);
+
+            long timeLeft = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (correlationKey != null || timeLeft <= 0 || Thread.currentThread().isInterrupted()) {
+                correlationKeySignals.remove(correlationKeyName, signal);
+                break;
+            }
+
+            if (RETRY_LOG.isDebugEnabled()) {
+                RETRY_LOG.debug("Correlation key not available yet - waiting for max " + timeLeft + "ms");
+            }
+
+            await(signal, timeLeft);
+            correlationKeySignals.remove(correlationKeyName, signal);
+        }
+
+        if (correlationKey == null) {
+            throw new CitrusRuntimeException(String.format("Failed to get correlation key for '%s'", correlationKeyName));
+        }
+
+        return correlationKey;
+    }
+
+    @Override
+    public void store(String correlationKey, T object) {
+        super.store(correlationKey, object);
+        signal(objectSignals, correlationKey);
+    }
+
+    @Override
+    public T find(String correlationKey, long timeout) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        T stored;
+
+        while (true) {
+            CompletableFuture<Boolean> signal = objectSignals.computeIfAbsent(correlationKey, key -> new CompletableFuture<>());
+            stored = getObjectStore().remove(correlationKey);
+
+            long timeLeft = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (stored != null || timeLeft <= 0 || Thread.currentThread().isInterrupted()) {
+                objectSignals.remove(correlationKey, signal);
+                break;
+            }
+
+            if (RETRY_LOG.isDebugEnabled()) {
+                RETRY_LOG.debug(getRetryLogMessage() + " - waiting for max " + timeLeft + "ms");
+            }
+
+            await(signal, timeLeft);
+            objectSignals.remove(correlationKey, signal);
+        }
+
+        return stored;
+    }
+
+    /**
+     * Reads correlation key from test context variables. Returns null if not present.
+     * @param correlationKeyName
+     * @param context
+     * @return
+     */
+    private String lookupCorrelationKey(String correlationKeyName, TestContext context) {
+        if (context.getVariables().containsKey(correlationKeyName)) {
+            return context.getVariable(correlationKeyName);
+        }
+
+        return null;
+    }
+
+    /**
+     * Completes pending signal for given key so waiting clients wake up.
+     * @param signals
+     * @param key
+     */
+    private void signal(ConcurrentMap<String, CompletableFuture<Boolean>> signals, String key) {
+        CompletableFuture<Boolean> signal = signals.remove(key);
+        if (signal != null) {
+            signal.complete(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Waits for signal to complete within given time left. Wait time is limited to the endpoint
+     * polling interval so objects that bypass this manager are found, too.
+     * @param signal
+     * @param timeLeft
+     */
+    private void await(CompletableFuture<Boolean> signal, long timeLeft) {
+        long pollingInterval = endpointConfiguration.getPollingInterval();
+
+        try {
+            signal.get(pollingInterval > 0 ? Math.min(timeLeft, pollingInterval) : timeLeft, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // recheck the object store and wait again if time is left
+        } catch (InterruptedException e) {
+            RETRY_LOG.warn("Thread interrupted while waiting for correlated object", e);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new CitrusRuntimeException("Failed to wait for correlated object", e);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.springframework.util.StringUtils;
 import java.io.*;
 import java.text.DateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Basic logging reporter generating a HTML report with detailed test results.
@@ -43,10 +44,10 @@ public class HtmlReporter extends AbstractTestListener implements TestReporter {
     private static Logger log = LoggerFactory.getLogger(HtmlReporter.class);
     
     /** Collect test results for test report */
-    private TestResults testResults = new TestResults();
+    private volatile TestResults testResults = new TestResults();
     
     /** Map holding additional information of test cases */
-    private Map<String, ResultDetail> details = new HashMap<String, ResultDetail>();
+    private Map<String, ResultDetail> details = new ConcurrentHashMap<String, ResultDetail>();
     
     /** Static resource for the HTML test report template */
     @Value("${citrus.html.report.template:classpath:com/consol/citrus/report/test-report.html}")
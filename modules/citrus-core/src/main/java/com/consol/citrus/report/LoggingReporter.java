@@ -25,14 +25,19 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 /**
- * Simple logging reporter printing test start and ending to the console/logger.
+ * Simple logging reporter printing test start and ending to the console/logger. Reporter is thread safe
+ * so tests may run in parallel. Multi line log blocks of a test are written in one piece and do not interleave with
+ * log blocks of other tests.
  * 
  * @author Christoph Deppisch
  */
 public class LoggingReporter implements MessageListener, TestSuiteListener, TestListener, TestActionListener, TestReporter {
     
     /** Collect test results for overall result overview at the very end of test execution */
-    private TestResults testResults = new TestResults();
+    private volatile TestResults testResults = new TestResults();
+
+    /** Lock guarding multi line log output */
+    private final Object logLock = new Object();
 
     /** Inbound message logger */
     private static Logger inboundMsgLogger = LoggerFactory.getLogger("Logger.Message_IN");
@@ -85,20 +90,24 @@ public class LoggingReporter implements MessageListener, TestSuiteListener, Test
     public void onTestFailure(TestCase test, Throwable cause) {
         testResults.addResult(TestResult.failed(test.getName(), cause, test.getParameters()));
 
-        newLine();
-        log.error("TEST FAILED " + test.getName() + " <" + test.getPackageName() + "> Nested exception is: ", cause);
-        separator();
-        newLine();
+        synchronized (logLock) {
+            newLine();
+            log.error("TEST FAILED " + test.getName() + " <" + test.getPackageName() + "> Nested exception is: ", cause);
+            separator();
+            newLine();
+        }
     }
 
     @Override
     public void onTestSkipped(TestCase test) {
         if (log.isDebugEnabled()) {
-            newLine();
-            separator();
-            log.debug("SKIPPING TEST: " + test.getName());
-            separator();
-            newLine();
+            synchronized (logLock) {
+                newLine();
+                separator();
+                log.debug("SKIPPING TEST: " + test.getName());
+                separator();
+                newLine();
+            }
         }
 
         testResults.addResult(TestResult.skipped(test.getName(), test.getParameters()));
@@ -107,10 +116,12 @@ public class LoggingReporter implements MessageListener, TestSuiteListener, Test
     @Override
     public void onTestStart(TestCase test) {
         if (log.isDebugEnabled()) {
-            newLine();
-            separator();
-            log.debug("STARTING TEST " + test.getName() + " <" + test.getPackageName() + ">");
-            newLine();
+            synchronized (logLock) {
+                newLine();
+                separator();
+                log.debug("STARTING TEST " + test.getName() + " <" + test.getPackageName() + ">");
+                newLine();
+            }
         }
     }
 
@@ -122,10 +133,12 @@ public class LoggingReporter implements MessageListener, TestSuiteListener, Test
     public void onTestSuccess(TestCase test) {
         testResults.addResult(TestResult.success(test.getName(), test.getParameters()));
 
-        newLine();
-        log.info("TEST SUCCESS " + test.getName() + " (" + test.getPackageName() + ")");
-        separator();
-        newLine();
+        synchronized (logLock) {
+            newLine();
+            log.info("TEST SUCCESS " + test.getName() + " (" + test.getPackageName() + ")");
+            separator();
+            newLine();
+        }
     }
 
     @Override
@@ -16,6 +16,7 @@
 
 package com.consol.citrus.report;
 
+import com.consol.citrus.Citrus;
 import com.consol.citrus.TestCase;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
@@ -29,16 +30,17 @@ import org.springframework.core.io.Resource;
 
 import java.io.*;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Test listener collects all messages sent and received by Citrus during test execution. Listener
  * writes a trace file with all message content per test case to a output directory.
  * 
- * Note: This class is not thread safe! Parallel test execution leads to behaviour that messages get mixed.
- * Proper correlation to test case is not possible here.
+ * Messages are collected per test case invocation so parallel test execution does not mix messages of different tests
+ * or of parallel invocations of the same test. Messages are correlated to the test case via the test invocation id
+ * variable of the test context.
  * 
  * @author Christoph Deppisch
  * @since 1.2
@@ -54,11 +56,8 @@ public class MessageTracingTestListener extends AbstractTestListener implements
     /** Output directory */
     private Resource outputDirectory = new FileSystemResource("logs/trace/messages/");
     
-    /** List of messages to trace */
-    private final List<String> messages = new ArrayList<>();
-    
-    /** Locking object for synchronization */
-    private final Object lockObject = new Object();
+    /** Messages to trace per test invocation id */
+    private final ConcurrentMap<String, List<String>> messages = new ConcurrentHashMap<>();
 
     /** Logger */
     private static final Logger LOG = LoggerFactory.getLogger(MessageTracingTestListener.class);
@@ -68,9 +67,7 @@ public class MessageTracingTestListener extends AbstractTestListener implements
      */
     @Override
     public void onTestStart(TestCase test) {
-        synchronized (lockObject) {
-            messages.clear();
-        }
+        messages.put(test.getInvocationId(), Collections.synchronizedList(new ArrayList<String>()));
     }
     
     /**
@@ -78,42 +75,71 @@ public class MessageTracingTestListener extends AbstractTestListener implements
      */
     @Override
     public void onTestFinish(TestCase test) {
-        if (messages.isEmpty()) {
+        List<String> testMessages = messages.remove(test.getInvocationId());
+        if (testMessages == null || testMessages.isEmpty()) {
             return; // do not write empty message trace file
         }
 
-        try(BufferedWriter writer = new BufferedWriter(new FileWriter(getTraceFile(test.getName())))) {
-            writer.write(separator() + newLine() + newLine());
-            
-            synchronized (lockObject) {
-                for (String message : messages) {
-                    writer.write(message);
-                    writer.write(newLine() + separator() + newLine() + newLine());
+        // invocations of the same test share the trace file, so append each invocation as a separate block
+        synchronized (this) {
+            try(BufferedWriter writer = new BufferedWriter(new FileWriter(getTraceFile(test.getName()), true))) {
+                writer.write(separator() + newLine() + newLine());
+
+                synchronized (testMessages) {
+                    for (String message : testMessages) {
+                        writer.write(message);
+                        writer.write(newLine() + separator() + newLine() + newLine());
+                    }
                 }
+
+                writer.flush();
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to write message trace to filesystem", e);
             }
-            
-            writer.flush();
-        } catch (IOException e) {
-            throw new CitrusRuntimeException("Failed to write message trace to filesystem", e);
         }
     }
     
     @Override
     public void onInboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("INBOUND_MESSAGE:" + newLine() + newLine() + message);
-            }
+            trace("INBOUND_MESSAGE:" + newLine() + newLine() + message, context);
         }
     }
 
     @Override
     public void onOutboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("OUTBOUND_MESSAGE:" + newLine() + newLine() + message);
+            trace("OUTBOUND_MESSAGE:" + newLine() + newLine() + message, context);
+        }
+    }
+
+    /**
+     * Adds message to trace of test case that is using given test context. In case test context does not
+     * provide a test invocation id message is added to the only running test case. Otherwise message is ignored.
+     * @param message
+     * @param context
+     */
+    private void trace(String message, TestContext context) {
+        Object invocationId = context != null ? context.getVariables().get(Citrus.TEST_INVOCATION_ID_VARIABLE) : null;
+
+        List<String> testMessages = null;
+        if (invocationId != null) {
+            testMessages = messages.get(invocationId.toString());
+        } else {
+            Iterator<List<String>> running = messages.values().iterator();
+            if (running.hasNext()) {
+                testMessages = running.next();
+                if (running.hasNext()) {
+                    testMessages = null;
+                }
             }
         }
+
+        if (testMessages != null) {
+            testMessages.add(message);
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debug("Unable to correlate message to running test case - message not traced");
+        }
     }
 
     /**
@@ -167,8 +193,8 @@ public class MessageTracingTestListener extends AbstractTestListener implements
         String filename = String.format("%s_%s%s", testName, testExecutionStartTime, TRACE_FILE_ENDING);
         try {
             Resource traceResource = outputDirectory.createRelative(filename);
-            if(traceResource.exists()) {
-                LOG.warn(String.format("Trace file '%s' already exists. Normally a new file is created on each test execution ", traceResource.getFilename()));
+            if(traceResource.exists() && LOG.isDebugEnabled()) {
+                LOG.debug(String.format("Trace file '%s' already exists - appending messages of test invocation", traceResource.getFilename()));
             }
             return traceResource.getFile();
         }
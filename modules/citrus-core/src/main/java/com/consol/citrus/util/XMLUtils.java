@@ -18,6 +18,8 @@ package com.consol.citrus.util;
 
 import com.consol.citrus.Citrus;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
 import com.consol.citrus.xml.LSResolverImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +32,7 @@ import javax.xml.XMLConstants;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Class providing several utility methods for XML processing.
@@ -54,6 +57,36 @@ public final class XMLUtils {
     private static DOMImplementationRegistry registry = null;
     private static DOMImplementationLS domImpl = null;
 
+    /** Message payload parse metrics */
+    private static final AtomicLong payloadParses = new AtomicLong();
+    private static final AtomicLong cachedPayloadReuses = new AtomicLong();
+
+    /** Thread bound parser and serializer instances with configuration already applied */
+    private static final LSComponentPool<LSParser> payloadParsers = new LSComponentPool<LSParser>() {
+        @Override
+        protected LSParser create() {
+            LSParser parser = createLSParser();
+            setParserConfigParameter(parser, VALIDATE_IF_SCHEMA, true);
+            setParserConfigParameter(parser, RESOURCE_RESOLVER, new LSResolverImpl(domImpl));
+            setParserConfigParameter(parser, ELEMENT_CONTENT_WHITESPACE, false);
+            return parser;
+        }
+    };
+
+    private static final LSComponentPool<LSParser> parsers = new LSComponentPool<LSParser>() {
+        @Override
+        protected LSParser create() {
+            return createLSParser();
+        }
+    };
+
+    private static final LSComponentPool<LSSerializer> serializers = new LSComponentPool<LSSerializer>() {
+        @Override
+        protected LSSerializer create() {
+            return createLSSerializer();
+        }
+    };
+
     static {
         try {
             registry = DOMImplementationRegistry.newInstance();
@@ -249,8 +282,17 @@ public final class XMLUtils {
      * @return serialized XML string
      */
     public static String serialize(Document doc) {
-        LSSerializer serializer = createLSSerializer();
+        return serialize(doc, null);
+    }
 
+    /**
+     * Serializes a DOM document using given serializer filter.
+     * @param doc
+     * @param filter optional serializer filter, may be null
+     * @throws CitrusRuntimeException
+     * @return serialized XML string
+     */
+    public static String serialize(Document doc, LSSerializerFilter filter) {
         LSOutput output = createLSOutput();
         String charset = getTargetCharset(doc).displayName();
         output.setEncoding(charset);
@@ -258,7 +300,14 @@ public final class XMLUtils {
         StringWriter writer = new StringWriter();
         output.setCharacterStream(writer);
 
-        serializer.write(doc, output);
+        LSSerializer serializer = serializers.acquire();
+        try {
+            serializer.setFilter(filter);
+            serializer.write(doc, output);
+        } finally {
+            serializer.setFilter(null);
+            serializers.release(serializer);
+        }
 
         return writer.toString();
     }
@@ -270,7 +319,6 @@ public final class XMLUtils {
      * @return pretty printed XML string
      */
     public static String prettyPrint(String xml) {
-        LSParser parser = createLSParser();
         LSInput input = createLSInput();
 
         try {
@@ -283,10 +331,13 @@ public final class XMLUtils {
         }
 
         Document doc;
+        LSParser parser = parsers.acquire();
         try {
             doc = parser.parse(input);
         } catch (Exception e) {
             return xml;
+        } finally {
+            parsers.release(parser);
         }
 
         return serialize(doc);
@@ -379,11 +430,6 @@ public final class XMLUtils {
      * @return DOM document.
      */
     public static Document parseMessagePayload(String messagePayload) {
-        LSParser parser = createLSParser();
-        setParserConfigParameter(parser, VALIDATE_IF_SCHEMA, true);
-        setParserConfigParameter(parser, RESOURCE_RESOLVER, new LSResolverImpl(domImpl));
-        setParserConfigParameter(parser, ELEMENT_CONTENT_WHITESPACE, false);
-
         LSInput receivedInput = createLSInput();
         try {
             Charset charset = getTargetCharset(messagePayload);
@@ -393,7 +439,56 @@ public final class XMLUtils {
             throw new CitrusRuntimeException(e);
         }
 
-        return parser.parse(receivedInput);
+        LSParser parser = payloadParsers.acquire();
+        try {
+            return parser.parse(receivedInput);
+        } finally {
+            payloadParsers.release(parser);
+        }
+    }
+
+    /**
+     * Gets DOM representation of message payload. Parsed document is cached with the message so subsequent
+     * calls for the same message payload do not parse again. Cached document is shared so callers must not modify it -
+     * use a deep clone instead.
+     * @param message
+     * @throws CitrusRuntimeException
+     * @return DOM document.
+     */
+    public static Document parseMessagePayload(Message message) {
+        if (!(message instanceof DefaultMessage)) {
+            payloadParses.incrementAndGet();
+            return parseMessagePayload(message.getPayload(String.class));
+        }
+
+        DefaultMessage defaultMessage = (DefaultMessage) message;
+        Document doc = defaultMessage.getPayloadDocument();
+
+        if (doc != null) {
+            cachedPayloadReuses.incrementAndGet();
+        } else {
+            payloadParses.incrementAndGet();
+            doc = parseMessagePayload(message.getPayload(String.class));
+            defaultMessage.setPayloadDocument(doc);
+        }
+
+        return doc;
+    }
+
+    /**
+     * Gets the number of message payloads parsed to DOM via {@link #parseMessagePayload(Message)}.
+     * @return
+     */
+    public static long getPayloadParses() {
+        return payloadParses.get();
+    }
+
+    /**
+     * Gets the number of message payload parse operations saved by reusing the cached DOM document.
+     * @return
+     */
+    public static long getCachedPayloadReuses() {
+        return cachedPayloadReuses.get();
     }
 
     /**
@@ -512,4 +607,47 @@ public final class XMLUtils {
 
         return xml;
     }
+
+    /**
+     * Keeps configured parser and serializer instances per thread. LS components are not thread safe and must not be
+     * used in nested calls, so each acquire hands out an idle instance of the current thread or creates a new one.
+     * Released instances are kept for reuse up to a small number of idle instances per thread.
+     */
+    private abstract static class LSComponentPool<T> {
+        /** Max number of idle instances kept per thread */
+        private static final int MAX_IDLE = 4;
+
+        private final ThreadLocal<Deque<T>> idle = new ThreadLocal<Deque<T>>() {
+            @Override
+            protected Deque<T> initialValue() {
+                return new ArrayDeque<>(MAX_IDLE);
+            }
+        };
+
+        /**
+         * Creates new configured instance.
+         * @return
+         */
+        protected abstract T create();
+
+        /**
+         * Gets idle instance of current thread or creates a new one.
+         * @return
+         */
+        T acquire() {
+            T component = idle.get().poll();
+            return component != null ? component : create();
+        }
+
+        /**
+         * Returns instance for reuse by current thread.
+         * @param component
+         */
+        void release(T component) {
+            Deque<T> components = idle.get();
+            if (components.size() < MAX_IDLE) {
+                components.push(component);
+            }
+        }
+    }
 }
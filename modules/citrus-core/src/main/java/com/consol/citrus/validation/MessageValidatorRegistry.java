@@ -23,14 +23,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Simple registry holding all available message validator implementations. Test context can ask this registry for
  * matching validator implementation according to the message type (e.g. xml, json, csv, plaintext).
  * 
  * Registry tries to find a matching validator for the message.
+ *
+ * Resolved validators are indexed by message type and payload type so subsequent lookups do not ask each validator again.
+ * Validator implementations are therefore expected to decide support based on message type and payload type only. Index is
+ * rebuilt when the list of registered validators is replaced or changes its size.
  * 
  * @author Christoph Deppisch
  */
@@ -45,6 +50,9 @@ public class MessageValidatorRegistry implements InitializingBean {
     /** List of registered message validator implementations */
     private List<MessageValidator<? extends ValidationContext>> messageValidators = new ArrayList<MessageValidator<? extends ValidationContext>>();
 
+    /** Resolved message validators indexed by message type and payload type */
+    private volatile ValidatorIndex validatorIndex = new ValidatorIndex(messageValidators);
+
     /**
      * Finds matching message validators for this message type.
      * 
@@ -53,26 +61,30 @@ public class MessageValidatorRegistry implements InitializingBean {
      * @return the list of matching message validators.
      */
     public List<MessageValidator<? extends ValidationContext>> findMessageValidators(String messageType, Message message, List<ValidationContext> validationContexts) {
-        List<MessageValidator<? extends ValidationContext>> matchingValidators = new ArrayList<MessageValidator<? extends ValidationContext>>();
-        
-        for (MessageValidator<? extends ValidationContext> validator : messageValidators) {
-            if (validator.supportsMessageType(messageType, message)) {
-                matchingValidators.add(validator);
-            }
-        }
-        
+        List<MessageValidator<? extends ValidationContext>> matchingValidators = getValidatorIndex().resolve(messageType, message);
+
         if (matchingValidators.isEmpty()) {
             throw new CitrusRuntimeException("Could not find proper message validator for message type '" + 
                     messageType + "', please define a capable message validator for this message type");
         }
 
-        if (log.isDebugEnabled()) {
-            log.debug(String.format("Found %s message validators for message type: %s", matchingValidators.size(), messageType));
-        }
-        
         return matchingValidators;
     }
 
+    /**
+     * Gets current validator index. Creates new index in case registered message validators have changed.
+     * @return
+     */
+    private ValidatorIndex getValidatorIndex() {
+        ValidatorIndex index = validatorIndex;
+        if (!index.isIndexOf(messageValidators)) {
+            index = new ValidatorIndex(messageValidators);
+            validatorIndex = index;
+        }
+
+        return index;
+    }
+
     /**
      * Check if we have at least one message validator available.
      */
@@ -81,6 +93,8 @@ public class MessageValidatorRegistry implements InitializingBean {
             throw new CitrusRuntimeException("No message validators available in Spring bean context - " +
                     "please define message validators!");
         }
+
+        validatorIndex = new ValidatorIndex(messageValidators);
     }
 
     /**
@@ -90,6 +104,7 @@ public class MessageValidatorRegistry implements InitializingBean {
     public void setMessageValidators(
             List<MessageValidator<? extends ValidationContext>> messageValidators) {
         this.messageValidators = messageValidators;
+        this.validatorIndex = new ValidatorIndex(messageValidators);
     }
 
     /**
@@ -99,4 +114,69 @@ public class MessageValidatorRegistry implements InitializingBean {
     public List<MessageValidator<? extends ValidationContext>> getMessageValidators() {
         return messageValidators;
     }
+
+    /**
+     * Index of resolved message validators. Holds matching validators per message type and payload type
+     * for a given list of registered validators.
+     */
+    private static final class ValidatorIndex {
+        /** Registered validators this index was built for */
+        private final List<MessageValidator<? extends ValidationContext>> validators;
+        private final int size;
+
+        /** Matching validators by message type and payload type */
+        private final ConcurrentMap<String, ConcurrentMap<Class<?>, List<MessageValidator<? extends ValidationContext>>>> resolved = new ConcurrentHashMap<>();
+
+        ValidatorIndex(List<MessageValidator<? extends ValidationContext>> validators) {
+            this.validators = validators;
+            this.size = validators.size();
+        }
+
+        /**
+         * Checks if this index represents the given list of validators.
+         * @param validators
+         * @return
+         */
+        boolean isIndexOf(List<MessageValidator<? extends ValidationContext>> validators) {
+            return this.validators == validators && this.size == validators.size();
+        }
+
+        /**
+         * Gets matching validators for message type and message payload type.
+         * @param messageType
+         * @param message
+         * @return
+         */
+        List<MessageValidator<? extends ValidationContext>> resolve(String messageType, Message message) {
+            Class<?> payloadType = message.getPayload() != null ? message.getPayload().getClass() : Void.class;
+
+            ConcurrentMap<Class<?>, List<MessageValidator<? extends ValidationContext>>> byPayloadType = resolved.get(messageType);
+            if (byPayloadType == null) {
+                byPayloadType = new ConcurrentHashMap<>();
+                ConcurrentMap<Class<?>, List<MessageValidator<? extends ValidationContext>>> existing = resolved.putIfAbsent(messageType, byPayloadType);
+                if (existing != null) {
+                    byPayloadType = existing;
+                }
+            }
+
+            List<MessageValidator<? extends ValidationContext>> matchingValidators = byPayloadType.get(payloadType);
+            if (matchingValidators == null) {
+                List<MessageValidator<? extends ValidationContext>> candidates = new ArrayList<>();
+                for (MessageValidator<? extends ValidationContext> validator : validators) {
+                    if (validator.supportsMessageType(messageType, message)) {
+                        candidates.add(validator);
+                    }
+                }
+
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Found %s message validators for message type: %s", candidates.size(), messageType));
+                }
+
+                matchingValidators = Collections.unmodifiableList(candidates);
+                byPayloadType.put(payloadType, matchingValidators);
+            }
+
+            return matchingValidators;
+        }
+    }
 }
@@ -63,6 +63,7 @@ public class XpathPayloadVariableExtractor implements VariableExtractor {
         }
         
         NamespaceContext nsContext = context.getNamespaceContextBuilder().buildContext(message, namespaces);
+        Document doc = XMLUtils.parseMessagePayload(message);
 
         for (Entry<String, String> entry : xPathExpressions.entrySet()) {
             String pathExpression = entry.getKey();
@@ -72,8 +73,6 @@ public class XpathPayloadVariableExtractor implements VariableExtractor {
                 log.debug("Evaluating XPath expression: " + pathExpression);
             }
             
-            Document doc = XMLUtils.parseMessagePayload(message.getPayload(String.class));
-            
             if (XPathUtils.isXPathExpression(pathExpression)) {
                 XPathExpressionResult resultType = XPathExpressionResult.fromString(pathExpression, XPathExpressionResult.STRING);
                 pathExpression = XPathExpressionResult.cutOffPrefix(pathExpression);
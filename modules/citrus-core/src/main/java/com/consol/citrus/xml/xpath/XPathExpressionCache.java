@@ -0,0 +1,217 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml.xpath;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.xpath.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of compiled XPath expressions. Compiled expressions are not thread safe so each thread holds its own
+ * least recently used expression map. Cache key is the expression string plus the namespace bindings of the
+ * namespace context used for compilation.
+ *
+ * Namespace contexts that do not expose their bindings can not be part of a cache key. Expressions using such
+ * a context are compiled on each call.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public class XPathExpressionCache {
+
+    /** System property defining max number of cached expressions per thread */
+    public static final String MAX_SIZE_PROPERTY = "citrus.xpath.expression.cache.size";
+    public static final int DEFAULT_MAX_SIZE = Integer.valueOf(System.getProperty(MAX_SIZE_PROPERTY, "500"));
+
+    /** XPath expression factory */
+    private final XPathFactory xPathFactory;
+
+    /** Max number of expressions per thread - zero disables caching */
+    private final int maxSize;
+
+    /** Thread bound compiled expressions */
+    private final ThreadLocal<Map<CacheKey, XPathExpression>> expressions = new ThreadLocal<Map<CacheKey, XPathExpression>>() {
+        @Override
+        protected Map<CacheKey, XPathExpression> initialValue() {
+            return new LinkedHashMap<CacheKey, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, XPathExpression> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+    };
+
+    /** Cache metrics */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor using fields.
+     * @param xPathFactory
+     * @param maxSize
+     */
+    public XPathExpressionCache(XPathFactory xPathFactory, int maxSize) {
+        this.xPathFactory = xPathFactory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets compiled expression from cache or compiles the expression with given namespace context.
+     * @param xPathExpression
+     * @param nsContext
+     * @return
+     * @throws XPathExpressionException
+     */
+    public XPathExpression getExpression(String xPathExpression, NamespaceContext nsContext) throws XPathExpressionException {
+        CacheKey key = maxSize > 0 ? CacheKey.of(xPathExpression, nsContext) : null;
+
+        if (key == null) {
+            misses.incrementAndGet();
+            return compile(xPathExpression, nsContext);
+        }
+
+        Map<CacheKey, XPathExpression> cached = expressions.get();
+        XPathExpression expression = cached.get(key);
+
+        if (expression != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            expression = compile(xPathExpression, nsContext);
+            cached.put(key, expression);
+        }
+
+        return expression;
+    }
+
+    /**
+     * Compiles new expression with namespace context.
+     * @param xPathExpression
+     * @param nsContext
+     * @return
+     * @throws XPathExpressionException
+     */
+    private XPathExpression compile(String xPathExpression, NamespaceContext nsContext) throws XPathExpressionException {
+        XPath xpath;
+        synchronized (xPathFactory) {
+            xpath = xPathFactory.newXPath();
+        }
+
+        if (nsContext != null) {
+            xpath.setNamespaceContext(nsContext);
+        }
+
+        return xpath.compile(xPathExpression);
+    }
+
+    /**
+     * Removes all cached expressions of current thread and resets metrics.
+     */
+    public void clear() {
+        expressions.remove();
+        hits.set(0L);
+        misses.set(0L);
+    }
+
+    /**
+     * Gets the number of cache hits.
+     * @return
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of cache misses.
+     * @return
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the max number of cached expressions per thread.
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Cache key combines expression string and namespace bindings.
+     */
+    private static final class CacheKey {
+        private final String expression;
+        private final Map<String, String> namespaces;
+
+        private CacheKey(String expression, Map<String, String> namespaces) {
+            this.expression = expression;
+            this.namespaces = namespaces;
+        }
+
+        /**
+         * Creates key for expression and namespace context. Returns null in case namespace
+         * bindings of given context are not accessible.
+         * @param expression
+         * @param nsContext
+         * @return
+         */
+        static CacheKey of(String expression, NamespaceContext nsContext) {
+            if (nsContext == null) {
+                return new CacheKey(expression, Collections.<String, String>emptyMap());
+            }
+
+            Iterator<String> prefixes;
+            if (nsContext instanceof org.springframework.xml.namespace.SimpleNamespaceContext) {
+                prefixes = ((org.springframework.xml.namespace.SimpleNamespaceContext) nsContext).getBoundPrefixes();
+            } else if (nsContext instanceof org.springframework.util.xml.SimpleNamespaceContext) {
+                prefixes = ((org.springframework.util.xml.SimpleNamespaceContext) nsContext).getBoundPrefixes();
+            } else {
+                return null;
+            }
+
+            Map<String, String> namespaces = new HashMap<>();
+            while (prefixes.hasNext()) {
+                String prefix = prefixes.next();
+                namespaces.put(prefix, nsContext.getNamespaceURI(prefix));
+            }
+
+            return new CacheKey(expression, namespaces);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+
+            CacheKey other = (CacheKey) o;
+            return expression.equals(other.expression) && namespaces.equals(other.namespaces);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * expression.hashCode() + namespaces.hashCode();
+        }
+    }
+}
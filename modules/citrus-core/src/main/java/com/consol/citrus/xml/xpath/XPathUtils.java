@@ -39,6 +39,9 @@ public abstract class XPathUtils {
 
     /** XPath expression factory */
     private static XPathFactory xPathFactory;
+
+    /** Compiled XPath expressions */
+    private static XPathExpressionCache expressionCache;
     
     /** Dynamic namespace prefix suffix */
     public static final String DYNAMIC_NS_START = "{";
@@ -49,6 +52,7 @@ public abstract class XPathUtils {
 
     static {
         xPathFactory = XPathFactory.newInstance();
+        expressionCache = new XPathExpressionCache(xPathFactory, XPathExpressionCache.DEFAULT_MAX_SIZE);
     }
     
     /**
@@ -258,7 +262,7 @@ public abstract class XPathUtils {
     /**
      * Construct a xPath expression instance with given expression string and namespace context.
      * If namespace context is not specified a default context is built from the XML node
-     * that is evaluated against.
+     * that is evaluated against. Compiled expressions are cached per thread.
      * @param xPathExpression
      * @param nsContext
      * @return
@@ -266,13 +270,15 @@ public abstract class XPathUtils {
      */
     private static XPathExpression buildExpression(String xPathExpression, NamespaceContext nsContext)
             throws XPathExpressionException {
-        XPath xpath = xPathFactory.newXPath();
-        
-        if (nsContext != null) {
-            xpath.setNamespaceContext(nsContext);
-        }
+        return expressionCache.getExpression(xPathExpression, nsContext);
+    }
 
-        return xpath.compile(xPathExpression);
+    /**
+     * Gets the compiled expression cache providing hit and miss metrics.
+     * @return
+     */
+    public static XPathExpressionCache getExpressionCache() {
+        return expressionCache;
     }
 
     /**
@@ -60,6 +60,7 @@ public class TestCaseTest extends AbstractTestNGUnitTest {
             public void doExecute(TestContext context) {
                 Assert.assertEquals(context.getVariables().get(Citrus.TEST_NAME_VARIABLE), "MyTestCase");
                 Assert.assertEquals(context.getVariables().get(Citrus.TEST_PACKAGE_VARIABLE), TestCase.class.getPackage().getName());
+                Assert.assertNotNull(context.getVariables().get(Citrus.TEST_INVOCATION_ID_VARIABLE));
                 Assert.assertEquals(context.getVariable("${name}"), "Citrus");
                 Assert.assertEquals(context.getVariable("${framework}"), "Citrus");
                 Assert.assertEquals(context.getVariable("${hello}"), "Hello Citrus!");
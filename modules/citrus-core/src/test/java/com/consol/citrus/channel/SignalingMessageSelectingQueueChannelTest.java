@@ -0,0 +1,158 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.channel;
+
+import com.consol.citrus.channel.selector.HeaderMatchingMessageSelector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class SignalingMessageSelectingQueueChannelTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SignalingMessageSelectingQueueChannelTest.class);
+
+    private ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @Test
+    public void testReceiveSelected() {
+        SignalingMessageSelectingQueueChannel channel = new SignalingMessageSelectingQueueChannel();
+
+        channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build());
+
+        Message<?> receivedMessage = channel.receive(new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "bar")), 1000L);
+
+        Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+        Assert.assertEquals(receivedMessage.getHeaders().get("foo"), "bar");
+    }
+
+    @Test
+    public void testReceiveSignaled() throws Exception {
+        final SignalingMessageSelectingQueueChannel channel = new SignalingMessageSelectingQueueChannel();
+
+        channel.send(MessageBuilder.withPayload("OtherMessage").setHeader("foo", "other").build());
+
+        final AtomicLong evaluations = new AtomicLong();
+        MessageSelector selector = new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "bar")) {
+            @Override
+            public boolean accept(Message<?> message) {
+                evaluations.incrementAndGet();
+                return super.accept(message);
+            }
+        };
+
+        sendDelayed(channel, MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build(), 200L);
+
+        Message<?> receivedMessage = channel.receive(selector, 5000L);
+
+        Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+        Assert.assertEquals(evaluations.get(), 2L);
+        Assert.assertEquals(channel.getQueueSize(), 1);
+    }
+
+    @Test
+    public void testReceiveTimeout() {
+        SignalingMessageSelectingQueueChannel channel = new SignalingMessageSelectingQueueChannel(10);
+
+        channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foos", "bars").build());
+
+        final AtomicLong evaluations = new AtomicLong();
+        MessageSelector selector = new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "bar")) {
+            @Override
+            public boolean accept(Message<?> message) {
+                evaluations.incrementAndGet();
+                return super.accept(message);
+            }
+        };
+
+        Message<?> receivedMessage = channel.receive(selector, 500L);
+
+        Assert.assertNull(receivedMessage);
+        Assert.assertEquals(evaluations.get(), 1L);
+        Assert.assertEquals(channel.getQueueSize(), 1);
+    }
+
+    @Test
+    public void testReceiveLatencyComparedToPolling() throws Exception {
+        int rounds = 5;
+
+        MessageSelectingQueueChannel pollingChannel = new MessageSelectingQueueChannel();
+        long pollingLatency = measureLatency(pollingChannel, rounds);
+
+        SignalingMessageSelectingQueueChannel signalingChannel = new SignalingMessageSelectingQueueChannel();
+        long signalingLatency = measureLatency(signalingChannel, rounds);
+
+        log.info(String.format("Average selective receive latency - polling: %dus, signaling: %dus",
+                TimeUnit.NANOSECONDS.toMicros(pollingLatency), TimeUnit.NANOSECONDS.toMicros(signalingLatency)));
+
+        Assert.assertTrue(signalingLatency < pollingLatency);
+        Assert.assertTrue(signalingLatency < TimeUnit.MILLISECONDS.toNanos(pollingChannel.getPollingInterval()));
+    }
+
+    /**
+     * Measures average time between message send and selective receive return.
+     * @param channel
+     * @param rounds
+     * @return
+     */
+    private long measureLatency(MessageSelectingQueueChannel channel, int rounds) throws Exception {
+        MessageSelector selector = new HeaderMatchingMessageSelector(Collections.singletonMap("foo", "bar"));
+
+        long total = 0L;
+        for (int i = 0; i < rounds; i++) {
+            Future<Long> sent = sendDelayed(channel, MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build(), 50L);
+
+            Message<?> receivedMessage = channel.receive(selector, 5000L);
+            long received = System.nanoTime();
+
+            Assert.assertNotNull(receivedMessage);
+            total += received - sent.get();
+        }
+
+        return total / rounds;
+    }
+
+    /**
+     * Sends message on channel after given delay in separate thread.
+     * @param channel
+     * @param message
+     * @param delay
+     * @return future holding the nano time the message was sent
+     */
+    private Future<Long> sendDelayed(final MessageSelectingQueueChannel channel, final Message<?> message, final long delay) {
+        return executor.submit(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                Thread.sleep(delay);
+                long sent = System.nanoTime();
+                channel.send(message);
+                return sent;
+            }
+        });
+    }
+}
@@ -18,13 +18,19 @@ package com.consol.citrus.container;
 
 import com.consol.citrus.TestAction;
 import com.consol.citrus.actions.*;
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ParallelContainerException;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.mockito.Mockito;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.Mockito.*;
 
@@ -146,4 +152,242 @@ public class ParallelTest extends AbstractTestNGUnitTest {
 
         verify(action).execute(context);
     }
+
+    @Test
+    public void testMaxConcurrency() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setMaxConcurrency(2);
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        for (int i = 0; i < 6; i++) {
+            actionList.add(new AbstractTestAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    int current = running.incrementAndGet();
+                    synchronized (maxRunning) {
+                        maxRunning.set(Math.max(maxRunning.get(), current));
+                    }
+
+                    try {
+                        Thread.sleep(50L);
+                    } catch (InterruptedException e) {
+                        throw new CitrusRuntimeException(e);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }
+            });
+        }
+
+        parallelAction.setActions(actionList);
+        parallelAction.execute(context);
+
+        Assert.assertEquals(maxRunning.get(), 2);
+    }
+
+    @Test
+    public void testDependingActions() {
+        Parallel parallelAction = new Parallel();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+                try {
+                    Assert.assertTrue(latch.await(5000L, TimeUnit.MILLISECONDS));
+                } catch (InterruptedException e) {
+                    throw new CitrusRuntimeException(e);
+                }
+            }
+        });
+        actionList.add(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+                latch.countDown();
+            }
+        });
+
+        parallelAction.setActions(actionList);
+        parallelAction.execute(context);
+    }
+
+    @Test
+    public void testNestedDependingActions() {
+        final int branches = 50;
+        final CountDownLatch latch = new CountDownLatch(branches * 2);
+
+        List<TestAction> outerActions = new ArrayList<TestAction>();
+        for (int i = 0; i < branches; i++) {
+            List<TestAction> innerActions = new ArrayList<TestAction>();
+            for (int k = 0; k < 2; k++) {
+                innerActions.add(new AbstractTestAction() {
+                    @Override
+                    public void doExecute(TestContext context) {
+                        latch.countDown();
+
+                        try {
+                            Assert.assertTrue(latch.await(10000L, TimeUnit.MILLISECONDS));
+                        } catch (InterruptedException e) {
+                            throw new CitrusRuntimeException(e);
+                        }
+                    }
+                });
+            }
+
+            Parallel innerParallel = new Parallel();
+            innerParallel.setActions(innerActions);
+            outerActions.add(innerParallel);
+        }
+
+        Parallel parallelAction = new Parallel();
+        parallelAction.setActions(outerActions);
+        parallelAction.execute(context);
+    }
+
+    @Test
+    public void testFailFast() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setFailFast(true);
+
+        SleepAction sleep = new SleepAction();
+        sleep.setMilliseconds("5000");
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(sleep);
+        actionList.add(new FailAction());
+
+        parallelAction.setActions(actionList);
+
+        long start = System.currentTimeMillis();
+        try {
+            parallelAction.execute(context);
+            Assert.fail("Missing exception due to failing action");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertFalse(e instanceof ParallelContainerException);
+        }
+
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+    }
+
+    @Test
+    public void testFailFastWaitsForCancelledActions() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setFailFast(true);
+
+        final AtomicBoolean exited = new AtomicBoolean(false);
+        final CountDownLatch started = new CountDownLatch(1);
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+                try {
+                    started.countDown();
+                    Thread.sleep(5000L);
+                } catch (InterruptedException e) {
+                    // keep on running for a while after interrupt
+                    long until = System.currentTimeMillis() + 300L;
+                    while (System.currentTimeMillis() < until) {
+                        Thread.yield();
+                    }
+                } finally {
+                    exited.set(true);
+                }
+            }
+        });
+        actionList.add(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+                try {
+                    started.await();
+                } catch (InterruptedException e) {
+                    throw new CitrusRuntimeException(e);
+                }
+
+                throw new CitrusRuntimeException("Failed!");
+            }
+        });
+
+        parallelAction.setActions(actionList);
+
+        try {
+            parallelAction.execute(context);
+            Assert.fail("Missing exception due to failing action");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(exited.get(), "Parallel container returned before cancelled action has exited");
+        }
+    }
+
+    @Test
+    public void testFailFastCancelsPendingActions() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setFailFast(true);
+        parallelAction.setMaxConcurrency(1);
+
+        reset(action);
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(new FailAction());
+        actionList.add(action);
+
+        parallelAction.setActions(actionList);
+
+        try {
+            parallelAction.execute(context);
+            Assert.fail("Missing exception due to failing action");
+        } catch (CitrusRuntimeException e) {
+            verify(action, never()).execute(context);
+        }
+    }
+
+    @Test
+    public void testCollectExceptions() {
+        Parallel parallelAction = new Parallel();
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        for (int i = 0; i < 10; i++) {
+            actionList.add(new FailAction());
+        }
+
+        parallelAction.setActions(actionList);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                parallelAction.execute(context);
+                Assert.fail("Missing exception due to failing actions");
+            } catch (ParallelContainerException e) {
+                Assert.assertEquals(e.getMessage().split("\n\t\\+").length - 1, 10);
+                Assert.assertEquals(parallelAction.getLastExecutedAction().getClass(), FailAction.class);
+            }
+        }
+    }
+
+    @Test
+    public void testCustomExecutor() {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        try {
+            Parallel parallelAction = new Parallel();
+            parallelAction.setExecutorService(executorService);
+            parallelAction.setMaxConcurrency(1);
+
+            reset(action);
+
+            List<TestAction> actionList = new ArrayList<TestAction>();
+            actionList.add(new EchoAction());
+            actionList.add(action);
+
+            parallelAction.setActions(actionList);
+            parallelAction.execute(context);
+
+            verify(action).execute(context);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.functions.FunctionUtils;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.variable.VariableUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class DynamicContentTemplateTest extends AbstractTestNGUnitTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(DynamicContentTemplateTest.class);
+
+    private List<String> prefixes = Collections.singletonList("citrus:");
+
+    @DataProvider
+    public Object[][] templateProvider() {
+        return new Object[][] {
+            new Object[] {"Hello Citrus!"},
+            new Object[] {"${greeting} ${name}!"},
+            new Object[] {"<message>${greeting}</message><name>${name}</name>"},
+            new Object[] {"${greeting}${name}"},
+            new Object[] {"citrus:upperCase('Hello')"},
+            new Object[] {"<message>citrus:concat('Hello', ' ', 'Citrus!')</message>"},
+            new Object[] {"<message>citrus:concat(${greeting}, ' ', ${name})</message>"},
+            new Object[] {"citrus:concat('Hello', citrus:upperCase(' Citrus'))!"},
+            new Object[] {"${greeting} citrus:upperCase('${name}') citrus:lowerCase('FOO') ${name}"},
+            new Object[] {"citrus:concat('citrus', ':citrus')"},
+            new Object[] {"${function}"},
+            new Object[] {"${functionPrefix}upperCase('foo')"},
+            new Object[] {"citrus:concat(${bracket}, 'foo')"},
+            new Object[] {"citrus:concat('citrus:', 'upperCase(\\'foo\\')')"},
+            new Object[] {"<citrus:message xmlns:citrus=\"http://citrusframework.org\">${greeting}</citrus:message>"},
+            new Object[] {"${greeting} ${unterminated"},
+            new Object[] {"${outer${inner}}"},
+        };
+    }
+
+    @Test(dataProvider = "templateProvider")
+    public void testEvaluateSameAsReplace(String source) {
+        context.setVariable("greeting", "Hello");
+        context.setVariable("name", "Citrus");
+        context.setVariable("function", "citrus:upperCase('foo')");
+        context.setVariable("functionPrefix", "citrus:");
+        context.setVariable("bracket", "'foo'), citrus:upperCase('bar'");
+        context.setVariable("unterminate", "unterminated");
+        context.setVariable("outer${inner", "outer");
+
+        for (boolean enableQuoting : new boolean[] { false, true }) {
+            String expected;
+            try {
+                expected = replace(source, enableQuoting);
+            } catch (CitrusRuntimeException e) {
+                try {
+                    DynamicContentTemplate.compile(source, prefixes).evaluate(context, enableQuoting);
+                    Assert.fail("Missing exception for template: " + source);
+                } catch (CitrusRuntimeException templateException) {
+                    Assert.assertEquals(templateException.getClass(), e.getClass());
+                    Assert.assertEquals(templateException.getMessage(), e.getMessage());
+                }
+
+                continue;
+            }
+
+            Assert.assertEquals(DynamicContentTemplate.compile(source, prefixes).evaluate(context, enableQuoting), expected);
+            Assert.assertEquals(context.replaceDynamicContentInString(source, enableQuoting), expected);
+        }
+    }
+
+    @Test
+    public void testCompile() {
+        Assert.assertTrue(DynamicContentTemplate.compile("${greeting} citrus:upperCase('${name}')", prefixes).isCompiled());
+        Assert.assertFalse(DynamicContentTemplate.compile("citrus:upperCase('${name}'", prefixes).isCompiled());
+        Assert.assertFalse(DynamicContentTemplate.compile("citrus:foo", prefixes).isCompiled());
+        Assert.assertFalse(DynamicContentTemplate.compile("citrus:upperCase('foo') other:upperCase('bar')",
+                Arrays.asList("citrus:", "other:citrus:")).isCompiled());
+    }
+
+    @Test
+    public void testCache() {
+        DynamicContentTemplateCache cache = new DynamicContentTemplateCache(2);
+
+        DynamicContentTemplate template = cache.getTemplate("${greeting}", prefixes);
+        Assert.assertSame(cache.getTemplate("${greeting}", prefixes), template);
+        Assert.assertNotSame(cache.getTemplate("${greeting}", Arrays.asList("citrus:", "other:")), template);
+
+        cache.getTemplate("Hello", prefixes);
+        Assert.assertEquals(cache.size(), 1);
+
+        cache.getTemplate("${name}", prefixes);
+        cache.getTemplate("${other}", prefixes);
+        Assert.assertEquals(cache.size(), 2);
+
+        Assert.assertEquals(cache.getHits(), 1L);
+        Assert.assertEquals(cache.getMisses(), 4L);
+    }
+
+    @Test
+    public void testCacheSkipsStaticSources() {
+        DynamicContentTemplateCache cache = new DynamicContentTemplateCache(10);
+
+        String text = "Hello Citrus!";
+        Assert.assertSame(cache.getTemplate(text, prefixes).evaluate(context, false), text);
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.getMisses(), 0L);
+    }
+
+    @Test
+    public void testCacheBoundedByTotalLength() {
+        DynamicContentTemplateCache cache = new DynamicContentTemplateCache(10, 40L);
+
+        context.setVariable("greeting", "Hello");
+        String one = "${greeting}-one";
+        String two = "${greeting}-two";
+        String six = "${greeting}-six";
+
+        DynamicContentTemplate template = cache.getTemplate(one, prefixes);
+        cache.getTemplate(two, prefixes);
+        Assert.assertEquals(cache.getTotalLength(), 30L);
+
+        // least recently used template is evicted
+        Assert.assertSame(cache.getTemplate(one, prefixes), template);
+        cache.getTemplate(six, prefixes);
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(cache.getTotalLength(), 30L);
+        Assert.assertSame(cache.getTemplate(one, prefixes), template);
+        Assert.assertEquals(cache.getHits(), 2L);
+
+        cache.getTemplate(two, prefixes);
+        Assert.assertEquals(cache.getMisses(), 4L);
+
+        // source exceeding max total length is not cached
+        String large = "${greeting} from a source exceeding max total length";
+        Assert.assertEquals(cache.getTemplate(large, prefixes).evaluate(context, false), "Hello from a source exceeding max total length");
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(cache.getTotalLength(), 30L);
+
+        cache.clear();
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.getTotalLength(), 0L);
+    }
+
+    @Test
+    public void testLargePayloadPerformance() {
+        int placeholders = 500;
+        int rounds = 50;
+
+        StringBuilder payload = new StringBuilder("<ns:root xmlns:ns=\"http://citrusframework.org/foo\">");
+        for (int i = 0; i < placeholders; i++) {
+            context.setVariable("var" + i, "value" + i);
+            payload.append("<ns:element").append(i).append(" id=\"${var").append(i).append("}\">");
+            if (i % 5 == 0) {
+                payload.append("citrus:upperCase('${var").append(i).append("}')");
+            } else {
+                payload.append("Some static text ${var").append(i).append("}");
+            }
+            payload.append("</ns:element").append(i).append(">");
+        }
+        payload.append("</ns:root>");
+
+        String source = payload.toString();
+        DynamicContentTemplateCache cache = new DynamicContentTemplateCache(10);
+
+        //warm up
+        measureReplace(source, rounds);
+        measureTemplate(cache, source, rounds);
+
+        long replace = measureReplace(source, rounds);
+        long template = measureTemplate(cache, source, rounds);
+
+        log.info(String.format("Replaced %d placeholders in %d chars payload %d times - variable and function passes: %dms, compiled template: %dms",
+                placeholders, source.length(), rounds, TimeUnit.NANOSECONDS.toMillis(replace), TimeUnit.NANOSECONDS.toMillis(template)));
+
+        Assert.assertEquals(cache.getMisses(), 1L);
+        Assert.assertEquals(cache.getTemplate(source, prefixes).evaluate(context, false), replace(source, false));
+    }
+
+    private long measureReplace(String source, int rounds) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            replace(source, false);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long measureTemplate(DynamicContentTemplateCache cache, String source, int rounds) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            cache.getTemplate(source, prefixes).evaluate(context, false);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Replaces variables and functions with separate passes.
+     * @param source
+     * @param enableQuoting
+     * @return
+     */
+    private String replace(String source, boolean enableQuoting) {
+        String result = VariableUtils.replaceVariablesInString(source, context, enableQuoting);
+        return FunctionUtils.replaceFunctionsInString(result, context, enableQuoting);
+    }
+}
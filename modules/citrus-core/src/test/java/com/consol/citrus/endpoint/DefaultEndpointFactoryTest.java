@@ -22,6 +22,7 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.mockito.Mockito;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -97,6 +98,60 @@ public class DefaultEndpointFactoryTest {
         Assert.assertEquals(((ChannelEndpoint)endpoint).getEndpointConfiguration().getChannelName(), "custom.channel");
     }
 
+    @Test
+    public void testCachedEndpointComponents() throws Exception {
+        Map<String, EndpointComponent> components = new HashMap<String, EndpointComponent>();
+        components.put("custom", new ChannelEndpointComponent());
+
+        reset(applicationContext);
+        when(applicationContext.getBeansOfType(EndpointComponent.class)).thenReturn(components);
+        TestContext context = new TestContext();
+        context.setApplicationContext(applicationContext);
+
+        DefaultEndpointFactory factory = new DefaultEndpointFactory();
+        Endpoint endpoint = factory.create("custom:custom.channel", context);
+        Assert.assertSame(factory.create("custom:custom.channel", context), endpoint);
+        Assert.assertNotSame(factory.create("channel:channel.name", context), endpoint);
+        Assert.assertEquals(factory.create("channel:channel.name", context).getClass(), ChannelEndpoint.class);
+
+        Assert.assertEquals(factory.getCacheHits(), 2L);
+        Assert.assertEquals(factory.getCacheMisses(), 2L);
+        verify(applicationContext, times(1)).getBeansOfType(EndpointComponent.class);
+
+        factory.onApplicationEvent(new ContextRefreshedEvent(applicationContext));
+        Assert.assertSame(factory.create("custom:custom.channel", context), endpoint);
+        verify(applicationContext, times(2)).getBeansOfType(EndpointComponent.class);
+    }
+
+    @Test
+    public void testNestedEndpointResolution() throws Exception {
+        final DefaultEndpointFactory factory = new DefaultEndpointFactory();
+
+        Map<String, EndpointComponent> components = new HashMap<String, EndpointComponent>();
+        components.put("nested", new ChannelEndpointComponent() {
+            @Override
+            protected Endpoint createEndpoint(String resourcePath, Map<String, String> parameters, TestContext context) {
+                // resolve another endpoint from the same factory while creating this endpoint
+                Assert.assertEquals(factory.create("channel:" + resourcePath + ".inner", context).getClass(), ChannelEndpoint.class);
+                return super.createEndpoint(resourcePath, parameters, context);
+            }
+        });
+
+        reset(applicationContext);
+        when(applicationContext.getBeansOfType(EndpointComponent.class)).thenReturn(components);
+        TestContext context = new TestContext();
+        context.setApplicationContext(applicationContext);
+
+        for (int i = 0; i < 100; i++) {
+            Endpoint endpoint = factory.create("nested:channel" + i, context);
+            Assert.assertEquals(((ChannelEndpoint)endpoint).getEndpointConfiguration().getChannelName(), "channel" + i);
+            Assert.assertSame(factory.create("nested:channel" + i, context), endpoint);
+        }
+
+        Assert.assertEquals(factory.getCacheMisses(), 200L);
+        Assert.assertEquals(factory.getCacheHits(), 100L);
+    }
+
     @Test
     public void testResolveUnknownEndpointComponent() throws Exception {
         reset(applicationContext);
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.endpoint.adapter;
+
+import com.consol.citrus.endpoint.adapter.mapping.*;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.StaticApplicationContext;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dispatched messages per second of request dispatching endpoint adapter with bean name mapping strategy
+ * and with routing table on top of bean name mapping strategy.
+ *
+ * @author Christoph Deppisch
+ */
+@Test(groups = "benchmark")
+public class RequestDispatchingThroughputTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(RequestDispatchingThroughputTest.class);
+
+    private static final int ROUTES = 50;
+
+    private StaticApplicationContext applicationContext;
+    private List<Message> requests = new ArrayList<>();
+
+    @BeforeClass
+    public void setUp() {
+        applicationContext = new StaticApplicationContext();
+        for (int i = 0; i < ROUTES; i++) {
+            applicationContext.registerSingleton("Operation" + i + "Request", EmptyResponseEndpointAdapter.class);
+            requests.add(new DefaultMessage("<Operation" + i + "Request><text>Hello</text></Operation" + i + "Request>"));
+        }
+        applicationContext.refresh();
+    }
+
+    @Test
+    public void testDispatchThroughput() {
+        int messages = 20000;
+
+        BeanNameMappingStrategy beanNameStrategy = new BeanNameMappingStrategy();
+        beanNameStrategy.setApplicationContext(applicationContext);
+
+        RoutingTableMappingStrategy routingTable = new RoutingTableMappingStrategy();
+        routingTable.setMappingStrategy(beanNameStrategy);
+
+        //warm up
+        dispatchMessages(createEndpointAdapter(beanNameStrategy), 2000);
+        dispatchMessages(createEndpointAdapter(routingTable), 2000);
+        routingTable.resetMetrics();
+
+        long beanName = dispatchMessages(createEndpointAdapter(beanNameStrategy), messages);
+        long routed = dispatchMessages(createEndpointAdapter(routingTable), messages);
+
+        long hits = 0L;
+        for (RoutingTableMappingStrategy.Route route : routingTable.getRoutes().values()) {
+            hits += route.getHitCount();
+        }
+
+        Assert.assertEquals(routingTable.getRoutes().size(), ROUTES);
+        Assert.assertEquals(hits, messages);
+
+        log.info(String.format("Dispatched %d messages to %d endpoint adapters - bean name mapping: %d msg/s, routing table: %d msg/s",
+                messages, ROUTES, messagesPerSecond(messages, beanName), messagesPerSecond(messages, routed)));
+    }
+
+    private long dispatchMessages(RequestDispatchingEndpointAdapter endpointAdapter, int messages) {
+        long start = System.nanoTime();
+
+        for (int i = 0; i < messages; i++) {
+            Assert.assertNotNull(endpointAdapter.handleMessage(requests.get(i % ROUTES)));
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    private RequestDispatchingEndpointAdapter createEndpointAdapter(EndpointAdapterMappingStrategy mappingStrategy) {
+        RequestDispatchingEndpointAdapter endpointAdapter = new RequestDispatchingEndpointAdapter();
+        endpointAdapter.setMappingKeyExtractor(new XPathPayloadMappingKeyExtractor());
+        endpointAdapter.setMappingStrategy(mappingStrategy);
+        return endpointAdapter;
+    }
+
+    private long messagesPerSecond(int messages, long nanos) {
+        return messages * TimeUnit.SECONDS.toNanos(1) / Math.max(nanos, 1L);
+    }
+}
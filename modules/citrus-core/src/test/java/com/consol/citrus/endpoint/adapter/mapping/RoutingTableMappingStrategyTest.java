@@ -0,0 +1,154 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.endpoint.adapter.mapping;
+
+import com.consol.citrus.endpoint.EndpointAdapter;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class RoutingTableMappingStrategyTest {
+
+    private EndpointAdapter fooEndpointAdapter = Mockito.mock(EndpointAdapter.class);
+    private EndpointAdapter barEndpointAdapter = Mockito.mock(EndpointAdapter.class);
+    private EndpointAdapter orderEndpointAdapter = Mockito.mock(EndpointAdapter.class);
+    private EndpointAdapter fallbackEndpointAdapter = Mockito.mock(EndpointAdapter.class);
+    private EndpointAdapterMappingStrategy delegateStrategy = Mockito.mock(EndpointAdapterMappingStrategy.class);
+
+    private RoutingTableMappingStrategy mappingStrategy;
+
+    @BeforeMethod
+    public void setUp() {
+        reset(fooEndpointAdapter, barEndpointAdapter, orderEndpointAdapter, fallbackEndpointAdapter, delegateStrategy);
+
+        Map<String, EndpointAdapter> mappings = new LinkedHashMap<>();
+        mappings.put("foo", fooEndpointAdapter);
+        mappings.put("Order*", orderEndpointAdapter);
+        mappings.put("*", barEndpointAdapter);
+
+        mappingStrategy = new RoutingTableMappingStrategy();
+        mappingStrategy.setAdapterMappings(mappings);
+    }
+
+    @Test
+    public void testExactAndWildcardRoutes() throws Exception {
+        Assert.assertEquals(((RoutingTableMappingStrategy.Route) mappingStrategy.getEndpointAdapter("foo")).getEndpointAdapter(), fooEndpointAdapter);
+        Assert.assertEquals(((RoutingTableMappingStrategy.Route) mappingStrategy.getEndpointAdapter("OrderRequest")).getEndpointAdapter(), orderEndpointAdapter);
+        Assert.assertEquals(((RoutingTableMappingStrategy.Route) mappingStrategy.getEndpointAdapter("OrderCancel")).getEndpointAdapter(), orderEndpointAdapter);
+        Assert.assertEquals(((RoutingTableMappingStrategy.Route) mappingStrategy.getEndpointAdapter("unknown")).getEndpointAdapter(), barEndpointAdapter);
+
+        Assert.assertSame(mappingStrategy.getEndpointAdapter("OrderRequest"), mappingStrategy.getEndpointAdapter("OrderCancel"));
+        Assert.assertEquals(mappingStrategy.getRoutes().size(), 3L);
+    }
+
+    @Test
+    public void testDelegateStrategyCached() throws Exception {
+        Map<String, EndpointAdapter> mappings = new LinkedHashMap<>();
+        mappings.put("foo", fooEndpointAdapter);
+        mappingStrategy.setAdapterMappings(mappings);
+        mappingStrategy.setMappingStrategy(delegateStrategy);
+
+        when(delegateStrategy.getEndpointAdapter("bar")).thenReturn(barEndpointAdapter);
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(((RoutingTableMappingStrategy.Route) mappingStrategy.getEndpointAdapter("bar")).getEndpointAdapter(), barEndpointAdapter);
+        }
+
+        verify(delegateStrategy, times(1)).getEndpointAdapter("bar");
+        Assert.assertEquals(mappingStrategy.getRoutes().size(), 2L);
+        Assert.assertTrue(mappingStrategy.getRoutes().containsKey("bar"));
+    }
+
+    @Test
+    public void testFallbackRoute() throws Exception {
+        Map<String, EndpointAdapter> mappings = new LinkedHashMap<>();
+        mappings.put("foo", fooEndpointAdapter);
+        mappingStrategy.setAdapterMappings(mappings);
+        mappingStrategy.setMappingStrategy(delegateStrategy);
+        mappingStrategy.setFallbackEndpointAdapter(fallbackEndpointAdapter);
+
+        when(delegateStrategy.getEndpointAdapter("unknown")).thenThrow(new CitrusRuntimeException("Unable to find matching endpoint adapter"));
+
+        Assert.assertSame(mappingStrategy.getEndpointAdapter("unknown"), mappingStrategy.getFallbackRoute());
+        Assert.assertSame(mappingStrategy.getEndpointAdapter("unknown"), mappingStrategy.getFallbackRoute());
+        Assert.assertEquals(mappingStrategy.getFallbackRoute().getEndpointAdapter(), fallbackEndpointAdapter);
+
+        verify(delegateStrategy, times(1)).getEndpointAdapter("unknown");
+    }
+
+    @Test
+    public void testUnknownMappingKey() throws Exception {
+        Map<String, EndpointAdapter> mappings = new LinkedHashMap<>();
+        mappings.put("foo", fooEndpointAdapter);
+        mappingStrategy.setAdapterMappings(mappings);
+
+        try {
+            mappingStrategy.getEndpointAdapter("unknown");
+            Assert.fail("Missing exception due to unknown mapping key");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Unable to find matching endpoint adapter with mapping key 'unknown'"));
+        }
+    }
+
+    @Test
+    public void testRouteMetrics() throws Exception {
+        Message request = new DefaultMessage("Hello");
+        Message response = new DefaultMessage("Hi");
+
+        when(fooEndpointAdapter.handleMessage(request)).thenReturn(response);
+        when(orderEndpointAdapter.handleMessage(request)).thenThrow(new CitrusRuntimeException("Failed"));
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(mappingStrategy.getEndpointAdapter("foo").handleMessage(request), response);
+        }
+
+        try {
+            mappingStrategy.getEndpointAdapter("OrderRequest").handleMessage(request);
+            Assert.fail("Missing exception due to endpoint adapter error");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(e.getMessage(), "Failed");
+        }
+
+        RoutingTableMappingStrategy.Route fooRoute = mappingStrategy.getRoutes().get("foo");
+        Assert.assertEquals(fooRoute.getHitCount(), 3L);
+        Assert.assertEquals(fooRoute.getErrorCount(), 0L);
+        Assert.assertTrue(fooRoute.getTotalLatency() > 0L);
+        Assert.assertTrue(fooRoute.getMaxLatency() >= fooRoute.getAverageLatency());
+
+        RoutingTableMappingStrategy.Route orderRoute = mappingStrategy.getRoutes().get("Order*");
+        Assert.assertEquals(orderRoute.getHitCount(), 1L);
+        Assert.assertEquals(orderRoute.getErrorCount(), 1L);
+
+        Assert.assertEquals(mappingStrategy.getRoutes().get("*").getHitCount(), 0L);
+
+        mappingStrategy.resetMetrics();
+        Assert.assertEquals(fooRoute.getHitCount(), 0L);
+        Assert.assertEquals(fooRoute.getTotalLatency(), 0L);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message.correlation;
+
+import com.consol.citrus.channel.ChannelSyncEndpointConfiguration;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class SignalingCorrelationManagerTest {
+
+    private ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @Test
+    public void testFind() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(100L);
+        pollableEndpointConfiguration.setTimeout(500L);
+
+        SignalingCorrelationManager<String> correlationManager = new SignalingCorrelationManager<>(pollableEndpointConfiguration, "Try again");
+        Assert.assertNull(correlationManager.find(""));
+
+        correlationManager.store("foo", "bar");
+        Assert.assertNull(correlationManager.find("bar"));
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+
+        //2nd invocation with same correlation key
+        Assert.assertNull(correlationManager.find("foo"));
+
+        for (String key : new String[]{"1", "2", "3", "4", "5"}) {
+            correlationManager.store(key, "value" + key);
+        }
+
+        for (String key : new String[]{"1", "5", "3", "2", "4"}) {
+            Assert.assertEquals(correlationManager.find(key), "value" + key);
+            Assert.assertNull(correlationManager.find(key));
+        }
+    }
+
+    @Test
+    public void testFindSignaled() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(5000L);
+        pollableEndpointConfiguration.setTimeout(10000L);
+
+        final SignalingCorrelationManager<String> correlationManager = new SignalingCorrelationManager<>(pollableEndpointConfiguration, "Try again");
+
+        executor.submit(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                Thread.sleep(100L);
+                correlationManager.store("foo", "bar");
+                return null;
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+        Assert.assertTrue(System.currentTimeMillis() - start < pollableEndpointConfiguration.getPollingInterval());
+    }
+
+    @Test
+    public void testFindBypassingManager() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(100L);
+        pollableEndpointConfiguration.setTimeout(5000L);
+
+        final SignalingCorrelationManager<String> correlationManager = new SignalingCorrelationManager<>(pollableEndpointConfiguration, "Try again");
+
+        executor.submit(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                Thread.sleep(200L);
+                correlationManager.getObjectStore().add("foo", "bar");
+                return null;
+            }
+        });
+
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+    }
+
+    @Test
+    public void testGetCorrelationKeySignaled() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(5000L);
+
+        final SignalingCorrelationManager<String> correlationManager = new SignalingCorrelationManager<>(pollableEndpointConfiguration, "Try again");
+        final TestContext context = new TestContext();
+
+        executor.submit(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                Thread.sleep(100L);
+                correlationManager.saveCorrelationKey("correlationKey", "foo", context);
+                return null;
+            }
+        });
+
+        Assert.assertEquals(correlationManager.getCorrelationKey("correlationKey", context), "foo");
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testGetCorrelationKeyMissing() {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(100L);
+
+        SignalingCorrelationManager<String> correlationManager = new SignalingCorrelationManager<>(pollableEndpointConfiguration, "Try again");
+        correlationManager.getCorrelationKey("correlationKey", new TestContext());
+    }
+}
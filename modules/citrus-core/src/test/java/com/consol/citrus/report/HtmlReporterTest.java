@@ -0,0 +1,106 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.report;
+
+import com.consol.citrus.TestCase;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.util.FileUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class HtmlReporterTest {
+
+    private static final String OUTPUT_DIRECTORY = "target" + File.separator + "html-reporter-test";
+
+    @Test
+    public void testParallelReporting() throws Exception {
+        final HtmlReporter reporter = createReporter("parallel-test-results.html");
+
+        final int threads = 8;
+        final int testsPerThread = 100;
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        barrier.await();
+
+                        for (int i = 0; i < testsPerThread; i++) {
+                            TestCase test = new TestCase();
+                            test.setName("ParallelIT_" + thread + "_" + i);
+                            test.setPackageName("com.consol.citrus.sample");
+
+                            switch (i % 3) {
+                                case 0:
+                                    reporter.onTestSuccess(test);
+                                    break;
+                                case 1:
+                                    reporter.onTestFailure(test, new CitrusRuntimeException("Failed!"));
+                                    break;
+                                default:
+                                    reporter.onTestSkipped(test);
+                            }
+                        }
+
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(10L, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        reporter.generateTestResults();
+
+        String report = FileUtils.readToString(new FileSystemResource(OUTPUT_DIRECTORY + File.separator + "parallel-test-results.html"));
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < testsPerThread; i++) {
+                Assert.assertTrue(report.contains("ParallelIT_" + t + "_" + i + "<"), "Missing test ParallelIT_" + t + "_" + i + " in report");
+            }
+        }
+    }
+
+    private HtmlReporter createReporter(String reportFileName) {
+        HtmlReporter reporter = new HtmlReporter();
+        reporter.setReportTemplate(new ClassPathResource("com/consol/citrus/report/test-report.html"));
+        reporter.setTestDetailTemplate(new ClassPathResource("com/consol/citrus/report/test-detail.html"));
+        reporter.setLogo(new ClassPathResource("com/consol/citrus/report/citrus_logo.png"));
+        reporter.setOutputDirectory(OUTPUT_DIRECTORY);
+        reporter.setReportFileName(reportFileName);
+        reporter.setEnabled("true");
+        return reporter;
+    }
+}
@@ -16,14 +16,17 @@
 
 package com.consol.citrus.report;
 
+import com.consol.citrus.Citrus;
 import com.consol.citrus.TestCase;
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.message.RawMessage;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Scanner;
+import java.util.*;
+import java.util.concurrent.*;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -62,9 +65,115 @@ public class MessageTracingTestListenerTest {
         assertFileExistsWithContent(testname, outboundPayload);
     }
 
+    @Test
+    public void shouldSeparateMessagesOfParallelTests() throws Exception {
+        testling.afterPropertiesSet();
+
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            List<Future<?>> tests = new ArrayList<>();
+            for (final String testname : new String[] { "ParallelDummyTest1", "ParallelDummyTest2" }) {
+                tests.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        TestCase testCaseMock = setupTestCaseMock(testname);
+                        TestContext context = new TestContext();
+                        context.setVariable(Citrus.TEST_NAME_VARIABLE, testname);
+                        context.setVariable(Citrus.TEST_INVOCATION_ID_VARIABLE, testCaseMock.getInvocationId());
+
+                        testling.onTestStart(testCaseMock);
+                        barrier.await(5000L, TimeUnit.MILLISECONDS);
+
+                        for (int i = 0; i < 10; i++) {
+                            testling.onInboundMessage(setupRawMessageMock("Inbound Message of " + testname), context);
+                            testling.onOutboundMessage(setupRawMessageMock("Outbound Message of " + testname), context);
+                        }
+
+                        barrier.await(5000L, TimeUnit.MILLISECONDS);
+                        testling.onTestFinish(testCaseMock);
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> test : tests) {
+                test.get(10000L, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertFileExistsWithContent("ParallelDummyTest1", "Inbound Message of ParallelDummyTest1");
+        assertFileExistsWithoutContent("ParallelDummyTest1", "ParallelDummyTest2");
+        assertFileExistsWithContent("ParallelDummyTest2", "Outbound Message of ParallelDummyTest2");
+        assertFileExistsWithoutContent("ParallelDummyTest2", "ParallelDummyTest1");
+    }
+
+    @Test
+    public void shouldSeparateMessagesOfParallelInvocations() throws Exception {
+        testling.afterPropertiesSet();
+
+        final String testname = "ParallelInvocationDummyTest";
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            List<Future<?>> invocations = new ArrayList<>();
+            for (final String invocation : new String[] { "first", "second" }) {
+                invocations.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        TestCase testCaseMock = setupTestCaseMock(testname);
+                        TestContext context = new TestContext();
+                        context.setVariable(Citrus.TEST_NAME_VARIABLE, testname);
+                        context.setVariable(Citrus.TEST_INVOCATION_ID_VARIABLE, testCaseMock.getInvocationId());
+
+                        testling.onTestStart(testCaseMock);
+                        barrier.await(5000L, TimeUnit.MILLISECONDS);
+
+                        for (int i = 0; i < 10; i++) {
+                            testling.onInboundMessage(setupRawMessageMock("Inbound Message " + i + " of " + invocation + " invocation"), context);
+                        }
+
+                        if (invocation.equals("first")) {
+                            testling.onTestFinish(testCaseMock);
+                            barrier.await(5000L, TimeUnit.MILLISECONDS);
+                        } else {
+                            // keep on tracing after other invocation has finished
+                            barrier.await(5000L, TimeUnit.MILLISECONDS);
+                            testling.onOutboundMessage(setupRawMessageMock("Outbound Message of " + invocation + " invocation"), context);
+                            testling.onTestFinish(testCaseMock);
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> invocation : invocations) {
+                invocation.get(10000L, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String trace = readTraceFile(testname);
+        for (String invocation : new String[] { "first", "second" }) {
+            for (int i = 0; i < 10; i++) {
+                Assert.assertTrue(trace.contains("Inbound Message " + i + " of " + invocation + " invocation"));
+            }
+        }
+        Assert.assertTrue(trace.contains("Outbound Message of second invocation"));
+
+        // messages of the first invocation are written as one block before the second invocation
+        Assert.assertTrue(trace.lastIndexOf("of first invocation") < trace.indexOf("of second invocation"));
+    }
+
     private TestCase setupTestCaseMock(String testname) {
         TestCase mock = mock(TestCase.class);
         when(mock.getName()).thenReturn(testname);
+        when(mock.getInvocationId()).thenReturn(UUID.randomUUID().toString());
         return mock;
     }
 
@@ -75,11 +184,18 @@ public class MessageTracingTestListenerTest {
     }
 
     private void assertFileExistsWithContent(String testname, String content) {
+        Assert.assertTrue(readTraceFile(testname).indexOf(content) > -1);
+    }
+
+    private void assertFileExistsWithoutContent(String testname, String content) {
+        Assert.assertEquals(readTraceFile(testname).indexOf(content), -1);
+    }
+
+    private String readTraceFile(String testname) {
         File traceFile = testling.getTraceFile(testname);
         Assert.assertTrue(traceFile.isFile());
         try (Scanner scanner = new Scanner(traceFile)) {
-            String fileContent = scanner.useDelimiter("\\Z").next();
-            Assert.assertTrue(fileContent.indexOf(content) > -1);
+            return scanner.useDelimiter("\\Z").next();
         }
         catch (IOException e) {
             throw new RuntimeException(e);
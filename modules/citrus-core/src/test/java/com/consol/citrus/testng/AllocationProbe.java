@@ -0,0 +1,75 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.testng;
+
+import org.testng.SkipException;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures heap allocation of the current thread in allocation benchmark tests. Tests using this probe are skipped
+ * on JVMs not supporting thread allocated memory measurement.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public final class AllocationProbe {
+
+    /** Thread management bean supporting allocated memory measurement */
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    /** Id of measured thread */
+    private final long threadId;
+
+    /**
+     * Constructor using fields.
+     * @param allocationBean
+     * @param threadId
+     */
+    private AllocationProbe(com.sun.management.ThreadMXBean allocationBean, long threadId) {
+        this.allocationBean = allocationBean;
+        this.threadId = threadId;
+    }
+
+    /**
+     * Creates probe measuring heap allocation of current thread. Skips the test when the JVM does not support
+     * thread allocated memory measurement.
+     * @return
+     */
+    public static AllocationProbe forCurrentThread() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean) ||
+                !((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            throw new SkipException("Thread allocated memory measurement not supported by JVM");
+        }
+
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        return new AllocationProbe(allocationBean, Thread.currentThread().getId());
+    }
+
+    /**
+     * Gets total number of bytes allocated by measured thread so far. Allocation of a code block is the
+     * difference of values read before and after the block.
+     * @return
+     */
+    public long getAllocatedBytes() {
+        return allocationBean.getThreadAllocatedBytes(threadId);
+    }
+}
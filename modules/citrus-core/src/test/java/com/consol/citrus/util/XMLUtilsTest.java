@@ -17,14 +17,20 @@
 package com.consol.citrus.util;
 
 
+import com.consol.citrus.message.DefaultMessage;
 import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.w3c.dom.*;
+import org.w3c.dom.ls.*;
+import org.w3c.dom.traversal.NodeFilter;
 
 import javax.xml.XMLConstants;
 import java.io.*;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.*;
 
 import static org.mockito.Mockito.*;
 
@@ -33,6 +39,9 @@ import static org.mockito.Mockito.*;
  */
 public class XMLUtilsTest {
 
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(XMLUtilsTest.class);
+
     @Test
     public void testFindNodeByName() {
         Document doc = XMLUtils.parseMessagePayload(
@@ -383,4 +392,133 @@ public class XMLUtilsTest {
         Assert.assertEquals(XMLUtils.omitXmlDeclaration(""), "");
         Assert.assertEquals(XMLUtils.omitXmlDeclaration("Test"), "Test");
     }
+
+    @Test
+    public void testParseMessagePayloadCached() throws Exception {
+        DefaultMessage message = new DefaultMessage("<testRequest><message>Hello</message></testRequest>");
+
+        long parses = XMLUtils.getPayloadParses();
+        long reuses = XMLUtils.getCachedPayloadReuses();
+
+        Document doc = XMLUtils.parseMessagePayload(message);
+        Assert.assertEquals(doc.getFirstChild().getLocalName(), "testRequest");
+        Assert.assertSame(XMLUtils.parseMessagePayload(message), doc);
+
+        message.setPayload("<testResponse><message>Hello</message></testResponse>");
+        Document changed = XMLUtils.parseMessagePayload(message);
+        Assert.assertNotSame(changed, doc);
+        Assert.assertEquals(changed.getFirstChild().getLocalName(), "testResponse");
+
+        Assert.assertTrue(XMLUtils.getPayloadParses() - parses >= 2L);
+        Assert.assertTrue(XMLUtils.getCachedPayloadReuses() - reuses >= 1L);
+    }
+
+    @Test
+    public void testSerializeWithFilter() {
+        Document doc = XMLUtils.parseMessagePayload("<testRequest><message>Hello</message></testRequest>");
+
+        String serialized = XMLUtils.serialize(doc, new LSSerializerFilter() {
+            @Override
+            public int getWhatToShow() {
+                return NodeFilter.SHOW_ELEMENT;
+            }
+
+            @Override
+            public short acceptNode(Node node) {
+                if (node.getLocalName().equals("message")) {
+                    // nested serialization must not interfere with the running one
+                    Assert.assertTrue(XMLUtils.serialize(XMLUtils.parseMessagePayload("<nested/>")).contains("<nested/>"));
+                    node.setTextContent("Hi");
+                }
+                return NodeFilter.FILTER_ACCEPT;
+            }
+        });
+
+        Assert.assertTrue(serialized.contains("<message>Hi</message>"));
+        Assert.assertFalse(XMLUtils.serialize(doc).contains("<nested/>"));
+    }
+
+    @Test
+    public void testParseConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final int index = i;
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        Document doc = XMLUtils.parseMessagePayload("<testRequest><message>Hello " + index + "</message></testRequest>");
+                        return XMLUtils.prettyPrint(XMLUtils.serialize(doc));
+                    }
+                }));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                Assert.assertTrue(results.get(i).get().contains("<message>Hello " + i + "</message>"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPooledParserThroughput() {
+        StringBuilder largePayload = new StringBuilder("<testRequest>");
+        for (int i = 0; i < 1000; i++) {
+            largePayload.append("<message id=\"").append(i).append("\">Hello Citrus</message>");
+        }
+        largePayload.append("</testRequest>");
+
+        measureThroughput("small", "<testRequest><message>Hello Citrus</message></testRequest>", 2000);
+        measureThroughput("large", largePayload.toString(), 100);
+    }
+
+    /**
+     * Compares parse and serialize round trips using pooled components with creating new
+     * parser and serializer instances on each call.
+     * @param name
+     * @param payload
+     * @param rounds
+     */
+    private void measureThroughput(String name, String payload, int rounds) {
+        //warm up
+        roundTripPerCall(payload, rounds);
+        roundTripPooled(payload, rounds);
+
+        long perCall = roundTripPerCall(payload, rounds);
+        long pooled = roundTripPooled(payload, rounds);
+
+        log.info(String.format("Parse and serialize %s payload %d times - per call creation: %dms, pooled: %dms",
+                name, rounds, TimeUnit.NANOSECONDS.toMillis(perCall), TimeUnit.NANOSECONDS.toMillis(pooled)));
+    }
+
+    private long roundTripPooled(String payload, int rounds) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            Assert.assertNotNull(XMLUtils.serialize(XMLUtils.parseMessagePayload(payload)));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long roundTripPerCall(String payload, int rounds) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            LSParser parser = XMLUtils.createLSParser();
+            XMLUtils.setParserConfigParameter(parser, XMLUtils.VALIDATE_IF_SCHEMA, true);
+            XMLUtils.setParserConfigParameter(parser, XMLUtils.ELEMENT_CONTENT_WHITESPACE, false);
+
+            LSInput input = XMLUtils.createLSInput();
+            input.setStringData(payload);
+            Document doc = parser.parse(input);
+
+            LSOutput output = XMLUtils.createLSOutput();
+            StringWriter writer = new StringWriter();
+            output.setCharacterStream(writer);
+            XMLUtils.createLSSerializer().write(doc, output);
+            Assert.assertNotNull(writer.toString());
+        }
+        return System.nanoTime() - start;
+    }
 }
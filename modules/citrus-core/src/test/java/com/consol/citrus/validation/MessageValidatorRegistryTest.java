@@ -20,15 +20,24 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.*;
 import com.consol.citrus.validation.context.DefaultValidationContext;
 import com.consol.citrus.validation.context.ValidationContext;
-import com.consol.citrus.validation.script.GroovyScriptMessageValidator;
-import com.consol.citrus.validation.script.ScriptValidationContext;
+import com.consol.citrus.validation.json.JsonPathMessageValidator;
+import com.consol.citrus.validation.json.JsonTextMessageValidator;
+import com.consol.citrus.validation.script.*;
+import com.consol.citrus.validation.text.BinaryBase64MessageValidator;
 import com.consol.citrus.validation.text.PlainTextMessageValidator;
-import com.consol.citrus.validation.xml.DomXmlMessageValidator;
-import com.consol.citrus.validation.xml.XmlMessageValidationContext;
+import com.consol.citrus.validation.xhtml.XhtmlMessageValidator;
+import com.consol.citrus.validation.xhtml.XhtmlXpathMessageValidator;
+import com.consol.citrus.validation.xml.*;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
 
 /**
  * @author Christoph Deppisch
@@ -36,6 +45,9 @@ import java.util.*;
  */
 public class MessageValidatorRegistryTest {
 
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(MessageValidatorRegistryTest.class);
+
     @Test
     public void testFindMessageValidators() throws Exception {
         MessageValidatorRegistry messageValidatorRegistry = new MessageValidatorRegistry();
@@ -94,6 +106,100 @@ public class MessageValidatorRegistryTest {
         Assert.assertEquals(matchingValidators.get(0).getClass(), DomXmlMessageValidator.class);
     }
 
+    @Test
+    public void testResolvedValidatorsIndex() throws Exception {
+        MessageValidatorRegistry messageValidatorRegistry = new MessageValidatorRegistry();
+
+        MessageValidator<ValidationContext> validator = Mockito.mock(MessageValidator.class);
+        when(validator.supportsMessageType(anyString(), any(Message.class))).thenReturn(true);
+
+        List<MessageValidator<? extends ValidationContext>> messageValidators = new ArrayList<>();
+        messageValidators.add(validator);
+        messageValidatorRegistry.setMessageValidators(messageValidators);
+        messageValidatorRegistry.afterPropertiesSet();
+
+        List<ValidationContext> validationContexts = Collections.<ValidationContext>singletonList(new DefaultValidationContext());
+        List<MessageValidator<? extends ValidationContext>> matchingValidators = messageValidatorRegistry.findMessageValidators(MessageType.PLAINTEXT.name(), new DefaultMessage("foo"), validationContexts);
+        Assert.assertSame(messageValidatorRegistry.findMessageValidators(MessageType.PLAINTEXT.name(), new DefaultMessage("bar"), validationContexts), matchingValidators);
+        verify(validator, times(1)).supportsMessageType(eq(MessageType.PLAINTEXT.name()), any(Message.class));
+
+        messageValidatorRegistry.findMessageValidators(MessageType.PLAINTEXT.name(), new DefaultMessage("foo".getBytes()), validationContexts);
+        messageValidatorRegistry.findMessageValidators(MessageType.JSON.name(), new DefaultMessage("{}"), validationContexts);
+        verify(validator, times(2)).supportsMessageType(eq(MessageType.PLAINTEXT.name()), any(Message.class));
+        verify(validator, times(1)).supportsMessageType(eq(MessageType.JSON.name()), any(Message.class));
+
+        messageValidatorRegistry.getMessageValidators().add(new PlainTextMessageValidator());
+        Assert.assertEquals(messageValidatorRegistry.findMessageValidators(MessageType.PLAINTEXT.name(), new DefaultMessage("foo"), validationContexts).size(), 2L);
+    }
+
+    @Test
+    public void testFindMessageValidatorsPerformance() throws Exception {
+        int rounds = 100000;
+
+        MessageValidatorRegistry messageValidatorRegistry = new MessageValidatorRegistry();
+
+        List<MessageValidator<? extends ValidationContext>> messageValidators = new ArrayList<>();
+        messageValidators.add(new DomXmlMessageValidator());
+        messageValidators.add(new XpathMessageValidator());
+        messageValidators.add(new GroovyXmlMessageValidator());
+        messageValidators.add(new JsonTextMessageValidator());
+        messageValidators.add(new JsonPathMessageValidator());
+        messageValidators.add(new GroovyJsonMessageValidator());
+        messageValidators.add(new GroovyScriptMessageValidator());
+        messageValidators.add(new PlainTextMessageValidator());
+        messageValidators.add(new BinaryBase64MessageValidator());
+        messageValidators.add(new XhtmlMessageValidator());
+        messageValidators.add(new XhtmlXpathMessageValidator());
+        messageValidatorRegistry.setMessageValidators(messageValidators);
+        messageValidatorRegistry.afterPropertiesSet();
+
+        Message[] messages = new Message[] { new DefaultMessage("<root>foo</root>"), new DefaultMessage("{ \"foo\": true }"),
+                new DefaultMessage("foo"), new DefaultMessage("Zm9v") };
+        String[] messageTypes = new String[] { MessageType.XML.name(), MessageType.JSON.name(),
+                MessageType.PLAINTEXT.name(), MessageType.BINARY_BASE64.name() };
+        List<ValidationContext> validationContexts = Collections.<ValidationContext>singletonList(new DefaultValidationContext());
+
+        //warm up
+        scanValidators(messageValidators, messageTypes, messages, rounds);
+        findValidators(messageValidatorRegistry, messageTypes, messages, validationContexts, rounds);
+
+        long scanned = scanValidators(messageValidators, messageTypes, messages, rounds);
+        long indexed = findValidators(messageValidatorRegistry, messageTypes, messages, validationContexts, rounds);
+
+        log.info(String.format("Resolved validators of %d registered validators %d times - scanned: %dms, indexed: %dms",
+                messageValidators.size(), rounds * messages.length, TimeUnit.NANOSECONDS.toMillis(scanned), TimeUnit.NANOSECONDS.toMillis(indexed)));
+
+        Assert.assertEquals(messageValidatorRegistry.findMessageValidators(MessageType.XML.name(), messages[0], validationContexts).size(), 3L);
+        Assert.assertEquals(messageValidatorRegistry.findMessageValidators(MessageType.JSON.name(), messages[1], validationContexts).size(), 4L);
+    }
+
+    private long scanValidators(List<MessageValidator<? extends ValidationContext>> messageValidators, String[] messageTypes, Message[] messages, int rounds) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (int m = 0; m < messages.length; m++) {
+                List<MessageValidator<? extends ValidationContext>> matchingValidators = new ArrayList<>();
+                for (MessageValidator<? extends ValidationContext> validator : messageValidators) {
+                    if (validator.supportsMessageType(messageTypes[m], messages[m])) {
+                        matchingValidators.add(validator);
+                    }
+                }
+                Assert.assertFalse(matchingValidators.isEmpty());
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long findValidators(MessageValidatorRegistry messageValidatorRegistry, String[] messageTypes, Message[] messages,
+                                List<ValidationContext> validationContexts, int rounds) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (int m = 0; m < messages.length; m++) {
+                Assert.assertFalse(messageValidatorRegistry.findMessageValidators(messageTypes[m], messages[m], validationContexts).isEmpty());
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
     @Test(expectedExceptions = CitrusRuntimeException.class)
     public void testEmptyListOfMessageValidators() throws Exception {
         MessageValidatorRegistry messageValidatorRegistry = new MessageValidatorRegistry();
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml.xpath;
+
+import com.consol.citrus.util.XMLUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.xml.namespace.SimpleNamespaceContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.xpath.*;
+import java.util.Collections;
+import java.util.concurrent.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class XPathExpressionCacheTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(XPathExpressionCacheTest.class);
+
+    private XPathFactory xPathFactory = XPathFactory.newInstance();
+
+    @Test
+    public void testCacheHits() throws Exception {
+        XPathExpressionCache cache = new XPathExpressionCache(xPathFactory, 10);
+
+        XPathExpression expression = cache.getExpression("/root/element", null);
+        Assert.assertSame(cache.getExpression("/root/element", null), expression);
+        Assert.assertNotSame(cache.getExpression("/root/other", null), expression);
+
+        Assert.assertEquals(cache.getHits(), 1L);
+        Assert.assertEquals(cache.getMisses(), 2L);
+    }
+
+    @Test
+    public void testNamespaceContextKey() throws Exception {
+        XPathExpressionCache cache = new XPathExpressionCache(xPathFactory, 10);
+
+        XPathExpression expression = cache.getExpression("/ns:root", namespaceContext("ns", "http://citrusframework.org/foo"));
+        Assert.assertSame(cache.getExpression("/ns:root", namespaceContext("ns", "http://citrusframework.org/foo")), expression);
+        Assert.assertNotSame(cache.getExpression("/ns:root", namespaceContext("ns", "http://citrusframework.org/bar")), expression);
+
+        Document doc = XMLUtils.parseMessagePayload("<bar:root xmlns:bar=\"http://citrusframework.org/bar\">bar</bar:root>");
+        Assert.assertEquals(cache.getExpression("/ns:root", namespaceContext("ns", "http://citrusframework.org/foo")).evaluate(doc), "");
+        Assert.assertEquals(cache.getExpression("/ns:root", namespaceContext("ns", "http://citrusframework.org/bar")).evaluate(doc), "bar");
+    }
+
+    @Test
+    public void testUnknownNamespaceContextNotCached() throws Exception {
+        XPathExpressionCache cache = new XPathExpressionCache(xPathFactory, 10);
+
+        NamespaceContext namespaceContext = new NamespaceContext() {
+            @Override
+            public String getNamespaceURI(String prefix) {
+                return "http://citrusframework.org/foo";
+            }
+
+            @Override
+            public String getPrefix(String namespaceURI) {
+                return "ns";
+            }
+
+            @Override
+            public java.util.Iterator getPrefixes(String namespaceURI) {
+                return Collections.singletonList("ns").iterator();
+            }
+        };
+
+        Assert.assertNotSame(cache.getExpression("/ns:root", namespaceContext), cache.getExpression("/ns:root", namespaceContext));
+        Assert.assertEquals(cache.getHits(), 0L);
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        XPathExpressionCache cache = new XPathExpressionCache(xPathFactory, 2);
+
+        XPathExpression expression = cache.getExpression("/root/first", null);
+        cache.getExpression("/root/second", null);
+        cache.getExpression("/root/third", null);
+
+        Assert.assertNotSame(cache.getExpression("/root/first", null), expression);
+        Assert.assertEquals(cache.getHits(), 0L);
+        Assert.assertEquals(cache.getMisses(), 4L);
+    }
+
+    @Test
+    public void testThreadBoundExpressions() throws Exception {
+        final XPathExpressionCache cache = new XPathExpressionCache(xPathFactory, 10);
+
+        XPathExpression expression = cache.getExpression("/root/element", null);
+
+        XPathExpression otherThreadExpression = Executors.newSingleThreadExecutor().submit(new Callable<XPathExpression>() {
+            @Override
+            public XPathExpression call() throws Exception {
+                return cache.getExpression("/root/element", null);
+            }
+        }).get();
+
+        Assert.assertNotSame(otherThreadExpression, expression);
+        Assert.assertSame(cache.getExpression("/root/element", null), expression);
+    }
+
+    @Test
+    public void testValidationBlockPerformance() throws Exception {
+        int expressionCount = 200;
+        int rounds = 20;
+
+        StringBuilder payload = new StringBuilder("<ns:root xmlns:ns=\"http://citrusframework.org/foo\">");
+        for (int i = 0; i < expressionCount; i++) {
+            payload.append("<ns:element").append(i).append(">value").append(i).append("</ns:element").append(i).append(">");
+        }
+        payload.append("</ns:root>");
+
+        Document doc = XMLUtils.parseMessagePayload(payload.toString());
+
+        XPathExpressionCache cache = new XPathExpressionCache(xPathFactory, 500);
+        XPathExpressionCache noCache = new XPathExpressionCache(xPathFactory, 0);
+
+        //warm up
+        evaluateValidationBlock(noCache, doc, expressionCount, rounds);
+        evaluateValidationBlock(cache, doc, expressionCount, rounds);
+
+        long uncached = evaluateValidationBlock(noCache, doc, expressionCount, rounds);
+        long cached = evaluateValidationBlock(cache, doc, expressionCount, rounds);
+
+        log.info(String.format("Evaluated %d XPath expressions %d times - compiled: %dms, cached: %dms (hits: %d, misses: %d)",
+                expressionCount, rounds, TimeUnit.NANOSECONDS.toMillis(uncached), TimeUnit.NANOSECONDS.toMillis(cached),
+                cache.getHits(), cache.getMisses()));
+
+        Assert.assertEquals(cache.getMisses(), expressionCount);
+        Assert.assertEquals(noCache.getHits(), 0L);
+    }
+
+    private long evaluateValidationBlock(XPathExpressionCache cache, Document doc, int expressionCount, int rounds) throws XPathExpressionException {
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < expressionCount; i++) {
+                Assert.assertEquals(cache.getExpression("/ns:root/ns:element" + i, namespaceContext("ns", "http://citrusframework.org/foo"))
+                        .evaluate(doc), "value" + i);
+            }
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    private SimpleNamespaceContext namespaceContext(String prefix, String namespaceUri) {
+        SimpleNamespaceContext namespaceContext = new SimpleNamespaceContext();
+        namespaceContext.bindNamespaceUri(prefix, namespaceUri);
+        return namespaceContext;
+    }
+}
@@ -24,34 +24,53 @@ import com.consol.citrus.http.interceptor.LoggingClientInterceptor;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.message.*;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.SignalingCorrelationManager;
 import com.consol.citrus.messaging.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.*;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.CollectionUtils;
-import org.springframework.web.client.DefaultResponseErrorHandler;
-import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.*;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Arrays;
+import java.util.concurrent.*;
 
 /**
  * Http client sends messages via Http protocol to some Http server instance, defined by a request endpoint url. Synchronous response
  * messages are cached in local memory and receive operations are able to fetch responses from this cache later on.
  *
+ * In async mode send operations do not block the caller. Requests are executed by a bounded pool of workers matching the
+ * connection pool size, so any number of requests can be in flight without a thread per request. Correlated reply is
+ * completed as soon as the response arrives. Optional in-flight limit blocks senders until pending requests complete.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer {
+public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer, DisposableBean {
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(HttpClient.class);
 
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
+    /** Pending asynchronous requests by correlation key */
+    private final ConcurrentMap<String, CompletableFuture<Message>> pendingRequests = new ConcurrentHashMap<>();
+
+    /** Workers executing asynchronous requests */
+    private ExecutorService asyncExecutor;
+
+    /** Permits limiting asynchronous requests in flight */
+    private Semaphore inFlightPermits;
+
+    /** Rest template that has been prepared with error handler and interceptors */
+    private volatile RestTemplate preparedRestTemplate;
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -66,7 +85,7 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
     public HttpClient(HttpEndpointConfiguration endpointConfiguration) {
         super(endpointConfiguration);
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new SignalingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -76,12 +95,7 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
     @Override
     public void send(Message message, TestContext context) {
-        if (CollectionUtils.isEmpty(getEndpointConfiguration().getClientInterceptors())) {
-            LoggingClientInterceptor loggingClientInterceptor = new LoggingClientInterceptor();
-            loggingClientInterceptor.setMessageListener(context.getMessageListeners());
-
-            getEndpointConfiguration().setClientInterceptors(Arrays.<ClientHttpRequestInterceptor>asList(loggingClientInterceptor));
-        }
+        RestTemplate restTemplate = getRestTemplate(context);
 
         HttpMessage httpMessage;
         if (message instanceof HttpMessage) {
@@ -113,12 +127,141 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
         HttpEntity<?> requestEntity = getEndpointConfiguration().getMessageConverter().convertOutbound(httpMessage, getEndpointConfiguration(), context);
 
-        getEndpointConfiguration().getRestTemplate().setErrorHandler(new InternalResponseErrorHandler(correlationKey, context));
-        ResponseEntity<?> response = getEndpointConfiguration().getRestTemplate().exchange(endpointUri, method, requestEntity, String.class);
+        HttpClientRequest request = new HttpClientRequest(restTemplate, endpointUri, method, requestEntity, correlationKey,
+                getEndpointConfiguration().getErrorHandlingStrategy(), context);
+
+        if (getEndpointConfiguration().isAsync()) {
+            sendAsync(request);
+        } else {
+            correlationManager.store(correlationKey, exchange(request));
+        }
+    }
+
+    /**
+     * Gets the rest template of the endpoint configuration. Error handler and default logging interceptor are set once on the
+     * rest template so concurrent send operations never modify the shared rest template.
+     * @param context
+     * @return
+     */
+    private RestTemplate getRestTemplate(TestContext context) {
+        RestTemplate template = getEndpointConfiguration().getRestTemplate();
+
+        if (preparedRestTemplate != template) {
+            synchronized (this) {
+                if (preparedRestTemplate != template) {
+                    if (CollectionUtils.isEmpty(getEndpointConfiguration().getClientInterceptors())) {
+                        LoggingClientInterceptor loggingClientInterceptor = new LoggingClientInterceptor();
+                        loggingClientInterceptor.setMessageListener(context.getMessageListeners());
+                        loggingClientInterceptor.setMaxBodyLength(getEndpointConfiguration().getMaxBodyLength());
+                        loggingClientInterceptor.setBodyLogDirectory(getEndpointConfiguration().getBodyLogDirectory());
+
+                        getEndpointConfiguration().setClientInterceptors(Arrays.<ClientHttpRequestInterceptor>asList(loggingClientInterceptor));
+                    }
+
+                    template.setErrorHandler(new InternalResponseErrorHandler());
+                    preparedRestTemplate = template;
+                }
+            }
+        }
 
-        log.info("HTTP message was sent to endpoint: '" + endpointUri + "'");
+        return template;
+    }
+
+    /**
+     * Submits request to asynchronous workers and returns immediately. Waits for a free permit when max number
+     * of requests in flight is reached.
+     * @param request
+     */
+    private void sendAsync(final HttpClientRequest request) {
+        final Semaphore permits = getInFlightPermits();
+        if (permits != null) {
+            try {
+                if (!permits.tryAcquire(getEndpointConfiguration().getTimeout(), TimeUnit.MILLISECONDS)) {
+                    throw new ActionTimeoutException("Action timeout while waiting for HTTP requests in flight to complete");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CitrusRuntimeException("Interrupted while waiting for HTTP requests in flight to complete", e);
+            }
+        }
+
+        final CompletableFuture<Message> pending = new CompletableFuture<>();
+        pendingRequests.put(request.correlationKey, pending);
+
+        try {
+            getAsyncExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Message response = exchange(request);
+                        correlationManager.store(request.correlationKey, response);
+                        pendingRequests.remove(request.correlationKey, pending);
+                        pending.complete(response);
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to send HTTP message to endpoint: '" + request.endpointUri + "'", e);
+                        pending.completeExceptionally(e);
+                    } finally {
+                        if (permits != null) {
+                            permits.release();
+                        }
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingRequests.remove(request.correlationKey, pending);
+            if (permits != null) {
+                permits.release();
+            }
+
+            throw new CitrusRuntimeException("Failed to submit asynchronous HTTP request", e);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("HTTP message was submitted for endpoint: '" + request.endpointUri + "'");
+        }
+    }
+
+    /**
+     * Performs blocking request response exchange with rest template. Error responses are handled according to the error
+     * strategy captured with the request.
+     * @param request
+     * @return the response message
+     */
+    private Message exchange(HttpClientRequest request) {
+        ResponseEntity<String> response = request.restTemplate.exchange(request.endpointUri, request.method, request.requestEntity, String.class);
+
+        log.info("HTTP message was sent to endpoint: '" + request.endpointUri + "'");
+
+        if (response.getStatusCode().is4xxClientError() || response.getStatusCode().is5xxServerError()) {
+            handleErrorResponse(response, request.errorHandlingStrategy);
+        }
+
+        return getEndpointConfiguration().getMessageConverter().convertInbound(response, getEndpointConfiguration(), request.context);
+    }
+
+    /**
+     * Handle error response message according to error strategy. Propagated error responses are stored as reply message.
+     * @param response
+     * @param errorHandlingStrategy
+     */
+    private void handleErrorResponse(ResponseEntity<String> response, ErrorHandlingStrategy errorHandlingStrategy) {
+        if (errorHandlingStrategy.equals(ErrorHandlingStrategy.PROPAGATE)) {
+            return;
+        } else if (errorHandlingStrategy.equals(ErrorHandlingStrategy.THROWS_EXCEPTION)) {
+            Charset charset = Charset.forName(getEndpointConfiguration().getCharset());
+            if (response.getHeaders().getContentType() != null && response.getHeaders().getContentType().getCharset() != null) {
+                charset = response.getHeaders().getContentType().getCharset();
+            }
 
-        correlationManager.store(correlationKey, getEndpointConfiguration().getMessageConverter().convertInbound(response, getEndpointConfiguration(), context));
+            byte[] body = response.getBody() != null ? response.getBody().getBytes(charset) : new byte[0];
+            if (response.getStatusCode().is4xxClientError()) {
+                throw new HttpClientErrorException(response.getStatusCode(), response.getStatusCode().getReasonPhrase(), response.getHeaders(), body, charset);
+            } else {
+                throw new HttpServerErrorException(response.getStatusCode(), response.getStatusCode().getReasonPhrase(), response.getHeaders(), body, charset);
+            }
+        } else {
+            throw new CitrusRuntimeException("Unsupported error strategy: " + errorHandlingStrategy);
+        }
     }
 
     @Override
@@ -140,6 +283,11 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
     @Override
     public Message receive(String selector, TestContext context, long timeout) {
+        CompletableFuture<Message> pending = pendingRequests.get(selector);
+        if (pending != null) {
+            waitForPendingRequest(selector, pending, timeout);
+        }
+
         Message message = correlationManager.find(selector, timeout);
 
         if (message == null) {
@@ -150,49 +298,116 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
     }
 
     /**
-     * Handles error response messages constructing a proper response message
-     * which will be propagated to the respective reply handler for
-     * further processing.
+     * Waits for pending asynchronous request to complete. Failures of the request are raised to the caller.
+     * @param selector
+     * @param pending
+     * @param timeout
+     */
+    private void waitForPendingRequest(String selector, CompletableFuture<Message> pending, long timeout) {
+        try {
+            pending.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ActionTimeoutException("Action timeout while receiving synchronous reply message from http server");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for reply message from http server", e);
+        } catch (ExecutionException e) {
+            pendingRequests.remove(selector, pending);
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new CitrusRuntimeException("Failed to send HTTP message", e.getCause());
+        }
+    }
+
+    /**
+     * Gets the workers executing asynchronous requests. Workers are created on first usage with one worker per pooled connection.
+     * @return
      */
-    private class InternalResponseErrorHandler implements ResponseErrorHandler {
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            int workers = Math.max(getEndpointConfiguration().getMaxConnections(), 1);
 
-        /** Request message associated with this response error handler */
-        private String correlationKey;
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(getName() + "-async-");
+            threadFactory.setDaemon(true);
 
-        /** Test context */
-        private TestContext context;
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            asyncExecutor = executor;
+        }
 
-        /**
-         * Default constructor provided with request message
-         * associated with this error handler.
-         */
-        public InternalResponseErrorHandler(String correlationKey, TestContext context) {
-            this.correlationKey = correlationKey;
+        return asyncExecutor;
+    }
+
+    /**
+     * Gets the permits limiting asynchronous requests in flight. Returns null when there is no limit.
+     * @return
+     */
+    private synchronized Semaphore getInFlightPermits() {
+        if (inFlightPermits == null && getEndpointConfiguration().getMaxInFlightRequests() > 0) {
+            inFlightPermits = new Semaphore(getEndpointConfiguration().getMaxInFlightRequests());
         }
 
-        /**
-         * Check for error HTTP status code in response message.
-         * Delegates to default Spring implementation.
-         */
+        return inFlightPermits;
+    }
+
+    /**
+     * Gets the number of asynchronous requests that are pending or have failed and not been received yet.
+     * @return
+     */
+    public int getPendingRequestCount() {
+        return pendingRequests.size();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdownNow();
+            asyncExecutor = null;
+        }
+    }
+
+    /**
+     * Leaves error responses to the client so error handling strategy is applied per request. Rest template is
+     * shared by all requests of this client and must not hold any request related state.
+     */
+    private static class InternalResponseErrorHandler implements ResponseErrorHandler {
+
+        @Override
         public boolean hasError(ClientHttpResponse response) throws IOException {
-            return new DefaultResponseErrorHandler().hasError(response);
+            return false;
         }
 
-        /**
-         * Handle error response message according to error strategy.
-         */
+        @Override
         public void handleError(ClientHttpResponse response) throws IOException {
-            if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.PROPAGATE)) {
-                Message responseMessage = getEndpointConfiguration().getMessageConverter().convertInbound(
-                        new ResponseEntity(response.getBody(), response.getHeaders(), response.getStatusCode()), getEndpointConfiguration(), context);
-                correlationManager.store(correlationKey, responseMessage);
-            } else if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.THROWS_EXCEPTION)) {
-                new DefaultResponseErrorHandler().handleError(response);
-            } else {
-                throw new CitrusRuntimeException("Unsupported error strategy: " + getEndpointConfiguration().getErrorHandlingStrategy());
-            }
         }
+    }
 
+    /**
+     * Request state captured on send operation.
+     */
+    private static final class HttpClientRequest {
+        private final RestTemplate restTemplate;
+        private final String endpointUri;
+        private final HttpMethod method;
+        private final HttpEntity<?> requestEntity;
+        private final String correlationKey;
+        private final ErrorHandlingStrategy errorHandlingStrategy;
+        private final TestContext context;
+
+        HttpClientRequest(RestTemplate restTemplate, String endpointUri, HttpMethod method, HttpEntity<?> requestEntity,
+                    String correlationKey, ErrorHandlingStrategy errorHandlingStrategy, TestContext context) {
+            this.restTemplate = restTemplate;
+            this.endpointUri = endpointUri;
+            this.method = method;
+            this.requestEntity = requestEntity;
+            this.correlationKey = correlationKey;
+            this.errorHandlingStrategy = errorHandlingStrategy;
+            this.context = context;
+        }
     }
 
     /**
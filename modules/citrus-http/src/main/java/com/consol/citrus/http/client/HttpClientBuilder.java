@@ -27,6 +27,7 @@ import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.integration.http.support.DefaultHttpHeaderMapper;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -144,6 +145,66 @@ public class HttpClientBuilder extends AbstractEndpointBuilder<HttpClient> {
         return this;
     }
 
+    /**
+     * Enables asynchronous request sending.
+     * @param async
+     * @return
+     */
+    public HttpClientBuilder async(boolean async) {
+        endpoint.getEndpointConfiguration().setAsync(async);
+        return this;
+    }
+
+    /**
+     * Sets the max number of pooled connections.
+     * @param maxConnections
+     * @return
+     */
+    public HttpClientBuilder maxConnections(int maxConnections) {
+        endpoint.getEndpointConfiguration().setMaxConnections(maxConnections);
+        return this;
+    }
+
+    /**
+     * Sets the max number of pooled connections per route.
+     * @param maxConnectionsPerRoute
+     * @return
+     */
+    public HttpClientBuilder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        endpoint.getEndpointConfiguration().setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+        return this;
+    }
+
+    /**
+     * Sets the max number of asynchronous requests in flight.
+     * @param maxInFlightRequests
+     * @return
+     */
+    public HttpClientBuilder maxInFlightRequests(int maxInFlightRequests) {
+        endpoint.getEndpointConfiguration().setMaxInFlightRequests(maxInFlightRequests);
+        return this;
+    }
+
+    /**
+     * Sets the max body length added to log messages.
+     * @param maxBodyLength
+     * @return
+     */
+    public HttpClientBuilder maxBodyLength(int maxBodyLength) {
+        endpoint.getEndpointConfiguration().setMaxBodyLength(maxBodyLength);
+        return this;
+    }
+
+    /**
+     * Sets the directory receiving complete content of bodies truncated in log messages.
+     * @param bodyLogDirectory
+     * @return
+     */
+    public HttpClientBuilder bodyLogDirectory(File bodyLogDirectory) {
+        endpoint.getEndpointConfiguration().setBodyLogDirectory(bodyLogDirectory);
+        return this;
+    }
+
     /**
      * Sets the error handling strategy.
      * @param errorStrategy
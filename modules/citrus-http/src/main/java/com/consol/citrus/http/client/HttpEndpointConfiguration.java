@@ -21,6 +21,7 @@ import com.consol.citrus.endpoint.resolver.DynamicEndpointUriResolver;
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
 import com.consol.citrus.http.message.HttpMessageConverter;
 import com.consol.citrus.message.*;
+import org.apache.http.impl.client.HttpClients;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.*;
@@ -28,6 +29,7 @@ import org.springframework.integration.http.support.DefaultHttpHeaderMapper;
 import org.springframework.integration.mapping.HeaderMapper;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.File;
 import java.util.List;
 
 /**
@@ -72,6 +74,22 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
     /** Reply message correlator */
     private MessageCorrelator correlator = new DefaultMessageCorrelator();
 
+    /** Send requests asynchronously without blocking the caller */
+    private boolean async = false;
+
+    /** Connection pool limits of default request factory, also sizes the asynchronous request workers */
+    private int maxConnections = 20;
+    private int maxConnectionsPerRoute = 10;
+
+    /** Max number of asynchronous requests in flight, unlimited when zero */
+    private int maxInFlightRequests = 0;
+
+    /** Max body length added to log messages of default logging interceptor, negative value disables truncation */
+    private int maxBodyLength = -1;
+
+    /** Optional directory receiving complete content of bodies truncated in log messages */
+    private File bodyLogDirectory;
+
     /**
      * Get the complete request URL.
      * @return the urlPath
@@ -180,7 +198,7 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
      * Gets the restTemplate.
      * @return the restTemplate
      */
-    public RestTemplate getRestTemplate() {
+    public synchronized RestTemplate getRestTemplate() {
         if (restTemplate == null) {
             restTemplate = new RestTemplate();
             restTemplate.setRequestFactory(getRequestFactory());
@@ -239,12 +257,16 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
     }
 
     /**
-     * Gets the client request factory.
+     * Gets the client request factory. Default request factory uses pooled connections with configured connection limits.
      * @return
      */
-    public ClientHttpRequestFactory getRequestFactory() {
+    public synchronized ClientHttpRequestFactory getRequestFactory() {
         if (requestFactory == null) {
-            requestFactory = new HttpComponentsClientHttpRequestFactory();
+            requestFactory = new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                    .useSystemProperties()
+                    .setMaxConnTotal(maxConnections)
+                    .setMaxConnPerRoute(maxConnectionsPerRoute)
+                    .build());
         }
 
         return requestFactory;
@@ -274,4 +296,100 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
         this.messageConverter = messageConverter;
     }
 
+    /**
+     * Gets the async.
+     * @return
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Sets the async.
+     * @param async
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Gets the maxConnections.
+     * @return
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the maxConnections.
+     * @param maxConnections
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Gets the maxConnectionsPerRoute.
+     * @return
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the maxConnectionsPerRoute.
+     * @param maxConnectionsPerRoute
+     */
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Gets the maxInFlightRequests.
+     * @return
+     */
+    public int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    /**
+     * Sets the maxInFlightRequests.
+     * @param maxInFlightRequests
+     */
+    public void setMaxInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+    }
+
+    /**
+     * Gets the maxBodyLength.
+     * @return
+     */
+    public int getMaxBodyLength() {
+        return maxBodyLength;
+    }
+
+    /**
+     * Sets the maxBodyLength.
+     * @param maxBodyLength
+     */
+    public void setMaxBodyLength(int maxBodyLength) {
+        this.maxBodyLength = maxBodyLength;
+    }
+
+    /**
+     * Gets the bodyLogDirectory.
+     * @return
+     */
+    public File getBodyLogDirectory() {
+        return bodyLogDirectory;
+    }
+
+    /**
+     * Sets the bodyLogDirectory.
+     * @param bodyLogDirectory
+     */
+    public void setBodyLogDirectory(File bodyLogDirectory) {
+        this.bodyLogDirectory = bodyLogDirectory;
+    }
+
 }
@@ -91,6 +91,41 @@ public @interface HttpClientConfig {
      */
     int pollingInterval() default 500;
 
+    /**
+     * Asynchronous request sending.
+     * @return
+     */
+    boolean async() default false;
+
+    /**
+     * Max pooled connections.
+     * @return
+     */
+    int maxConnections() default 20;
+
+    /**
+     * Max pooled connections per route.
+     * @return
+     */
+    int maxConnectionsPerRoute() default 10;
+
+    /**
+     * Max asynchronous requests in flight.
+     * @return
+     */
+    int maxInFlightRequests() default 0;
+
+    /**
+     * Max body length in log messages.
+     * @return
+     */
+    int maxBodyLength() default -1;
+
+    /**
+     * Directory for bodies truncated in log messages.
+     * @return
+     */
+    String bodyLogDirectory() default "";
 
     /**
      * Error handling strategy.
@@ -31,6 +31,8 @@ import org.springframework.integration.http.support.DefaultHttpHeaderMapper;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.File;
+
 /**
  * @author Christoph Deppisch
  * @since 2.5
@@ -85,6 +87,15 @@ public class HttpClientConfigParser extends AbstractAnnotationConfigParser<HttpC
         builder.charset(annotation.charset());
         builder.contentType(annotation.contentType());
         builder.pollingInterval(annotation.pollingInterval());
+        builder.async(annotation.async());
+        builder.maxConnections(annotation.maxConnections());
+        builder.maxConnectionsPerRoute(annotation.maxConnectionsPerRoute());
+        builder.maxInFlightRequests(annotation.maxInFlightRequests());
+        builder.maxBodyLength(annotation.maxBodyLength());
+
+        if (StringUtils.hasText(annotation.bodyLogDirectory())) {
+            builder.bodyLogDirectory(new File(annotation.bodyLogDirectory()));
+        }
 
         builder.errorHandlingStrategy(annotation.errorStrategy());
 
@@ -101,6 +101,30 @@ public @interface HttpServerConfig {
      */
     String messageConverter() default "";
 
+    /**
+     * Binary body mode.
+     * @return
+     */
+    boolean binaryBody() default false;
+
+    /**
+     * Thread pool reference.
+     * @return
+     */
+    String threadPool() default "";
+
+    /**
+     * Max threads.
+     * @return
+     */
+    int maxThreads() default 0;
+
+    /**
+     * Min threads.
+     * @return
+     */
+    int minThreads() default 0;
+
     /**
      * Auto start.
      * @return
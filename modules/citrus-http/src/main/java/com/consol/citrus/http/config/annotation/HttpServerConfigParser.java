@@ -26,6 +26,7 @@ import com.consol.citrus.http.server.HttpServerBuilder;
 import org.eclipse.jetty.security.SecurityHandler;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.servlet.ServletHandler;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
 
@@ -102,6 +103,15 @@ public class HttpServerConfigParser extends AbstractAnnotationConfigParser<HttpS
             builder.messageConverter(getReferenceResolver().resolve(annotation.messageConverter(), HttpMessageConverter.class));
         }
 
+        builder.binaryBody(annotation.binaryBody());
+
+        if (StringUtils.hasText(annotation.threadPool())) {
+            builder.threadPool(getReferenceResolver().resolve(annotation.threadPool(), ThreadPool.class));
+        }
+
+        builder.maxThreads(annotation.maxThreads());
+        builder.minThreads(annotation.minThreads());
+
         return builder.build();
     }
 }
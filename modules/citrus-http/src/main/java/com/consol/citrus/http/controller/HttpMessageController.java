@@ -18,23 +18,30 @@ package com.consol.citrus.http.controller;
 
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
 import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
 import com.consol.citrus.message.Message;
 import org.springframework.http.*;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.util.Enumeration;
 
 /**
  * Message controller implementation handling all incoming requests by forwarding to a message 
- * handler for further processing.
+ * handler for further processing. Controller holds no request state so concurrent requests are handled
+ * independently from each other. Response of the current request is exposed as request attribute for message tracing.
  * 
  * @author Christoph Deppisch
  */
@@ -48,67 +55,72 @@ public class HttpMessageController {
     /** Endpoint configuration */
     private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
 
-    /** Hold the latest response message for message tracing reasons */
-    private ResponseEntity<String> responseCache;
-    
+    /** Keep request body data as raw bytes in message payload */
+    private boolean binaryBody = false;
+
+    /** Request attribute holding the response entity of the current request for message tracing reasons */
+    public static final String RESPONSE_ENTITY_ATTRIBUTE = HttpMessageController.class.getName() + ".responseEntity";
+
     @RequestMapping(value = "**", method = { RequestMethod.GET })
     @ResponseBody
-    public ResponseEntity<String> handleGetRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.GET, requestEntity);
+    public ResponseEntity<?> handleGetRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.GET, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.POST })
     @ResponseBody
-    public ResponseEntity<String> handlePostRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.POST, requestEntity);
+    public ResponseEntity<?> handlePostRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.POST, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.PUT })
     @ResponseBody
-    public ResponseEntity<String> handlePutRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.PUT, requestEntity);
+    public ResponseEntity<?> handlePutRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.PUT, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.DELETE })
     @ResponseBody
-    public ResponseEntity<String> handleDeleteRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.DELETE, requestEntity);
+    public ResponseEntity<?> handleDeleteRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.DELETE, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.OPTIONS })
     @ResponseBody
-    public ResponseEntity<String> handleOptionsRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.OPTIONS, requestEntity);
+    public ResponseEntity<?> handleOptionsRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.OPTIONS, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.HEAD })
     @ResponseBody
-    public ResponseEntity<String> handleHeadRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.HEAD, requestEntity);
+    public ResponseEntity<?> handleHeadRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.HEAD, request);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.TRACE })
     @ResponseBody
-    public ResponseEntity<String> handleTraceRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.TRACE, requestEntity);
+    public ResponseEntity<?> handleTraceRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.TRACE, request);
     }
 
     @RequestMapping(value= "**", method = { RequestMethod.PATCH })
     @ResponseBody
-    public ResponseEntity<String> handlePatchRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.PATCH, requestEntity);
+    public ResponseEntity<?> handlePatchRequest(HttpServletRequest request) {
+        return handleRequestInternal(HttpMethod.PATCH, request);
     }
     
     /**
      * Handles requests with endpoint adapter implementation. Previously sets Http request method as header parameter.
      * @param method
-     * @param requestEntity
+     * @param servletRequest
      * @return
      */
-    private ResponseEntity<String> handleRequestInternal(HttpMethod method, HttpEntity<String> requestEntity) {
+    private ResponseEntity<?> handleRequestInternal(HttpMethod method, HttpServletRequest servletRequest) {
+        HttpHeaders requestHeaders = new ServletServerHttpRequest(servletRequest).getHeaders();
+        HttpEntity<?> requestEntity = new HttpEntity<>(getRequestBody(servletRequest, requestHeaders), requestHeaders);
+
         HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration, null);
 
-        HttpServletRequest servletRequest = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
         UrlPathHelper pathHelper = new UrlPathHelper();
 
         Enumeration allHeaders = servletRequest.getHeaderNames();
@@ -124,7 +136,7 @@ public class HttpMessageController {
         if (queryParams == null) {
             queryParams = "";
         } else {
-            queryParams = queryParams.replaceAll("&", ",");
+            queryParams = StringUtils.replace(queryParams, "&", ",");
         }
 
         request.path(pathHelper.getRequestUri(servletRequest))
@@ -134,9 +146,10 @@ public class HttpMessageController {
                 .version(servletRequest.getProtocol())
                 .method(method);
 
+        ResponseEntity<?> responseEntity;
         Message response = endpointAdapter.handleMessage(request);
         if (response == null) {
-            responseCache = new ResponseEntity(HttpStatus.OK);
+            responseEntity = new ResponseEntity(HttpStatus.OK);
         } else {
             HttpMessage httpResponse;
             if (response instanceof HttpMessage) {
@@ -149,12 +162,50 @@ public class HttpMessageController {
                 httpResponse.status(HttpStatus.OK);
             }
 
-            responseCache = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration, null);
+            responseEntity = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration, null);
         }
 
-        return responseCache;
+        servletRequest.setAttribute(RESPONSE_ENTITY_ATTRIBUTE, responseEntity);
+        return responseEntity;
     }
     
+    /**
+     * Reads request body data. Uses the body data already cached by the request caching filter so the data is not
+     * copied once more. In binary body mode the raw bytes are kept as message payload, otherwise the data is decoded
+     * to String using the request charset. Returns null for empty request bodies.
+     * @param servletRequest
+     * @param requestHeaders
+     * @return
+     */
+    private Object getRequestBody(HttpServletRequest servletRequest, HttpHeaders requestHeaders) {
+        byte[] body;
+        try {
+            CachingHttpServletRequestWrapper cachingRequest = WebUtils.getNativeRequest(servletRequest, CachingHttpServletRequestWrapper.class);
+            if (cachingRequest != null) {
+                body = cachingRequest.getBody();
+            } else {
+                body = FileCopyUtils.copyToByteArray(servletRequest.getInputStream());
+            }
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read Http request body", e);
+        }
+
+        if (body.length == 0) {
+            return null;
+        }
+
+        if (binaryBody) {
+            return body;
+        }
+
+        MediaType contentType = requestHeaders.getContentType();
+        if (contentType != null && contentType.getCharset() != null) {
+            return new String(body, contentType.getCharset());
+        }
+
+        return new String(body, StringHttpMessageConverter.DEFAULT_CHARSET);
+    }
+
     /**
      * Sets the endpointAdapter.
      * @param endpointAdapter the endpointAdapter to set
@@ -188,10 +239,19 @@ public class HttpMessageController {
     }
 
     /**
-     * Gets the responseCache.
-     * @return the responseCache the responseCache to get.
+     * Gets the binary body mode.
+     * @return
+     */
+    public boolean isBinaryBody() {
+        return binaryBody;
+    }
+
+    /**
+     * Enables/disables binary body mode. When enabled request body data is kept as raw bytes in the message payload
+     * and only decoded to text when payload is requested as String e.g. by text based message validators.
+     * @param binaryBody
      */
-    public ResponseEntity<String> getResponseCache() {
-        return responseCache;
+    public void setBinaryBody(boolean binaryBody) {
+        this.binaryBody = binaryBody;
     }
 }
@@ -16,42 +16,29 @@
 
 package com.consol.citrus.http.interceptor;
 
-import com.consol.citrus.message.RawMessage;
-import com.consol.citrus.report.MessageListeners;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.http.client.*;
 import org.springframework.util.FileCopyUtils;
-import org.springframework.util.StringUtils;
 
 import java.io.*;
-import java.nio.charset.Charset;
-import java.util.List;
-import java.util.Map.Entry;
 
 /**
- * Simple logging interceptor writes Http request and response messages to the console.
+ * Simple logging interceptor writes Http request and response messages to the console. Request and response
+ * content is only built and response body is only buffered when message listeners are present or debug logging is enabled.
  * 
  * @author Christoph Deppisch
  * @since 1.2
  */
-public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
+public class LoggingClientInterceptor extends LoggingInterceptorSupport implements ClientHttpRequestInterceptor {
 
-    /** New line characters in log files */
-    private static final String NEWLINE = System.getProperty("line.separator");
-
-    /** Logger */
-    private static Logger log = LoggerFactory.getLogger(LoggingClientInterceptor.class);
-    
-    @Autowired(required = false)
-    private MessageListeners messageListener;
-    
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, 
         ClientHttpRequestExecution execution) throws IOException {
-        handleRequest(getRequestContent(request, new String(body)));
+        if (!isLoggingEnabled()) {
+            return execution.execute(request, body);
+        }
+
+        handleRequest(getRequestContent(request, body));
         
         ClientHttpResponse response = execution.execute(request, body);
         CachingClientHttpResponseWrapper bufferedResponse = new CachingClientHttpResponseWrapper(response);
@@ -65,14 +52,7 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
      * @param request
      */
     public void handleRequest(String request) {
-        if (messageListener != null) {
-            log.debug("Sending Http request message");
-            messageListener.onOutboundMessage(new RawMessage(request), null);
-        } else {
-            if (log.isDebugEnabled()) {
-                log.debug("Sending Http request message:" + NEWLINE + request);
-            }
-        }
+        logMessage("Sending Http request message", request, false);
     }
     
     /**
@@ -80,14 +60,7 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
      * @param response
      */
     public void handleResponse(String response) {
-        if (messageListener != null) {
-            log.debug("Received Http response message");
-            messageListener.onInboundMessage(new RawMessage(response), null);
-        } else {
-            if (log.isDebugEnabled()) {
-                log.debug("Received Http response message:" + NEWLINE + response);
-            }
-        }
+        logMessage("Received Http response message", response, true);
     }
     
     /**
@@ -96,7 +69,7 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
      * @param body
      * @return
      */
-    private String getRequestContent(HttpRequest request, String body) {
+    private String getRequestContent(HttpRequest request, byte[] body) {
         StringBuilder builder = new StringBuilder();
         
         builder.append(request.getMethod());
@@ -107,7 +80,7 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
         appendHeaders(request.getHeaders(), builder);
         
         builder.append(NEWLINE);
-        builder.append(body);
+        appendBody(body, getCharset(request.getHeaders()), builder);
         
         return builder.toString(); 
     }
@@ -131,7 +104,7 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
             appendHeaders(response.getHeaders(), builder);
             
             builder.append(NEWLINE);
-            builder.append(response.getBodyContent());
+            appendBody(response.getBodyData(), getCharset(response.getHeaders()), builder);
             
             return builder.toString();
         } else {
@@ -139,20 +112,6 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
         }
     }
     
-    /**
-     * Append Http headers to string builder.
-     * @param headers
-     * @param builder
-     */
-    private void appendHeaders(HttpHeaders headers, StringBuilder builder) {
-        for (Entry<String, List<String>> headerEntry : headers.entrySet()) {
-            builder.append(headerEntry.getKey());
-            builder.append(":");
-            builder.append(StringUtils.arrayToCommaDelimitedString(headerEntry.getValue().toArray()));
-            builder.append(NEWLINE);
-        }
-    }
-    
     /**
      * Response wrapper implementation of {@link ClientHttpResponse} that reads the message body 
      * into memory for caching, thus allowing for multiple invocations of {@link #getBody()}.
@@ -184,6 +143,10 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
         }
 
         public InputStream getBody() throws IOException {
+            return new ByteArrayInputStream(getBodyData());
+        }
+        
+        public byte[] getBodyData() throws IOException {
             if (this.body == null) {
                 if (response.getBody() != null) {
                     this.body = FileCopyUtils.copyToByteArray(response.getBody());
@@ -191,27 +154,12 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
                     body = new byte[] {};
                 }
             }
-            return new ByteArrayInputStream(this.body);
-        }
-        
-        public String getBodyContent() throws IOException {
-            if (this.body == null) {
-                getBody();
-            }
             
-            return new String(body, Charset.forName("UTF-8"));
+            return body;
         }
 
         public void close() {
             this.response.close();
         }
     }
-
-    /**
-     * Sets the message listener.
-     * @param messageListener
-     */
-    public void setMessageListener(MessageListeners messageListener) {
-        this.messageListener = messageListener;
-    }
 }
@@ -16,21 +16,20 @@
 
 package com.consol.citrus.http.interceptor;
 
+import com.consol.citrus.Citrus;
 import com.consol.citrus.http.controller.HttpMessageController;
-import com.consol.citrus.message.RawMessage;
-import com.consol.citrus.report.MessageListeners;
-import com.consol.citrus.util.FileUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.method.HandlerMethod;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Enumeration;
 
 /**
@@ -38,28 +37,22 @@ import java.util.Enumeration;
  * as a server.
  * 
  * Interceptor is capable of informing message tracing test listener on the request and response
- * messages arriving and leaving Citrus.
+ * messages arriving and leaving Citrus. Request and response content is only built when message listeners
+ * are present or debug logging is enabled.
  * 
  * @author Christoph Deppisch
  * @since 1.2
  */
-public class LoggingHandlerInterceptor implements HandlerInterceptor {
-    
-    /** New line characters in log files */
-    private static final String NEWLINE = System.getProperty("line.separator");
-
-    /** Logger */
-    private static Logger log = LoggerFactory.getLogger(LoggingHandlerInterceptor.class);
-    
-    @Autowired(required = false)
-    private MessageListeners messageListener;
+public class LoggingHandlerInterceptor extends LoggingInterceptorSupport implements HandlerInterceptor {
 
     /**
      * {@inheritDoc}
      */
     public boolean preHandle(HttpServletRequest request, 
             HttpServletResponse response, Object handler) throws Exception {
-        handleRequest(getRequestContent(request));
+        if (isLoggingEnabled()) {
+            handleRequest(getRequestContent(request));
+        }
         return true;
     }
 
@@ -68,7 +61,9 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      */
     public void postHandle(HttpServletRequest request,
             HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        handleResponse(getResponseContent(response, handler));
+        if (isLoggingEnabled()) {
+            handleResponse(getResponseContent(request, response));
+        }
     }
 
     /**
@@ -83,14 +78,7 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      * @param request
      */
     public void handleRequest(String request) {
-        if (messageListener != null) {
-            log.debug("Received Http request");
-            messageListener.onInboundMessage(new RawMessage(request), null);
-        } else {
-            if (log.isDebugEnabled()) {
-                log.debug("Received Http request:" + NEWLINE + request);
-            }
-        }
+        logMessage("Received Http request", request, true);
     }
     
     /**
@@ -98,18 +86,12 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      * @param response
      */
     public void handleResponse(String response) {
-        if (messageListener != null) {
-            log.debug("Sending Http response");
-            messageListener.onOutboundMessage(new RawMessage(response), null);
-        } else {
-            if (log.isDebugEnabled()) {
-                log.debug("Sending Http response:" + NEWLINE + response);
-            }
-        }
+        logMessage("Sending Http response", response, false);
     }
     
     /**
-     * Builds raw request message content from Http servlet request.
+     * Builds raw request message content from Http servlet request. Body data is taken from caching request wrapper
+     * if available so the body is not copied again.
      * @param request
      * @return
      * @throws IOException 
@@ -145,29 +127,42 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
         }
         
         builder.append(NEWLINE);
-        builder.append(FileUtils.readToString(request.getInputStream()));
+
+        Charset charset = StringUtils.hasText(request.getCharacterEncoding()) ? Charset.forName(request.getCharacterEncoding()) : Charset.forName(Citrus.CITRUS_FILE_ENCODING);
+        CachingHttpServletRequestWrapper cachingRequest = WebUtils.getNativeRequest(request, CachingHttpServletRequestWrapper.class);
+        if (cachingRequest != null) {
+            appendBody(cachingRequest.getBody(), charset, builder);
+        } else {
+            appendBody(FileCopyUtils.copyToByteArray(request.getInputStream()), charset, builder);
+        }
         
         return builder.toString();
     }
     
     /**
+     * Builds raw response message content. Response body is read from the response entity that message controller
+     * has stored for the current request.
+     * @param request
      * @param response
      * @return
      */
-    private String getResponseContent(HttpServletResponse response, Object handler) {
+    private String getResponseContent(HttpServletRequest request, HttpServletResponse response) {
         StringBuilder builder = new StringBuilder();
 
         builder.append(response);
 
-        if (handler instanceof HandlerMethod) {
-            HandlerMethod handlerMethod = (HandlerMethod) handler;
-            if (handlerMethod.getBean() instanceof HttpMessageController) {
-                ResponseEntity<String> responseEntity =
-                        ((HttpMessageController) handlerMethod.getBean()).getResponseCache();
-                if (responseEntity != null) {
-                    builder.append(NEWLINE);
-                    builder.append(responseEntity.getBody());
-                }
+        Object responseEntity = request.getAttribute(HttpMessageController.RESPONSE_ENTITY_ATTRIBUTE);
+        if (responseEntity instanceof ResponseEntity) {
+            builder.append(NEWLINE);
+
+            Object body = ((ResponseEntity<?>) responseEntity).getBody();
+            Charset charset = getCharset(((ResponseEntity<?>) responseEntity).getHeaders());
+            if (body instanceof byte[]) {
+                appendBody((byte[]) body, charset, builder);
+            } else if (body != null) {
+                appendBody(body.toString(), charset, builder);
+            } else {
+                builder.append(body);
             }
         }
 
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.interceptor;
+
+import com.consol.citrus.Citrus;
+import com.consol.citrus.message.RawMessage;
+import com.consol.citrus.report.MessageListeners;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Abstract logging support class for Http client and server interceptors. Raw message content is only built when message
+ * listeners are present or debug logging is enabled. Message bodies can be truncated to a max length. Truncated bodies
+ * can be written to files in a body log directory so the complete content is still available.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public abstract class LoggingInterceptorSupport {
+
+    /** New line characters in log files */
+    protected static final String NEWLINE = System.getProperty("line.separator");
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(LoggingInterceptorSupport.class);
+
+    @Autowired(required = false)
+    private MessageListeners messageListener;
+
+    /** Max body length in bytes or characters added to log messages, negative value disables truncation */
+    private int maxBodyLength = -1;
+
+    /** Optional directory receiving complete content of truncated bodies */
+    private File bodyLogDirectory;
+
+    /** Sequence for body log file names */
+    private final AtomicLong bodyLogSequence = new AtomicLong();
+
+    /**
+     * Checks if raw message content is needed because message listeners are present or debug logging is enabled.
+     * @return
+     */
+    protected boolean isLoggingEnabled() {
+        return hasMessageListeners() || log.isDebugEnabled();
+    }
+
+    /**
+     * Checks if message listeners are present.
+     * @return
+     */
+    private boolean hasMessageListeners() {
+        return messageListener != null && !messageListener.isEmpty();
+    }
+
+    /**
+     * Performs the final logger call with raw message content.
+     * @param logMessage
+     * @param message
+     * @param incoming
+     */
+    protected void logMessage(String logMessage, String message, boolean incoming) {
+        if (hasMessageListeners()) {
+            log.debug(logMessage);
+
+            if (incoming) {
+                messageListener.onInboundMessage(new RawMessage(message), null);
+            } else {
+                messageListener.onOutboundMessage(new RawMessage(message), null);
+            }
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug(logMessage + ":" + NEWLINE + message);
+            }
+        }
+    }
+
+    /**
+     * Append Http headers to string builder.
+     * @param headers
+     * @param builder
+     */
+    protected void appendHeaders(HttpHeaders headers, StringBuilder builder) {
+        for (Map.Entry<String, List<String>> headerEntry : headers.entrySet()) {
+            builder.append(headerEntry.getKey());
+            builder.append(":");
+            builder.append(StringUtils.collectionToCommaDelimitedString(headerEntry.getValue()));
+            builder.append(NEWLINE);
+        }
+    }
+
+    /**
+     * Appends body to string builder. Only the first bytes up to max body length are decoded. When body is truncated
+     * and body log directory is set the complete body is written to a file.
+     * @param body
+     * @param charset
+     * @param builder
+     */
+    protected void appendBody(byte[] body, Charset charset, StringBuilder builder) {
+        if (body == null) {
+            return;
+        }
+
+        if (maxBodyLength < 0 || body.length <= maxBodyLength) {
+            builder.append(new String(body, charset));
+        } else {
+            builder.append(new String(body, 0, maxBodyLength, charset));
+            appendTruncated(body.length, writeBody(body), builder);
+        }
+    }
+
+    /**
+     * Appends body to string builder. Only the first characters up to max body length are added. When body is truncated
+     * and body log directory is set the complete body is written to a file.
+     * @param body
+     * @param charset
+     * @param builder
+     */
+    protected void appendBody(String body, Charset charset, StringBuilder builder) {
+        if (body == null) {
+            return;
+        }
+
+        if (maxBodyLength < 0 || body.length() <= maxBodyLength) {
+            builder.append(body);
+        } else {
+            builder.append(body, 0, maxBodyLength);
+            appendTruncated(body.length(), bodyLogDirectory != null ? writeBody(body.getBytes(charset)) : null, builder);
+        }
+    }
+
+    /**
+     * Appends truncation note with original body length and body log file if any.
+     * @param length
+     * @param bodyFile
+     * @param builder
+     */
+    private void appendTruncated(int length, File bodyFile, StringBuilder builder) {
+        builder.append(NEWLINE);
+        builder.append("... [truncated, total body length: ").append(length);
+
+        if (bodyFile != null) {
+            builder.append(", complete body: ").append(bodyFile.getAbsolutePath());
+        }
+
+        builder.append("]");
+    }
+
+    /**
+     * Writes body to new file in body log directory.
+     * @param body
+     * @return the body file or null when no body log directory is set or file could not be written.
+     */
+    private File writeBody(byte[] body) {
+        if (bodyLogDirectory == null) {
+            return null;
+        }
+
+        if (!bodyLogDirectory.exists() && !bodyLogDirectory.mkdirs()) {
+            log.warn("Unable to create body log directory: " + bodyLogDirectory.getAbsolutePath());
+            return null;
+        }
+
+        File bodyFile = new File(bodyLogDirectory, String.format("http-body-%d-%d.log", System.currentTimeMillis(), bodyLogSequence.incrementAndGet()));
+        try {
+            FileCopyUtils.copy(body, bodyFile);
+            return bodyFile;
+        } catch (IOException e) {
+            log.warn("Unable to write body log file: " + bodyFile.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets charset from content type header or default Citrus file encoding.
+     * @param headers
+     * @return
+     */
+    protected Charset getCharset(HttpHeaders headers) {
+        if (headers.getContentType() != null && headers.getContentType().getCharset() != null) {
+            return headers.getContentType().getCharset();
+        }
+
+        return Charset.forName(Citrus.CITRUS_FILE_ENCODING);
+    }
+
+    /**
+     * Sets the message listener.
+     * @param messageListener
+     */
+    public void setMessageListener(MessageListeners messageListener) {
+        this.messageListener = messageListener;
+    }
+
+    /**
+     * Sets the max body length in bytes or characters added to log messages. Negative value disables truncation.
+     * @param maxBodyLength
+     */
+    public void setMaxBodyLength(int maxBodyLength) {
+        this.maxBodyLength = maxBodyLength;
+    }
+
+    /**
+     * Gets the max body length in bytes or characters added to log messages.
+     * @return
+     */
+    public int getMaxBodyLength() {
+        return maxBodyLength;
+    }
+
+    /**
+     * Sets the directory receiving complete content of truncated bodies.
+     * @param bodyLogDirectory
+     */
+    public void setBodyLogDirectory(File bodyLogDirectory) {
+        this.bodyLogDirectory = bodyLogDirectory;
+    }
+
+    /**
+     * Gets the directory receiving complete content of truncated bodies.
+     * @return
+     */
+    public File getBodyLogDirectory() {
+        return bodyLogDirectory;
+    }
+}
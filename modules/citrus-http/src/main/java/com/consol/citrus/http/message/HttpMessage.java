@@ -20,10 +20,13 @@ import com.consol.citrus.endpoint.resolver.DynamicEndpointUriResolver;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.*;
+import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.Charset;
 import java.util.Map;
 
 /**
@@ -32,6 +35,16 @@ import java.util.Map;
  */
 public class HttpMessage extends DefaultMessage {
 
+    /** Cached text representation of binary payload */
+    private transient String payloadText;
+
+    /** Binary payload and charset the cached text representation was decoded from */
+    private transient byte[] payloadTextSource;
+    private transient Charset payloadTextCharset;
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(HttpMessage.class);
+
     /**
      * Empty constructor initializing with empty message payload.
      */
@@ -206,6 +219,62 @@ public class HttpMessage extends DefaultMessage {
         return (HttpMessage) super.setHeader(headerName, headerValue);
     }
 
+    /**
+     * Decodes binary payload data to String using the charset of the message content type. Binary payload
+     * is kept as is in the message and only decoded when requested as text. Decoded text is cached until payload
+     * or charset changes.
+     * @param type
+     * @param <T>
+     * @return
+     */
+    @Override
+    public <T> T getPayload(Class<T> type) {
+        if (String.class.equals(type) && getPayload() instanceof byte[]) {
+            byte[] payload = (byte[]) getPayload();
+            Charset charset = getCharset();
+
+            if (payloadText == null || payloadTextSource != payload || !charset.equals(payloadTextCharset)) {
+                payloadText = new String(payload, charset);
+                payloadTextSource = payload;
+                payloadTextCharset = charset;
+            }
+
+            return type.cast(payloadText);
+        }
+
+        return super.getPayload(type);
+    }
+
+    @Override
+    public void setPayload(Object payload) {
+        super.setPayload(payload);
+        this.payloadText = null;
+        this.payloadTextSource = null;
+        this.payloadTextCharset = null;
+    }
+
+    /**
+     * Gets the charset of the message content type. Falls back to the Http default charset ISO-8859-1 when content type
+     * does not specify a charset, same as text request bodies.
+     * @return
+     */
+    private Charset getCharset() {
+        Object contentType = getHeader(HttpMessageHeaders.HTTP_CONTENT_TYPE);
+
+        if (contentType != null && StringUtils.hasText(contentType.toString())) {
+            try {
+                Charset charset = MediaType.parseMediaType(contentType.toString()).getCharset();
+                if (charset != null) {
+                    return charset;
+                }
+            } catch (InvalidMediaTypeException e) {
+                log.warn(String.format("Unable to read charset from content type '%s'", contentType), e);
+            }
+        }
+
+        return StringHttpMessageConverter.DEFAULT_CHARSET;
+    }
+
     /**
      * Gets the Http request method.
      * @return
@@ -22,10 +22,11 @@ import com.consol.citrus.http.servlet.CitrusDispatcherServlet;
 import com.consol.citrus.http.servlet.RequestCachingServletFilter;
 import com.consol.citrus.server.AbstractServer;
 import org.eclipse.jetty.security.SecurityHandler;
-import org.eclipse.jetty.server.Connector;
-import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.*;
 import org.eclipse.jetty.server.handler.*;
 import org.eclipse.jetty.servlet.*;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -96,6 +97,16 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     /** Message converter */
     private HttpMessageConverter messageConverter = new HttpMessageConverter();
 
+    /** Keep request body data as raw bytes in message payload */
+    private boolean binaryBody = false;
+
+    /** Optional thread pool handling incoming requests, not supported in combination with connectors */
+    private ThreadPool threadPool;
+
+    /** Max and min number of request handling threads in queued thread pool, Jetty defaults are used when not set */
+    private int maxThreads = 0;
+    private int minThreads = 0;
+
     @Override
     protected void shutdown() {
         if (jettyServer != null) {
@@ -112,6 +123,12 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     @Override
     protected void startup() {
         synchronized (serverLock) {
+            boolean customConnectors = connector != null || (connectors != null && connectors.length > 0);
+            if (customConnectors && (threadPool != null || maxThreads > 0 || minThreads > 0)) {
+                throw new CitrusRuntimeException(String.format("Unable to start server '%s' - thread pool settings are not supported " +
+                        "in combination with custom connectors, configure the thread pool on the Jetty server of the connectors instead", getName()));
+            }
+
             if (connectors != null && connectors.length > 0) {
                 jettyServer = connectors[0].getServer();
                 jettyServer.setConnectors(connectors);
@@ -119,7 +136,11 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
                 jettyServer = connector.getServer();
                 jettyServer.addConnector(connector);
             } else {
-                jettyServer = new Server(port);
+                jettyServer = new Server(createThreadPool());
+
+                ServerConnector serverConnector = new ServerConnector(jettyServer);
+                serverConnector.setPort(port);
+                jettyServer.addConnector(serverConnector);
             }
             
             HandlerCollection handlers = new HandlerCollection();
@@ -205,6 +226,80 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
         servletHandler.addFilter(filterHolder, filterMapping);
     }
 
+    /**
+     * Creates the thread pool handling incoming requests. Uses the thread pool when set, otherwise creates queued thread pool
+     * when max or min threads are set. Unset max or min threads fall back to the Jetty defaults. Returns null when nothing is
+     * set so Jetty uses its default thread pool.
+     * @return
+     */
+    private ThreadPool createThreadPool() {
+        if (threadPool != null) {
+            return threadPool;
+        }
+
+        if (maxThreads <= 0 && minThreads <= 0) {
+            return null;
+        }
+
+        QueuedThreadPool queuedThreadPool = new QueuedThreadPool();
+        int max = maxThreads > 0 ? maxThreads : queuedThreadPool.getMaxThreads();
+        int min = minThreads > 0 ? minThreads : queuedThreadPool.getMinThreads();
+
+        queuedThreadPool.setMaxThreads(max);
+        queuedThreadPool.setMinThreads(Math.min(min, max));
+        queuedThreadPool.setName(getName() + "-qtp");
+        return queuedThreadPool;
+    }
+
+    /**
+     * Gets the thread pool handling incoming requests.
+     * @return
+     */
+    public ThreadPool getThreadPool() {
+        return threadPool;
+    }
+
+    /**
+     * Sets the thread pool handling incoming requests. Thread pool can be any Jetty thread pool implementation
+     * e.g. an executor thread pool delegating to a custom executor service. Not supported in combination with connectors.
+     * @param threadPool
+     */
+    public void setThreadPool(ThreadPool threadPool) {
+        this.threadPool = threadPool;
+    }
+
+    /**
+     * Gets the max number of request handling threads.
+     * @return
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Sets the max number of request handling threads. Not supported in combination with connectors.
+     * @param maxThreads
+     */
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Gets the min number of request handling threads.
+     * @return
+     */
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * Sets the min number of request handling threads. Not supported in combination with connectors.
+     * @param minThreads
+     */
+    public void setMinThreads(int minThreads) {
+        this.minThreads = minThreads;
+    }
+
     /**
      * Gets the customized servlet name or default name if not set.
      * @return the servletName
@@ -525,6 +620,23 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
         this.servletName = servletName;
     }
 
+    /**
+     * Gets the binary body mode.
+     * @return
+     */
+    public boolean isBinaryBody() {
+        return binaryBody;
+    }
+
+    /**
+     * Enables/disables binary body mode. When enabled request body data is kept as raw bytes in the
+     * message payload instead of being decoded to String on arrival.
+     * @param binaryBody
+     */
+    public void setBinaryBody(boolean binaryBody) {
+        this.binaryBody = binaryBody;
+    }
+
     /**
      * Gets the useRootContextAsParent.
      * @return the useRootContextAsParent the useRootContextAsParent to get.
@@ -22,6 +22,7 @@ import com.consol.citrus.http.message.HttpMessageConverter;
 import org.eclipse.jetty.security.SecurityHandler;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.servlet.ServletHandler;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import java.util.List;
@@ -170,6 +171,46 @@ public class HttpServerBuilder extends AbstractEndpointBuilder<HttpServer> {
         return this;
     }
 
+    /**
+     * Enables/disables binary body mode.
+     * @param binaryBody
+     * @return
+     */
+    public HttpServerBuilder binaryBody(boolean binaryBody) {
+        endpoint.setBinaryBody(binaryBody);
+        return this;
+    }
+
+    /**
+     * Sets the thread pool handling incoming requests.
+     * @param threadPool
+     * @return
+     */
+    public HttpServerBuilder threadPool(ThreadPool threadPool) {
+        endpoint.setThreadPool(threadPool);
+        return this;
+    }
+
+    /**
+     * Sets the max number of request handling threads.
+     * @param maxThreads
+     * @return
+     */
+    public HttpServerBuilder maxThreads(int maxThreads) {
+        endpoint.setMaxThreads(maxThreads);
+        return this;
+    }
+
+    /**
+     * Sets the min number of request handling threads.
+     * @param minThreads
+     * @return
+     */
+    public HttpServerBuilder minThreads(int minThreads) {
+        endpoint.setMinThreads(minThreads);
+        return this;
+    }
+
     /**
      * Sets the default timeout.
      * @param timeout
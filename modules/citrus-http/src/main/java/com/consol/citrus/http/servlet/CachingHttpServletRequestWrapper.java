@@ -18,6 +18,7 @@ package com.consol.citrus.http.servlet;
 
 import com.consol.citrus.Citrus;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.http.MediaType;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -27,7 +28,6 @@ import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 import java.io.*;
-import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.util.*;
 
@@ -39,6 +39,9 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
     /** Cached request data initialized when first read from input stream */
     private byte[] body;
 
+    /** Parameters parsed from query string and form data initialized when first accessed */
+    private Map<String, String[]> parameters;
+
     /**
      * Default constructor using initial servlet request.
      * @param request
@@ -53,50 +56,115 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
             return super.getParameterMap();
         }
 
-        Map<String, String[]> params = new HashMap<>();
+        if (parameters == null) {
+            parameters = parseParameters();
+        }
+
+        return parameters;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = getParameterMap().get(name);
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return getParameterMap().get(name);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(getParameterMap().keySet());
+    }
+
+    /**
+     * Parses query string and form data in request body once. Form data is only parsed for POST and PUT requests with
+     * x-www-form-urlencoded content type. Parameters of other POST and PUT requests are provided by the wrapped request.
+     * @return
+     */
+    private Map<String, String[]> parseParameters() {
+        Charset charset = getParameterCharset();
+        Map<String, String[]> params = new LinkedHashMap<>();
+        UrlEncodedParameterParser.ParameterHandler handler = new UrlEncodedParameterParser.ParameterMapHandler(params);
+
         if (RequestMethod.POST.name().equals(getMethod()) || RequestMethod.PUT.name().equals(getMethod())) {
-            if ("application/x-www-form-urlencoded".equals(getContentType())) {
-                fillParams(params, new String(body, Charset.forName(Citrus.CITRUS_FILE_ENCODING)));
+            if (getContentType() != null && getContentType().startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+                if (getQueryString() != null) {
+                    UrlEncodedParameterParser.parse(getQueryString().getBytes(charset), charset, true, handler);
+                }
+
+                UrlEncodedParameterParser.parse(body, charset, true, handler);
             } else {
                 return super.getParameterMap();
             }
-        } else {
-            fillParams(params, getQueryString());
+        } else if (getQueryString() != null) {
+            UrlEncodedParameterParser.parse(getQueryString().getBytes(charset), charset, true, handler);
         }
 
-        return params;
+        return Collections.unmodifiableMap(params);
+    }
+
+    /**
+     * Gets the charset for decoding parameters. Uses request character encoding if set otherwise default Citrus file encoding.
+     * @return
+     */
+    private Charset getParameterCharset() {
+        if (StringUtils.hasText(getCharacterEncoding())) {
+            return Charset.forName(getCharacterEncoding());
+        }
+
+        return Charset.forName(Citrus.CITRUS_FILE_ENCODING);
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
+        getBody();
+        return new RequestCachingInputStream();
+    }
+
+    /**
+     * Gets the cached request body data. Reads body data from request input stream when not already cached so
+     * callers get the raw bytes without copying the data again.
+     * @return
+     * @throws IOException
+     */
+    public byte[] getBody() throws IOException {
         if (body == null) {
             if (super.getInputStream() != null) {
-                body = FileCopyUtils.copyToByteArray(super.getInputStream());
+                body = readBody(super.getInputStream());
             } else {
                 body = new byte[] {};
             }
         }
-        return new RequestCachingInputStream();
+        return body;
     }
 
     /**
-     * Adds parameter name value paris extracted from given query string.
-     * @param params
-     * @param queryString
+     * Reads body data from input stream. When content length is known the data is read directly into a byte array of
+     * that size, otherwise the data is buffered until end of stream.
+     * @param inputStream
+     * @return
+     * @throws IOException
      */
-    private void fillParams(Map<String, String[]> params, String queryString) {
-        if (StringUtils.hasText(queryString)) {
-            StringTokenizer tokenizer = new StringTokenizer(queryString, "&");
-            while (tokenizer.hasMoreTokens()) {
-                String[] nameValuePair = tokenizer.nextToken().split("=");
-
-                try {
-                    params.put(URLDecoder.decode(nameValuePair[0], Citrus.CITRUS_FILE_ENCODING), new String[] { URLDecoder.decode(nameValuePair[1], Citrus.CITRUS_FILE_ENCODING) });
-                } catch (UnsupportedEncodingException e) {
-                    throw new CitrusRuntimeException(String.format("Failed to decode query param value '%s=%s'", nameValuePair[0], nameValuePair[1]), e);
-                }
+    private byte[] readBody(InputStream inputStream) throws IOException {
+        int contentLength = getContentLength();
+        if (contentLength < 0) {
+            return FileCopyUtils.copyToByteArray(inputStream);
+        }
+
+        byte[] data = new byte[contentLength];
+        int offset = 0;
+        while (offset < contentLength) {
+            int read = inputStream.read(data, offset, contentLength - offset);
+            if (read == -1) {
+                break;
             }
+            offset += read;
         }
+
+        return offset == contentLength ? data : Arrays.copyOf(data, offset);
     }
 
     /** Input stream uses cached request data */
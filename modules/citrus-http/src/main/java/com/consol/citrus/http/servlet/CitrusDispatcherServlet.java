@@ -92,6 +92,7 @@ public class CitrusDispatcherServlet extends DispatcherServlet {
             endpointConfiguration.setMessageConverter(httpServer.getMessageConverter());
             endpointConfiguration.setHeaderMapper(DefaultHttpHeaderMapper.inboundMapper());
             messageController.setEndpointConfiguration(endpointConfiguration);
+            messageController.setBinaryBody(httpServer.isBinaryBody());
 
             if (endpointAdapter != null) {
                 messageController.setEndpointAdapter(endpointAdapter);
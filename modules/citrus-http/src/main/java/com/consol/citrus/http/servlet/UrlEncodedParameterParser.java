@@ -0,0 +1,178 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.servlet;
+
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * Parses x-www-form-urlencoded name value pairs such as query strings and form post bodies directly from raw byte data.
+ * Pairs are separated by '&amp;', names and values are separated by the first '='. Pairs without '=' get an empty value.
+ * Percent escapes and '+' are decoded to bytes first and then converted to a string with the given charset.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public final class UrlEncodedParameterParser {
+
+    /**
+     * Prevent instantiation.
+     */
+    private UrlEncodedParameterParser() {
+    }
+
+    /**
+     * Parses all name value pairs in data to a multi-valued parameter map. Map keeps the order of first occurrence
+     * of each parameter name. Values of repeated parameters are collected in order of occurrence.
+     * @param data
+     * @param charset
+     * @return
+     */
+    public static Map<String, String[]> parseParameterMap(byte[] data, Charset charset) {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        parse(data, charset, true, new ParameterMapHandler(parameters));
+        return parameters;
+    }
+
+    /**
+     * Parses all name value pairs in data and passes them to the given handler in order of occurrence.
+     * @param data
+     * @param charset
+     * @param decode decode percent escapes and '+' in names and values
+     * @param handler
+     */
+    public static void parse(byte[] data, Charset charset, boolean decode, ParameterHandler handler) {
+        if (data == null) {
+            return;
+        }
+
+        byte[] buffer = null;
+        int start = 0;
+        while (start < data.length) {
+            int end = start;
+            int separator = -1;
+            while (end < data.length && data[end] != '&') {
+                if (separator < 0 && data[end] == '=') {
+                    separator = end;
+                }
+                end++;
+            }
+
+            if (end > start) {
+                if (decode && buffer == null) {
+                    buffer = new byte[data.length];
+                }
+
+                int nameEnd = separator < 0 ? end : separator;
+                String name = toString(data, start, nameEnd, charset, decode, buffer);
+                String value = separator < 0 ? "" : toString(data, separator + 1, end, charset, decode, buffer);
+                handler.parameter(name, value);
+            }
+
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Converts data section to string. When decoding is enabled and the section contains escapes the decoded bytes are
+     * written to the buffer first. Sections without escapes are converted directly.
+     * @param data
+     * @param start
+     * @param end
+     * @param charset
+     * @param decode
+     * @param buffer
+     * @return
+     */
+    private static String toString(byte[] data, int start, int end, Charset charset, boolean decode, byte[] buffer) {
+        if (!decode || !containsEscapes(data, start, end)) {
+            return new String(data, start, end - start, charset);
+        }
+
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            byte b = data[i];
+            if (b == '+') {
+                buffer[length++] = ' ';
+            } else if (b == '%') {
+                if (i + 2 >= end) {
+                    throw new IllegalArgumentException("Incomplete trailing escape pattern in '" + new String(data, start, end - start, charset) + "'");
+                }
+
+                int high = Character.digit(data[i + 1], 16);
+                int low = Character.digit(data[i + 2], 16);
+                if (high < 0 || low < 0) {
+                    throw new IllegalArgumentException("Illegal hex characters in escape pattern in '" + new String(data, start, end - start, charset) + "'");
+                }
+
+                buffer[length++] = (byte) ((high << 4) + low);
+                i += 2;
+            } else {
+                buffer[length++] = b;
+            }
+        }
+
+        return new String(buffer, 0, length, charset);
+    }
+
+    /**
+     * Checks if data section contains percent escapes or '+' characters.
+     * @param data
+     * @param start
+     * @param end
+     * @return
+     */
+    private static boolean containsEscapes(byte[] data, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (data[i] == '%' || data[i] == '+') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Callback receiving parsed name value pairs.
+     */
+    public interface ParameterHandler {
+        void parameter(String name, String value);
+    }
+
+    /**
+     * Handler collecting parameters to multi-valued map.
+     */
+    static final class ParameterMapHandler implements ParameterHandler {
+        private final Map<String, String[]> parameters;
+
+        ParameterMapHandler(Map<String, String[]> parameters) {
+            this.parameters = parameters;
+        }
+
+        @Override
+        public void parameter(String name, String value) {
+            String[] values = parameters.get(name);
+            if (values == null) {
+                parameters.put(name, new String[] { value });
+            } else {
+                values = Arrays.copyOf(values, values.length + 1);
+                values[values.length - 1] = value;
+                parameters.put(name, values);
+            }
+        }
+    }
+}
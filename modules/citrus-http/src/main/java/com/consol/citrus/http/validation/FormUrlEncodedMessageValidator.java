@@ -18,9 +18,9 @@ package com.consol.citrus.http.validation;
 
 import com.consol.citrus.Citrus;
 import com.consol.citrus.context.TestContext;
-import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.http.message.HttpMessageHeaders;
+import com.consol.citrus.http.servlet.UrlEncodedParameterParser;
 import com.consol.citrus.http.model.*;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
@@ -28,13 +28,9 @@ import com.consol.citrus.validation.DefaultMessageValidator;
 import com.consol.citrus.validation.context.ValidationContext;
 import com.consol.citrus.validation.xml.DomXmlMessageValidator;
 import com.consol.citrus.validation.xml.XmlMessageValidationContext;
-import org.springframework.util.StringUtils;
 import org.springframework.xml.transform.StringResult;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
 import java.nio.charset.Charset;
-import java.util.StringTokenizer;
 
 /**
  * Validates x-www-form-urlencoded HTML form data content by marshalling form fields to Xml representation.
@@ -83,43 +79,46 @@ public class FormUrlEncodedMessageValidator extends DefaultMessageValidator {
      * @return
      */
     private FormData createFormData(Message message) {
-        FormData formData = new ObjectFactory().createFormData();
+        final FormData formData = new ObjectFactory().createFormData();
 
         formData.setContentType(getFormContentType(message));
         formData.setAction(getFormAction(message));
 
-        String rawFormData = message.getPayload(String.class);
-        if (StringUtils.hasText(rawFormData)) {
-            StringTokenizer tokenizer = new StringTokenizer(rawFormData, "&");
-            while (tokenizer.hasMoreTokens()) {
+        UrlEncodedParameterParser.parse(getRawFormData(message), getEncoding(), autoDecode, new UrlEncodedParameterParser.ParameterHandler() {
+            @Override
+            public void parameter(String name, String value) {
                 Control control = new ObjectFactory().createControl();
-                String[] nameValuePair = tokenizer.nextToken().split("=");
-
-                if (autoDecode) {
-                    try {
-                        control.setName(URLDecoder.decode(nameValuePair[0], getEncoding()));
-                        control.setValue(URLDecoder.decode(nameValuePair[1], getEncoding()));
-                    } catch (UnsupportedEncodingException e) {
-                        throw new CitrusRuntimeException(String.format("Failed to decode form control value '%s=%s'", nameValuePair[0], nameValuePair[1]), e);
-                    }
-                } else {
-                    control.setName(nameValuePair[0]);
-                    control.setValue(nameValuePair[1]);
-                }
+                control.setName(name);
+                control.setValue(value);
                 formData.addControl(control);
             }
-        }
+        });
 
         return formData;
     }
 
+    /**
+     * Gets raw url encoded form data from message payload. Binary payloads are parsed as is without
+     * converting to string first.
+     * @param message
+     * @return
+     */
+    private byte[] getRawFormData(Message message) {
+        if (message.getPayload() instanceof byte[]) {
+            return (byte[]) message.getPayload();
+        }
+
+        String rawFormData = message.getPayload(String.class);
+        return rawFormData != null ? rawFormData.getBytes(getEncoding()) : null;
+    }
+
     /**
      * Gets the default encoding. If set by Citrus system property (citrus.file.encoding) use
      * this one otherwise use system default.
      * @return
      */
-    private String getEncoding() {
-        return System.getProperty(Citrus.CITRUS_FILE_ENCODING, Charset.defaultCharset().displayName());
+    private Charset getEncoding() {
+        return Charset.forName(Citrus.CITRUS_FILE_ENCODING);
     }
 
     /**
@@ -17,6 +17,7 @@
 package com.consol.citrus.http.client;
 
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
+import com.consol.citrus.http.interceptor.LoggingClientInterceptor;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.message.*;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
@@ -28,7 +29,10 @@ import org.springframework.web.client.*;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.File;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Mockito.*;
 
@@ -478,4 +482,117 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
         verify(restTemplate).setInterceptors(any(List.class));
         verify(restTemplate).setErrorHandler(any(ResponseErrorHandler.class));
     }
+
+    @Test
+    public void testAsyncRequest() throws InterruptedException {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        final String responseBody = "<TestResponse><Message>Hello World!</Message></TestResponse>";
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+        endpointConfiguration.setAsync(true);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        endpointConfiguration.setRestTemplate(restTemplate);
+
+        reset(restTemplate);
+
+        final CountDownLatch responseLatch = new CountDownLatch(1);
+        doAnswer(new Answer<ResponseEntity<String>>() {
+            @Override
+            public ResponseEntity<String> answer(InvocationOnMock invocation) throws Throwable {
+                Assert.assertTrue(responseLatch.await(5000L, TimeUnit.MILLISECONDS));
+                return new ResponseEntity<String>(responseBody, HttpStatus.OK);
+            }
+        }).when(restTemplate).exchange(eq(requestUrl), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class));
+
+        try {
+            httpClient.send(requestMessage, context);
+            Assert.assertEquals(httpClient.getPendingRequestCount(), 1);
+
+            responseLatch.countDown();
+
+            HttpMessage responseMessage = (HttpMessage) httpClient.receive(context, endpointConfiguration.getTimeout());
+            Assert.assertEquals(responseMessage.getPayload(), responseBody);
+            Assert.assertEquals(responseMessage.getStatusCode(), HttpStatus.OK);
+            Assert.assertEquals(httpClient.getPendingRequestCount(), 0);
+        } finally {
+            httpClient.destroy();
+        }
+    }
+
+    @Test
+    public void testAsyncRequestFailure() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+        endpointConfiguration.setAsync(true);
+        endpointConfiguration.setMaxInFlightRequests(1);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        endpointConfiguration.setRestTemplate(restTemplate);
+
+        reset(restTemplate);
+
+        doThrow(new ResourceAccessException("Connection refused")).when(restTemplate).exchange(eq(requestUrl), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class));
+
+        try {
+            httpClient.send(requestMessage, context);
+
+            try {
+                httpClient.receive(context, endpointConfiguration.getTimeout());
+                Assert.fail("Missing exception due to failed request");
+            } catch (ResourceAccessException e) {
+                Assert.assertEquals(e.getMessage(), "Connection refused");
+            }
+
+            Assert.assertEquals(httpClient.getPendingRequestCount(), 0);
+
+            // in flight permit has been released
+            httpClient.send(requestMessage, context);
+
+            try {
+                httpClient.receive(context, endpointConfiguration.getTimeout());
+                Assert.fail("Missing exception due to failed request");
+            } catch (ResourceAccessException e) {
+                Assert.assertEquals(e.getMessage(), "Connection refused");
+            }
+        } finally {
+            httpClient.destroy();
+        }
+    }
+
+    @Test
+    public void testDefaultLoggingInterceptorBodySettings() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+        endpointConfiguration.setMaxBodyLength(1024);
+        endpointConfiguration.setBodyLogDirectory(new File("target/http-body-logs"));
+
+        endpointConfiguration.setRestTemplate(restTemplate);
+
+        reset(restTemplate);
+
+        doReturn(new ResponseEntity<String>("<TestResponse/>", HttpStatus.OK))
+                .when(restTemplate).exchange(eq(requestUrl), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class));
+
+        httpClient.send(new DefaultMessage("<TestRequest/>"), context);
+
+        Assert.assertEquals(endpointConfiguration.getClientInterceptors().size(), 1);
+        LoggingClientInterceptor loggingInterceptor = (LoggingClientInterceptor) endpointConfiguration.getClientInterceptors().get(0);
+        Assert.assertEquals(loggingInterceptor.getMaxBodyLength(), 1024);
+        Assert.assertEquals(loggingInterceptor.getBodyLogDirectory(), new File("target/http-body-logs"));
+    }
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.client;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.message.*;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.eclipse.jetty.server.*;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Measures requests per second of blocking and asynchronous Http client against embedded Jetty server with simulated
+ * server latency. Verifies reply correlation of a single client shared by many concurrent senders.
+ *
+ * @author Christoph Deppisch
+ */
+@Test(groups = "benchmark")
+public class HttpClientThroughputTest extends AbstractTestNGUnitTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(HttpClientThroughputTest.class);
+
+    /** Simulated server processing time */
+    private static final long SERVER_LATENCY = 10L;
+
+    private Server server;
+    private String requestUrl;
+
+    @BeforeClass
+    public void startServer() throws Exception {
+        server = new Server();
+        ServerConnector connector = new ServerConnector(server);
+        connector.setPort(0);
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+                try {
+                    Thread.sleep(SERVER_LATENCY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                String body = FileCopyUtils.copyToString(request.getReader());
+                if (body.startsWith("Error")) {
+                    response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                }
+
+                response.setContentType("text/plain");
+                response.getWriter().write("Reply:" + body);
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+
+        requestUrl = "http://localhost:" + connector.getLocalPort() + "/test";
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testRequestThroughput() {
+        int requests = 200;
+        int asyncRequests = 1000;
+
+        //warm up
+        sendRequests(createClient(false), 20);
+        sendRequests(createClient(true), 100);
+
+        long blocking = sendRequests(createClient(false), requests);
+        long async = sendRequests(createClient(true), asyncRequests);
+
+        log.info(String.format("Sent requests with %dms server latency - blocking client: %d requests/s, async client with %d requests in flight: %d requests/s",
+                SERVER_LATENCY, requestsPerSecond(requests, blocking), asyncRequests, requestsPerSecond(asyncRequests, async)));
+    }
+
+    @Test
+    public void testInFlightLimit() {
+        HttpClient client = createClient(true);
+        client.getEndpointConfiguration().setMaxInFlightRequests(10);
+
+        sendRequests(client, 200);
+    }
+
+    @Test
+    public void testConcurrentSenders() throws Exception {
+        HttpClient client = createClient(false);
+        try {
+            sendConcurrently(client, ErrorHandlingStrategy.PROPAGATE);
+            sendConcurrently(client, ErrorHandlingStrategy.THROWS_EXCEPTION);
+        } finally {
+            client.destroy();
+        }
+    }
+
+    @Test
+    public void testConcurrentAsyncSenders() throws Exception {
+        HttpClient client = createClient(true);
+        try {
+            sendConcurrently(client, ErrorHandlingStrategy.PROPAGATE);
+        } finally {
+            client.destroy();
+        }
+    }
+
+    /**
+     * Many threads share the client each with its own test context. Every third request gets an error response. Each
+     * thread verifies that it receives exactly the reply for its own request.
+     * @param client
+     * @param errorStrategy
+     * @throws Exception
+     */
+    private void sendConcurrently(final HttpClient client, final ErrorHandlingStrategy errorStrategy) throws Exception {
+        client.getEndpointConfiguration().setErrorHandlingStrategy(errorStrategy);
+
+        final int threads = 20;
+        final int requests = 50;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                final int threadId = thread;
+                results.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        TestContext threadContext = createTestContext();
+                        for (int i = 0; i < requests; i++) {
+                            boolean error = i % 3 == 0;
+                            String payload = (error ? "Error " : "Request ") + threadId + "-" + i;
+
+                            try {
+                                client.send(new DefaultMessage(payload), threadContext);
+                                Assert.assertFalse(error && errorStrategy == ErrorHandlingStrategy.THROWS_EXCEPTION, "Missing exception for error response");
+
+                                // give other senders the chance to interfere before reply is received
+                                Thread.sleep(SERVER_LATENCY);
+
+                                HttpMessage reply = (HttpMessage) client.receive(threadContext);
+                                Assert.assertEquals(reply.getPayload(String.class), "Reply:" + payload);
+                                Assert.assertEquals(reply.getStatusCode(), error ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK);
+                            } catch (HttpServerErrorException e) {
+                                Assert.assertTrue(error && errorStrategy == ErrorHandlingStrategy.THROWS_EXCEPTION);
+                                Assert.assertEquals(e.getResponseBodyAsString(), "Reply:" + payload);
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> result : results) {
+                result.get(60000L, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sends all requests first and receives the correlated replies afterwards. Blocking client sends and receives
+     * one request after another.
+     * @param client
+     * @param requests
+     * @return
+     */
+    private long sendRequests(HttpClient client, int requests) {
+        try {
+            long start = System.nanoTime();
+
+            List<Message> requestMessages = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                Message request = new DefaultMessage("Request " + i);
+                client.send(request, context);
+                requestMessages.add(request);
+            }
+
+            for (int i = 0; i < requests; i++) {
+                Message request = requestMessages.get(i);
+                Message reply = client.receive(client.getEndpointConfiguration().getCorrelator().getCorrelationKey(request), context);
+                Assert.assertEquals(reply.getPayload(String.class), "Reply:Request " + i);
+            }
+
+            return System.nanoTime() - start;
+        } finally {
+            client.destroy();
+        }
+    }
+
+    private HttpClient createClient(boolean async) {
+        return new HttpClientBuilder()
+                .requestUrl(requestUrl)
+                .async(async)
+                .maxConnections(50)
+                .maxConnectionsPerRoute(50)
+                .timeout(30000L)
+                .build();
+    }
+
+    private long requestsPerSecond(int requests, long nanos) {
+        return requests * TimeUnit.SECONDS.toNanos(1) / Math.max(nanos, 1L);
+    }
+}
@@ -36,6 +36,8 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.File;
+
 import static org.mockito.Mockito.when;
 
 /**
@@ -68,6 +70,12 @@ public class HttpClientConfigParserTest extends AbstractTestNGUnitTest {
     @HttpClientConfig(requestUrl = "http://localhost:8080/test",
             interceptors={ "clientInterceptor" },
             pollingInterval=250,
+            async=true,
+            maxConnections=100,
+            maxConnectionsPerRoute=50,
+            maxInFlightRequests=1000,
+            maxBodyLength=1024,
+            bodyLogDirectory="target/http-body-logs",
             actor="testActor")
     private HttpClient httpClient4;
 
@@ -119,6 +127,12 @@ public class HttpClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpClient1.getEndpointConfiguration().getRequestMethod(), HttpMethod.POST);
         Assert.assertEquals(httpClient1.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(httpClient1.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertFalse(httpClient1.getEndpointConfiguration().isAsync());
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getMaxConnections(), 20);
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getMaxConnectionsPerRoute(), 10);
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getMaxInFlightRequests(), 0);
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getMaxBodyLength(), -1);
+        Assert.assertNull(httpClient1.getEndpointConfiguration().getBodyLogDirectory());
 
         // 2nd message sender
         Assert.assertNotNull(httpClient2.getEndpointConfiguration().getRestTemplate());
@@ -146,5 +160,11 @@ public class HttpClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpClient4.getEndpointConfiguration().getClientInterceptors().size(), 1L);
         Assert.assertEquals(httpClient4.getEndpointConfiguration().getClientInterceptors().get(0), clientInterceptor);
         Assert.assertEquals(httpClient4.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertTrue(httpClient4.getEndpointConfiguration().isAsync());
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getMaxConnections(), 100);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getMaxConnectionsPerRoute(), 50);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getMaxInFlightRequests(), 1000);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getMaxBodyLength(), 1024);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getBodyLogDirectory(), new File("target/http-body-logs"));
     }
 }
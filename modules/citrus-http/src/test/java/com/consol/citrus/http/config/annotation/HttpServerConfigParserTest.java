@@ -27,6 +27,7 @@ import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.eclipse.jetty.security.SecurityHandler;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.servlet.ServletHandler;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.mockito.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -55,6 +56,7 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
             connector="connector",
             resourceBase="src/it/resources",
             rootParentContext=true,
+            binaryBody=true,
             contextPath="/citrus",
             servletName="citrus-http",
             servletMappingPath="/foo")
@@ -69,7 +71,8 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
     @CitrusEndpoint
     @HttpServerConfig(autoStart=false,
             port=8084,
-            servletHandler="servletHandler")
+            servletHandler="servletHandler",
+            threadPool="threadPool")
     private HttpServer httpServer4;
 
     @CitrusEndpoint
@@ -77,7 +80,9 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
             port=8085,
             securityHandler="securityHandler",
             interceptors={ "clientInterceptor1", "clientInterceptor2" },
-            actor = "testActor")
+            actor = "testActor",
+            maxThreads=400,
+            minThreads=20)
     private HttpServer httpServer5;
 
     @CitrusEndpoint
@@ -106,6 +111,8 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
     @Mock
     private HandlerInterceptor clientInterceptor2 = Mockito.mock(HandlerInterceptor.class);
     @Mock
+    private ThreadPool threadPool = Mockito.mock(ThreadPool.class);
+    @Mock
     private TestActor testActor = Mockito.mock(TestActor.class);
     @Mock
     private ApplicationContext applicationContext = Mockito.mock(ApplicationContext.class);
@@ -123,6 +130,7 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         when(applicationContext.getBean("connector1", Connector.class)).thenReturn(connector1);
         when(applicationContext.getBean("connector2", Connector.class)).thenReturn(connector2);
         when(applicationContext.getBean("testActor", TestActor.class)).thenReturn(testActor);
+        when(applicationContext.getBean("threadPool", ThreadPool.class)).thenReturn(threadPool);
         when(applicationContext.getBean("clientInterceptor1", HandlerInterceptor.class)).thenReturn(clientInterceptor1);
         when(applicationContext.getBean("clientInterceptor2", HandlerInterceptor.class)).thenReturn(clientInterceptor2);
         when(applicationContext.getBean("endpointAdapter", EndpointAdapter.class)).thenReturn(endpointAdapter);
@@ -136,6 +144,7 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertNull(httpServer1.getConnector());
         Assert.assertNull(httpServer1.getServletHandler());
         Assert.assertNull(httpServer1.getSecurityHandler());
+        Assert.assertNull(httpServer1.getThreadPool());
         Assert.assertEquals(httpServer1.getConnectors().length, 0);
         Assert.assertEquals(httpServer1.getName(), "httpServer1");
         Assert.assertEquals(httpServer1.getPort(), 8081);
@@ -143,6 +152,7 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpServer1.getResourceBase(), "src/main/resources");
         Assert.assertFalse(httpServer1.isAutoStart());
         Assert.assertFalse(httpServer1.isUseRootContextAsParent());
+        Assert.assertFalse(httpServer1.isBinaryBody());
         Assert.assertEquals(httpServer1.getContextPath(), "/");
         Assert.assertEquals(httpServer1.getServletName(), "httpServer1-servlet");
         Assert.assertEquals(httpServer1.getServletMappingPath(), "/*");
@@ -158,6 +168,7 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpServer2.getResourceBase(), "src/it/resources");
         Assert.assertFalse(httpServer2.isAutoStart());
         Assert.assertTrue(httpServer2.isUseRootContextAsParent());
+        Assert.assertTrue(httpServer2.isBinaryBody());
         Assert.assertEquals(httpServer2.getContextPath(), "/citrus");
         Assert.assertEquals(httpServer2.getServletName(), "citrus-http");
         Assert.assertEquals(httpServer2.getServletMappingPath(), "/foo");
@@ -173,6 +184,9 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertFalse(httpServer3.isAutoStart());
         Assert.assertFalse(httpServer3.isUseRootContextAsParent());
         Assert.assertEquals(httpServer3.getServletName(), "httpServer3-servlet");
+        Assert.assertNull(httpServer3.getThreadPool());
+        Assert.assertEquals(httpServer3.getMaxThreads(), 0);
+        Assert.assertEquals(httpServer3.getMinThreads(), 0);
         
         // 4th message sender
         Assert.assertNull(httpServer4.getConnector());
@@ -185,6 +199,7 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertFalse(httpServer4.isAutoStart());
         Assert.assertFalse(httpServer4.isUseRootContextAsParent());
         Assert.assertEquals(httpServer4.getServletName(), "httpServer4-servlet");
+        Assert.assertEquals(httpServer4.getThreadPool(), threadPool);
         Assert.assertNotNull(httpServer4.getInterceptors());
         Assert.assertEquals(httpServer4.getInterceptors().size(), 0L);
         
@@ -201,6 +216,9 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpServer5.getServletName(), "httpServer5-servlet");
         Assert.assertNotNull(httpServer5.getInterceptors());
         Assert.assertEquals(httpServer5.getInterceptors().size(), 2L);
+        Assert.assertNull(httpServer5.getThreadPool());
+        Assert.assertEquals(httpServer5.getMaxThreads(), 400);
+        Assert.assertEquals(httpServer5.getMinThreads(), 20);
 
         // 6th message sender
         Assert.assertNull(httpServer6.getConnector());
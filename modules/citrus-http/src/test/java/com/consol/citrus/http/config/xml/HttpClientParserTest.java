@@ -27,6 +27,7 @@ import org.springframework.http.client.InterceptingClientHttpRequestFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.File;
 import java.util.Map;
 
 /**
@@ -49,7 +50,12 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(httpClient.getEndpointConfiguration().getRequestMethod(), HttpMethod.POST);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getTimeout(), 5000L);
-
+        Assert.assertFalse(httpClient.getEndpointConfiguration().isAsync());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), 20);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), 10);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxInFlightRequests(), 0);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxBodyLength(), -1);
+        Assert.assertNull(httpClient.getEndpointConfiguration().getBodyLogDirectory());
 
         // 2nd message sender
         httpClient = clients.get("httpClient2");
@@ -80,6 +86,12 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNotNull(httpClient.getEndpointConfiguration().getClientInterceptors());
         Assert.assertEquals(httpClient.getEndpointConfiguration().getClientInterceptors().get(0), beanDefinitionContext.getBean("clientInterceptor"));
         Assert.assertEquals(httpClient.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertTrue(httpClient.getEndpointConfiguration().isAsync());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), 100);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), 50);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxInFlightRequests(), 1000);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxBodyLength(), 1024);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getBodyLogDirectory(), new File("target/http-body-logs"));
     }
 
     @Test
@@ -49,6 +49,7 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNull(server.getConnector());
         Assert.assertNull(server.getServletHandler());
         Assert.assertNull(server.getSecurityHandler());
+        Assert.assertNull(server.getThreadPool());
         Assert.assertEquals(server.getConnectors().length, 0);
         Assert.assertEquals(server.getName(), "httpServer1");
         Assert.assertEquals(server.getPort(), 8081);
@@ -56,6 +57,7 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getResourceBase(), "src/main/resources");
         Assert.assertFalse(server.isAutoStart());
         Assert.assertFalse(server.isUseRootContextAsParent());
+        Assert.assertFalse(server.isBinaryBody());
         Assert.assertEquals(server.getContextPath(), "/");
         Assert.assertEquals(server.getServletName(), "httpServer1-servlet");
         Assert.assertEquals(server.getServletMappingPath(), "/*");
@@ -72,6 +74,7 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getResourceBase(), "src/it/resources");
         Assert.assertFalse(server.isAutoStart());
         Assert.assertTrue(server.isUseRootContextAsParent());
+        Assert.assertTrue(server.isBinaryBody());
         Assert.assertEquals(server.getContextPath(), "/citrus");
         Assert.assertEquals(server.getServletName(), "citrus-http");
         Assert.assertEquals(server.getServletMappingPath(), "/foo");
@@ -88,6 +91,9 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertFalse(server.isAutoStart());
         Assert.assertFalse(server.isUseRootContextAsParent());
         Assert.assertEquals(server.getServletName(), "httpServer3-servlet");
+        Assert.assertNull(server.getThreadPool());
+        Assert.assertEquals(server.getMaxThreads(), 0);
+        Assert.assertEquals(server.getMinThreads(), 0);
         
         // 4th message sender
         server = servers.get("httpServer4");
@@ -101,6 +107,7 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertFalse(server.isAutoStart());
         Assert.assertFalse(server.isUseRootContextAsParent());
         Assert.assertEquals(server.getServletName(), "httpServer4-servlet");
+        Assert.assertEquals(server.getThreadPool(), beanDefinitionContext.getBean("threadPool"));
         Assert.assertNotNull(server.getInterceptors());
         Assert.assertEquals(server.getInterceptors().size(), 0L);
         
@@ -118,6 +125,9 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getServletName(), "httpServer5-servlet");
         Assert.assertNotNull(server.getInterceptors());
         Assert.assertEquals(server.getInterceptors().size(), 2L);
+        Assert.assertNull(server.getThreadPool());
+        Assert.assertEquals(server.getMaxThreads(), 400);
+        Assert.assertEquals(server.getMinThreads(), 20);
     }
 
     @Test
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import com.consol.citrus.endpoint.adapter.StaticEndpointAdapter;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.testng.AllocationProbe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Measures heap allocation per request of message controller handling multi megabyte request bodies with default text
+ * body mode and with binary body mode.
+ *
+ * @author Christoph Deppisch
+ */
+@Test(groups = "benchmark")
+public class HttpMessageControllerAllocationTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(HttpMessageControllerAllocationTest.class);
+
+    private static final int PAYLOAD_SIZE = 4 * 1024 * 1024;
+
+    @Test
+    public void testAllocationPerRequest() {
+        AllocationProbe allocationProbe = AllocationProbe.forCurrentThread();
+
+        byte[] body = new byte[PAYLOAD_SIZE];
+        Arrays.fill(body, (byte) 'a');
+
+        int requests = 20;
+
+        //warm up
+        handleRequests(createController(false), body, 5, allocationProbe);
+        handleRequests(createController(true), body, 5, allocationProbe);
+
+        long text = handleRequests(createController(false), body, requests, allocationProbe);
+        long binary = handleRequests(createController(true), body, requests, allocationProbe);
+
+        log.info(String.format("Heap allocation per request with %dKB request body - text body: %dKB, binary body: %dKB",
+                PAYLOAD_SIZE / 1024, text / 1024, binary / 1024));
+
+        Assert.assertTrue(binary < text);
+    }
+
+    /**
+     * Handles requests and returns average number of bytes allocated by current thread per request.
+     * @param messageController
+     * @param body
+     * @param requests
+     * @param allocationProbe
+     * @return
+     */
+    private long handleRequests(HttpMessageController messageController, byte[] body, int requests, AllocationProbe allocationProbe) {
+        long allocated = 0L;
+
+        for (int i = 0; i < requests; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+            request.setContentType("text/plain;charset=UTF-8");
+            request.setContent(body);
+
+            long start = allocationProbe.getAllocatedBytes();
+            messageController.handlePostRequest(new CachingHttpServletRequestWrapper(request));
+            allocated += allocationProbe.getAllocatedBytes() - start;
+        }
+
+        return allocated / requests;
+    }
+
+    private HttpMessageController createController(boolean binaryBody) {
+        HttpMessageController messageController = new HttpMessageController();
+        messageController.setBinaryBody(binaryBody);
+        messageController.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message message) {
+                return null;
+            }
+        });
+
+        return messageController;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import com.consol.citrus.endpoint.adapter.StaticEndpointAdapter;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
+import com.consol.citrus.message.Message;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.Charset;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class HttpMessageControllerTest {
+
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    private HttpMessageController messageController;
+    private HttpMessage receivedRequest;
+
+    @BeforeMethod
+    public void setUp() {
+        receivedRequest = null;
+
+        messageController = new HttpMessageController();
+        messageController.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message message) {
+                receivedRequest = (HttpMessage) message;
+                return new HttpMessage("<response>OK</response>");
+            }
+        });
+    }
+
+    @Test
+    public void testTextBody() {
+        MockHttpServletRequest request = createRequest("<request>Grüße</request>".getBytes(ISO_8859_1), "text/xml;charset=ISO-8859-1");
+
+        ResponseEntity<?> response = messageController.handlePostRequest(new CachingHttpServletRequestWrapper(request));
+
+        Assert.assertEquals(response.getStatusCode(), HttpStatus.OK);
+        Assert.assertEquals(response.getBody(), "<response>OK</response>");
+        Assert.assertEquals(receivedRequest.getPayload(), "<request>Grüße</request>");
+        Assert.assertEquals(receivedRequest.getRequestMethod(), HttpMethod.POST);
+        Assert.assertEquals(receivedRequest.getPath(), "/test");
+    }
+
+    @Test
+    public void testBinaryBody() {
+        messageController.setBinaryBody(true);
+
+        byte[] body = "<request>Grüße</request>".getBytes(ISO_8859_1);
+        MockHttpServletRequest request = createRequest(body, "text/xml;charset=ISO-8859-1");
+
+        messageController.handlePostRequest(new CachingHttpServletRequestWrapper(request));
+
+        Assert.assertEquals(receivedRequest.getPayload(), body);
+        Assert.assertEquals(receivedRequest.getPayload(String.class), "<request>Grüße</request>");
+        Assert.assertEquals(receivedRequest.getRequestMethod(), HttpMethod.POST);
+    }
+
+    @Test
+    public void testDefaultCharsetWithoutContentTypeCharset() {
+        byte[] body = "<request>Grüße</request>".getBytes(ISO_8859_1);
+
+        messageController.handlePostRequest(new CachingHttpServletRequestWrapper(createRequest(body, "text/xml")));
+        Assert.assertEquals(receivedRequest.getPayload(), "<request>Grüße</request>");
+
+        messageController.setBinaryBody(true);
+        messageController.handlePostRequest(new CachingHttpServletRequestWrapper(createRequest(body, "text/xml")));
+        Assert.assertEquals(receivedRequest.getPayload(String.class), "<request>Grüße</request>");
+    }
+
+    @Test
+    public void testBinaryBodyDecodedTextCached() {
+        messageController.setBinaryBody(true);
+
+        byte[] body = "<request>Hello</request>".getBytes(ISO_8859_1);
+        messageController.handlePostRequest(new CachingHttpServletRequestWrapper(createRequest(body, "text/xml;charset=ISO-8859-1")));
+
+        String text = receivedRequest.getPayload(String.class);
+        Assert.assertSame(receivedRequest.getPayload(String.class), text);
+
+        receivedRequest.setPayload("<request>Changed</request>".getBytes(ISO_8859_1));
+        Assert.assertEquals(receivedRequest.getPayload(String.class), "<request>Changed</request>");
+    }
+
+    @Test
+    public void testBinaryBodyOctetStream() {
+        messageController.setBinaryBody(true);
+
+        byte[] body = new byte[] { (byte) 0xCA, (byte) 0xFE, 0x00, (byte) 0xBA, (byte) 0xBE };
+        messageController.handlePutRequest(createRequest(body, "application/octet-stream"));
+
+        Assert.assertEquals(receivedRequest.getPayload(byte[].class), body);
+        Assert.assertEquals(receivedRequest.getRequestMethod(), HttpMethod.PUT);
+    }
+
+    @Test
+    public void testEmptyBody() {
+        messageController.setBinaryBody(true);
+
+        MockHttpServletRequest request = createRequest(null, null);
+        request.setMethod(HttpMethod.GET.name());
+
+        messageController.handleGetRequest(new CachingHttpServletRequestWrapper(request));
+
+        Assert.assertEquals(receivedRequest.getPayload(), "");
+        Assert.assertEquals(receivedRequest.getRequestMethod(), HttpMethod.GET);
+    }
+
+    private MockHttpServletRequest createRequest(byte[] body, String contentType) {
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.POST.name(), "/test");
+        request.setContent(body);
+
+        if (contentType != null) {
+            request.setContentType(contentType);
+        }
+
+        return request;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.interceptor;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.report.MessageListener;
+import com.consol.citrus.report.MessageListeners;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class LoggingClientInterceptorTest {
+
+    @Test
+    public void testLogRequestAndResponse() throws Exception {
+        final List<Message> messages = new ArrayList<>();
+        LoggingClientInterceptor interceptor = createInterceptor(messages);
+        interceptor.setMaxBodyLength(5);
+
+        ClientHttpResponse response = interceptor.intercept(createRequest(), "Hello Citrus!".getBytes(), createExecution());
+
+        Assert.assertEquals(FileCopyUtils.copyToString(new InputStreamReader(response.getBody())), "Hi Citrus!");
+        Assert.assertEquals(messages.size(), 2L);
+
+        String requestContent = messages.get(0).getPayload(String.class);
+        Assert.assertTrue(requestContent.startsWith("POST http://localhost:8080/test"));
+        Assert.assertTrue(requestContent.endsWith("Hello" + LoggingInterceptorSupport.NEWLINE + "... [truncated, total body length: 13]"));
+
+        String responseContent = messages.get(1).getPayload(String.class);
+        Assert.assertTrue(responseContent.startsWith("HTTP/1.1 200 OK"));
+        Assert.assertTrue(responseContent.endsWith("Hi Ci" + LoggingInterceptorSupport.NEWLINE + "... [truncated, total body length: 10]"));
+    }
+
+    @Test
+    public void testNoMessageListener() throws Exception {
+        LoggingClientInterceptor interceptor = new LoggingClientInterceptor();
+        interceptor.setMessageListener(new MessageListeners());
+
+        Logger logger = Logger.getLogger(LoggingInterceptorSupport.class);
+        Level level = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        try {
+            final MockClientHttpResponse mockResponse = new MockClientHttpResponse("Hi Citrus!".getBytes(), HttpStatus.OK);
+            ClientHttpResponse response = interceptor.intercept(createRequest(), "Hello Citrus!".getBytes(), new ClientHttpRequestExecution() {
+                @Override
+                public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+                    return mockResponse;
+                }
+            });
+
+            Assert.assertSame(response, mockResponse);
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    private LoggingClientInterceptor createInterceptor(final List<Message> messages) {
+        MessageListeners messageListeners = new MessageListeners();
+        messageListeners.addMessageListener(new MessageListener() {
+            @Override
+            public void onInboundMessage(Message message, TestContext context) {
+                messages.add(message);
+            }
+
+            @Override
+            public void onOutboundMessage(Message message, TestContext context) {
+                messages.add(message);
+            }
+        });
+
+        LoggingClientInterceptor interceptor = new LoggingClientInterceptor();
+        interceptor.setMessageListener(messageListeners);
+        return interceptor;
+    }
+
+    private HttpRequest createRequest() {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("http://localhost:8080/test"));
+        request.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+        return request;
+    }
+
+    private ClientHttpRequestExecution createExecution() {
+        return new ClientHttpRequestExecution() {
+            @Override
+            public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+                return new MockClientHttpResponse("Hi Citrus!".getBytes(), HttpStatus.OK);
+            }
+        };
+    }
+}
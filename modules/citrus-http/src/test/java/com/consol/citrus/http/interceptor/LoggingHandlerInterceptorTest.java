@@ -0,0 +1,145 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.interceptor;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.http.controller.HttpMessageController;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.report.MessageListener;
+import com.consol.citrus.report.MessageListeners;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class LoggingHandlerInterceptorTest {
+
+    private LoggingHandlerInterceptor interceptor;
+
+    private final List<Message> inbound = new ArrayList<>();
+    private final List<Message> outbound = new ArrayList<>();
+
+    @BeforeMethod
+    public void setup() {
+        inbound.clear();
+        outbound.clear();
+
+        MessageListeners messageListeners = new MessageListeners();
+        messageListeners.addMessageListener(new MessageListener() {
+            @Override
+            public void onInboundMessage(Message message, TestContext context) {
+                inbound.add(message);
+            }
+
+            @Override
+            public void onOutboundMessage(Message message, TestContext context) {
+                outbound.add(message);
+            }
+        });
+
+        interceptor = new LoggingHandlerInterceptor();
+        interceptor.setMessageListener(messageListeners);
+    }
+
+    @Test
+    public void testLogRequestAndResponse() throws Exception {
+        MockHttpServletRequest request = createRequest("<TestRequest>Hello</TestRequest>");
+        request.setAttribute(HttpMessageController.RESPONSE_ENTITY_ATTRIBUTE, new ResponseEntity<>("<TestResponse>Hello</TestResponse>", HttpStatus.OK));
+
+        interceptor.preHandle(new CachingHttpServletRequestWrapper(request), new MockHttpServletResponse(), null);
+        interceptor.postHandle(request, new MockHttpServletResponse(), null, null);
+
+        Assert.assertEquals(inbound.size(), 1L);
+        Assert.assertTrue(inbound.get(0).getPayload(String.class).contains("POST /test"));
+        Assert.assertTrue(inbound.get(0).getPayload(String.class).endsWith("<TestRequest>Hello</TestRequest>"));
+
+        Assert.assertEquals(outbound.size(), 1L);
+        Assert.assertTrue(outbound.get(0).getPayload(String.class).endsWith("<TestResponse>Hello</TestResponse>"));
+    }
+
+    @Test
+    public void testTruncateBody() throws Exception {
+        File bodyLogDirectory = Files.createTempDirectory("citrus-http-body").toFile();
+        interceptor.setMaxBodyLength(5);
+        interceptor.setBodyLogDirectory(bodyLogDirectory);
+
+        MockHttpServletRequest request = createRequest("Hello Citrus!");
+        request.setAttribute(HttpMessageController.RESPONSE_ENTITY_ATTRIBUTE, new ResponseEntity<>("Hi!".getBytes(), HttpStatus.OK));
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        interceptor.postHandle(request, new MockHttpServletResponse(), null, null);
+
+        String requestContent = inbound.get(0).getPayload(String.class);
+        Assert.assertTrue(requestContent.contains("Hello" + LoggingInterceptorSupport.NEWLINE + "... [truncated, total body length: 13, complete body: "), requestContent);
+        Assert.assertFalse(requestContent.contains("Hello Citrus!"));
+
+        Matcher bodyFile = Pattern.compile("complete body: (.*)\\]$").matcher(requestContent);
+        Assert.assertTrue(bodyFile.find());
+        Assert.assertEquals(new String(Files.readAllBytes(Paths.get(bodyFile.group(1)))), "Hello Citrus!");
+        Assert.assertEquals(bodyLogDirectory.list().length, 1L);
+
+        Assert.assertTrue(outbound.get(0).getPayload(String.class).endsWith("Hi!"));
+    }
+
+    @Test
+    public void testNoMessageListener() throws Exception {
+        interceptor.setMessageListener(new MessageListeners());
+
+        Logger logger = Logger.getLogger(LoggingInterceptorSupport.class);
+        Level level = logger.getLevel();
+        logger.setLevel(Level.INFO);
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        try {
+            interceptor.preHandle(request, new MockHttpServletResponse(), null);
+            interceptor.postHandle(request, new MockHttpServletResponse(), null, null);
+        } finally {
+            logger.setLevel(level);
+        }
+
+        verifyZeroInteractions(request);
+        Assert.assertEquals(inbound.size() + outbound.size(), 0L);
+    }
+
+    private MockHttpServletRequest createRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContentType("text/plain");
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(body.getBytes());
+        return request;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.interceptor;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.http.controller.HttpMessageController;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.report.MessageListener;
+import com.consol.citrus.report.MessageListeners;
+import com.consol.citrus.testng.AllocationProbe;
+import org.apache.log4j.Level;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Measures heap allocation per exchange of server logging interceptor with multi megabyte request and response bodies
+ * without message listeners, with message listeners and complete bodies and with message listeners and truncated bodies.
+ *
+ * @author Christoph Deppisch
+ */
+@Test(groups = "benchmark")
+public class LoggingInterceptorAllocationTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(LoggingInterceptorAllocationTest.class);
+
+    private static final int PAYLOAD_SIZE = 5 * 1024 * 1024;
+
+    @Test
+    public void testAllocationPerExchange() throws Exception {
+        AllocationProbe allocationProbe = AllocationProbe.forCurrentThread();
+
+        byte[] body = new byte[PAYLOAD_SIZE];
+        Arrays.fill(body, (byte) 'a');
+        String responseBody = new String(body);
+
+        int exchanges = 10;
+
+        long noListener;
+        long complete;
+        long truncated;
+
+        org.apache.log4j.Logger interceptorLogger = org.apache.log4j.Logger.getLogger(LoggingInterceptorSupport.class);
+        Level level = interceptorLogger.getLevel();
+        interceptorLogger.setLevel(Level.INFO);
+        try {
+            //warm up
+            handleExchanges(createInterceptor(false, -1), body, responseBody, 3, allocationProbe);
+            handleExchanges(createInterceptor(true, -1), body, responseBody, 3, allocationProbe);
+            handleExchanges(createInterceptor(true, 1024), body, responseBody, 3, allocationProbe);
+
+            noListener = handleExchanges(createInterceptor(false, -1), body, responseBody, exchanges, allocationProbe);
+            complete = handleExchanges(createInterceptor(true, -1), body, responseBody, exchanges, allocationProbe);
+            truncated = handleExchanges(createInterceptor(true, 1024), body, responseBody, exchanges, allocationProbe);
+        } finally {
+            interceptorLogger.setLevel(level);
+        }
+
+        log.info(String.format("Heap allocation per exchange with %dKB bodies - no message listener: %dKB, complete bodies: %dKB, bodies truncated to 1KB: %dKB",
+                PAYLOAD_SIZE / 1024, noListener / 1024, complete / 1024, truncated / 1024));
+
+        Assert.assertTrue(noListener < PAYLOAD_SIZE / 100);
+        Assert.assertTrue(truncated < complete / 10);
+    }
+
+    /**
+     * Handles exchanges and returns average number of bytes allocated by current thread per exchange.
+     * @param interceptor
+     * @param body
+     * @param responseBody
+     * @param exchanges
+     * @param allocationProbe
+     * @return
+     */
+    private long handleExchanges(LoggingHandlerInterceptor interceptor, byte[] body, String responseBody, int exchanges,
+                                 AllocationProbe allocationProbe) throws Exception {
+        long allocated = 0L;
+
+        for (int i = 0; i < exchanges; i++) {
+            CachingHttpServletRequestWrapper request = createRequest(body);
+            request.setAttribute(HttpMessageController.RESPONSE_ENTITY_ATTRIBUTE, new ResponseEntity<>(responseBody, HttpStatus.OK));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            long start = allocationProbe.getAllocatedBytes();
+            interceptor.preHandle(request, response, null);
+            interceptor.postHandle(request, response, null, null);
+            allocated += allocationProbe.getAllocatedBytes() - start;
+        }
+
+        return allocated / exchanges;
+    }
+
+    private CachingHttpServletRequestWrapper createRequest(byte[] body) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContentType("text/plain;charset=UTF-8");
+        request.setContent(body);
+
+        CachingHttpServletRequestWrapper cachingRequest = new CachingHttpServletRequestWrapper(request);
+        cachingRequest.getBody();
+        return cachingRequest;
+    }
+
+    private LoggingHandlerInterceptor createInterceptor(boolean listener, int maxBodyLength) {
+        MessageListeners messageListeners = new MessageListeners();
+        if (listener) {
+            messageListeners.addMessageListener(new MessageListener() {
+                @Override
+                public void onInboundMessage(Message message, TestContext context) {
+                }
+
+                @Override
+                public void onOutboundMessage(Message message, TestContext context) {
+                }
+            });
+        }
+
+        LoggingHandlerInterceptor interceptor = new LoggingHandlerInterceptor();
+        interceptor.setMessageListener(messageListeners);
+        interceptor.setMaxBodyLength(maxBodyLength);
+        return interceptor;
+    }
+}
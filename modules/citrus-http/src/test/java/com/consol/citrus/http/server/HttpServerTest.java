@@ -18,11 +18,14 @@ package com.consol.citrus.http.server;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.context.TestContextFactory;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.http.client.HttpClient;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.http.message.HttpMessageHeaders;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.eclipse.jetty.server.Connector;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -81,4 +84,13 @@ public class HttpServerTest extends AbstractTestNGUnitTest {
             Assert.assertTrue(e.getMessage().contains("Connection refused"));
         }
     }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = ".*thread pool settings are not supported.*")
+    public void startupWithConnectorAndThreadPoolSettingsTest() {
+        HttpServer server = new HttpServer();
+        server.setConnector(Mockito.mock(Connector.class));
+        server.setMinThreads(20);
+
+        server.startup();
+    }
 }
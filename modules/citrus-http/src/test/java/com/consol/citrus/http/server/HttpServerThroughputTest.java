@@ -0,0 +1,169 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.server;
+
+import com.consol.citrus.endpoint.adapter.StaticEndpointAdapter;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.message.Message;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.eclipse.jetty.util.thread.ExecutorThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.SocketUtils;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Load test sending requests from hundreds of concurrent clients to Http server with different request thread pools.
+ * Verifies that each client receives the response to its own request and measures requests per second.
+ *
+ * @author Christoph Deppisch
+ */
+@Test(groups = "benchmark")
+public class HttpServerThroughputTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(HttpServerThroughputTest.class);
+
+    /** Simulated endpoint adapter processing time */
+    private static final long SERVER_LATENCY = 5L;
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    private CloseableHttpClient httpClient;
+
+    @BeforeClass
+    public void setupClient() {
+        httpClient = HttpClients.custom()
+                .setMaxConnTotal(CLIENTS)
+                .setMaxConnPerRoute(CLIENTS)
+                .build();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeClient() throws Exception {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentClients() throws Exception {
+        //warm up
+        sendRequests(new HttpServerBuilder());
+
+        long defaultPool = sendRequests(new HttpServerBuilder());
+        long queuedPool = sendRequests(new HttpServerBuilder().maxThreads(CLIENTS * 2).minThreads(CLIENTS / 2));
+        long executorPool = sendRequests(new HttpServerBuilder().threadPool(new ExecutorThreadPool(Executors.newCachedThreadPool())));
+
+        int requests = CLIENTS * REQUESTS_PER_CLIENT;
+        log.info(String.format("Sent %d requests from %d concurrent clients with %dms server latency - default thread pool: %d requests/s, " +
+                "queued thread pool with %d max threads: %d requests/s, executor thread pool: %d requests/s", requests, CLIENTS,
+                SERVER_LATENCY, requestsPerSecond(requests, defaultPool), CLIENTS * 2, requestsPerSecond(requests, queuedPool),
+                requestsPerSecond(requests, executorPool)));
+    }
+
+    /**
+     * Starts server and sends requests from concurrent clients. Each client verifies that it receives exactly the
+     * response to its own request.
+     * @param serverBuilder
+     * @return
+     * @throws Exception
+     */
+    private long sendRequests(HttpServerBuilder serverBuilder) throws Exception {
+        HttpServer server = startServer(serverBuilder);
+        final String requestUrl = "http://localhost:" + server.getPort() + "/test";
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+
+        try {
+            long start = System.nanoTime();
+
+            List<Future<?>> results = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                final int clientId = client;
+                results.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                            String payload = "Request " + clientId + "-" + i;
+
+                            HttpPost request = new HttpPost(requestUrl);
+                            request.setEntity(new StringEntity(payload, ContentType.TEXT_PLAIN));
+
+                            try (CloseableHttpResponse response = httpClient.execute(request)) {
+                                Assert.assertEquals(response.getStatusLine().getStatusCode(), 200);
+                                Assert.assertEquals(EntityUtils.toString(response.getEntity()), "Reply:" + payload);
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> result : results) {
+                result.get(60000L, TimeUnit.MILLISECONDS);
+            }
+
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+            server.stop();
+        }
+    }
+
+    /**
+     * Starts server with echo endpoint adapter on free port.
+     * @param serverBuilder
+     * @return
+     */
+    private HttpServer startServer(HttpServerBuilder serverBuilder) {
+        HttpServer server = serverBuilder
+                .port(SocketUtils.findAvailableTcpPort())
+                .endpointAdapter(new StaticEndpointAdapter() {
+                    @Override
+                    protected Message handleMessageInternal(Message message) {
+                        try {
+                            Thread.sleep(SERVER_LATENCY);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+
+                        return new HttpMessage("Reply:" + message.getPayload(String.class));
+                    }
+                })
+                .name("throughputServer")
+                .build();
+
+        server.start();
+        return server;
+    }
+
+    private long requestsPerSecond(int requests, long nanos) {
+        return requests * TimeUnit.SECONDS.toNanos(1) / Math.max(nanos, 1L);
+    }
+}
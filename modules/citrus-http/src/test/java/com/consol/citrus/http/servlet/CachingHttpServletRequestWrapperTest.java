@@ -0,0 +1,99 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.servlet;
+
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class CachingHttpServletRequestWrapperTest {
+
+    @Test
+    public void testFormParameters() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/form-test");
+        request.setContentType(MediaType.APPLICATION_FORM_URLENCODED_VALUE + ";charset=UTF-8");
+        request.setCharacterEncoding("UTF-8");
+        request.setQueryString("id=1");
+        request.setContent("name=Christoph+Deppisch&tag=a&flag&tag=b%26c&empty=&greeting=gr%C3%BC%C3%9Fe".getBytes("UTF-8"));
+
+        CachingHttpServletRequestWrapper wrapper = new CachingHttpServletRequestWrapper(request);
+        Assert.assertEquals(FileCopyUtils.copyToByteArray(wrapper.getInputStream()).length, request.getContentLength());
+
+        Map<String, String[]> parameters = wrapper.getParameterMap();
+        Assert.assertEquals(parameters.keySet().toArray(), new String[] { "id", "name", "tag", "flag", "empty", "greeting" });
+        Assert.assertEquals(parameters.get("id"), new String[] { "1" });
+        Assert.assertEquals(parameters.get("name"), new String[] { "Christoph Deppisch" });
+        Assert.assertEquals(parameters.get("tag"), new String[] { "a", "b&c" });
+        Assert.assertEquals(parameters.get("flag"), new String[] { "" });
+        Assert.assertEquals(parameters.get("empty"), new String[] { "" });
+        Assert.assertEquals(parameters.get("greeting"), new String[] { "grüße" });
+
+        Assert.assertEquals(wrapper.getParameter("tag"), "a");
+        Assert.assertEquals(wrapper.getParameterValues("tag"), new String[] { "a", "b&c" });
+        Assert.assertNull(wrapper.getParameter("unknown"));
+        Assert.assertEquals(Collections.list(wrapper.getParameterNames()).size(), 6);
+
+        Assert.assertSame(wrapper.getParameterMap(), parameters);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testParameterMapImmutable() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test");
+        request.setQueryString("foo=bar");
+
+        CachingHttpServletRequestWrapper wrapper = new CachingHttpServletRequestWrapper(request);
+        wrapper.getBody();
+
+        wrapper.getParameterMap().put("foo", new String[] { "other" });
+    }
+
+    @Test
+    public void testQueryParameters() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test");
+        request.setQueryString("foo=bar&foo=baz&&x=a=b");
+
+        CachingHttpServletRequestWrapper wrapper = new CachingHttpServletRequestWrapper(request);
+        wrapper.getBody();
+
+        Map<String, String[]> parameters = wrapper.getParameterMap();
+        Assert.assertEquals(parameters.size(), 2L);
+        Assert.assertEquals(parameters.get("foo"), new String[] { "bar", "baz" });
+        Assert.assertEquals(parameters.get("x"), new String[] { "a=b" });
+    }
+
+    @Test
+    public void testNonFormPostParameters() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContentType(MediaType.APPLICATION_XML_VALUE);
+        request.setContent("<foo>bar=baz</foo>".getBytes());
+        request.addParameter("foo", "bar");
+
+        CachingHttpServletRequestWrapper wrapper = new CachingHttpServletRequestWrapper(request);
+        wrapper.getBody();
+
+        Assert.assertEquals(wrapper.getParameterMap().size(), 1L);
+        Assert.assertEquals(wrapper.getParameter("foo"), "bar");
+    }
+}
@@ -96,6 +96,7 @@ public class CitrusDispatcherServletTest extends AbstractTestNGUnitTest {
         when(httpServer.getInterceptors()).thenReturn(null);
         when(httpServer.getEndpointAdapter()).thenReturn(new TimeoutProducingEndpointAdapter());
         when(httpServer.getMessageConverter()).thenReturn(new HttpMessageConverter());
+        when(httpServer.isBinaryBody()).thenReturn(true);
 
         servlet.initStrategies(applicationContext);
 
@@ -103,5 +104,6 @@ public class CitrusDispatcherServletTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(handlerInterceptor.getInterceptors().get(0).getClass(), LoggingHandlerInterceptor.class);
         Assert.assertEquals(httpMessageController.getEndpointAdapter().getClass(), TimeoutProducingEndpointAdapter.class);
         Assert.assertNotNull(httpMessageController.getEndpointConfiguration().getMessageConverter());
+        Assert.assertTrue(httpMessageController.isBinaryBody());
     }
 }
@@ -57,6 +57,18 @@ public class FormUrlEncodedMessageValidatorTest {
         validator.validateMessage(receivedMessage, controlMessage, new TestContext(), validationContext);
     }
 
+    @Test
+    public void testValidateBinaryMessagePayload() throws Exception {
+        DefaultValidationContext validationContext = new DefaultValidationContext();
+        Message controlMessage = new DefaultMessage(expectedFormData);
+
+        Message receivedMessage = new DefaultMessage("password=s%21cr%21t&username=test".getBytes())
+                                        .setHeader(HttpMessageHeaders.HTTP_CONTENT_TYPE, "application/x-www-form-urlencoded")
+                                        .setHeader(HttpMessageHeaders.HTTP_REQUEST_URI, "/form-test");
+
+        validator.validateMessage(receivedMessage, controlMessage, new TestContext(), validationContext);
+    }
+
     @Test(expectedExceptions = ValidationException.class)
     public void testValidationError() throws Exception {
         DefaultValidationContext validationContext = new DefaultValidationContext();
@@ -78,4 +90,16 @@ public class FormUrlEncodedMessageValidatorTest {
 
         validator.validateMessage(receivedMessage, controlMessage, new TestContext(), validationContext);
     }
-}
\ No newline at end of file
+
+    @Test(expectedExceptions = ValidationException.class)
+    public void testValidationErrorIllegalEscape() throws Exception {
+        DefaultValidationContext validationContext = new DefaultValidationContext();
+        Message controlMessage = new DefaultMessage(expectedFormData);
+
+        Message receivedMessage = new DefaultMessage("password=s%2&username=test")
+                .setHeader(HttpMessageHeaders.HTTP_CONTENT_TYPE, "application/x-www-form-urlencoded")
+                .setHeader(HttpMessageHeaders.HTTP_REQUEST_URI, "/form-test");
+
+        validator.validateMessage(receivedMessage, controlMessage, new TestContext(), validationContext);
+    }
+}
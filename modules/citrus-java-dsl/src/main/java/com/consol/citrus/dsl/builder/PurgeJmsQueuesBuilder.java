@@ -23,6 +23,7 @@ import javax.jms.ConnectionFactory;
 import javax.jms.Queue;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Action to purge JMS queue destinations by simply consuming 
@@ -136,6 +137,76 @@ public class PurgeJmsQueuesBuilder extends AbstractTestActionBuilder<PurgeJmsQue
         return this;
     }
 
+    /**
+     * Enables bulk purge mode draining queues concurrently with batched acknowledge and without sleep.
+     * @param bulkPurge
+     * @return
+     */
+    public PurgeJmsQueuesBuilder bulkPurge(boolean bulkPurge) {
+        action.setBulkPurge(bulkPurge);
+        return this;
+    }
+
+    /**
+     * Sets the number of messages acknowledged at once in bulk purge mode.
+     * @param batchSize
+     * @return
+     */
+    public PurgeJmsQueuesBuilder batchSize(int batchSize) {
+        action.setBatchSize(batchSize);
+        return this;
+    }
+
+    /**
+     * Enables broker native purge via JMX.
+     * @param jmxPurge
+     * @return
+     */
+    public PurgeJmsQueuesBuilder jmxPurge(boolean jmxPurge) {
+        action.setJmxPurge(jmxPurge);
+        return this;
+    }
+
+    /**
+     * Sets the JMX service url of the broker.
+     * @param jmxServerUrl
+     * @return
+     */
+    public PurgeJmsQueuesBuilder jmxServerUrl(String jmxServerUrl) {
+        action.setJmxServerUrl(jmxServerUrl);
+        return this;
+    }
+
+    /**
+     * Sets the broker name of the default ActiveMQ queue MBean object name.
+     * @param jmxBrokerName
+     * @return
+     */
+    public PurgeJmsQueuesBuilder jmxBrokerName(String jmxBrokerName) {
+        action.setJmxBrokerName(jmxBrokerName);
+        return this;
+    }
+
+    /**
+     * Sets the queue MBean object name with queue name placeholder.
+     * @param jmxObjectName
+     * @return
+     */
+    public PurgeJmsQueuesBuilder jmxObjectName(String jmxObjectName) {
+        action.setJmxObjectName(jmxObjectName);
+        return this;
+    }
+
+    /**
+     * Sets custom executor service used in bulk purge mode.
+     * @param executorService
+     * @return
+     */
+    public PurgeJmsQueuesBuilder executorService(ExecutorService executorService) {
+        action.setExecutorService(executorService);
+        return this;
+    }
+
     /**
      * Checks if connection factory is set properly.
      * @return
@@ -23,6 +23,7 @@ import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 public class ParallelTestRunnerTest extends AbstractTestNGUnitTest {
     @Test
@@ -81,4 +82,30 @@ public class ParallelTestRunnerTest extends AbstractTestNGUnitTest {
         assertEquals(container.getActionCount(), 4);
         assertEquals(container.getTestAction(0).getClass(), EchoAction.class);
     }
+
+    @Test
+    public void testParallelBuilderMaxConcurrency() {
+        MockTestRunner builder = new MockTestRunner(getClass().getSimpleName(), applicationContext, context) {
+            @Override
+            public void execute() {
+                parallel()
+                    .maxConcurrency(2)
+                    .failFast(true)
+                    .actions(
+                        echo("1st in parallel"),
+                        sleep(100),
+                        echo("3rd in parallel")
+                    );
+            }
+        };
+
+        TestCase test = builder.getTestCase();
+        assertEquals(test.getActionCount(), 1);
+        assertEquals(test.getActions().get(0).getClass(), Parallel.class);
+
+        Parallel container = (Parallel)test.getActions().get(0);
+        assertEquals(container.getActionCount(), 3);
+        assertEquals(container.getMaxConcurrency(), 2);
+        assertTrue(container.isFailFast());
+    }
 }
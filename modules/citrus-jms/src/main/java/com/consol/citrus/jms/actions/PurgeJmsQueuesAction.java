@@ -23,10 +23,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jms.support.JmsUtils;
 import org.springframework.jms.support.destination.DynamicDestinationResolver;
+import org.springframework.util.StringUtils;
 
 import javax.jms.*;
-import java.util.ArrayList;
-import java.util.List;
+import javax.jms.Queue;
+import javax.management.*;
+import javax.management.remote.*;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Action to purge JMS queue destinations by simply consuming 
@@ -36,6 +43,12 @@ import java.util.List;
  *
  * Consumer will continue to receive messages until message receive timeout is reached,
  * so no messages are left.
+ *
+ * In bulk purge mode queues are drained concurrently each with its own session. Messages are acknowledged in batches
+ * and consumer does not sleep between messages. Queues are drained on a thread pool owned by this action unless a custom executor
+ * service is set. With JMX purge enabled the action first tries to purge queues with the broker native purge operation on the
+ * queue MBean and falls back to consuming messages when no matching MBean is available. By default the ActiveMQ queue MBean of
+ * the configured broker name is used.
  *  
  * @author Christoph Deppisch
  * @since 2007
@@ -57,6 +70,31 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
     /** Wait some time between message consumption in ms */
     private long sleepTime = 350;
 
+    /** Drain queues concurrently with batched acknowledge and without sleep */
+    private boolean bulkPurge = false;
+
+    /** Number of messages acknowledged at once in bulk purge mode */
+    private int batchSize = 100;
+
+    /** Purge queues with broker native purge operation via JMX */
+    private boolean jmxPurge = false;
+
+    /** JMX service url of broker, platform MBean server is used when not set */
+    private String jmxServerUrl;
+
+    /** Broker name used in default ActiveMQ queue MBean object name */
+    private String jmxBrokerName = "localhost";
+
+    /** Optional object name of queue MBeans with queue name placeholder, overrides default ActiveMQ object name */
+    private String jmxObjectName;
+
+    /** Optional executor service for bulk purge, action uses its own thread pool when not set */
+    private ExecutorService executorService;
+
+    /** Queue MBean purge operation and queue size attribute */
+    private static final String JMX_PURGE_OPERATION = "purge";
+    private static final String JMX_QUEUE_SIZE_ATTRIBUTE = "QueueSize";
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(PurgeJmsQueuesAction.class);
 
@@ -71,22 +109,38 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
     @Override
     public void doExecute(TestContext context) {
         log.debug("Purging JMS queues...");
-        
+
+        List<Queue> purgeQueues = new ArrayList<>(queues);
+        List<String> purgeQueueNames = new ArrayList<>(queueNames);
+
+        if (jmxPurge) {
+            purgeWithJmx(purgeQueues, purgeQueueNames);
+        }
+
+        if (purgeQueues.isEmpty() && purgeQueueNames.isEmpty()) {
+            log.info("Purged JMS queues");
+            return;
+        }
+
         Connection connection = null;
         Session session = null;
         
         try {
         	connection = createConnection();
-            session = createSession(connection);
             connection.start();
-            
-            for (Queue queue : queues) {
-                purgeQueue(queue, session);
-            }
-            for (String queueName : queueNames) {
-                purgeQueue(queueName, session);
-            }
 
+            if (bulkPurge) {
+                purgeConcurrently(purgeQueues, purgeQueueNames, connection);
+            } else {
+                session = createSession(connection);
+
+                for (Queue queue : purgeQueues) {
+                    purgeQueue(queue, session);
+                }
+                for (String queueName : purgeQueueNames) {
+                    purgeQueue(queueName, session);
+                }
+            }
         } catch (JMSException e) {
             log.error("Error while establishing jms connection", e);
             throw new CitrusRuntimeException(e);
@@ -98,6 +152,196 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
         log.info("Purged JMS queues");
     }
 
+    /**
+     * Purges all queues concurrently each with its own session on the shared connection.
+     * @param purgeQueues
+     * @param purgeQueueNames
+     * @param connection
+     * @throws JMSException
+     */
+    private void purgeConcurrently(List<Queue> purgeQueues, List<String> purgeQueueNames, final Connection connection) throws JMSException {
+        List<Future<Integer>> results = new ArrayList<>();
+        ExecutorService executor = executorService != null ? executorService :
+                Executors.newFixedThreadPool(purgeQueues.size() + purgeQueueNames.size(), new PurgeThreadFactory());
+
+        for (final Queue queue : purgeQueues) {
+            final String queueName = queue.getQueueName();
+            results.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws JMSException {
+                    return purgeWithSession(connection, queue, queueName);
+                }
+            }));
+        }
+
+        for (final String queueName : purgeQueueNames) {
+            results.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws JMSException {
+                    return purgeWithSession(connection, null, queueName);
+                }
+            }));
+        }
+
+        try {
+            for (Future<Integer> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while purging JMS queues", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof JMSException) {
+                throw (JMSException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new CitrusRuntimeException("Failed to purge JMS queues", e.getCause());
+        } finally {
+            for (Future<Integer> result : results) {
+                result.cancel(true);
+            }
+
+            if (executor != executorService) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Purges queue with client acknowledge session that is exclusively used for this queue.
+     * @param connection
+     * @param queue
+     * @param queueName
+     * @return
+     * @throws JMSException
+     */
+    private int purgeWithSession(Connection connection, Queue queue, String queueName) throws JMSException {
+        Session session = createSession(connection, Session.CLIENT_ACKNOWLEDGE);
+        try {
+            Destination destination = queue != null ? queue : getDestination(session, queueName);
+            return purgeDestination(destination, session, queueName);
+        } finally {
+            JmsUtils.closeSession(session);
+        }
+    }
+
+    /**
+     * Purges queues with broker native purge operation on queue MBean. Successfully purged queues are removed from the
+     * given lists. Remaining queues are purged by consuming messages afterwards.
+     * @param purgeQueues
+     * @param purgeQueueNames
+     */
+    private void purgeWithJmx(List<Queue> purgeQueues, List<String> purgeQueueNames) {
+        JMXConnector connector = null;
+        try {
+            MBeanServerConnection serverConnection;
+            if (StringUtils.hasText(jmxServerUrl)) {
+                connector = JMXConnectorFactory.connect(new JMXServiceURL(jmxServerUrl));
+                serverConnection = connector.getMBeanServerConnection();
+            } else {
+                serverConnection = ManagementFactory.getPlatformMBeanServer();
+            }
+
+            for (Iterator<Queue> it = purgeQueues.iterator(); it.hasNext();) {
+                if (purgeWithJmx(serverConnection, it.next().getQueueName())) {
+                    it.remove();
+                }
+            }
+
+            for (Iterator<String> it = purgeQueueNames.iterator(); it.hasNext();) {
+                if (purgeWithJmx(serverConnection, it.next())) {
+                    it.remove();
+                }
+            }
+        } catch (IOException | JMSException | JMException e) {
+            log.warn("Failed to purge JMS queues via JMX - continue to purge queues by consuming messages", e);
+        } finally {
+            if (connector != null) {
+                try {
+                    connector.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close JMX connection", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Invokes purge operation on all queue MBeans matching the queue name.
+     * @param serverConnection
+     * @param queueName
+     * @return false when no queue MBean is available for this queue.
+     * @throws IOException
+     * @throws JMException
+     */
+    private boolean purgeWithJmx(MBeanServerConnection serverConnection, String queueName) throws IOException, JMException {
+        long start = System.nanoTime();
+        Set<ObjectName> objectNames = serverConnection.queryNames(getQueueObjectName(queueName), null);
+
+        if (objectNames.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                log.debug("No queue MBean available for destination " + queueName);
+            }
+
+            return false;
+        }
+
+        long messagesPurged = 0;
+        for (ObjectName objectName : objectNames) {
+            Object queueSize = serverConnection.getAttribute(objectName, JMX_QUEUE_SIZE_ATTRIBUTE);
+            serverConnection.invoke(objectName, JMX_PURGE_OPERATION, null, null);
+
+            if (queueSize instanceof Number) {
+                messagesPurged += ((Number) queueSize).longValue();
+            }
+        }
+
+        log.info(String.format("Purged %s messages from destination %s via JMX in %sms", messagesPurged, queueName,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+
+        return true;
+    }
+
+    /**
+     * Gets queue MBean object name. Uses the custom object name when set, otherwise builds the ActiveMQ queue object name
+     * with the configured broker name. Names are quoted when they contain characters with special meaning in object names,
+     * so queue names never act as object name patterns.
+     * @param queueName
+     * @return
+     * @throws MalformedObjectNameException
+     */
+    private ObjectName getQueueObjectName(String queueName) throws MalformedObjectNameException {
+        if (StringUtils.hasText(jmxObjectName)) {
+            return new ObjectName(String.format(jmxObjectName, quoteIfNecessary(queueName)));
+        }
+
+        Hashtable<String, String> properties = new Hashtable<>();
+        properties.put("type", "Broker");
+        properties.put("brokerName", quoteIfNecessary(jmxBrokerName));
+        properties.put("destinationType", "Queue");
+        properties.put("destinationName", quoteIfNecessary(queueName));
+
+        return new ObjectName("org.apache.activemq", properties);
+    }
+
+    /**
+     * Quotes object name property value when it contains characters that are not allowed in unquoted values or that
+     * would turn the object name into a pattern. Plain values stay unquoted so they match MBeans registered with unquoted values.
+     * @param value
+     * @return
+     */
+    private static String quoteIfNecessary(String value) {
+        for (char c : value.toCharArray()) {
+            if (",=:\"*?\\\n".indexOf(c) >= 0) {
+                return ObjectName.quote(value);
+            }
+        }
+
+        return value;
+    }
+
     /**
      * Purges a queue destination identified by its name.
      * @param queueName
@@ -119,39 +363,60 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
     }
 
     /**
-     * Purge destination by receiving all available messages.
+     * Purge destination by receiving all available messages. In bulk purge mode messages are acknowledged in batches and consumer
+     * does not sleep between messages.
      * @param destination
      * @param session
      * @param destinationName
+     * @return number of purged messages
      * @throws JMSException
      */
-    private void purgeDestination(Destination destination, Session session, String destinationName) throws JMSException {
+    private int purgeDestination(Destination destination, Session session, String destinationName) throws JMSException {
         if (log.isDebugEnabled()) {
             log.debug("Try to purge destination " + destinationName);
         }
 
+        long start = System.nanoTime();
         int messagesPurged = 0;
         MessageConsumer messageConsumer = session.createConsumer(destination);
         try {
             javax.jms.Message message;
+            javax.jms.Message unacknowledged = null;
             do {
                 message = (receiveTimeout >= 0) ? messageConsumer.receive(receiveTimeout) : messageConsumer.receive();
-    
+
+                if (message == null && unacknowledged != null) {
+                    // broker may hold back further messages until pending messages are acknowledged
+                    unacknowledged.acknowledge();
+                    unacknowledged = null;
+                    message = (receiveTimeout >= 0) ? messageConsumer.receive(receiveTimeout) : messageConsumer.receive();
+                }
+
                 if (message != null) {
-                    log.debug("Removed message from destination " + destinationName);
                     messagesPurged++;
 
-                    try {
-                        Thread.sleep(sleepTime);
-                    } catch (InterruptedException e) {
-                        log.warn("Interrupted during wait", e);
+                    if (bulkPurge) {
+                        unacknowledged = message;
+                        if (batchSize > 0 && messagesPurged % batchSize == 0) {
+                            unacknowledged.acknowledge();
+                            unacknowledged = null;
+                        }
+                    } else {
+                        log.debug("Removed message from destination " + destinationName);
+
+                        try {
+                            Thread.sleep(sleepTime);
+                        } catch (InterruptedException e) {
+                            log.warn("Interrupted during wait", e);
+                        }
                     }
                 }
             } while (message != null);
 
-            if (log.isDebugEnabled()) {
-                log.debug("Purged " + messagesPurged + " messages from destination");
-            }
+            log.info(String.format("Purged %s messages from destination %s in %sms", messagesPurged, destinationName,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+
+            return messagesPurged;
         } finally {
             JmsUtils.closeMessageConsumer(messageConsumer);
         }
@@ -187,10 +452,21 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
      * @throws JMSException
      */
     protected Session createSession(Connection connection) throws JMSException {
+        return createSession(connection, Session.AUTO_ACKNOWLEDGE);
+    }
+
+    /**
+     * Create queue session with given acknowledge mode.
+     * @param connection
+     * @param acknowledgeMode
+     * @return
+     * @throws JMSException
+     */
+    protected Session createSession(Connection connection, int acknowledgeMode) throws JMSException {
         if (connection instanceof QueueConnection) {
-            return ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
+            return ((QueueConnection) connection).createQueueSession(false, acknowledgeMode);
         }
-        return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        return connection.createSession(false, acknowledgeMode);
     }
 
     /**
@@ -272,4 +548,130 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
         return sleepTime;
     }
 
+    /**
+     * Gets the bulkPurge.
+     * @return
+     */
+    public boolean isBulkPurge() {
+        return bulkPurge;
+    }
+
+    /**
+     * Sets the bulkPurge.
+     * @param bulkPurge
+     */
+    public void setBulkPurge(boolean bulkPurge) {
+        this.bulkPurge = bulkPurge;
+    }
+
+    /**
+     * Gets the batchSize.
+     * @return
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the batchSize.
+     * @param batchSize
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the jmxPurge.
+     * @return
+     */
+    public boolean isJmxPurge() {
+        return jmxPurge;
+    }
+
+    /**
+     * Sets the jmxPurge.
+     * @param jmxPurge
+     */
+    public void setJmxPurge(boolean jmxPurge) {
+        this.jmxPurge = jmxPurge;
+    }
+
+    /**
+     * Gets the jmxServerUrl.
+     * @return
+     */
+    public String getJmxServerUrl() {
+        return jmxServerUrl;
+    }
+
+    /**
+     * Sets the jmxServerUrl.
+     * @param jmxServerUrl
+     */
+    public void setJmxServerUrl(String jmxServerUrl) {
+        this.jmxServerUrl = jmxServerUrl;
+    }
+
+    /**
+     * Gets the jmxObjectName.
+     * @return
+     */
+    public String getJmxObjectName() {
+        return jmxObjectName;
+    }
+
+    /**
+     * Sets the jmxObjectName. Queue name is inserted at placeholder %s. Overrides the default ActiveMQ queue object name.
+     * @param jmxObjectName
+     */
+    public void setJmxObjectName(String jmxObjectName) {
+        this.jmxObjectName = jmxObjectName;
+    }
+
+    /**
+     * Gets the jmxBrokerName.
+     * @return
+     */
+    public String getJmxBrokerName() {
+        return jmxBrokerName;
+    }
+
+    /**
+     * Sets the broker name used in the default ActiveMQ queue object name.
+     * @param jmxBrokerName
+     */
+    public void setJmxBrokerName(String jmxBrokerName) {
+        this.jmxBrokerName = jmxBrokerName;
+    }
+
+    /**
+     * Gets the executorService.
+     * @return
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Sets custom executor service used in bulk purge mode instead of the thread pool owned by this action.
+     * @param executorService
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Creates daemon threads for bulk purge.
+     */
+    private static class PurgeThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "citrus-purge-jms-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
 }
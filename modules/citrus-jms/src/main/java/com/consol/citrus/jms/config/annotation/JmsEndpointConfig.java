@@ -71,6 +71,12 @@ public @interface JmsEndpointConfig {
      */
     boolean useObjectMessages() default false;
 
+    /**
+     * Max number of pooled sessions.
+     * @return
+     */
+    int sessionPoolSize() default 0;
+
     /**
      * Timeout.
      * @return
@@ -87,6 +87,7 @@ public class JmsEndpointConfigParser extends AbstractAnnotationConfigParser<JmsE
 
         builder.pubSubDomain(annotation.pubSubDomain());
         builder.useObjectMessages(annotation.useObjectMessages());
+        builder.sessionPoolSize(annotation.sessionPoolSize());
 
         if (StringUtils.hasText(annotation.messageConverter())) {
             builder.messageConverter(getReferenceResolver().resolve(annotation.messageConverter(), JmsMessageConverter.class));
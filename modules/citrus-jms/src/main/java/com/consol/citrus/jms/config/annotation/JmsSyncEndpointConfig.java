@@ -83,12 +83,24 @@ public @interface JmsSyncEndpointConfig {
      */
     boolean useObjectMessages() default false;
 
+    /**
+     * Max number of pooled sessions.
+     * @return
+     */
+    int sessionPoolSize() default 0;
+
     /**
      * Polling interval.
      * @return
      */
     int pollingInterval() default 500;
 
+    /**
+     * Use shared reply destination.
+     * @return
+     */
+    boolean sharedReplyDestination() default false;
+
     /**
      * Message correlator.
      * @return
@@ -88,6 +88,7 @@ public class JmsSyncEndpointConfigParser extends AbstractAnnotationConfigParser<
 
         builder.pubSubDomain(annotation.pubSubDomain());
         builder.useObjectMessages(annotation.useObjectMessages());
+        builder.sessionPoolSize(annotation.sessionPoolSize());
         builder.messageConverter(getReferenceResolver().resolve(annotation.messageConverter(), JmsMessageConverter.class));
 
         builder.timeout(annotation.timeout());
@@ -109,6 +110,7 @@ public class JmsSyncEndpointConfigParser extends AbstractAnnotationConfigParser<
         }
 
         builder.pollingInterval(annotation.pollingInterval());
+        builder.sharedReplyDestination(annotation.sharedReplyDestination());
 
         return builder.build();
     }
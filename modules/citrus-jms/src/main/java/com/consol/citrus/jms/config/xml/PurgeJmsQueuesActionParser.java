@@ -60,6 +60,12 @@ public class PurgeJmsQueuesActionParser implements BeanDefinitionParser {
         beanDefinition.addPropertyReference("connectionFactory", connectionFactory);
         
         BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("receive-timeout"), "receiveTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("bulk-purge"), "bulkPurge");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("batch-size"), "batchSize");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("jmx-purge"), "jmxPurge");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("jmx-server-url"), "jmxServerUrl");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("jmx-broker-name"), "jmxBrokerName");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("jmx-object-name"), "jmxObjectName");
         
         List<String> queueNames = new ArrayList<String>();
         ManagedList<BeanDefinition> queueRefs = new ManagedList<BeanDefinition>();
@@ -22,9 +22,19 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.AbstractSelectiveMessageConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jms.connection.ConnectionFactoryUtils;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.SessionCallback;
+import org.springframework.jms.support.JmsUtils;
 import org.springframework.util.StringUtils;
 
+import javax.jms.*;
+
 /**
+ * Consumer receives messages from default destination of the endpoint. Receive timeout is applied per call with a dedicated
+ * message consumer so shared JMS template is not modified and concurrent receive operations on the same endpoint do not
+ * interfere with each other.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -58,13 +68,31 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
 
         log.debug("Receiving JMS message on destination: '" + destinationName + "'");
 
-        endpointConfiguration.getJmsTemplate().setReceiveTimeout(timeout);
+        final String messageSelector = StringUtils.hasText(selector) ? selector : null;
         javax.jms.Message receivedJmsMessage;
 
-        if (StringUtils.hasText(selector)) {
-            receivedJmsMessage = endpointConfiguration.getJmsTemplate().receiveSelected(selector);
+        if (endpointConfiguration.isSessionPoolEnabled()) {
+            receivedJmsMessage = endpointConfiguration.getSessionPool().execute(new JmsSessionPool.SessionCallback<javax.jms.Message>() {
+                @Override
+                public javax.jms.Message doInSession(JmsSessionPool.PooledSession pooledSession) throws JMSException {
+                    return receive(pooledSession.getSession(), messageSelector, timeout);
+                }
+            });
         } else {
-            receivedJmsMessage = endpointConfiguration.getJmsTemplate().receive();
+            receivedJmsMessage = endpointConfiguration.getJmsTemplate().execute(new SessionCallback<javax.jms.Message>() {
+                @Override
+                public javax.jms.Message doInJms(Session session) throws JMSException {
+                    javax.jms.Message message = receive(session, messageSelector, timeout);
+
+                    // commit locally transacted session the same way as the JMS template does on receive
+                    if (session.getTransacted() &&
+                            !ConnectionFactoryUtils.isSessionTransactional(session, endpointConfiguration.getJmsTemplate().getConnectionFactory())) {
+                        JmsUtils.commitIfNecessary(session);
+                    }
+
+                    return message;
+                }
+            }, true);
         }
 
         if (receivedJmsMessage == null) {
@@ -79,4 +107,42 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
         return receivedMessage;
     }
 
+    /**
+     * Receives message on default destination with dedicated message consumer. Timeout semantics follow the JMS template
+     * receive timeout where zero waits indefinitely and negative values do not wait at all.
+     * @param session
+     * @param selector
+     * @param timeout
+     * @return
+     * @throws JMSException
+     */
+    private javax.jms.Message receive(Session session, String selector, long timeout) throws JMSException {
+        Destination destination = endpointConfiguration.resolveDefaultDestination(session);
+
+        MessageConsumer consumer = null;
+        try {
+            if (destination instanceof Topic && endpointConfiguration.getJmsTemplate().isPubSubNoLocal()) {
+                consumer = session.createConsumer(destination, selector, true);
+            } else {
+                consumer = session.createConsumer(destination, selector);
+            }
+
+            javax.jms.Message message;
+            if (timeout == JmsTemplate.RECEIVE_TIMEOUT_INDEFINITE_WAIT) {
+                message = consumer.receive();
+            } else if (timeout < 0) {
+                message = consumer.receiveNoWait();
+            } else {
+                message = consumer.receive(timeout);
+            }
+
+            if (message != null && session.getAcknowledgeMode() == Session.CLIENT_ACKNOWLEDGE) {
+                message.acknowledge();
+            }
+
+            return message;
+        } finally {
+            JmsUtils.closeMessageConsumer(consumer);
+        }
+    }
 }
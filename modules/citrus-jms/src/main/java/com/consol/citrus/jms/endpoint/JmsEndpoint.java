@@ -19,6 +19,7 @@ package com.consol.citrus.jms.endpoint;
 import com.consol.citrus.endpoint.AbstractEndpoint;
 import com.consol.citrus.messaging.Producer;
 import com.consol.citrus.messaging.SelectiveConsumer;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * Jms message endpoint capable of sending/receiving messages from Jms message destination. Either uses a Jms connection factory or
@@ -27,7 +28,7 @@ import com.consol.citrus.messaging.SelectiveConsumer;
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class JmsEndpoint extends AbstractEndpoint {
+public class JmsEndpoint extends AbstractEndpoint implements DisposableBean {
 
     /** Cached producer or consumer */
     private JmsProducer jmsProducer;
@@ -49,7 +50,7 @@ public class JmsEndpoint extends AbstractEndpoint {
     }
 
     @Override
-    public SelectiveConsumer createConsumer() {
+    public synchronized SelectiveConsumer createConsumer() {
         if (jmsConsumer == null) {
             jmsConsumer = new JmsConsumer(getConsumerName(), getEndpointConfiguration());
         }
@@ -58,7 +59,7 @@ public class JmsEndpoint extends AbstractEndpoint {
     }
 
     @Override
-    public Producer createProducer() {
+    public synchronized Producer createProducer() {
         if (jmsProducer == null) {
             jmsProducer = new JmsProducer(getProducerName(), getEndpointConfiguration());
         }
@@ -66,6 +67,11 @@ public class JmsEndpoint extends AbstractEndpoint {
         return jmsProducer;
     }
 
+    @Override
+    public void destroy() throws Exception {
+        getEndpointConfiguration().closeSessionPool();
+    }
+
     @Override
     public JmsEndpointConfiguration getEndpointConfiguration() {
         return (JmsEndpointConfiguration) super.getEndpointConfiguration();
@@ -97,6 +97,16 @@ public class JmsEndpointBuilder extends AbstractEndpointBuilder<JmsEndpoint> {
         return this;
     }
 
+    /**
+     * Sets the max number of pooled sessions.
+     * @param sessionPoolSize
+     * @return
+     */
+    public JmsEndpointBuilder sessionPoolSize(int sessionPoolSize) {
+        endpoint.getEndpointConfiguration().setSessionPoolSize(sessionPoolSize);
+        return this;
+    }
+
     /**
      * Sets the useObjectMessages property.
      * @param useObjectMessages
@@ -24,6 +24,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.integration.jms.JmsHeaderMapper;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.jms.support.destination.DestinationResolver;
+import org.springframework.jms.support.destination.DynamicDestinationResolver;
 import org.springframework.util.Assert;
 
 import javax.jms.*;
@@ -64,6 +65,12 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Should always use object messages */
     private boolean useObjectMessages = false;
 
+    /** Max number of pooled sessions - zero disables session pool and uses JMS template */
+    private int sessionPoolSize = 0;
+
+    /** Session pool shared by all producers and consumers of this endpoint */
+    private JmsSessionPool sessionPool;
+
     /**
      * Gets the destination name.
      * @return the destinationName
@@ -88,6 +95,59 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
         }
     }
 
+    /**
+     * Resolves the default destination with given session. Uses default destination or destination name
+     * of the JMS template.
+     * @param session
+     * @return
+     * @throws JMSException
+     */
+    public Destination resolveDefaultDestination(Session session) throws JMSException {
+        JmsTemplate template = getJmsTemplate();
+        if (template.getDefaultDestination() != null) {
+            return template.getDefaultDestination();
+        }
+
+        Assert.notNull(template.getDefaultDestinationName(), "Neither 'destination' nor 'destinationName' is set correctly.");
+
+        DestinationResolver resolver = template.getDestinationResolver() != null ? template.getDestinationResolver() : new DynamicDestinationResolver();
+        return resolver.resolveDestinationName(session, template.getDefaultDestinationName(), template.isPubSubDomain());
+    }
+
+    /**
+     * Checks if session pool is enabled on this endpoint.
+     * @return
+     */
+    public boolean isSessionPoolEnabled() {
+        return sessionPoolSize > 0;
+    }
+
+    /**
+     * Gets the session pool shared by all producers and consumers of this endpoint. Pool is created on first call
+     * using the connection factory of the JMS template.
+     * @return
+     */
+    public synchronized JmsSessionPool getSessionPool() {
+        if (sessionPool == null) {
+            JmsTemplate template = getJmsTemplate();
+            Assert.notNull(template.getConnectionFactory(), "Missing connection factory for JMS session pool");
+            sessionPool = new JmsSessionPool(template.getConnectionFactory(), sessionPoolSize,
+                    template.isSessionTransacted(), template.getSessionAcknowledgeMode());
+        }
+
+        return sessionPool;
+    }
+
+    /**
+     * Closes session pool if any.
+     */
+    public synchronized void closeSessionPool() {
+        if (sessionPool != null) {
+            sessionPool.close();
+            sessionPool = null;
+        }
+    }
+
     /**
      * Creates default JmsTemplate instance from connection factory and destination.
      */
@@ -260,4 +320,20 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     public void setUseObjectMessages(boolean useObjectMessages) {
         this.useObjectMessages = useObjectMessages;
     }
+
+    /**
+     * Gets the max number of pooled sessions.
+     * @return
+     */
+    public int getSessionPoolSize() {
+        return sessionPoolSize;
+    }
+
+    /**
+     * Sets the max number of pooled sessions. Zero disables session pool.
+     * @param sessionPoolSize
+     */
+    public void setSessionPoolSize(int sessionPoolSize) {
+        this.sessionPoolSize = sessionPoolSize;
+    }
 }
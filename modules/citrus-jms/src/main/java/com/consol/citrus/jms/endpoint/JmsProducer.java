@@ -21,10 +21,12 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.Producer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jms.core.JmsTemplate;
 import org.springframework.jms.core.MessageCreator;
 import org.springframework.util.Assert;
 
 import javax.jms.JMSException;
+import javax.jms.MessageProducer;
 import javax.jms.Session;
 
 /**
@@ -62,20 +64,59 @@ public class JmsProducer implements Producer {
             log.debug("Sending JMS message to destination: '" + defaultDestinationName + "'");
         }
 
-        endpointConfiguration.getJmsTemplate().send(new MessageCreator() {
-            @Override
-            public javax.jms.Message createMessage(Session session) throws JMSException {
-                javax.jms.Message jmsMessage = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration, context);
-                endpointConfiguration.getMessageConverter().convertOutbound(jmsMessage, message, endpointConfiguration, context);
-                return jmsMessage;
-            }
-        });
+        if (endpointConfiguration.isSessionPoolEnabled()) {
+            endpointConfiguration.getSessionPool().execute(new JmsSessionPool.SessionCallback<Object>() {
+                @Override
+                public Object doInSession(JmsSessionPool.PooledSession pooledSession) throws JMSException {
+                    Session session = pooledSession.getSession();
+                    javax.jms.Message jmsMessage = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration, context);
+                    endpointConfiguration.getMessageConverter().convertOutbound(jmsMessage, message, endpointConfiguration, context);
+
+                    send(pooledSession.getProducer(endpointConfiguration.resolveDefaultDestination(session)), jmsMessage);
+                    return null;
+                }
+            });
+        } else {
+            endpointConfiguration.getJmsTemplate().send(new MessageCreator() {
+                @Override
+                public javax.jms.Message createMessage(Session session) throws JMSException {
+                    javax.jms.Message jmsMessage = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration, context);
+                    endpointConfiguration.getMessageConverter().convertOutbound(jmsMessage, message, endpointConfiguration, context);
+                    return jmsMessage;
+                }
+            });
+        }
 
         context.onOutboundMessage(message);
 
         log.info("Message was sent to JMS destination: '" + defaultDestinationName + "'");
     }
 
+    /**
+     * Sends message with pooled message producer applying message id, timestamp and quality of service
+     * settings of the JMS template the same way as the template does for its own producers.
+     * @param producer
+     * @param jmsMessage
+     * @throws JMSException
+     */
+    private void send(MessageProducer producer, javax.jms.Message jmsMessage) throws JMSException {
+        JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+
+        if (!jmsTemplate.isMessageIdEnabled()) {
+            producer.setDisableMessageID(true);
+        }
+
+        if (!jmsTemplate.isMessageTimestampEnabled()) {
+            producer.setDisableMessageTimestamp(true);
+        }
+
+        if (jmsTemplate.isExplicitQosEnabled()) {
+            producer.send(jmsMessage, jmsTemplate.getDeliveryMode(), jmsTemplate.getPriority(), jmsTemplate.getTimeToLive());
+        } else {
+            producer.send(jmsMessage);
+        }
+    }
+
     @Override
     public String getName() {
         return name;
@@ -0,0 +1,424 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.support.JmsUtils;
+
+import javax.jms.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of JMS sessions sharing a single connection. Each pooled session caches its message producers per destination. Callers
+ * borrow a session for the duration of a send or receive operation so the pool is safe for concurrent use by parallel test actions
+ * and parallel test methods sharing an endpoint. When all sessions are in use callers wait for the next session to be released.
+ *
+ * Message consumers are not cached as idle consumers would hold prefetched messages back from other sessions.
+ *
+ * Sessions are created with the given transaction and acknowledge mode. Transacted sessions are committed after each successful
+ * callback and rolled back by closing the session when the callback fails.
+ *
+ * Broken connections are replaced. The shared connection is closed as soon as the JMS provider reports a connection failure
+ * to the connection exception listener or session creation fails. Next borrow creates a new connection, idle sessions of the
+ * broken connection are discarded.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public class JmsSessionPool {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(JmsSessionPool.class);
+
+    /** Connection factory and shared connection */
+    private final ConnectionFactory connectionFactory;
+    private volatile Connection connection;
+
+    /** Max number of sessions */
+    private final int maxSize;
+
+    /** Session transaction and acknowledge mode */
+    private final boolean sessionTransacted;
+    private final int sessionAcknowledgeMode;
+
+    /** Idle sessions and permits for sessions in use */
+    private final ConcurrentLinkedDeque<PooledSession> idleSessions = new ConcurrentLinkedDeque<>();
+    private final Semaphore permits;
+
+    /** Pool metrics */
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong waited = new AtomicLong();
+
+    /** Closed flag */
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor using non transacted sessions with auto acknowledge mode.
+     * @param connectionFactory
+     * @param maxSize
+     */
+    public JmsSessionPool(ConnectionFactory connectionFactory, int maxSize) {
+        this(connectionFactory, maxSize, false, Session.AUTO_ACKNOWLEDGE);
+    }
+
+    /**
+     * Constructor using fields.
+     * @param connectionFactory
+     * @param maxSize
+     * @param sessionTransacted
+     * @param sessionAcknowledgeMode
+     */
+    public JmsSessionPool(ConnectionFactory connectionFactory, int maxSize, boolean sessionTransacted, int sessionAcknowledgeMode) {
+        this.connectionFactory = connectionFactory;
+        this.maxSize = maxSize;
+        this.sessionTransacted = sessionTransacted;
+        this.sessionAcknowledgeMode = sessionAcknowledgeMode;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Executes callback with pooled session. Session is returned to the pool afterwards. Sessions that caused a
+     * JMS exception are closed and replaced on next borrow. Transacted sessions are committed when callback has finished
+     * successfully, otherwise session is closed which rolls back the transaction.
+     * @param callback
+     * @param <T>
+     * @return
+     */
+    public <T> T execute(SessionCallback<T> callback) {
+        PooledSession pooledSession = borrow();
+        boolean valid = true;
+
+        try {
+            T result = callback.doInSession(pooledSession);
+
+            if (sessionTransacted) {
+                pooledSession.getSession().commit();
+            }
+
+            return result;
+        } catch (JMSException e) {
+            valid = false;
+            throw new CitrusRuntimeException(e);
+        } catch (RuntimeException e) {
+            valid = !sessionTransacted;
+            throw e;
+        } finally {
+            release(pooledSession, valid);
+        }
+    }
+
+    /**
+     * Borrows idle session or creates a new session when pool has not reached its max size.
+     * @return
+     */
+    private PooledSession borrow() {
+        if (closed) {
+            throw new CitrusRuntimeException("JMS session pool has been closed");
+        }
+
+        if (!permits.tryAcquire()) {
+            waited.incrementAndGet();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CitrusRuntimeException("Interrupted while waiting for pooled JMS session", e);
+            }
+        }
+
+        try {
+            PooledSession pooledSession = pollIdleSession();
+            if (pooledSession == null) {
+                pooledSession = createSession();
+            }
+
+            active.incrementAndGet();
+            borrowed.incrementAndGet();
+            return pooledSession;
+        } catch (JMSException e) {
+            permits.release();
+            throw new CitrusRuntimeException("Failed to create pooled JMS session", e);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Polls idle session. Idle sessions of broken connections are closed and discarded.
+     * @return
+     */
+    private PooledSession pollIdleSession() {
+        PooledSession pooledSession;
+        while ((pooledSession = idleSessions.pollFirst()) != null) {
+            if (pooledSession.getConnection() == connection) {
+                return pooledSession;
+            }
+
+            pooledSession.close();
+            created.decrementAndGet();
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates new session on shared connection. In case session creation fails the connection is considered to be broken
+     * and session creation is retried once with a new connection.
+     * @return
+     * @throws JMSException
+     */
+    private PooledSession createSession() throws JMSException {
+        Connection sessionConnection = getConnection();
+
+        Session session;
+        try {
+            session = sessionConnection.createSession(sessionTransacted, sessionAcknowledgeMode);
+        } catch (JMSException e) {
+            log.warn("Failed to create pooled JMS session - reconnecting", e);
+            resetConnection(sessionConnection);
+
+            sessionConnection = getConnection();
+            session = sessionConnection.createSession(sessionTransacted, sessionAcknowledgeMode);
+        }
+
+        created.incrementAndGet();
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Created pooled JMS session (%s of max %s)", created.get(), maxSize));
+        }
+
+        return new PooledSession(session, sessionConnection);
+    }
+
+    /**
+     * Returns session to the pool.
+     * @param pooledSession
+     * @param valid
+     */
+    private void release(PooledSession pooledSession, boolean valid) {
+        active.decrementAndGet();
+
+        if (valid && !closed && pooledSession.getConnection() == connection) {
+            idleSessions.offerFirst(pooledSession);
+        } else {
+            pooledSession.close();
+            created.decrementAndGet();
+        }
+
+        permits.release();
+    }
+
+    /**
+     * Gets the shared connection. Creates and starts connection on first call and after the connection has been reset.
+     * @return
+     * @throws JMSException
+     */
+    private synchronized Connection getConnection() throws JMSException {
+        if (closed) {
+            throw new CitrusRuntimeException("JMS session pool has been closed");
+        }
+
+        if (connection == null) {
+            final Connection newConnection = connectionFactory.createConnection();
+
+            try {
+                newConnection.setExceptionListener(new ExceptionListener() {
+                    @Override
+                    public void onException(JMSException exception) {
+                        log.warn("JMS connection of session pool failed - reconnecting on next use", exception);
+                        resetConnection(newConnection);
+                    }
+                });
+            } catch (JMSException | RuntimeException e) {
+                log.debug("Unable to register exception listener on pooled JMS connection", e);
+            }
+
+            newConnection.start();
+            connection = newConnection;
+        }
+
+        return connection;
+    }
+
+    /**
+     * Closes broken connection so next borrow creates a new connection. Does nothing in case the connection has already
+     * been replaced.
+     * @param brokenConnection
+     */
+    private synchronized void resetConnection(Connection brokenConnection) {
+        if (connection == brokenConnection) {
+            JmsUtils.closeConnection(connection);
+            connection = null;
+        }
+    }
+
+    /**
+     * Closes all idle sessions and the shared connection. Sessions in use are closed when released.
+     */
+    public synchronized void close() {
+        closed = true;
+
+        PooledSession pooledSession;
+        while ((pooledSession = idleSessions.pollFirst()) != null) {
+            pooledSession.close();
+            created.decrementAndGet();
+        }
+
+        JmsUtils.closeConnection(connection, true);
+        connection = null;
+    }
+
+    /**
+     * Gets the number of sessions currently in use.
+     * @return
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Gets the number of idle sessions.
+     * @return
+     */
+    public int getIdleCount() {
+        return idleSessions.size();
+    }
+
+    /**
+     * Gets the number of open sessions.
+     * @return
+     */
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    /**
+     * Gets the total number of borrow operations.
+     * @return
+     */
+    public long getBorrowCount() {
+        return borrowed.get();
+    }
+
+    /**
+     * Gets the number of borrow operations that had to wait for a session to be released.
+     * @return
+     */
+    public long getWaitCount() {
+        return waited.get();
+    }
+
+    /**
+     * Gets the max number of sessions.
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the session transacted mode.
+     * @return
+     */
+    public boolean isSessionTransacted() {
+        return sessionTransacted;
+    }
+
+    /**
+     * Gets the session acknowledge mode.
+     * @return
+     */
+    public int getSessionAcknowledgeMode() {
+        return sessionAcknowledgeMode;
+    }
+
+    /**
+     * Callback working with pooled session.
+     * @param <T>
+     */
+    public interface SessionCallback<T> {
+        T doInSession(PooledSession pooledSession) throws JMSException;
+    }
+
+    /**
+     * Pooled session with cached message producers. Pooled session is only used by one thread at a time.
+     */
+    public static final class PooledSession {
+        private final Session session;
+        private final Connection connection;
+        private final Map<Destination, MessageProducer> producers = new HashMap<>();
+
+        PooledSession(Session session, Connection connection) {
+            this.session = session;
+            this.connection = connection;
+        }
+
+        /**
+         * Gets the JMS session.
+         * @return
+         */
+        public Session getSession() {
+            return session;
+        }
+
+        /**
+         * Gets the connection this session has been created with.
+         * @return
+         */
+        Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Gets cached message producer for destination or creates new producer.
+         * @param destination
+         * @return
+         * @throws JMSException
+         */
+        public MessageProducer getProducer(Destination destination) throws JMSException {
+            MessageProducer producer = producers.get(destination);
+            if (producer == null) {
+                producer = session.createProducer(destination);
+                producers.put(destination, producer);
+            }
+
+            return producer;
+        }
+
+        /**
+         * Closes cached producers and session.
+         */
+        void close() {
+            for (MessageProducer producer : producers.values()) {
+                JmsUtils.closeMessageProducer(producer);
+            }
+
+            producers.clear();
+            JmsUtils.closeSession(session);
+        }
+    }
+}
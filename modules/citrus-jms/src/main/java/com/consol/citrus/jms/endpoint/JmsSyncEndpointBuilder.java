@@ -118,6 +118,16 @@ public class JmsSyncEndpointBuilder extends AbstractEndpointBuilder<JmsSyncEndpo
         return this;
     }
 
+    /**
+     * Sets the max number of pooled sessions.
+     * @param sessionPoolSize
+     * @return
+     */
+    public JmsSyncEndpointBuilder sessionPoolSize(int sessionPoolSize) {
+        endpoint.getEndpointConfiguration().setSessionPoolSize(sessionPoolSize);
+        return this;
+    }
+
     /**
      * Sets the useObjectMessages property.
      * @param useObjectMessages
@@ -138,6 +148,16 @@ public class JmsSyncEndpointBuilder extends AbstractEndpointBuilder<JmsSyncEndpo
         return this;
     }
 
+    /**
+     * Sets the shared reply destination property.
+     * @param sharedReplyDestination
+     * @return
+     */
+    public JmsSyncEndpointBuilder sharedReplyDestination(boolean sharedReplyDestination) {
+        endpoint.getEndpointConfiguration().setSharedReplyDestination(sharedReplyDestination);
+        return this;
+    }
+
     /**
      * Sets the message correlator.
      * @param correlator
@@ -43,6 +43,9 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration imple
     /** Polling interval when waiting for synchronous reply message to arrive */
     private long pollingInterval = 500L;
 
+    /** Use one long lived reply destination with single reply listener for all requests */
+    private boolean sharedReplyDestination = false;
+
     /**
      * Set the reply message correlator.
      * @param correlator the correlator to set
@@ -107,4 +110,20 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration imple
         this.pollingInterval = pollingInterval;
     }
 
+    /**
+     * Gets the shared reply destination flag.
+     * @return
+     */
+    public boolean isSharedReplyDestination() {
+        return sharedReplyDestination;
+    }
+
+    /**
+     * Sets the shared reply destination flag. When enabled producer uses one reply destination and reply listener
+     * for all requests and dispatches reply messages by JMS correlation id.
+     * @param sharedReplyDestination
+     */
+    public void setSharedReplyDestination(boolean sharedReplyDestination) {
+        this.sharedReplyDestination = sharedReplyDestination;
+    }
 }
@@ -21,7 +21,7 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.SignalingCorrelationManager;
 import com.consol.citrus.messaging.ReplyConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,8 +32,20 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import javax.jms.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
 
 /**
+ * Synchronous JMS producer sends request message and waits for reply message on reply destination. By default
+ * a new consumer and optional temporary reply destination is created for each request.
+ *
+ * When shared reply destination is enabled on the endpoint configuration the producer uses one long lived reply destination and
+ * a single message listener for all requests. Reply messages are dispatched to the waiting senders by JMS correlation id
+ * which is the request correlation id if set or the request message id otherwise. So many requests can be in flight at the same time.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -45,6 +57,28 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     /** JMS session */
     private Session session = null;
 
+    /** Shared reply destination with session and listener consumer */
+    private Destination sharedReplyDestination;
+    private Session replySession;
+    private MessageConsumer replyConsumer;
+
+    /** Request producer used with shared reply destination */
+    private MessageProducer requestProducer;
+
+    /** Senders waiting for reply messages by correlation id on shared reply destination */
+    private final ConcurrentMap<String, CompletableFuture<javax.jms.Message>> pendingReplies = new ConcurrentHashMap<>();
+
+    /** Reply messages that arrived before sender has registered its message id */
+    private final Map<String, javax.jms.Message> unclaimedReplies = new LinkedHashMap<String, javax.jms.Message>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, javax.jms.Message> eldest) {
+            return size() > MAX_UNCLAIMED_REPLIES;
+        }
+    };
+
+    /** Max number of unclaimed reply messages kept */
+    private static final int MAX_UNCLAIMED_REPLIES = 100;
+
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
@@ -63,7 +97,7 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         super(name, endpointConfiguration);
         this.endpointConfiguration = endpointConfiguration;
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new SignalingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -81,6 +115,12 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
 
         context.onOutboundMessage(message);
 
+        if (endpointConfiguration.isSharedReplyDestination()
+                && message.getHeader(org.springframework.messaging.MessageHeaders.REPLY_CHANNEL) == null) {
+            sendWithSharedReplyDestination(message, correlationKey, context);
+            return;
+        }
+
         MessageProducer messageProducer = null;
         MessageConsumer messageConsumer = null;
         Destination replyToDestination = null;
@@ -132,6 +172,166 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         }
     }
 
+    /**
+     * Sends request message with reply to set to the shared reply destination of this producer and waits for the reply message
+     * being dispatched by the reply listener. Only the request send operation is serialized on the session, waiting for replies
+     * happens concurrently.
+     * @param message
+     * @param correlationKey
+     * @param context
+     */
+    private void sendWithSharedReplyDestination(Message message, String correlationKey, TestContext context) {
+        CompletableFuture<javax.jms.Message> reply = new CompletableFuture<>();
+        List<String> replyCorrelationIds = new ArrayList<>(2);
+
+        try {
+            Destination replyToDestination = getSharedReplyDestination();
+
+            synchronized (this) {
+                javax.jms.Message jmsRequest = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration, context);
+                endpointConfiguration.getMessageConverter().convertOutbound(jmsRequest, message, endpointConfiguration, context);
+
+                if (StringUtils.hasText(jmsRequest.getJMSCorrelationID())) {
+                    registerPendingReply(jmsRequest.getJMSCorrelationID(), reply, replyCorrelationIds);
+                }
+
+                jmsRequest.setJMSReplyTo(replyToDestination);
+
+                if (requestProducer == null) {
+                    requestProducer = session.createProducer(getDefaultDestination(session));
+                }
+
+                requestProducer.send(jmsRequest);
+
+                registerPendingReply(jmsRequest.getJMSMessageID(), reply, replyCorrelationIds);
+            }
+
+            log.info("Message was sent to JMS destination: '{}'", endpointConfiguration.getDefaultDestinationName());
+            log.debug("Receiving reply message on shared destination: '{}'", replyToDestination);
+
+            javax.jms.Message jmsReplyMessage;
+            if (endpointConfiguration.getTimeout() > 0) {
+                jmsReplyMessage = reply.get(endpointConfiguration.getTimeout(), TimeUnit.MILLISECONDS);
+            } else {
+                jmsReplyMessage = reply.get();
+            }
+
+            Message responseMessage = endpointConfiguration.getMessageConverter().convertInbound(jmsReplyMessage, endpointConfiguration, context);
+
+            log.info("Received reply message on JMS destination: '{}'", replyToDestination);
+
+            context.onInboundMessage(responseMessage);
+
+            correlationManager.store(correlationKey, responseMessage);
+        } catch (TimeoutException e) {
+            throw new ActionTimeoutException("Reply timed out after " +
+                    endpointConfiguration.getTimeout() + "ms. Did not receive reply message on reply destination");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for reply message", e);
+        } catch (ExecutionException e) {
+            throw new CitrusRuntimeException("Failed to receive reply message", e.getCause());
+        } catch (JMSException e) {
+            throw new CitrusRuntimeException(e);
+        } finally {
+            for (String replyCorrelationId : replyCorrelationIds) {
+                pendingReplies.remove(replyCorrelationId, reply);
+            }
+        }
+    }
+
+    /**
+     * Registers sender waiting for reply message with given correlation id. Completes the reply immediately in case
+     * reply message has already arrived.
+     * @param correlationId
+     * @param reply
+     * @param replyCorrelationIds
+     */
+    private void registerPendingReply(String correlationId, CompletableFuture<javax.jms.Message> reply, List<String> replyCorrelationIds) {
+        if (correlationId == null) {
+            return;
+        }
+
+        javax.jms.Message jmsReplyMessage;
+        synchronized (unclaimedReplies) {
+            pendingReplies.put(correlationId, reply);
+            replyCorrelationIds.add(correlationId);
+            jmsReplyMessage = unclaimedReplies.remove(correlationId);
+        }
+
+        if (jmsReplyMessage != null) {
+            reply.complete(jmsReplyMessage);
+        }
+    }
+
+    /**
+     * Dispatches reply message received on shared reply destination to waiting sender.
+     * @param jmsReplyMessage
+     */
+    private void dispatchReply(javax.jms.Message jmsReplyMessage) {
+        try {
+            String correlationId = jmsReplyMessage.getJMSCorrelationID();
+            if (correlationId == null) {
+                log.warn("Ignoring reply message without JMS correlation id on shared reply destination");
+                return;
+            }
+
+            CompletableFuture<javax.jms.Message> reply;
+            synchronized (unclaimedReplies) {
+                reply = pendingReplies.get(correlationId);
+                if (reply == null) {
+                    unclaimedReplies.put(correlationId, jmsReplyMessage);
+                }
+            }
+
+            if (reply != null) {
+                reply.complete(jmsReplyMessage);
+            } else if (log.isDebugEnabled()) {
+                log.debug(String.format("Received reply message for unknown correlation id '%s'", correlationId));
+            }
+        } catch (JMSException e) {
+            log.error("Failed to dispatch reply message on shared reply destination", e);
+        }
+    }
+
+    /**
+     * Gets the shared reply destination. Creates reply destination and message listener on first call. Reply destination is
+     * either the configured reply destination or a temporary destination that lives as long as this producer.
+     * @return
+     * @throws JMSException
+     */
+    private synchronized Destination getSharedReplyDestination() throws JMSException {
+        if (sharedReplyDestination == null) {
+            createConnection();
+            createSession(connection);
+
+            replySession = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+
+            Destination replyToDestination;
+            if (endpointConfiguration.getReplyDestination() != null) {
+                replyToDestination = endpointConfiguration.getReplyDestination();
+            } else if (StringUtils.hasText(endpointConfiguration.getReplyDestinationName())) {
+                replyToDestination = resolveDestinationName(endpointConfiguration.getReplyDestinationName(), replySession);
+            } else if (endpointConfiguration.isPubSubDomain()) {
+                replyToDestination = replySession.createTemporaryTopic();
+            } else {
+                replyToDestination = replySession.createTemporaryQueue();
+            }
+
+            replyConsumer = replySession.createConsumer(replyToDestination);
+            replyConsumer.setMessageListener(new MessageListener() {
+                @Override
+                public void onMessage(javax.jms.Message jmsReplyMessage) {
+                    dispatchReply(jmsReplyMessage);
+                }
+            });
+
+            sharedReplyDestination = replyToDestination;
+        }
+
+        return sharedReplyDestination;
+    }
+
     @Override
     public Message receive(TestContext context) {
         return receive(correlationManager.getCorrelationKey(
@@ -304,6 +504,15 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * Destroy method closing JMS session and connection
      */
     public void destroy() {
+        JmsUtils.closeMessageProducer(requestProducer);
+        JmsUtils.closeMessageConsumer(replyConsumer);
+        deleteTemporaryDestination(sharedReplyDestination);
+        JmsUtils.closeSession(replySession);
+
+        for (CompletableFuture<javax.jms.Message> reply : pendingReplies.values()) {
+            reply.completeExceptionally(new CitrusRuntimeException("JMS producer destroyed while waiting for reply message"));
+        }
+
         JmsUtils.closeSession(session);
 
         if (connection != null) {
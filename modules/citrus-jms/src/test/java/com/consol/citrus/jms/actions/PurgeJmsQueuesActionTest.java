@@ -167,4 +167,39 @@ public class PurgeJmsQueuesActionTest extends AbstractTestNGUnitTest {
         purgeQueuesAction.execute(context);
         verify(connection).start();
     }
+
+    @Test
+    public void testBulkPurge() throws JMSException {
+        PurgeJmsQueuesAction purgeQueuesAction = new PurgeJmsQueuesAction();
+        purgeQueuesAction.setConnectionFactory(connectionFactory);
+        purgeQueuesAction.setBulkPurge(true);
+        purgeQueuesAction.setBatchSize(2);
+        purgeQueuesAction.setSleepTime(5000L);
+
+        List<String> queueNames = new ArrayList<String>();
+        queueNames.add("myQueue");
+        purgeQueuesAction.setQueueNames(queueNames);
+
+        TextMessage message1 = Mockito.mock(TextMessage.class);
+        TextMessage message2 = Mockito.mock(TextMessage.class);
+        TextMessage message3 = Mockito.mock(TextMessage.class);
+
+        reset(connectionFactory, connection, session, messageConsumer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+
+        when(connection.createSession(false, Session.CLIENT_ACKNOWLEDGE)).thenReturn(session);
+
+        when(session.createQueue("myQueue")).thenReturn(queue);
+
+        when(session.createConsumer(queue)).thenReturn(messageConsumer);
+        when(messageConsumer.receive(100L)).thenReturn(message1).thenReturn(message2).thenReturn(message3).thenReturn(null).thenReturn(null);
+
+        purgeQueuesAction.execute(context);
+        verify(connection).start();
+        verify(message1, never()).acknowledge();
+        verify(message2).acknowledge();
+        verify(message3).acknowledge();
+        verify(session).close();
+    }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.actions;
+
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import javax.jms.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies bulk purge and broker native purge via JMX against embedded ActiveMQ broker. Benchmark measures purge time of queues
+ * with leftover messages with default purge, bulk purge and broker native purge via JMX.
+ *
+ * @author Christoph Deppisch
+ */
+public class PurgeJmsQueuesActionThroughputTest extends AbstractTestNGUnitTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(PurgeJmsQueuesActionThroughputTest.class);
+
+    private static final List<String> QUEUE_NAMES = Arrays.asList("Citrus.Purge.1", "Citrus.Purge.2", "Citrus.Purge.3", "Citrus.Purge.4");
+
+    private BrokerService broker;
+    private ActiveMQConnectionFactory connectionFactory;
+
+    /** Keeps vm transport connector alive while purge action opens and closes connections */
+    private Connection keepAliveConnection;
+
+    @BeforeClass
+    public void startBroker() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("citrus-purge");
+        broker.setPersistent(false);
+        broker.setUseJmx(true);
+        broker.getManagementContext().setCreateConnector(false);
+        broker.start();
+        broker.waitUntilStarted();
+
+        connectionFactory = new ActiveMQConnectionFactory("vm://citrus-purge?create=false");
+        connectionFactory.setAlwaysSyncSend(true);
+        keepAliveConnection = connectionFactory.createConnection();
+        keepAliveConnection.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopBroker() throws Exception {
+        if (keepAliveConnection != null) {
+            keepAliveConnection.close();
+        }
+
+        if (broker != null) {
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+    }
+
+    @Test(groups = "benchmark")
+    public void testPurgeThroughput() throws Exception {
+        int messages = 2500;
+
+        PurgeJmsQueuesAction defaultPurge = createAction();
+        defaultPurge.setSleepTime(0L);
+
+        PurgeJmsQueuesAction bulkPurge = createAction();
+        bulkPurge.setBulkPurge(true);
+
+        PurgeJmsQueuesAction jmxPurge = createAction();
+        jmxPurge.setJmxPurge(true);
+        jmxPurge.setJmxBrokerName("citrus-purge");
+
+        long sequential = purge(defaultPurge, messages);
+        long bulk = purge(bulkPurge, messages);
+        long jmx = purge(jmxPurge, messages);
+
+        log.info(String.format("Purged %d queues with %d messages each - default purge without sleep: %dms, bulk purge: %dms, JMX purge: %dms",
+                QUEUE_NAMES.size(), messages, TimeUnit.NANOSECONDS.toMillis(sequential), TimeUnit.NANOSECONDS.toMillis(bulk),
+                TimeUnit.NANOSECONDS.toMillis(jmx)));
+    }
+
+    @Test
+    public void testJmxPurge() throws Exception {
+        PurgeJmsQueuesAction jmxPurge = createAction();
+        jmxPurge.setJmxPurge(true);
+        jmxPurge.setJmxBrokerName("citrus-purge");
+
+        purge(jmxPurge, 100);
+    }
+
+    @Test
+    public void testJmxPurgeFallback() throws Exception {
+        PurgeJmsQueuesAction jmxPurge = createAction();
+        jmxPurge.setJmxPurge(true);
+        jmxPurge.setSleepTime(0L);
+        jmxPurge.setJmxBrokerName("unknown");
+
+        purge(jmxPurge, 100);
+    }
+
+    @Test
+    public void testJmxPurgeQueueNameIsNoPattern() throws Exception {
+        fillQueues(10);
+
+        PurgeJmsQueuesAction jmxPurge = new PurgeJmsQueuesAction();
+        jmxPurge.setConnectionFactory(connectionFactory);
+        jmxPurge.setQueueNames(Collections.singletonList("Citrus.Purge.?"));
+        jmxPurge.setJmxPurge(true);
+        jmxPurge.setJmxBrokerName("citrus-purge");
+        jmxPurge.execute(context);
+
+        Session session = keepAliveConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        try {
+            for (String queueName : QUEUE_NAMES) {
+                QueueBrowser browser = session.createBrowser(session.createQueue(queueName));
+                Assert.assertTrue(browser.getEnumeration().hasMoreElements(), "Unexpected purge of queue " + queueName);
+                browser.close();
+            }
+        } finally {
+            session.close();
+        }
+
+        PurgeJmsQueuesAction cleanup = createAction();
+        cleanup.setBulkPurge(true);
+        purge(cleanup, 0);
+    }
+
+    @Test
+    public void testBulkPurgeWithCustomExecutor() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            PurgeJmsQueuesAction bulkPurge = createAction();
+            bulkPurge.setBulkPurge(true);
+            bulkPurge.setExecutorService(executorService);
+
+            purge(bulkPurge, 100);
+            Assert.assertFalse(executorService.isShutdown());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private long purge(PurgeJmsQueuesAction action, int messages) throws JMSException {
+        fillQueues(messages);
+
+        long start = System.nanoTime();
+        action.execute(context);
+        long duration = System.nanoTime() - start;
+
+        assertQueuesEmpty();
+        return duration;
+    }
+
+    private PurgeJmsQueuesAction createAction() {
+        PurgeJmsQueuesAction action = new PurgeJmsQueuesAction();
+        action.setConnectionFactory(connectionFactory);
+        action.setQueueNames(QUEUE_NAMES);
+        return action;
+    }
+
+    private void fillQueues(int messages) throws JMSException {
+        Session session = keepAliveConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        try {
+            MessageProducer producer = session.createProducer(null);
+            producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+
+            for (String queueName : QUEUE_NAMES) {
+                Queue queue = session.createQueue(queueName);
+                for (int i = 0; i < messages; i++) {
+                    producer.send(queue, session.createTextMessage("Leftover message " + i));
+                }
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    private void assertQueuesEmpty() throws JMSException {
+        Session session = keepAliveConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        try {
+            for (String queueName : QUEUE_NAMES) {
+                QueueBrowser browser = session.createBrowser(session.createQueue(queueName));
+                Assert.assertFalse(browser.getEnumeration().hasMoreElements(), "Messages left on queue " + queueName);
+                browser.close();
+            }
+        } finally {
+            session.close();
+        }
+    }
+}
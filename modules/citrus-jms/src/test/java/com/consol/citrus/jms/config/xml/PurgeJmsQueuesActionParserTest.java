@@ -30,7 +30,7 @@ public class PurgeJmsQueuesActionParserTest extends AbstractActionParserTest<Pur
 
     @Test
     public void testPurgeJmsQueuesActionParser() {
-        assertActionCount(3);
+        assertActionCount(4);
         assertActionClassAndName(PurgeJmsQueuesAction.class, "purge-queue");
         
         PurgeJmsQueuesAction action = getNextTestActionFromTest();
@@ -56,6 +56,19 @@ public class PurgeJmsQueuesActionParserTest extends AbstractActionParserTest<Pur
         Assert.assertEquals(action.getQueues().size(), 1);
         Assert.assertEquals(action.getQueueNames().size(), 1);
         Assert.assertEquals(action.getQueueNames().get(0), "JMS.Queue.1");
+        Assert.assertFalse(action.isBulkPurge());
+        Assert.assertFalse(action.isJmxPurge());
+        Assert.assertEquals(action.getJmxBrokerName(), "localhost");
+        Assert.assertNull(action.getJmxObjectName());
+
+        action = getNextTestActionFromTest();
+        Assert.assertTrue(action.isBulkPurge());
+        Assert.assertEquals(action.getBatchSize(), 1000);
+        Assert.assertTrue(action.isJmxPurge());
+        Assert.assertEquals(action.getJmxServerUrl(), "service:jmx:rmi:///jndi/rmi://localhost:1099/jmxrmi");
+        Assert.assertEquals(action.getJmxBrokerName(), "citrus");
+        Assert.assertEquals(action.getJmxObjectName(), "org.apache.activemq:type=Broker,brokerName=localhost,destinationType=Queue,destinationName=%s");
+        Assert.assertEquals(action.getQueueNames().size(), 1);
     }
     
     @Test
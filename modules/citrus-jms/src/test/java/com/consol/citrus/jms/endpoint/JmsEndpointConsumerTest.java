@@ -20,9 +20,13 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.SelectiveConsumer;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.SessionCallback;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -47,7 +51,7 @@ public class JmsEndpointConsumerTest extends AbstractTestNGUnitTest {
     private JmsTemplate jmsTemplate = Mockito.mock(JmsTemplate.class);
 
     @Test
-    public void testReceiveMessageWithJmsTemplate() {
+    public void testReceiveMessageWithJmsTemplate() throws JMSException {
         JmsEndpoint endpoint = new JmsEndpoint();
         endpoint.getEndpointConfiguration().setJmsTemplate(jmsTemplate);
         
@@ -56,13 +60,91 @@ public class JmsEndpointConsumerTest extends AbstractTestNGUnitTest {
 
         reset(jmsTemplate, connectionFactory, destination);
 
+        reset(session, messageConsumer);
+
         when(jmsTemplate.getDefaultDestination()).thenReturn(destination);
-        when(jmsTemplate.receive()).thenReturn(new TextMessageImpl(controlMessage.getPayload(String.class), controlHeaders));
+        when(jmsTemplate.execute(any(SessionCallback.class), eq(true))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return ((SessionCallback) invocation.getArguments()[0]).doInJms(session);
+            }
+        });
+
+        when(session.createConsumer(destination, null)).thenReturn(messageConsumer);
+        when(messageConsumer.receive(5000L)).thenReturn(new TextMessageImpl(controlMessage.getPayload(String.class), controlHeaders));
+
+        Message receivedMessage = endpoint.createConsumer().receive(context);
+        Assert.assertEquals(receivedMessage.getPayload(), controlMessage.getPayload());
+
+        verify(jmsTemplate, never()).setReceiveTimeout(anyLong());
+        verify(messageConsumer).close();
+    }
+
+    @Test
+    public void testReceiveMessageWithTransactedJmsTemplate() throws JMSException {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setJmsTemplate(jmsTemplate);
+
+        Map<String, Object> controlHeaders = new HashMap<String, Object>();
+        final Message controlMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(jmsTemplate, connectionFactory, destination);
+
+        reset(session, messageConsumer);
+
+        when(jmsTemplate.getDefaultDestination()).thenReturn(destination);
+        when(jmsTemplate.execute(any(SessionCallback.class), eq(true))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return ((SessionCallback) invocation.getArguments()[0]).doInJms(session);
+            }
+        });
+
+        when(session.getTransacted()).thenReturn(true);
+        when(session.createConsumer(destination, null)).thenReturn(messageConsumer);
+        when(messageConsumer.receive(5000L)).thenReturn(new TextMessageImpl(controlMessage.getPayload(String.class), controlHeaders));
 
         Message receivedMessage = endpoint.createConsumer().receive(context);
         Assert.assertEquals(receivedMessage.getPayload(), controlMessage.getPayload());
 
-        verify(jmsTemplate).setReceiveTimeout(5000L);
+        verify(session).commit();
+        verify(messageConsumer).close();
+    }
+
+    @Test
+    public void testReceiveMessageWithSessionPool() throws JMSException {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setSessionPoolSize(2);
+
+        Map<String, Object> headers = new HashMap<String, Object>();
+
+        reset(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        when(session.getAcknowledgeMode()).thenReturn(Session.AUTO_ACKNOWLEDGE);
+
+        when(session.createConsumer(destination, null)).thenReturn(messageConsumer);
+        when(session.createConsumer(destination, "operation = 'sayHello'")).thenReturn(messageConsumer);
+        when(messageConsumer.receive(5000L)).thenReturn(new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", headers));
+        when(messageConsumer.receive(1000L)).thenReturn(new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", headers));
+
+        SelectiveConsumer consumer = endpoint.createConsumer();
+        Assert.assertEquals(consumer.receive(context).getPayload(), "<TestRequest><Message>Hello World!</Message></TestRequest>");
+        Assert.assertEquals(consumer.receive("operation = 'sayHello'", context, 1000L).getPayload(), "<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        JmsSessionPool sessionPool = endpoint.getEndpointConfiguration().getSessionPool();
+        Assert.assertEquals(sessionPool.getCreatedCount(), 1);
+        Assert.assertEquals(sessionPool.getIdleCount(), 1);
+        Assert.assertEquals(sessionPool.getActiveCount(), 0);
+        Assert.assertEquals(sessionPool.getBorrowCount(), 2L);
+
+        verify(connectionFactory, times(1)).createConnection();
+        verify(connection, times(1)).createSession(anyBoolean(), anyInt());
+        verify(connection).start();
+        verify(messageConsumer, times(2)).close();
     }
     
     @Test
@@ -20,6 +20,7 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.jms.core.MessageCreator;
@@ -87,6 +88,178 @@ public class JmsEndpointProducerTest extends AbstractTestNGUnitTest {
         verify(messageProducer).send((TextMessage)any());
     }
     
+    @Test
+    public void testSendMessageWithSessionPool() throws Exception {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestinationName("myDestination");
+        endpoint.getEndpointConfiguration().setSessionPoolSize(2);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+
+        when(session.createQueue("myDestination")).thenReturn(destinationQueue);
+        when(session.createProducer(destinationQueue)).thenReturn(messageProducer);
+
+        when(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).thenReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>()));
+
+        endpoint.createProducer().send(message, context);
+        endpoint.createProducer().send(message, context);
+
+        JmsSessionPool sessionPool = endpoint.getEndpointConfiguration().getSessionPool();
+        Assert.assertEquals(sessionPool.getCreatedCount(), 1);
+        Assert.assertEquals(sessionPool.getBorrowCount(), 2L);
+        Assert.assertEquals(sessionPool.getWaitCount(), 0L);
+
+        verify(messageProducer, times(2)).send((TextMessage)any());
+        verify(session, times(1)).createProducer(destinationQueue);
+        verify(connection, times(1)).createSession(anyBoolean(), anyInt());
+
+        endpoint.destroy();
+        verify(messageProducer).close();
+        verify(session).close();
+        verify(connection).close();
+    }
+
+    @Test
+    public void testSendMessageWithSessionPoolConnectionFailure() throws Exception {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestinationName("myDestination");
+        endpoint.getEndpointConfiguration().setSessionPoolSize(2);
+
+        Connection newConnection = Mockito.mock(Connection.class);
+        Session newSession = Mockito.mock(Session.class);
+        MessageProducer newMessageProducer = Mockito.mock(MessageProducer.class);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
+
+        when(connectionFactory.createConnection()).thenReturn(connection, newConnection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        when(newConnection.createSession(anyBoolean(), anyInt())).thenReturn(newSession);
+
+        when(session.createQueue("myDestination")).thenReturn(destinationQueue);
+        when(session.createProducer(destinationQueue)).thenReturn(messageProducer);
+        when(newSession.createQueue("myDestination")).thenReturn(destinationQueue);
+        when(newSession.createProducer(destinationQueue)).thenReturn(newMessageProducer);
+
+        when(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).thenReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>()));
+        when(newSession.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).thenReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>()));
+
+        endpoint.createProducer().send(message, context);
+
+        // provider reports dead connection
+        ArgumentCaptor<ExceptionListener> exceptionListener = ArgumentCaptor.forClass(ExceptionListener.class);
+        verify(connection).setExceptionListener(exceptionListener.capture());
+        exceptionListener.getValue().onException(new JMSException("Connection lost"));
+        verify(connection).close();
+
+        endpoint.createProducer().send(message, context);
+
+        verify(session).close();
+        verify(messageProducer, times(1)).send((TextMessage)any());
+        verify(newMessageProducer, times(1)).send((TextMessage)any());
+        Assert.assertEquals(endpoint.getEndpointConfiguration().getSessionPool().getCreatedCount(), 1);
+
+        endpoint.destroy();
+        verify(newConnection).close();
+    }
+
+    @Test
+    public void testSendMessageWithSessionPoolReconnect() throws Exception {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestinationName("myDestination");
+        endpoint.getEndpointConfiguration().setSessionPoolSize(2);
+
+        Connection newConnection = Mockito.mock(Connection.class);
+        Session newSession = Mockito.mock(Session.class);
+        MessageProducer newMessageProducer = Mockito.mock(MessageProducer.class);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
+
+        when(connectionFactory.createConnection()).thenReturn(connection, newConnection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session).thenThrow(new JMSException("Connection closed"));
+        when(newConnection.createSession(anyBoolean(), anyInt())).thenReturn(newSession);
+
+        when(session.createQueue("myDestination")).thenReturn(destinationQueue);
+        when(session.createProducer(destinationQueue)).thenReturn(messageProducer);
+        when(newSession.createQueue("myDestination")).thenReturn(destinationQueue);
+        when(newSession.createProducer(destinationQueue)).thenReturn(newMessageProducer);
+
+        when(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).thenReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>()));
+        when(newSession.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).thenReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>()));
+
+        // broken connection without exception listener notification
+        doThrow(new JMSException("Connection closed")).when(messageProducer).send((TextMessage)any());
+
+        try {
+            endpoint.createProducer().send(message, context);
+            Assert.fail("Missing exception due to broken connection");
+        } catch (CitrusRuntimeException e) {
+            verify(session).close();
+        }
+
+        endpoint.createProducer().send(message, context);
+
+        verify(connection).close();
+        verify(newMessageProducer, times(1)).send((TextMessage)any());
+
+        endpoint.destroy();
+        verify(newConnection).close();
+    }
+
+    @Test
+    public void testSendMessageWithSessionPoolTemplateSettings() throws Exception {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestinationName("myDestination");
+        endpoint.getEndpointConfiguration().setSessionPoolSize(2);
+
+        JmsTemplate template = endpoint.getEndpointConfiguration().getJmsTemplate();
+        template.setSessionTransacted(true);
+        template.setExplicitQosEnabled(true);
+        template.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+        template.setPriority(7);
+        template.setTimeToLive(1000L);
+        template.setMessageIdEnabled(false);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        reset(jmsTemplate, connectionFactory, destination, messageProducer, connection, session);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(true, Session.AUTO_ACKNOWLEDGE)).thenReturn(session);
+
+        when(session.createQueue("myDestination")).thenReturn(destinationQueue);
+        when(session.createProducer(destinationQueue)).thenReturn(messageProducer);
+
+        when(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).thenReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>()));
+
+        endpoint.createProducer().send(message, context);
+
+        verify(messageProducer).setDisableMessageID(true);
+        verify(messageProducer).send((TextMessage)any(), eq(DeliveryMode.NON_PERSISTENT), eq(7), eq(1000L));
+        verify(messageProducer, never()).send((TextMessage)any());
+        verify(session).commit();
+
+        endpoint.destroy();
+    }
+
     @Test
     public void testSendMessageWithDestinationName() throws JMSException {
         JmsEndpoint endpoint = new JmsEndpoint();
@@ -23,6 +23,8 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.message.correlation.ObjectStore;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -117,6 +119,135 @@ public class JmsEndpointSyncProducerTest extends AbstractTestNGUnitTest {
         verify(connection).start();
     }
     
+    @Test
+    public void testSharedReplyDestinationZeroTimeoutWaitsForReply() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setSharedReplyDestination(true);
+        endpoint.getEndpointConfiguration().setTimeout(0L);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        final TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", new HashMap<String, Object>()) {
+            @Override
+            public String getJMSCorrelationID() throws JMSException {
+                return "123456789";
+            }
+        };
+
+        final MessageListener[] replyListener = new MessageListener[1];
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+
+        when(session.createTemporaryQueue()).thenReturn(tempReplyQueue);
+        when(session.createConsumer(tempReplyQueue)).thenReturn(messageConsumer);
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                replyListener[0] = (MessageListener) invocation.getArguments()[0];
+                return null;
+            }
+        }).when(messageConsumer).setMessageListener(any(MessageListener.class));
+
+        when(session.createProducer(destination)).thenReturn(messageProducer);
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                // reply arrives late on another thread
+                Thread replyThread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            Thread.sleep(200L);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+
+                        replyListener[0].onMessage(jmsResponse);
+                    }
+                });
+                replyThread.setDaemon(true);
+                replyThread.start();
+                return null;
+            }
+        }).when(messageProducer).send(any(TextMessage.class));
+
+        when(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).thenReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>()));
+
+        JmsSyncProducer producer = (JmsSyncProducer) endpoint.createProducer();
+        producer.send(message, context);
+        Assert.assertEquals(producer.receive(context).getPayload(String.class), "<TestResponse>Hello World!</TestResponse>");
+    }
+
+    @Test
+    public void testSendMessageWithSharedReplyDestination() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setSharedReplyDestination(true);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        final TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", new HashMap<String, Object>()) {
+            @Override
+            public String getJMSCorrelationID() throws JMSException {
+                return "123456789";
+            }
+        };
+
+        final MessageListener[] replyListener = new MessageListener[1];
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+
+        when(session.createTemporaryQueue()).thenReturn(tempReplyQueue);
+        when(session.createConsumer(tempReplyQueue)).thenReturn(messageConsumer);
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                replyListener[0] = (MessageListener) invocation.getArguments()[0];
+                return null;
+            }
+        }).when(messageConsumer).setMessageListener(any(MessageListener.class));
+
+        when(session.createProducer(destination)).thenReturn(messageProducer);
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                TextMessage request = (TextMessage) invocation.getArguments()[0];
+                Assert.assertEquals(request.getJMSReplyTo(), tempReplyQueue);
+                replyListener[0].onMessage(jmsResponse);
+                return null;
+            }
+        }).when(messageProducer).send(any(TextMessage.class));
+
+        when(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).thenReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>()));
+
+        JmsSyncProducer producer = (JmsSyncProducer) endpoint.createProducer();
+        producer.send(message, context);
+        Assert.assertEquals(producer.receive(context).getPayload(String.class), "<TestResponse>Hello World!</TestResponse>");
+
+        producer.send(message, context);
+        Assert.assertEquals(producer.receive(context).getPayload(String.class), "<TestResponse>Hello World!</TestResponse>");
+
+        verify(messageProducer, times(2)).send((TextMessage)any());
+        verify(session, times(1)).createTemporaryQueue();
+        verify(session, times(1)).createConsumer(tempReplyQueue);
+        verify(session, times(1)).createProducer(destination);
+        verify(tempReplyQueue, never()).delete();
+        verify(connection).start();
+    }
+
     @Test
     public void testSendMessageWithTemporaryReplyDestination() throws JMSException {
         JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import javax.jms.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Measures sends per second with growing number of sender threads against embedded ActiveMQ broker with JMS template
+ * and with pooled sessions.
+ *
+ * @author Christoph Deppisch
+ */
+@Test(groups = "benchmark")
+public class JmsSessionPoolThroughputTest extends AbstractTestNGUnitTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(JmsSessionPoolThroughputTest.class);
+
+    private BrokerService broker;
+    private ActiveMQConnectionFactory connectionFactory;
+
+    /** Keeps vm transport connector alive while template opens and closes connections */
+    private Connection keepAliveConnection;
+
+    @BeforeClass
+    public void startBroker() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("citrus-session-pool");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.start();
+        broker.waitUntilStarted();
+
+        connectionFactory = new ActiveMQConnectionFactory("vm://citrus-session-pool?create=false");
+        keepAliveConnection = connectionFactory.createConnection();
+        keepAliveConnection.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopBroker() throws Exception {
+        if (keepAliveConnection != null) {
+            keepAliveConnection.close();
+        }
+
+        if (broker != null) {
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+    }
+
+    @Test
+    public void testSendThroughput() throws Exception {
+        int messages = 400;
+
+        //warm up
+        sendMessages("Citrus.Pool.WarmUp", 0, 100, 2);
+        sendMessages("Citrus.Pool.WarmUp", 8, 100, 2);
+
+        StringBuilder results = new StringBuilder();
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            long template = sendMessages("Citrus.Pool.Template" + threads, 0, messages, threads);
+            long pooled = sendMessages("Citrus.Pool.Pooled" + threads, 8, messages, threads);
+
+            results.append(String.format("%n  %d threads - template: %d msg/s, session pool: %d msg/s", threads,
+                    messagesPerSecond(messages, template), messagesPerSecond(messages, pooled)));
+        }
+
+        log.info("Sent " + messages + " messages per run:" + results);
+    }
+
+    @Test
+    public void testConcurrentSendAndReceive() throws Exception {
+        final JmsEndpoint endpoint = createEndpoint("Citrus.Pool.Concurrent", 4);
+        final int threads = 8;
+        final int messages = 25;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                results.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        TestContext threadContext = createTestContext();
+                        for (int i = 0; i < messages; i++) {
+                            endpoint.createProducer().send(new DefaultMessage("Hello"), threadContext);
+                            Assert.assertEquals(endpoint.createConsumer().receive(threadContext, 5000L).getPayload(String.class), "Hello");
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> result : results) {
+                result.get(60000L, TimeUnit.MILLISECONDS);
+            }
+
+            JmsSessionPool sessionPool = endpoint.getEndpointConfiguration().getSessionPool();
+            log.info(String.format("Session pool utilization - sessions: %d of %d, borrowed: %d, waited: %d",
+                    sessionPool.getCreatedCount(), sessionPool.getMaxSize(), sessionPool.getBorrowCount(), sessionPool.getWaitCount()));
+
+            Assert.assertEquals(sessionPool.getActiveCount(), 0);
+            Assert.assertTrue(sessionPool.getCreatedCount() <= 4);
+            Assert.assertEquals(sessionPool.getBorrowCount(), threads * messages * 2L);
+        } finally {
+            executor.shutdownNow();
+            endpoint.destroy();
+        }
+    }
+
+    private long sendMessages(String destinationName, int sessionPoolSize, int messages, int threads) throws Exception {
+        final JmsEndpoint endpoint = createEndpoint(destinationName, sessionPoolSize);
+        final int threadMessages = messages / threads;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            long start = System.nanoTime();
+
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                results.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        TestContext threadContext = createTestContext();
+                        for (int i = 0; i < threadMessages; i++) {
+                            endpoint.createProducer().send(new DefaultMessage("Hello"), threadContext);
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> result : results) {
+                result.get(60000L, TimeUnit.MILLISECONDS);
+            }
+
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+            endpoint.destroy();
+        }
+    }
+
+    private JmsEndpoint createEndpoint(String destinationName, int sessionPoolSize) {
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestinationName(destinationName);
+        endpoint.getEndpointConfiguration().setSessionPoolSize(sessionPoolSize);
+        return endpoint;
+    }
+
+    private long messagesPerSecond(int messages, long nanos) {
+        return messages * TimeUnit.SECONDS.toNanos(1) / Math.max(nanos, 1L);
+    }
+}
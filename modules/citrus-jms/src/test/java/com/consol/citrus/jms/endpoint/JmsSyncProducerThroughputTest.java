@@ -0,0 +1,152 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import javax.jms.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Measures synchronous request reply throughput against embedded ActiveMQ broker with temporary reply destination
+ * per request and with shared reply destination.
+ *
+ * @author Christoph Deppisch
+ */
+@Test(groups = "benchmark")
+public class JmsSyncProducerThroughputTest extends AbstractTestNGUnitTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(JmsSyncProducerThroughputTest.class);
+
+    private static final String REQUEST_QUEUE = "Citrus.Throughput.Request";
+
+    private BrokerService broker;
+    private ActiveMQConnectionFactory connectionFactory;
+    private Connection responderConnection;
+
+    @BeforeClass
+    public void startBroker() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("citrus-throughput");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.start();
+        broker.waitUntilStarted();
+
+        connectionFactory = new ActiveMQConnectionFactory("vm://citrus-throughput?create=false");
+
+        responderConnection = connectionFactory.createConnection();
+        final Session responderSession = responderConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        final MessageProducer replyProducer = responderSession.createProducer(null);
+        responderSession.createConsumer(responderSession.createQueue(REQUEST_QUEUE)).setMessageListener(new MessageListener() {
+            @Override
+            public void onMessage(Message request) {
+                try {
+                    TextMessage reply = responderSession.createTextMessage("<Reply>" + ((TextMessage) request).getText() + "</Reply>");
+                    reply.setJMSCorrelationID(request.getJMSMessageID());
+                    replyProducer.send(request.getJMSReplyTo(), reply);
+                } catch (JMSException e) {
+                    log.error("Failed to send reply message", e);
+                }
+            }
+        });
+        responderConnection.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopBroker() throws Exception {
+        if (responderConnection != null) {
+            responderConnection.close();
+        }
+
+        if (broker != null) {
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+    }
+
+    @Test
+    public void testRequestReplyThroughput() throws Exception {
+        int requests = 500;
+        int senders = 10;
+
+        //warm up
+        sendRequests(false, 50, 1);
+        sendRequests(true, 50, 1);
+
+        long temporaryQueues = sendRequests(false, requests, 1);
+        long shared = sendRequests(true, requests, 1);
+        long sharedConcurrent = sendRequests(true, requests, senders);
+
+        log.info(String.format("Sent %d synchronous requests - temporary reply queue per request: %dms, shared reply queue: %dms, " +
+                "shared reply queue with %d concurrent senders: %dms", requests, TimeUnit.NANOSECONDS.toMillis(temporaryQueues),
+                TimeUnit.NANOSECONDS.toMillis(shared), senders, TimeUnit.NANOSECONDS.toMillis(sharedConcurrent)));
+    }
+
+    private long sendRequests(boolean sharedReplyDestination, final int requests, int senders) throws Exception {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestinationName(REQUEST_QUEUE);
+        endpoint.getEndpointConfiguration().setSharedReplyDestination(sharedReplyDestination);
+        endpoint.getEndpointConfiguration().setTimeout(10000L);
+
+        final JmsSyncProducer producer = (JmsSyncProducer) endpoint.createProducer();
+        ExecutorService executor = Executors.newFixedThreadPool(senders);
+
+        try {
+            long start = System.nanoTime();
+
+            List<Future<?>> results = new ArrayList<>();
+            for (int sender = 0; sender < senders; sender++) {
+                final int senderId = sender;
+                final int senderRequests = requests / senders;
+                results.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        TestContext senderContext = createTestContext();
+                        for (int i = 0; i < senderRequests; i++) {
+                            String payload = "Request " + senderId + "-" + i;
+                            producer.send(new DefaultMessage(payload), senderContext);
+                            Assert.assertEquals(producer.receive(senderContext).getPayload(String.class), "<Reply>" + payload + "</Reply>");
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> result : results) {
+                result.get(60000L, TimeUnit.MILLISECONDS);
+            }
+
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+            producer.destroy();
+        }
+    }
+}
@@ -22,15 +22,19 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.SignalingCorrelationManager;
 import com.consol.citrus.messaging.*;
 import com.consol.citrus.ssh.model.SshRequest;
 import com.consol.citrus.ssh.model.SshResponse;
 import com.jcraft.jsch.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.*;
+import java.util.concurrent.*;
 
 /**
  * Ssh client connects to ssh server and sends commands to that server.
@@ -38,7 +42,10 @@ import java.io.*;
  * @author Roland Huss, Christoph Deppisch
  * @since 1.4
  */
-public class SshClient extends AbstractEndpoint implements Producer, ReplyConsumer {
+public class SshClient extends AbstractEndpoint implements Producer, ReplyConsumer, DisposableBean {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SshClient.class);
 
     public static final String CLASSPATH_PREFIX = "classpath:";
 
@@ -48,6 +55,12 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
     // Session for the SSH communication
     private Session session;
 
+    // Authenticated sessions per remote user when session pooling is enabled
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    // Private key identity has been added to SSH implementation
+    private boolean identityAdded = false;
+
     // SSH implementation
     private JSch jsch = new JSch();
 
@@ -65,7 +78,7 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
     protected SshClient(SshEndpointConfiguration endpointConfiguration) {
         super(endpointConfiguration);
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new SignalingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -87,18 +100,21 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
 
         SshRequest request = (SshRequest) getEndpointConfiguration().getMessageConverter().convertOutbound(message, getEndpointConfiguration(), context);
 
-        if (getEndpointConfiguration().isStrictHostChecking()) {
-            setKnownHosts();
+        String rUser = getRemoteUser(message);
+        Session commandSession;
+        if (getEndpointConfiguration().isSessionPooling()) {
+            commandSession = getPooledSession(rUser);
+        } else {
+            connect(rUser);
+            commandSession = session;
         }
 
-        String rUser = getRemoteUser(message);
-        connect(rUser);
         ChannelExec channelExec = null;
         ByteArrayOutputStream outStream = new ByteArrayOutputStream();
-        ByteArrayOutputStream errStream = new ByteArrayOutputStream();
+        ChannelErrorStream errStream = new ChannelErrorStream();
         int rc = 0;
         try {
-            channelExec = openChannelExec();
+            channelExec = openChannelExec(commandSession, rUser);
             channelExec.setErrStream(errStream);
             channelExec.setOutputStream(outStream);
             channelExec.setCommand(request.getCommand());
@@ -106,13 +122,16 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
             if (request.getStdin() != null) {
                 sendStandardInput(channelExec, request.getStdin());
             }
-            waitCommandToFinish(channelExec);
+            waitCommandToFinish(channelExec, errStream);
             rc = channelExec.getExitStatus();
         } finally {
             if (channelExec != null && channelExec.isConnected()) {
                 channelExec.disconnect();
             }
-            disconnect();
+
+            if (!getEndpointConfiguration().isSessionPooling()) {
+                disconnect();
+            }
         }
         SshResponse sshResp = new SshResponse(outStream.toString(),errStream.toString(),rc);
         Message response = getEndpointConfiguration().getMessageConverter().convertInbound(sshResp, getEndpointConfiguration(), context)
@@ -159,28 +178,90 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         return this;
     }
 
+    /**
+     * Closes all pooled sessions.
+     */
+    @Override
+    public void destroy() {
+        for (String rUser : sessions.keySet()) {
+            Session pooledSession = sessions.remove(rUser);
+            if (pooledSession != null && pooledSession.isConnected()) {
+                pooledSession.disconnect();
+            }
+        }
+    }
+
     private void connect(String rUser) {
         if (session == null || !session.isConnected()) {
-            try {
-                if (StringUtils.hasText(getEndpointConfiguration().getPrivateKeyPath())) {
-                    jsch.addIdentity(getPrivateKeyPath(), getEndpointConfiguration().getPrivateKeyPassword());
-                }
-            } catch (JSchException e) {
-                throw new CitrusRuntimeException("Cannot add private key " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
-            } catch (IOException e) {
-                throw new CitrusRuntimeException("Cannot open private key file " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
+            session = createSession(rUser);
+        }
+    }
+
+    /**
+     * Gets authenticated session for remote user from pool. Creates and connects new session
+     * when there is no session for this user yet or the pooled session has been disconnected.
+     * @param rUser
+     * @return
+     */
+    private Session getPooledSession(String rUser) {
+        Session pooledSession = sessions.get(rUser);
+        if (pooledSession != null && pooledSession.isConnected()) {
+            return pooledSession;
+        }
+
+        synchronized (sessions) {
+            pooledSession = sessions.get(rUser);
+            if (pooledSession == null || !pooledSession.isConnected()) {
+                pooledSession = createSession(rUser);
+                sessions.put(rUser, pooledSession);
             }
-            try {
-                session = jsch.getSession(rUser, getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
-                if (StringUtils.hasText(getEndpointConfiguration().getPassword())) {
-                    session.setUserInfo(new UserInfoWithPlainPassword(getEndpointConfiguration().getPassword()));
-                    session.setPassword(getEndpointConfiguration().getPassword());
-                }
-                session.setConfig("StrictHostKeyChecking", getEndpointConfiguration().isStrictHostChecking() ? "yes" : "no");
-                session.connect();
-            } catch (JSchException e) {
-                throw new CitrusRuntimeException("Cannot connect via SSH: " + e,e);
+
+            return pooledSession;
+        }
+    }
+
+    private Session createSession(String rUser) {
+        if (getEndpointConfiguration().isStrictHostChecking()) {
+            setKnownHosts();
+        }
+
+        addIdentity();
+
+        try {
+            Session newSession = jsch.getSession(rUser, getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
+            if (StringUtils.hasText(getEndpointConfiguration().getPassword())) {
+                newSession.setUserInfo(new UserInfoWithPlainPassword(getEndpointConfiguration().getPassword()));
+                newSession.setPassword(getEndpointConfiguration().getPassword());
+            }
+            newSession.setConfig("StrictHostKeyChecking", getEndpointConfiguration().isStrictHostChecking() ? "yes" : "no");
+
+            if (getEndpointConfiguration().isSessionPooling() && getEndpointConfiguration().getKeepAliveInterval() > 0) {
+                newSession.setServerAliveInterval(getEndpointConfiguration().getKeepAliveInterval());
             }
+
+            newSession.connect();
+            return newSession;
+        } catch (JSchException e) {
+            throw new CitrusRuntimeException("Cannot connect via SSH: " + e,e);
+        }
+    }
+
+    /**
+     * Adds private key identity to SSH implementation. Private key is loaded only once
+     * as identity is kept for all sessions.
+     */
+    private synchronized void addIdentity() {
+        if (identityAdded || !StringUtils.hasText(getEndpointConfiguration().getPrivateKeyPath())) {
+            return;
+        }
+
+        try {
+            jsch.addIdentity(getPrivateKeyPath(), getEndpointConfiguration().getPrivateKeyPassword());
+            identityAdded = true;
+        } catch (JSchException e) {
+            throw new CitrusRuntimeException("Cannot add private key " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Cannot open private key file " + getEndpointConfiguration().getPrivateKeyPath() + ": " + e,e);
         }
     }
 
@@ -190,22 +271,33 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         }
     }
 
-    private ChannelExec openChannelExec() throws CitrusRuntimeException {
+    private ChannelExec openChannelExec(Session commandSession, String rUser) throws CitrusRuntimeException {
         ChannelExec channelExec;
         try {
-            channelExec = (ChannelExec) session.openChannel("exec");
+            channelExec = (ChannelExec) commandSession.openChannel("exec");
         } catch (JSchException e) {
+            // connected session is still usable e.g. when server side channel limit is reached, so keep it for other senders
+            if (getEndpointConfiguration().isSessionPooling() && !commandSession.isConnected()
+                    && sessions.remove(rUser, commandSession)) {
+                log.warn("Failed to open channel on disconnected pooled SSH session for user '" + rUser + "' - removed session from pool");
+                commandSession.disconnect();
+            }
+
             throw new CitrusRuntimeException("Cannot open EXEC SSH channel: " + e,e);
         }
         return channelExec;
     }
 
-    private void waitCommandToFinish(ChannelExec pCh) {
-        final long until = System.currentTimeMillis() + getEndpointConfiguration().getCommandTimeout();
-
+    /**
+     * Waits for channel to be closed by server. Channel closes its error stream on disconnect so
+     * waiting thread gets notified right after the command has finished.
+     * @param pCh
+     * @param errStream
+     */
+    private void waitCommandToFinish(ChannelExec pCh, ChannelErrorStream errStream) {
         try {
-            while (!pCh.isClosed() && System.currentTimeMillis() < until) {
-                Thread.sleep(250);
+            if (!pCh.isClosed()) {
+                errStream.awaitClose(getEndpointConfiguration().getCommandTimeout());
             }
         } catch (InterruptedException e) {
             throw new RuntimeException("Interrupted", e);
@@ -299,6 +391,20 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         }
     }
 
+    // Error stream signaling close when channel gets disconnected
+    private static class ChannelErrorStream extends ByteArrayOutputStream {
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        public boolean awaitClose(long timeout) throws InterruptedException {
+            return closed.await(timeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
     // UserInfo which simply returns a plain password
     private static class UserInfoWithPlainPassword implements UserInfo {
         private String password;
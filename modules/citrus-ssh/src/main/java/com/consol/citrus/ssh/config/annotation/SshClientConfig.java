@@ -90,6 +90,18 @@ public @interface SshClientConfig {
      */
     int connectionTimeout() default 1000 * 60 * 1;
 
+    /**
+     * SessionPooling.
+     * @return
+     */
+    boolean sessionPooling() default false;
+
+    /**
+     * KeepAliveInterval.
+     * @return
+     */
+    int keepAliveInterval() default 0;
+
     /**
      * Message converter.
      * @return
@@ -65,6 +65,8 @@ public class SshClientConfigParser extends AbstractAnnotationConfigParser<SshCli
 
         builder.commandTimeout(annotation.commandTimeout());
         builder.connectionTimeout(annotation.connectionTimeout());
+        builder.sessionPooling(annotation.sessionPooling());
+        builder.keepAliveInterval(annotation.keepAliveInterval());
 
         if (StringUtils.hasText(annotation.user())) {
             builder.user(annotation.user());
@@ -35,6 +35,8 @@ import java.io.*;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * @author Roland Huss
@@ -156,6 +158,83 @@ public class SshClientTest extends AbstractTestNGUnitTest {
         standardChannelPrepAndSend();
     }
 
+    @Test
+    public void withSessionPooling() throws JSchException, IOException {
+        client.getEndpointConfiguration().setSessionPooling(true);
+        client.getEndpointConfiguration().setKeepAliveInterval(30000);
+        prepareChannel(COMMAND, 0);
+        when(session.isConnected()).thenReturn(true);
+        when(session.openChannel("exec")).thenReturn(channel);
+
+        Session otherSession = Mockito.mock(Session.class);
+        when(jsch.getSession("other","planck",1968)).thenReturn(otherSession);
+        when(otherSession.isConnected()).thenReturn(true);
+        when(otherSession.openChannel("exec")).thenReturn(channel);
+
+        send();
+        send();
+        client.send(createMessage(COMMAND, STDIN).setHeader("user", "other"), context);
+
+        verify(jsch).getSession("roland", "planck", 1968);
+        verify(jsch).getSession("other", "planck", 1968);
+        verify(session).setServerAliveInterval(30000);
+        verify(session).connect();
+        verify(session, times(2)).openChannel("exec");
+        verify(session, never()).disconnect();
+        verify(channel, times(3)).disconnect();
+
+        client.destroy();
+        verify(session).disconnect();
+        verify(otherSession).disconnect();
+    }
+
+    @Test
+    public void withSessionPoolingReconnect() throws JSchException, IOException {
+        client.getEndpointConfiguration().setSessionPooling(true);
+        prepareChannel(COMMAND, 0);
+        when(session.isConnected()).thenReturn(false);
+        when(session.openChannel("exec")).thenReturn(channel);
+
+        send();
+        send();
+
+        verify(jsch, times(2)).getSession("roland", "planck", 1968);
+        verify(session, times(2)).connect();
+    }
+
+    @Test
+    public void withSessionPoolingChannelLimit() throws JSchException, IOException {
+        client.getEndpointConfiguration().setSessionPooling(true);
+        prepareChannel(COMMAND, 0);
+        when(session.isConnected()).thenReturn(true);
+        when(session.openChannel("exec")).thenThrow(new JSchException("channel is not opened.")).thenReturn(channel);
+
+        try {
+            send();
+            fail("Missing exception due to failed channel open");
+        } catch (CitrusRuntimeException e) {
+            assertTrue(e.getMessage().contains("Cannot open EXEC SSH channel"));
+        }
+
+        send();
+
+        verify(jsch, times(1)).getSession("roland", "planck", 1968);
+        verify(session, times(1)).connect();
+        verify(session, never()).disconnect();
+    }
+
+    @Test
+    public void withPrivateKeyAddedOnce() throws JSchException, IOException {
+        client.getEndpointConfiguration().setPrivateKeyPath("classpath:com/consol/citrus/ssh/private.key");
+        prepareChannel(COMMAND, 0);
+        disconnect();
+
+        send();
+        send();
+
+        verify(jsch, times(1)).addIdentity(isA(String.class), (String) isNull());
+    }
+
     private void send() {
         client.send(createMessage(COMMAND, STDIN), context);
     }
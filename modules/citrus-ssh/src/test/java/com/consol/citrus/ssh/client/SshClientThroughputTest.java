@@ -0,0 +1,156 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.ssh.client;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.endpoint.adapter.StaticEndpointAdapter;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.ssh.model.SshRequest;
+import com.consol.citrus.ssh.model.SshResponse;
+import com.consol.citrus.ssh.server.SshServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Measures commands per second sent by ssh client to embedded ssh server. Compares connecting and authenticating
+ * for each command with pooled sessions multiplexing command channels, sequentially and with concurrent senders.
+ *
+ * @author Christoph Deppisch
+ */
+@Test(groups = "benchmark")
+public class SshClientThroughputTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SshClientThroughputTest.class);
+
+    private static final int COMMANDS = 500;
+    private static final int SENDERS = 4;
+
+    private SshServer server;
+    private int port;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        server = new SshServer();
+        server.setPort(port);
+        server.setUser("citrus");
+        server.setPassword("admin");
+        // RSA host key avoids sporadic DSA signature verification failures in JSch handshakes
+        server.setHostKeyPath(new ClassPathResource("com/consol/citrus/ssh/host_rsa.pem").getFile().getAbsolutePath());
+        server.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message request) {
+                return new DefaultMessage(new SshResponse("done", "", 0));
+            }
+        });
+        server.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testCommandThroughput() throws Exception {
+        // warm up
+        sendCommands(createClient(false), COMMANDS / 10, 1);
+        sendCommands(createClient(true), COMMANDS / 10, 1);
+
+        long connectPerCommand = sendCommands(createClient(false), COMMANDS, 1);
+        long pooled = sendCommands(createClient(true), COMMANDS, 1);
+        long pooledConcurrent = sendCommands(createClient(true), COMMANDS, SENDERS);
+
+        log.info(String.format("Sent %d ssh commands - connect per command: %d cmd/s, pooled session: %d cmd/s, pooled session with %d concurrent senders: %d cmd/s",
+                COMMANDS, commandsPerSecond(connectPerCommand), commandsPerSecond(pooled), SENDERS, commandsPerSecond(pooledConcurrent)));
+    }
+
+    /**
+     * Sends commands with given number of concurrent senders and verifies each response.
+     * @param client
+     * @param commands
+     * @param senders
+     * @return nanoseconds needed to send all commands.
+     * @throws Exception
+     */
+    private long sendCommands(final SshClient client, final int commands, final int senders) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(senders);
+        try {
+            long start = System.nanoTime();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int s = 0; s < senders; s++) {
+                final int offset = s;
+                futures.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        // each sender correlates replies in its own context
+                        TestContext context = new TestContext();
+                        for (int i = offset; i < commands; i += senders) {
+                            client.send(new DefaultMessage(new SshRequest("cat -", "Hello " + i)), context);
+                            Message response = client.receive(context, 5000L);
+                            Assert.assertTrue(response.getPayload(String.class).contains("<stdout>done</stdout>"));
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(5L, TimeUnit.MINUTES);
+            }
+
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+            client.destroy();
+        }
+    }
+
+    private SshClient createClient(boolean sessionPooling) {
+        SshEndpointConfiguration endpointConfiguration = new SshEndpointConfiguration();
+        endpointConfiguration.setPort(port);
+        endpointConfiguration.setUser("citrus");
+        endpointConfiguration.setPassword("admin");
+        endpointConfiguration.setCommandTimeout(10000L);
+        endpointConfiguration.setSessionPooling(sessionPooling);
+
+        return new SshClient(endpointConfiguration);
+    }
+
+    private long commandsPerSecond(long nanos) {
+        return COMMANDS * TimeUnit.SECONDS.toNanos(1) / Math.max(nanos, 1L);
+    }
+}
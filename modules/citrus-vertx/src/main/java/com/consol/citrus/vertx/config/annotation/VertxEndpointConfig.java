@@ -17,6 +17,7 @@
 package com.consol.citrus.vertx.config.annotation;
 
 import com.consol.citrus.annotations.CitrusEndpointConfig;
+import com.consol.citrus.vertx.endpoint.VertxSubscription;
 
 import java.lang.annotation.*;
 
@@ -59,6 +60,24 @@ public @interface VertxEndpointConfig {
      */
     boolean pubSubDomain() default false;
 
+    /**
+     * Persistent subscription.
+     * @return
+     */
+    boolean persistentSubscription() default false;
+
+    /**
+     * Subscription buffer size.
+     * @return
+     */
+    int subscriptionBufferSize() default 10000;
+
+    /**
+     * Subscription overflow policy.
+     * @return
+     */
+    VertxSubscription.OverflowPolicy subscriptionOverflowPolicy() default VertxSubscription.OverflowPolicy.PAUSE;
+
     /**
      * Message converter.
      * @return
@@ -57,6 +57,10 @@ public class VertxEndpointConfigParser extends AbstractAnnotationConfigParser<Ve
 
         builder.pubSubDomain(annotation.pubSubDomain());
 
+        builder.persistentSubscription(annotation.persistentSubscription());
+        builder.subscriptionBufferSize(annotation.subscriptionBufferSize());
+        builder.subscriptionOverflowPolicy(annotation.subscriptionOverflowPolicy());
+
         if (StringUtils.hasText(annotation.messageConverter())) {
             builder.messageConverter(getReferenceResolver().resolve(annotation.messageConverter(), VertxMessageConverter.class));
         }
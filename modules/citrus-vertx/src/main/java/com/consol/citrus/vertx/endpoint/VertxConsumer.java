@@ -18,6 +18,7 @@ package com.consol.citrus.vertx.endpoint;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.AbstractMessageConsumer;
 import io.vertx.core.eventbus.MessageConsumer;
@@ -38,6 +39,9 @@ public class VertxConsumer extends AbstractMessageConsumer {
     /** Endpoint configuration */
     private final VertxEndpointConfiguration endpointConfiguration;
 
+    /** Persistent event bus subscription */
+    private VertxSubscription subscription;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(VertxConsumer.class);
 
@@ -45,7 +49,8 @@ public class VertxConsumer extends AbstractMessageConsumer {
     private static final Logger RETRY_LOG = LoggerFactory.getLogger("com.consol.citrus.RetryLogger");
 
     /**
-     * Default constructor using endpoint.
+     * Default constructor using endpoint. Registers persistent event bus subscription right away when enabled
+     * so messages published before the first receive are buffered.
      * @param name
      * @param vertx
      * @param endpointConfiguration
@@ -54,6 +59,10 @@ public class VertxConsumer extends AbstractMessageConsumer {
         super(name, endpointConfiguration);
         this.vertx = vertx;
         this.endpointConfiguration = endpointConfiguration;
+
+        if (endpointConfiguration.isPersistentSubscription()) {
+            subscribe();
+        }
     }
 
     @Override
@@ -62,6 +71,47 @@ public class VertxConsumer extends AbstractMessageConsumer {
             log.debug("Receiving message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
         }
 
+        Message message;
+        if (endpointConfiguration.isPersistentSubscription()) {
+            message = receiveFromSubscription(context, timeout);
+        } else {
+            message = receiveSingleMessage(context, timeout);
+        }
+
+        if (message == null) {
+            throw new ActionTimeoutException("Action timed out while receiving message on Vert.x event bus address '" + endpointConfiguration.getAddress() + "'");
+        }
+
+        log.info("Received message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
+
+        context.onInboundMessage(message);
+
+        return message;
+    }
+
+    /**
+     * Receives next message buffered by persistent event bus subscription. Subscription is registered when consumer is created
+     * and stays registered until consumer is unsubscribed.
+     * @param context
+     * @param timeout
+     * @return the message or null when timeout is reached.
+     */
+    private Message receiveFromSubscription(TestContext context, long timeout) {
+        try {
+            return endpointConfiguration.getMessageConverter().convertInbound(subscribe().receive(timeout), endpointConfiguration, context);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Thread interrupted while waiting for message on Vert.x event bus", e);
+        }
+    }
+
+    /**
+     * Registers consumer on event bus for a single message and polls for the message until timeout is reached.
+     * @param context
+     * @param timeout
+     * @return the message or null when timeout is reached.
+     */
+    private Message receiveSingleMessage(TestContext context, long timeout) {
         VertxSingleMessageHandler vertxMessageHandler = new VertxSingleMessageHandler();
         MessageConsumer<Object> vertxConsumer = vertx.eventBus().consumer(endpointConfiguration.getAddress(), vertxMessageHandler);
 
@@ -87,20 +137,35 @@ public class VertxConsumer extends AbstractMessageConsumer {
                 message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessageHandler.getMessage(), endpointConfiguration, context);
             }
 
-            if (message == null) {
-                throw new ActionTimeoutException("Action timed out while receiving message on Vert.x event bus address '" + endpointConfiguration.getAddress() + "'");
-            }
-
-            log.info("Received message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
-
-            context.onInboundMessage(message);
-
             return message;
         } finally {
             vertxConsumer.unregister();
         }
     }
 
+    /**
+     * Gets or registers persistent event bus subscription.
+     * @return
+     */
+    private synchronized VertxSubscription subscribe() {
+        if (subscription == null) {
+            subscription = new VertxSubscription(vertx, endpointConfiguration.getAddress(),
+                    endpointConfiguration.getSubscriptionBufferSize(), endpointConfiguration.getSubscriptionOverflowPolicy());
+        }
+
+        return subscription;
+    }
+
+    /**
+     * Unregisters persistent event bus subscription if any.
+     */
+    public synchronized void unsubscribe() {
+        if (subscription != null) {
+            subscription.unsubscribe();
+            subscription = null;
+        }
+    }
+
     /**
      * Simple Vert.x message handler stores first message received on event bus and ignores all further messages
      * until subscription is unregistered automatically.
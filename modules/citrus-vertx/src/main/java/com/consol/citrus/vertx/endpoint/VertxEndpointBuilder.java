@@ -94,6 +94,36 @@ public class VertxEndpointBuilder extends AbstractEndpointBuilder<VertxEndpoint>
         return this;
     }
 
+    /**
+     * Sets the persistentSubscription property.
+     * @param persistentSubscription
+     * @return
+     */
+    public VertxEndpointBuilder persistentSubscription(boolean persistentSubscription) {
+        endpoint.getEndpointConfiguration().setPersistentSubscription(persistentSubscription);
+        return this;
+    }
+
+    /**
+     * Sets the subscription buffer size.
+     * @param subscriptionBufferSize
+     * @return
+     */
+    public VertxEndpointBuilder subscriptionBufferSize(int subscriptionBufferSize) {
+        endpoint.getEndpointConfiguration().setSubscriptionBufferSize(subscriptionBufferSize);
+        return this;
+    }
+
+    /**
+     * Sets the subscription overflow policy.
+     * @param subscriptionOverflowPolicy
+     * @return
+     */
+    public VertxEndpointBuilder subscriptionOverflowPolicy(VertxSubscription.OverflowPolicy subscriptionOverflowPolicy) {
+        endpoint.getEndpointConfiguration().setSubscriptionOverflowPolicy(subscriptionOverflowPolicy);
+        return this;
+    }
+
     /**
      * Sets the polling interval.
      * @param pollingInterval
@@ -19,6 +19,7 @@ package com.consol.citrus.vertx.endpoint;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.endpoint.AbstractEndpointComponent;
 import com.consol.citrus.endpoint.Endpoint;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.vertx.factory.VertxInstanceFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,6 +78,15 @@ public class VertxEndpointComponent extends AbstractEndpointComponent {
 
         enrichEndpointConfiguration(endpoint.getEndpointConfiguration(), parameters, context);
 
+        // endpoint is not initialized as Spring bean so register persistent subscription here
+        if (endpoint.getVertxInstanceFactory() != null) {
+            try {
+                endpoint.afterPropertiesSet();
+            } catch (Exception e) {
+                throw new CitrusRuntimeException("Failed to initialize Vert.x endpoint", e);
+            }
+        }
+
         return endpoint;
     }
 }
@@ -37,6 +37,15 @@ public class VertxEndpointConfiguration extends AbstractPollableEndpointConfigur
     /** Should use publish subscribe */
     private boolean pubSubDomain = false;
 
+    /** Should keep event bus subscription registered between receive operations */
+    private boolean persistentSubscription = false;
+
+    /** Max number of messages buffered by persistent subscription */
+    private int subscriptionBufferSize = 10000;
+
+    /** Policy applied when persistent subscription buffer is full */
+    private VertxSubscription.OverflowPolicy subscriptionOverflowPolicy = VertxSubscription.OverflowPolicy.PAUSE;
+
     /** Message converter */
     private VertxMessageConverter messageConverter = new VertxMessageConverter();
 
@@ -119,4 +128,52 @@ public class VertxEndpointConfiguration extends AbstractPollableEndpointConfigur
     public void setMessageConverter(VertxMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Should keep event bus subscription registered between receive operations.
+     * @return
+     */
+    public boolean isPersistentSubscription() {
+        return persistentSubscription;
+    }
+
+    /**
+     * Sets if event bus subscription should stay registered between receive operations.
+     * @param persistentSubscription
+     */
+    public void setPersistentSubscription(boolean persistentSubscription) {
+        this.persistentSubscription = persistentSubscription;
+    }
+
+    /**
+     * Gets the max number of messages buffered by persistent subscription.
+     * @return
+     */
+    public int getSubscriptionBufferSize() {
+        return subscriptionBufferSize;
+    }
+
+    /**
+     * Sets the max number of messages buffered by persistent subscription.
+     * @param subscriptionBufferSize
+     */
+    public void setSubscriptionBufferSize(int subscriptionBufferSize) {
+        this.subscriptionBufferSize = subscriptionBufferSize;
+    }
+
+    /**
+     * Gets the policy applied when persistent subscription buffer is full.
+     * @return
+     */
+    public VertxSubscription.OverflowPolicy getSubscriptionOverflowPolicy() {
+        return subscriptionOverflowPolicy;
+    }
+
+    /**
+     * Sets the policy applied when persistent subscription buffer is full.
+     * @param subscriptionOverflowPolicy
+     */
+    public void setSubscriptionOverflowPolicy(VertxSubscription.OverflowPolicy subscriptionOverflowPolicy) {
+        this.subscriptionOverflowPolicy = subscriptionOverflowPolicy;
+    }
 }
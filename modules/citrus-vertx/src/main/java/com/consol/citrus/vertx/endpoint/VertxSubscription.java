@@ -0,0 +1,167 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.vertx.endpoint;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Event bus subscription that stays registered between receive operations. Messages are buffered in a bounded queue
+ * so messages published between receive operations or in bursts are not lost. Overflow policy decides what happens
+ * when the buffer is full.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7
+ */
+public class VertxSubscription implements Handler<Message<Object>> {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(VertxSubscription.class);
+
+    /**
+     * Policy applied to inbound messages when subscription buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Pause event bus consumer until buffered messages are received, Vert.x keeps pending messages meanwhile */
+        PAUSE,
+        /** Drop oldest buffered message */
+        DROP_OLDEST,
+        /** Drop inbound message */
+        DROP_NEWEST
+    }
+
+    /** Event bus address */
+    private final String address;
+
+    /** Buffered messages */
+    private final BlockingQueue<Message<Object>> buffer;
+
+    /** Overflow policy */
+    private final OverflowPolicy overflowPolicy;
+
+    /** Event bus consumer */
+    private final MessageConsumer<Object> consumer;
+
+    /** Consumer paused because of full buffer */
+    private final AtomicBoolean paused = new AtomicBoolean(false);
+
+    /**
+     * Default constructor registers consumer on event bus address.
+     * @param vertx
+     * @param address
+     * @param bufferSize
+     * @param overflowPolicy
+     */
+    public VertxSubscription(Vertx vertx, String address, int bufferSize, OverflowPolicy overflowPolicy) {
+        this.address = address;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+
+        this.consumer = vertx.eventBus().consumer(address);
+        if (overflowPolicy == OverflowPolicy.PAUSE) {
+            consumer.setMaxBufferedMessages(bufferSize);
+        }
+        consumer.handler(this);
+    }
+
+    @Override
+    public void handle(Message<Object> message) {
+        if (buffer.offer(message)) {
+            if (overflowPolicy == OverflowPolicy.PAUSE && buffer.remainingCapacity() == 0 && paused.compareAndSet(false, true)) {
+                consumer.pause();
+
+                // receiver might have drained buffer in the meantime
+                if (buffer.remainingCapacity() > 0) {
+                    resume();
+                }
+            }
+
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            Message<Object> dropped = buffer.poll();
+            if (dropped != null) {
+                warnDropped(dropped);
+            }
+
+            if (buffer.offer(message)) {
+                return;
+            }
+        }
+
+        warnDropped(message);
+    }
+
+    /**
+     * Receives next buffered message. Blocks until message is available or timeout is reached.
+     * @param timeout
+     * @return the message or null when timeout is reached.
+     * @throws InterruptedException
+     */
+    public Message<Object> receive(long timeout) throws InterruptedException {
+        Message<Object> message = buffer.poll(timeout, TimeUnit.MILLISECONDS);
+
+        if (message != null) {
+            resume();
+        }
+
+        return message;
+    }
+
+    /**
+     * Resumes paused event bus consumer.
+     */
+    private void resume() {
+        if (paused.compareAndSet(true, false)) {
+            consumer.resume();
+        }
+    }
+
+    /**
+     * Unregisters consumer from event bus. Buffered messages are discarded.
+     */
+    public void unsubscribe() {
+        consumer.unregister();
+        buffer.clear();
+    }
+
+    private void warnDropped(Message<Object> message) {
+        log.warn("Vert.x subscription buffer full - dropped message on event bus address '" + address + "'");
+
+        if (log.isDebugEnabled()) {
+            log.debug("Vert.x message dropped is " + message);
+        }
+    }
+
+    /**
+     * Gets the number of buffered messages.
+     * @return
+     */
+    public int getBufferedMessages() {
+        return buffer.size();
+    }
+}
@@ -64,6 +64,22 @@ public class VertxSyncEndpoint extends VertxEndpoint {
         return vertxSyncMessageConsumer;
     }
 
+    /**
+     * Sync endpoint acts as either producer or consumer depending on first usage, so consumer and its persistent
+     * subscription are not created on initialization but when consumer is created.
+     * @throws Exception
+     */
+    @Override
+    public void afterPropertiesSet() throws Exception {
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (vertxSyncMessageConsumer != null) {
+            vertxSyncMessageConsumer.unsubscribe();
+        }
+    }
+
     @Override
     public Producer createProducer() {
         if (vertxSyncMessageConsumer != null) {
@@ -22,8 +22,11 @@ import com.consol.citrus.annotations.CitrusEndpoint;
 import com.consol.citrus.context.SpringBeanReferenceResolver;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.vertx.endpoint.VertxEndpoint;
+import com.consol.citrus.vertx.endpoint.VertxEndpointConfiguration;
+import com.consol.citrus.vertx.endpoint.VertxSubscription;
 import com.consol.citrus.vertx.factory.VertxInstanceFactory;
 import com.consol.citrus.vertx.message.VertxMessageConverter;
+import io.vertx.core.Vertx;
 import org.mockito.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -31,6 +34,7 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.when;
 
 /**
@@ -53,7 +57,10 @@ public class VertxEndpointConfigParserTest extends AbstractTestNGUnitTest {
 
     @CitrusEndpoint
     @VertxEndpointConfig(address="news-feed3",
-            pubSubDomain=true)
+            pubSubDomain=true,
+            persistentSubscription=true,
+            subscriptionBufferSize=100,
+            subscriptionOverflowPolicy=VertxSubscription.OverflowPolicy.DROP_OLDEST)
     private VertxEndpoint vertxEndpoint3;
 
     @CitrusEndpoint
@@ -82,6 +89,8 @@ public class VertxEndpointConfigParserTest extends AbstractTestNGUnitTest {
         referenceResolver.setApplicationContext(applicationContext);
 
         when(applicationContext.getBean("vertxInstanceFactory", VertxInstanceFactory.class)).thenReturn(vertxInstanceFactory);
+        // endpoint with persistent subscription registers event bus consumer when built
+        when(vertxInstanceFactory.newInstance(any(VertxEndpointConfiguration.class))).thenReturn(Mockito.mock(Vertx.class, Mockito.RETURNS_DEEP_STUBS));
         when(applicationContext.getBean("specialVertxInstanceFactory", VertxInstanceFactory.class)).thenReturn(specialVertxInstanceFactory);
         when(applicationContext.getBean("messageConverter", VertxMessageConverter.class)).thenReturn(messageConverter);
         when(applicationContext.getBean("testActor", TestActor.class)).thenReturn(testActor);
@@ -109,6 +118,9 @@ public class VertxEndpointConfigParserTest extends AbstractTestNGUnitTest {
         // 3rd message receiver
         Assert.assertEquals(vertxEndpoint3.getEndpointConfiguration().getAddress(), "news-feed3");
         Assert.assertEquals(vertxEndpoint3.getEndpointConfiguration().isPubSubDomain(), true);
+        Assert.assertEquals(vertxEndpoint3.getEndpointConfiguration().isPersistentSubscription(), true);
+        Assert.assertEquals(vertxEndpoint3.getEndpointConfiguration().getSubscriptionBufferSize(), 100);
+        Assert.assertEquals(vertxEndpoint3.getEndpointConfiguration().getSubscriptionOverflowPolicy(), VertxSubscription.OverflowPolicy.DROP_OLDEST);
 
         // 4th message receiver
         Assert.assertNotNull(vertxEndpoint4.getActor());
@@ -19,6 +19,7 @@ package com.consol.citrus.vertx.config.xml;
 import com.consol.citrus.TestActor;
 import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
 import com.consol.citrus.vertx.endpoint.VertxEndpoint;
+import com.consol.citrus.vertx.endpoint.VertxSubscription;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -56,6 +57,9 @@ public class VertxEndpointParserTest extends AbstractBeanDefinitionParserTest {
         vertxEndpoint = endpoints.get("vertxEndpoint3");
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getAddress(), "news-feed3");
         Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().isPubSubDomain(), true);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().isPersistentSubscription(), true);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getSubscriptionBufferSize(), 100);
+        Assert.assertEquals(vertxEndpoint.getEndpointConfiguration().getSubscriptionOverflowPolicy(), VertxSubscription.OverflowPolicy.DROP_OLDEST);
 
         // 4th message receiver
         vertxEndpoint = endpoints.get("vertxEndpoint4");
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.vertx.endpoint;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.Consumer;
+import com.consol.citrus.report.MessageListener;
+import com.consol.citrus.report.MessageListeners;
+import com.consol.citrus.vertx.factory.SingleVertxInstanceFactory;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.*;
+
+/**
+ * Measures messages per second received by consumer with persistent subscription on local Vert.x event bus. Messages
+ * are published concurrently at a fixed rate in bursts or all at once before receiving.
+ *
+ * @author Christoph Deppisch
+ */
+@Test(groups = "benchmark")
+public class VertxConsumerThroughputTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(VertxConsumerThroughputTest.class);
+
+    private static final int MESSAGES = 500000;
+    private static final int BURST_SIZE = 1000;
+    private static final int PUBLISH_RATE = 100000;
+
+    private Vertx vertx;
+
+    @BeforeClass
+    public void setupVertx() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void shutdownVertx() {
+        if (vertx != null) {
+            vertx.close();
+        }
+    }
+
+    @Test
+    public void testPersistentSubscriptionThroughput() throws Exception {
+        VertxEndpoint fixedRate = createEndpoint("fixed-rate", new VertxEndpointConfiguration().getSubscriptionBufferSize());
+        VertxEndpoint buffered = createEndpoint("buffered", MESSAGES);
+
+        try {
+            // buffered run also warms up before publishing at fixed rate
+            long bufferedNanos = receiveMessages(buffered, -1);
+            long fixedRateNanos = receiveMessages(fixedRate, PUBLISH_RATE);
+
+            log.info(String.format("Received %d messages with persistent subscription - published at %d msg/s: %d msg/s, all buffered before receive: %d msg/s",
+                    MESSAGES, PUBLISH_RATE, messagesPerSecond(fixedRateNanos), messagesPerSecond(bufferedNanos)));
+        } finally {
+            fixedRate.destroy();
+            buffered.destroy();
+        }
+    }
+
+    /**
+     * Publishes messages with given rate per second and receives all messages in order. Negative rate publishes all
+     * messages before receiving.
+     * @param endpoint
+     * @param rate
+     * @return nanoseconds needed to receive all messages.
+     * @throws Exception
+     */
+    private long receiveMessages(VertxEndpoint endpoint, final int rate) throws Exception {
+        final String address = endpoint.getEndpointConfiguration().getAddress();
+        Consumer consumer = endpoint.createConsumer();
+        TestContext context = new TestContext();
+
+        // message listener replaces debug logging of each message
+        MessageListeners messageListeners = new MessageListeners();
+        messageListeners.addMessageListener(new MessageListener() {
+            @Override
+            public void onInboundMessage(Message message, TestContext context) {
+            }
+
+            @Override
+            public void onOutboundMessage(Message message, TestContext context) {
+            }
+        });
+        context.setMessageListeners(messageListeners);
+
+        // registers subscription
+        try {
+            consumer.receive(context, 100L);
+        } catch (RuntimeException e) {
+            // no message expected
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> publisher = executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    long start = System.nanoTime();
+                    for (int i = 0; i < MESSAGES; i++) {
+                        vertx.eventBus().send(address, "Message " + i);
+
+                        if (rate > 0 && i % BURST_SIZE == BURST_SIZE - 1) {
+                            long wait = TimeUnit.SECONDS.toNanos(i + 1) / rate - (System.nanoTime() - start);
+                            if (wait > 0) {
+                                TimeUnit.NANOSECONDS.sleep(wait);
+                            }
+                        }
+                    }
+                    return null;
+                }
+            });
+
+            if (rate < 0) {
+                publisher.get(60L, TimeUnit.SECONDS);
+                Thread.sleep(1000L);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES; i++) {
+                Assert.assertEquals(consumer.receive(context, 5000L).getPayload(), "Message " + i);
+            }
+            long nanos = System.nanoTime() - start;
+
+            publisher.get(60L, TimeUnit.SECONDS);
+            return nanos;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private VertxEndpoint createEndpoint(String address, int bufferSize) {
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(address);
+        endpointConfiguration.setPersistentSubscription(true);
+        endpointConfiguration.setSubscriptionBufferSize(bufferSize);
+
+        SingleVertxInstanceFactory instanceFactory = new SingleVertxInstanceFactory();
+        instanceFactory.setVertx(vertx);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+        return vertxEndpoint;
+    }
+
+    private long messagesPerSecond(long nanos) {
+        return MESSAGES * TimeUnit.SECONDS.toNanos(1) / Math.max(nanos, 1L);
+    }
+}
@@ -20,6 +20,10 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.endpoint.Endpoint;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.vertx.factory.VertxInstanceFactory;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageConsumer;
 import org.mockito.Mockito;
 import org.springframework.context.ApplicationContext;
 import org.testng.Assert;
@@ -107,6 +111,34 @@ public class VertxEndpointComponentTest {
 
     }
 
+    @Test
+    public void testCreateEndpointPersistentSubscription() throws Exception {
+        VertxEndpointComponent component = new VertxEndpointComponent();
+
+        Vertx vertx = Mockito.mock(Vertx.class);
+        EventBus eventBus = Mockito.mock(EventBus.class);
+        MessageConsumer messageConsumer = Mockito.mock(MessageConsumer.class);
+
+        reset(applicationContext, instanceFactory);
+        when(applicationContext.containsBean("vertxInstanceFactory")).thenReturn(true);
+        when(applicationContext.getBean("vertxInstanceFactory", VertxInstanceFactory.class)).thenReturn(instanceFactory);
+        when(instanceFactory.newInstance(any(VertxEndpointConfiguration.class))).thenReturn(vertx);
+        when(vertx.eventBus()).thenReturn(eventBus);
+        when(eventBus.consumer("news")).thenReturn(messageConsumer);
+
+        Endpoint endpoint = component.createEndpoint("vertx:news?persistentSubscription=true", context);
+
+        Assert.assertEquals(endpoint.getClass(), VertxEndpoint.class);
+        Assert.assertTrue(((VertxEndpoint) endpoint).getEndpointConfiguration().isPersistentSubscription());
+
+        verify(eventBus).consumer("news");
+        verify(messageConsumer).handler(any(Handler.class));
+
+        reset(instanceFactory);
+        component.createEndpoint("vertx:news", context);
+        verify(instanceFactory, never()).newInstance(any(VertxEndpointConfiguration.class));
+    }
+
     @Test
     public void testInvalidEndpointUri() throws Exception {
         VertxEndpointComponent component = new VertxEndpointComponent();
@@ -16,12 +16,14 @@
 
 package com.consol.citrus.vertx.endpoint;
 
+import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.vertx.factory.SingleVertxInstanceFactory;
 import com.consol.citrus.vertx.message.CitrusVertxMessageHeaders;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -129,6 +131,131 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
         verify(messageConsumer).unregister();
     }
 
+    @Test
+    public void testVertxEndpointConsumerPersistentSubscription() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+        endpointConfiguration.setPersistentSubscription(true);
+        endpointConfiguration.setSubscriptionBufferSize(2);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        io.vertx.core.eventbus.Message messageMock2 = Mockito.mock(io.vertx.core.eventbus.Message.class);
+        io.vertx.core.eventbus.Message messageMock3 = Mockito.mock(io.vertx.core.eventbus.Message.class);
+
+        reset(vertx, eventBus, messageConsumer, messageMock);
+
+        when(messageMock.body()).thenReturn("Hello from Vertx!");
+        when(messageMock.address()).thenReturn(eventBusAddress);
+        when(messageMock2.body()).thenReturn("Hello again from Vertx!");
+        when(messageMock2.address()).thenReturn(eventBusAddress);
+        when(messageMock3.body()).thenReturn("Bye from Vertx!");
+        when(messageMock3.address()).thenReturn(eventBusAddress);
+
+        when(vertx.eventBus()).thenReturn(eventBus);
+        when(eventBus.consumer(eventBusAddress)).thenReturn(messageConsumer);
+        doAnswer(new Answer<MessageConsumer>() {
+            @Override
+            public MessageConsumer answer(InvocationOnMock invocation) throws Throwable {
+                Handler handler = (Handler) invocation.getArguments()[0];
+                handler.handle(messageMock);
+                handler.handle(messageMock2);
+
+                return messageConsumer;
+            }
+        }).when(messageConsumer).handler(any(Handler.class));
+
+        Message receivedMessage = vertxEndpoint.createConsumer().receive(context, endpointConfiguration.getTimeout());
+        Assert.assertEquals(receivedMessage.getPayload(), "Hello from Vertx!");
+
+        verify(messageConsumer).setMaxBufferedMessages(2);
+        verify(messageConsumer).pause();
+        verify(messageConsumer).resume();
+
+        receivedMessage = vertxEndpoint.createConsumer().receive(context, endpointConfiguration.getTimeout());
+        Assert.assertEquals(receivedMessage.getPayload(), "Hello again from Vertx!");
+
+        try {
+            vertxEndpoint.createConsumer().receive(context, 100L);
+            Assert.fail("Missing timeout exception on Vert.x endpoint");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains(eventBusAddress));
+        }
+
+        verify(eventBus, times(1)).consumer(eventBusAddress);
+        verify(messageConsumer, never()).unregister();
+
+        vertxEndpoint.destroy();
+        verify(messageConsumer).unregister();
+    }
+
+    @Test
+    public void testVertxEndpointPersistentSubscriptionOnInit() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+        endpointConfiguration.setPersistentSubscription(true);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        reset(vertx, eventBus, messageConsumer, messageMock);
+
+        when(messageMock.body()).thenReturn("Hello from Vertx!");
+        when(messageMock.address()).thenReturn(eventBusAddress);
+
+        when(vertx.eventBus()).thenReturn(eventBus);
+        when(eventBus.consumer(eventBusAddress)).thenReturn(messageConsumer);
+
+        vertxEndpoint.afterPropertiesSet();
+
+        ArgumentCaptor<Handler> handler = ArgumentCaptor.forClass(Handler.class);
+        verify(eventBus).consumer(eventBusAddress);
+        verify(messageConsumer).handler(handler.capture());
+
+        // message published before first receive
+        handler.getValue().handle(messageMock);
+
+        Message receivedMessage = vertxEndpoint.createConsumer().receive(context, endpointConfiguration.getTimeout());
+        Assert.assertEquals(receivedMessage.getPayload(), "Hello from Vertx!");
+        verify(eventBus, times(1)).consumer(eventBusAddress);
+
+        vertxEndpoint.destroy();
+        verify(messageConsumer).unregister();
+    }
+
+    @Test
+    public void testVertxSubscriptionOverflowPolicy() throws Exception {
+        io.vertx.core.eventbus.Message messageMock2 = Mockito.mock(io.vertx.core.eventbus.Message.class);
+        io.vertx.core.eventbus.Message messageMock3 = Mockito.mock(io.vertx.core.eventbus.Message.class);
+
+        reset(vertx, eventBus, messageConsumer);
+        when(vertx.eventBus()).thenReturn(eventBus);
+        when(eventBus.consumer("news-feed")).thenReturn(messageConsumer);
+
+        VertxSubscription subscription = new VertxSubscription(vertx, "news-feed", 2, VertxSubscription.OverflowPolicy.DROP_OLDEST);
+        subscription.handle(messageMock);
+        subscription.handle(messageMock2);
+        subscription.handle(messageMock3);
+
+        Assert.assertEquals(subscription.getBufferedMessages(), 2L);
+        Assert.assertSame(subscription.receive(0L), messageMock2);
+        Assert.assertSame(subscription.receive(0L), messageMock3);
+
+        subscription = new VertxSubscription(vertx, "news-feed", 2, VertxSubscription.OverflowPolicy.DROP_NEWEST);
+        subscription.handle(messageMock);
+        subscription.handle(messageMock2);
+        subscription.handle(messageMock3);
+
+        Assert.assertSame(subscription.receive(0L), messageMock);
+        Assert.assertSame(subscription.receive(0L), messageMock2);
+        Assert.assertNull(subscription.receive(0L));
+
+        verify(messageConsumer, never()).pause();
+    }
+
     @Test
     public void testVertxEndpointWithOutboundMessageListeners() {
         String eventBusAddress = "news-feed";
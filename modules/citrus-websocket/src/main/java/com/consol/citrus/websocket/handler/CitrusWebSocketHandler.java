@@ -20,15 +20,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.Queue;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.*;
 
 /**
- * Web Socket Handler for handling incoming and sending outgoing Web Socket messages
+ * Web Socket Handler for handling incoming and sending outgoing Web Socket messages. Inbound messages are queued in order
+ * of arrival and per session so consumers can receive messages from any session or from a selected session. Sessions are
+ * decorated for concurrent sending. Outbound messages are sent on a send executor, a broadcast sends to all sessions at the
+ * same time so a slow session does not delay the other sessions. Messages to a session that is busy with another send
+ * are buffered. Sessions exceeding the send time or buffer limit are closed and skipped.
  *
  * @author Martin Maher
  * @since 2.3
@@ -37,34 +43,55 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
     /** Logger */
     private static final Logger LOG = LoggerFactory.getLogger(CitrusWebSocketHandler.class);
 
-    /** Inbound message cache */
-    private final Queue<WebSocketMessage<?>> inboundMessages = new LinkedList<>();
+    /** Inbound messages in order of arrival - guarded by inbound lock */
+    private final Queue<SessionMessage> inboundMessages = new ArrayDeque<>();
+
+    /** Inbound messages per session in order of arrival - guarded by inbound lock */
+    private final Map<String, Queue<SessionMessage>> sessionMessages = new HashMap<>();
+
+    /** Lock guarding inbound messages */
+    private final Lock inboundLock = new ReentrantLock();
+
+    /** Signals new inbound message */
+    private final Condition messageAdded = inboundLock.newCondition();
 
     /** Web socket sessions */
-    private final Map<String, WebSocketSession> sessions = new HashMap<>();
+    private final ConcurrentMap<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    /** Shared default executor sending outbound messages */
+    private static ExecutorService defaultSendExecutor;
+
+    /** Optional custom executor sending outbound messages */
+    private ExecutorService sendExecutor;
+
+    /** Max time in milliseconds a single send may take before session is closed */
+    private int sendTimeLimit = 10000;
+
+    /** Max number of bytes buffered for a session while another send is in progress */
+    private int sendBufferSizeLimit = 512 * 1024;
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         LOG.debug(String.format("WebSocket connection established (%s)", session.getId()));
-        sessions.put(session.getId(), session);
+        sessions.put(session.getId(), new ConcurrentWebSocketSessionDecorator(session, sendTimeLimit, sendBufferSizeLimit));
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received text message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session.getId(), message);
     }
 
     @Override
     protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received binary message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session.getId(), message);
     }
 
     @Override
     protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received pong message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session.getId(), message);
     }
 
     @Override
@@ -76,6 +103,38 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         LOG.debug(String.format("WebSocket session (%s) closed - status : %s", session.getId(), status));
         sessions.remove(session.getId());
+
+        inboundLock.lock();
+        try {
+            removeQueueIfDrained(session.getId());
+        } finally {
+            inboundLock.unlock();
+        }
+    }
+
+    /**
+     * Adds message to arrival queue and to session queue.
+     * @param sessionId
+     * @param message
+     */
+    private void addMessage(String sessionId, WebSocketMessage<?> message) {
+        SessionMessage sessionMessage = new SessionMessage(sessionId, message);
+
+        inboundLock.lock();
+        try {
+            inboundMessages.add(sessionMessage);
+
+            Queue<SessionMessage> queue = sessionMessages.get(sessionId);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                sessionMessages.put(sessionId, queue);
+            }
+            queue.add(sessionMessage);
+
+            messageAdded.signalAll();
+        } finally {
+            inboundLock.unlock();
+        }
     }
 
     /**
@@ -83,30 +142,298 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
      * @return
      */
     public WebSocketMessage<?> getMessage() {
-        return inboundMessages.poll();
+        try {
+            SessionMessage sessionMessage = receive(0L);
+            return sessionMessage != null ? sessionMessage.getMessage() : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Receives next message from any session in order of arrival. Blocks until message is available or timeout is reached.
+     * @param timeout
+     * @return the message or null when timeout is reached.
+     * @throws InterruptedException
+     */
+    public SessionMessage receive(long timeout) throws InterruptedException {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        inboundLock.lockInterruptibly();
+        try {
+            while (true) {
+                SessionMessage sessionMessage;
+                while ((sessionMessage = inboundMessages.poll()) != null) {
+                    if (!sessionMessage.received) {
+                        // oldest message of any session is also the oldest message of its session
+                        sessionMessages.get(sessionMessage.getSessionId()).poll();
+                        removeQueueIfDrained(sessionMessage.getSessionId());
+                        sessionMessage.received = true;
+                        return sessionMessage;
+                    }
+
+                    // message has already been received via session selection
+                }
+
+                if (nanos <= 0L) {
+                    return null;
+                }
+
+                nanos = messageAdded.awaitNanos(nanos);
+            }
+        } finally {
+            inboundLock.unlock();
+        }
+    }
+
+    /**
+     * Receives next message from given session. Blocks until message is available or timeout is reached.
+     * @param sessionId
+     * @param timeout
+     * @return the message or null when timeout is reached.
+     * @throws InterruptedException
+     */
+    public SessionMessage receive(String sessionId, long timeout) throws InterruptedException {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        inboundLock.lockInterruptibly();
+        try {
+            while (true) {
+                Queue<SessionMessage> queue = sessionMessages.get(sessionId);
+                SessionMessage sessionMessage = queue != null ? queue.poll() : null;
+                if (sessionMessage != null) {
+                    sessionMessage.received = true;
+                    removeQueueIfDrained(sessionId);
+
+                    // remaining entries in arrival queue are skipped on next receive from any session
+                    while (!inboundMessages.isEmpty() && inboundMessages.peek().received) {
+                        inboundMessages.poll();
+                    }
+
+                    return sessionMessage;
+                }
+
+                if (nanos <= 0L) {
+                    return null;
+                }
+
+                nanos = messageAdded.awaitNanos(nanos);
+            }
+        } finally {
+            inboundLock.unlock();
+        }
+    }
+
+    /**
+     * Removes empty inbound message queue of closed session. Receivers wait on the inbound lock condition and never
+     * hold a session queue so the queue can be removed safely. Must be called with inbound lock held.
+     * @param sessionId
+     */
+    private void removeQueueIfDrained(String sessionId) {
+        Queue<SessionMessage> queue = sessionMessages.get(sessionId);
+        if (queue != null && queue.isEmpty() && !sessions.containsKey(sessionId)) {
+            sessionMessages.remove(sessionId);
+        }
     }
 
     /**
-     * Publish message to all sessions known to this handler.
+     * Publish message to all sessions known to this handler. Message is sent to all sessions at the same time and
+     * method returns as soon as all sends have finished.
      * @param message
-     * @return
+     * @return true if message was sent to at least one session.
      */
     public boolean sendMessage(WebSocketMessage<?> message) {
-        boolean sentSuccessfully = false;
         if (sessions.isEmpty()) {
             LOG.warn("No Web Socket session exists - message cannot be sent");
+            return false;
         }
 
+        List<Future<Boolean>> sends = new ArrayList<>();
         for (WebSocketSession session : sessions.values()) {
-            if (session != null && session.isOpen()) {
-                try {
-                    session.sendMessage(message);
-                    sentSuccessfully = true;
-                } catch (IOException e) {
-                    LOG.error(String.format("(%s) error sending message", session.getId()), e);
-                }
-            }
+            sends.add(sendMessageAsync(session, message));
         }
+
+        boolean sentSuccessfully = false;
+        for (Future<Boolean> send : sends) {
+            sentSuccessfully |= awaitSend(send);
+        }
+
         return sentSuccessfully;
     }
+
+    /**
+     * Send message to given session and wait for the send to finish.
+     * @param sessionId
+     * @param message
+     * @return
+     */
+    public boolean sendMessage(String sessionId, WebSocketMessage<?> message) {
+        return awaitSend(sendMessageAsync(sessionId, message));
+    }
+
+    /**
+     * Send message to given session asynchronously. Returned future completes with true when message was sent.
+     * @param sessionId
+     * @param message
+     * @return
+     */
+    public Future<Boolean> sendMessageAsync(String sessionId, WebSocketMessage<?> message) {
+        WebSocketSession session = sessions.get(sessionId);
+        if (session == null) {
+            LOG.warn(String.format("No Web Socket session (%s) exists - message cannot be sent", sessionId));
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return sendMessageAsync(session, message);
+    }
+
+    private Future<Boolean> sendMessageAsync(final WebSocketSession session, final WebSocketMessage<?> message) {
+        return getSendExecutor().submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return sendMessage(session, message);
+            }
+        });
+    }
+
+    /**
+     * Waits for send to finish.
+     * @param send
+     * @return
+     */
+    private boolean awaitSend(Future<Boolean> send) {
+        try {
+            return send.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            LOG.error("Error sending message", e.getCause());
+            return false;
+        }
+    }
+
+    private boolean sendMessage(WebSocketSession session, WebSocketMessage<?> message) {
+        if (session.isOpen()) {
+            try {
+                session.sendMessage(message);
+                return true;
+            } catch (IOException e) {
+                LOG.error(String.format("(%s) error sending message", session.getId()), e);
+            } catch (SessionLimitExceededException e) {
+                LOG.error(String.format("(%s) exceeded send limits - session closed", session.getId()), e);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the send executor. Uses shared default executor when no custom executor is set.
+     * @return
+     */
+    public ExecutorService getSendExecutor() {
+        if (sendExecutor != null) {
+            return sendExecutor;
+        }
+
+        return getDefaultSendExecutor();
+    }
+
+    /**
+     * Sets custom executor service sending outbound messages.
+     * @param sendExecutor
+     */
+    public void setSendExecutor(ExecutorService sendExecutor) {
+        this.sendExecutor = sendExecutor;
+    }
+
+    /**
+     * Gets the shared default send executor. Executor is created on first usage and reuses idle threads or creates
+     * new threads as needed so sends to slow sessions never delay sends to other sessions.
+     * @return
+     */
+    private static synchronized ExecutorService getDefaultSendExecutor() {
+        if (defaultSendExecutor == null) {
+            defaultSendExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger threadCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "citrus-websocket-send-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return defaultSendExecutor;
+    }
+
+    /**
+     * Sets the max time in milliseconds a single send may take before session is closed. Applies to sessions
+     * established afterwards.
+     * @param sendTimeLimit
+     */
+    public void setSendTimeLimit(int sendTimeLimit) {
+        this.sendTimeLimit = sendTimeLimit;
+    }
+
+    /**
+     * Gets the send time limit.
+     * @return
+     */
+    public int getSendTimeLimit() {
+        return sendTimeLimit;
+    }
+
+    /**
+     * Sets the max number of bytes buffered for a session while another send is in progress. Applies to sessions
+     * established afterwards.
+     * @param sendBufferSizeLimit
+     */
+    public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+
+    /**
+     * Gets the send buffer size limit.
+     * @return
+     */
+    public int getSendBufferSizeLimit() {
+        return sendBufferSizeLimit;
+    }
+
+    /**
+     * Inbound message together with id of the session that received the message.
+     */
+    public static final class SessionMessage {
+        private final String sessionId;
+        private final WebSocketMessage<?> message;
+
+        /** Message has been received by a consumer - guarded by inbound lock */
+        private boolean received;
+
+        SessionMessage(String sessionId, WebSocketMessage<?> message) {
+            this.sessionId = sessionId;
+            this.message = message;
+        }
+
+        /**
+         * Gets the session id.
+         * @return
+         */
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        /**
+         * Gets the message.
+         * @return
+         */
+        public WebSocketMessage<?> getMessage() {
+            return message;
+        }
+    }
 }
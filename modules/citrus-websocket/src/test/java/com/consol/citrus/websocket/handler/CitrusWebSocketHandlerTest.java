@@ -0,0 +1,401 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.websocket.handler;
+
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.*;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class CitrusWebSocketHandlerTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(CitrusWebSocketHandlerTest.class);
+
+    @Test
+    public void testReceiveInOrderOfArrival() throws Exception {
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        WebSocketSession session1 = createSession("session-1");
+        WebSocketSession session2 = createSession("session-2");
+
+        handler.afterConnectionEstablished(session1);
+        handler.afterConnectionEstablished(session2);
+
+        handler.handleMessage(session1, new TextMessage("1"));
+        handler.handleMessage(session2, new TextMessage("2"));
+        handler.handleMessage(session1, new TextMessage("3"));
+
+        assertMessage(handler.receive(0L), "session-1", "1");
+        assertMessage(handler.receive(0L), "session-2", "2");
+        assertMessage(handler.receive(0L), "session-1", "3");
+        Assert.assertNull(handler.receive(100L));
+        Assert.assertNull(handler.getMessage());
+    }
+
+    @Test
+    public void testReceiveBySessionId() throws Exception {
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        WebSocketSession session1 = createSession("session-1");
+        WebSocketSession session2 = createSession("session-2");
+
+        handler.afterConnectionEstablished(session1);
+        handler.afterConnectionEstablished(session2);
+
+        handler.handleMessage(session1, new TextMessage("1"));
+        handler.handleMessage(session2, new TextMessage("2"));
+        handler.handleMessage(session1, new TextMessage("3"));
+
+        assertMessage(handler.receive("session-2", 0L), "session-2", "2");
+        Assert.assertNull(handler.receive("session-2", 100L));
+
+        assertMessage(handler.receive(0L), "session-1", "1");
+        assertMessage(handler.receive("session-1", 0L), "session-1", "3");
+        Assert.assertNull(handler.receive(0L));
+    }
+
+    @Test
+    public void testBlockingReceive() throws Exception {
+        final CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        final WebSocketSession session = createSession("session-1");
+        handler.afterConnectionEstablished(session);
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            executor.schedule(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    handler.handleMessage(session, new TextMessage("Hello"));
+                    return null;
+                }
+            }, 200L, TimeUnit.MILLISECONDS);
+
+            assertMessage(handler.receive("session-1", 5000L), "session-1", "Hello");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBlockingReceiveWhileSessionCloses() throws Exception {
+        final CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        final WebSocketSession session = createSession("session-1");
+        handler.afterConnectionEstablished(session);
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            executor.schedule(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+                    handler.handleMessage(session, new TextMessage("Late"));
+                    return null;
+                }
+            }, 200L, TimeUnit.MILLISECONDS);
+
+            assertMessage(handler.receive("session-1", 5000L), "session-1", "Late");
+            Assert.assertNull(handler.receive(0L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMixedReceiveKeepsOrder() throws Exception {
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        WebSocketSession session1 = createSession("session-1");
+        WebSocketSession session2 = createSession("session-2");
+
+        handler.afterConnectionEstablished(session1);
+        handler.afterConnectionEstablished(session2);
+
+        handler.handleMessage(session1, new TextMessage("1"));
+        handler.handleMessage(session2, new TextMessage("2"));
+        handler.handleMessage(session1, new TextMessage("3"));
+        handler.handleMessage(session2, new TextMessage("4"));
+
+        assertMessage(handler.receive("session-2", 0L), "session-2", "2");
+        assertMessage(handler.receive("session-1", 0L), "session-1", "1");
+        assertMessage(handler.receive(0L), "session-1", "3");
+
+        handler.handleMessage(session1, new TextMessage("5"));
+
+        assertMessage(handler.receive(0L), "session-2", "4");
+        assertMessage(handler.receive(0L), "session-1", "5");
+        Assert.assertNull(handler.receive("session-1", 0L));
+        Assert.assertNull(handler.receive(0L));
+    }
+
+    @Test
+    public void testReceiveAfterSessionClosed() throws Exception {
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        WebSocketSession session = createSession("session-1");
+
+        handler.afterConnectionEstablished(session);
+        handler.handleMessage(session, new TextMessage("Hello"));
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        assertMessage(handler.receive(0L), "session-1", "Hello");
+        Assert.assertFalse(handler.sendMessage("session-1", new TextMessage("Bye")));
+    }
+
+    @Test
+    public void testSendToSession() throws Exception {
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        WebSocketSession session1 = createSession("session-1");
+        WebSocketSession session2 = createSession("session-2");
+
+        handler.afterConnectionEstablished(session1);
+        handler.afterConnectionEstablished(session2);
+
+        TextMessage message = new TextMessage("Hello");
+        Assert.assertTrue(handler.sendMessage("session-2", message));
+        verify(session2).sendMessage(message);
+        verify(session1, never()).sendMessage(any(WebSocketMessage.class));
+
+        Assert.assertFalse(handler.sendMessage("unknown", message));
+
+        Assert.assertTrue(handler.sendMessage(message));
+        verify(session1).sendMessage(message);
+        verify(session2, times(2)).sendMessage(message);
+    }
+
+    @Test
+    public void testBroadcastSkipsSessionExceedingLimits() throws Exception {
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        WebSocketSession session1 = createSession("session-1");
+        WebSocketSession session2 = createSession("session-2");
+        WebSocketSession session3 = createSession("session-3");
+
+        TextMessage message = new TextMessage("Hello");
+        doThrow(new SessionLimitExceededException("Send time limit exceeded", CloseStatus.SESSION_NOT_RELIABLE))
+                .when(session2).sendMessage(message);
+
+        handler.afterConnectionEstablished(session1);
+        handler.afterConnectionEstablished(session2);
+        handler.afterConnectionEstablished(session3);
+
+        Assert.assertTrue(handler.sendMessage(message));
+        verify(session1).sendMessage(message);
+        verify(session2).sendMessage(message);
+        verify(session3).sendMessage(message);
+
+        Assert.assertFalse(handler.sendMessage("session-2", message));
+    }
+
+    @Test
+    public void testBroadcastSendsConcurrently() throws Exception {
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        TextMessage message = new TextMessage("Hello");
+
+        List<WebSocketSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            WebSocketSession session = createSession("session-" + i);
+            doAnswer(new Answer<Object>() {
+                @Override
+                public Object answer(InvocationOnMock invocation) throws Throwable {
+                    Thread.sleep(500L);
+                    return null;
+                }
+            }).when(session).sendMessage(message);
+
+            sessions.add(session);
+            handler.afterConnectionEstablished(session);
+        }
+
+        long start = System.currentTimeMillis();
+        Assert.assertTrue(handler.sendMessage(message));
+        Assert.assertTrue(System.currentTimeMillis() - start < 2000L);
+
+        for (WebSocketSession session : sessions) {
+            verify(session).sendMessage(message);
+        }
+    }
+
+    @Test
+    public void testSendAsync() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+            handler.setSendExecutor(executor);
+
+            WebSocketSession session = createSession("session-1");
+            handler.afterConnectionEstablished(session);
+
+            TextMessage message = new TextMessage("Hello");
+            Assert.assertTrue(handler.sendMessageAsync("session-1", message).get(5000L, TimeUnit.MILLISECONDS));
+            verify(session).sendMessage(message);
+
+            Assert.assertFalse(handler.sendMessageAsync("unknown", message).get(5000L, TimeUnit.MILLISECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentClients() throws Exception {
+        final int clients = 2000;
+        final int messagesPerClient = 20;
+        final int threads = 8;
+
+        final CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        final List<WebSocketSession> sessions = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            WebSocketSession session = createSession("session-" + i);
+            sessions.add(session);
+            handler.afterConnectionEstablished(session);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        try {
+            long start = System.nanoTime();
+
+            List<Future<?>> producers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t;
+                producers.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        for (int i = offset; i < clients; i += threads) {
+                            for (int m = 0; m < messagesPerClient; m++) {
+                                handler.handleMessage(sessions.get(i), new TextMessage(String.valueOf(m)));
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            final ConcurrentMap<String, List<Integer>> received = new ConcurrentHashMap<>();
+            final AtomicInteger remaining = new AtomicInteger(clients * messagesPerClient);
+            List<Future<?>> consumers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t;
+                consumers.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        // half of the consumers select messages by session id
+                        int next = offset;
+                        while (remaining.get() > 0) {
+                            CitrusWebSocketHandler.SessionMessage message;
+                            if (offset % 2 == 0) {
+                                message = handler.receive(100L);
+                            } else {
+                                message = handler.receive("session-" + next, 10L);
+                                next = (next + threads) % clients;
+                            }
+
+                            if (message != null) {
+                                remaining.decrementAndGet();
+                                List<Integer> messages = received.get(message.getSessionId());
+                                if (messages == null) {
+                                    List<Integer> newMessages = Collections.synchronizedList(new ArrayList<Integer>());
+                                    messages = received.putIfAbsent(message.getSessionId(), newMessages);
+                                    if (messages == null) {
+                                        messages = newMessages;
+                                    }
+                                }
+                                messages.add(Integer.valueOf(((TextMessage) message.getMessage()).getPayload()));
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> future : producers) {
+                future.get(60L, TimeUnit.SECONDS);
+            }
+
+            for (Future<?> future : consumers) {
+                future.get(60L, TimeUnit.SECONDS);
+            }
+
+            long receiveNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Future<Boolean>> senders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t;
+                senders.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        boolean sent = handler.sendMessage(new TextMessage("broadcast"));
+                        for (int i = offset; i < clients; i += threads) {
+                            sent &= handler.sendMessage("session-" + i, new TextMessage("targeted"));
+                        }
+                        return sent;
+                    }
+                }));
+            }
+
+            for (Future<Boolean> future : senders) {
+                Assert.assertTrue(future.get(60L, TimeUnit.SECONDS));
+            }
+
+            long sendNanos = System.nanoTime() - start;
+
+            log.info(String.format("Handled %d messages from %d concurrent clients in %dms, sent %d messages in %dms",
+                    clients * messagesPerClient, clients, TimeUnit.NANOSECONDS.toMillis(receiveNanos),
+                    clients * (threads + 1), TimeUnit.NANOSECONDS.toMillis(sendNanos)));
+
+            Assert.assertEquals(remaining.get(), 0L);
+            Assert.assertNull(handler.receive(0L));
+            Assert.assertEquals(received.size(), clients);
+            for (List<Integer> messages : received.values()) {
+                List<Integer> sorted = new ArrayList<>(messages);
+                Collections.sort(sorted);
+                Assert.assertEquals(sorted.size(), messagesPerClient);
+                for (int m = 0; m < messagesPerClient; m++) {
+                    Assert.assertEquals(sorted.get(m).intValue(), m);
+                }
+            }
+
+            for (WebSocketSession session : sessions) {
+                verify(session, times(threads + 1)).sendMessage(any(WebSocketMessage.class));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertMessage(CitrusWebSocketHandler.SessionMessage message, String sessionId, String payload) {
+        Assert.assertNotNull(message);
+        Assert.assertEquals(message.getSessionId(), sessionId);
+        Assert.assertEquals(message.getMessage().getPayload(), payload);
+    }
+
+    private WebSocketSession createSession(String id) {
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -22,15 +22,22 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.FileUtils;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.binary.Hex;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.ws.mime.Attachment;
 
 import javax.activation.DataHandler;
 import javax.activation.DataSource;
 import java.io.*;
+import java.lang.ref.*;
 import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Citrus SOAP attachment implementation.
@@ -45,6 +52,9 @@ public class SoapAttachment implements Attachment, Serializable {
     public static final String ENCODING_BASE64_BINARY = "base64Binary";
     public static final String ENCODING_HEX_BINARY = "hexBinary";
 
+    /** Size in bytes above which received attachment data is spooled to a temporary file */
+    public static final int SPOOL_THRESHOLD = 1024 * 1024;
+
     /** Content body as string */
     private String content = null;
 
@@ -79,26 +89,30 @@ public class SoapAttachment implements Attachment, Serializable {
     }
 
     /**
-     * Static construction method from Spring mime attachment.
+     * Static construction method from Spring mime attachment. Attachment data is not read until accessed. On first access
+     * the data is spooled to memory or to a temporary file when exceeding the spool threshold so the data can be read
+     * several times.
      * @param attachment
      * @return
      */
-    public static SoapAttachment from(Attachment attachment) {
+    public static SoapAttachment from(final Attachment attachment) {
         SoapAttachment soapAttachment = new SoapAttachment();
         soapAttachment.setContentId(attachment.getContentId());
         soapAttachment.setContentType(attachment.getContentType());
 
-        if (attachment.getContentType().startsWith("text")) {
-            try {
-                soapAttachment.setContent(FileUtils.readToString(attachment.getInputStream()).trim());
-            } catch (IOException e) {
-                throw new CitrusRuntimeException("Failed to read SOAP attachment content", e);
+        InputStreamSource attachmentData = new InputStreamSource() {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                if (attachment.getContentType().startsWith("text")) {
+                    return attachment.getInputStream();
+                } else {
+                    // Binary content
+                    return attachment.getDataHandler().getInputStream();
+                }
             }
-        } else {
-            // Binary content
-            soapAttachment.setDataHandler(attachment.getDataHandler());
-        }
+        };
 
+        soapAttachment.setDataHandler(new DataHandler(new SpooledDataSource(attachmentData, attachment.getContentType(), attachment.getContentId(), SPOOL_THRESHOLD)));
         soapAttachment.setCharsetName(Citrus.CITRUS_FILE_ENCODING);
 
         return soapAttachment;
@@ -161,6 +175,8 @@ public class SoapAttachment implements Attachment, Serializable {
         try {
             if (content != null) {
                 return getContent().getBytes(charsetName).length;
+            } else if (getDataHandler().getDataSource() instanceof SpooledDataSource) {
+                return ((SpooledDataSource) getDataHandler().getDataSource()).getSize();
             } else {
                 return getSizeOfContent(getDataHandler().getInputStream());
             }
@@ -171,13 +187,25 @@ public class SoapAttachment implements Attachment, Serializable {
         }
     }
 
+    /**
+     * Releases received attachment data. Temporary spool file of large attachment data is deleted immediately.
+     * Attachment data is read again from the original attachment on next access.
+     */
+    public void release() {
+        if (dataHandler != null && dataHandler.getDataSource() instanceof SpooledDataSource) {
+            ((SpooledDataSource) dataHandler.getDataSource()).release();
+        }
+    }
+
     @Override
     public String toString() {
-        return String.format("%s [contentId: %s, contentType: %s, content: %s]", getClass().getSimpleName().toUpperCase(), getContentId(), getContentType(), getContent());
+        return String.format("%s [contentId: %s, contentType: %s, content: %s]", getClass().getSimpleName().toUpperCase(), getContentId(), getContentType(),
+                content != null ? getContent() : String.format("%s bytes", getSize()));
     }
 
     /**
-     * Get the content body.
+     * Get the content body. Text content of data handler is trimmed. Binary content is encoded according to
+     * the encoding type.
      * @return the content
      */
     public String getContent() {
@@ -190,9 +218,16 @@ public class SoapAttachment implements Attachment, Serializable {
             } catch (IOException e) {
                 throw new CitrusRuntimeException("Failed to read SOAP attachment file resource", e);
             }
+        } else if (dataHandler != null && !(dataHandler.getDataSource() instanceof ContentDataSource) && getContentType().startsWith("text")) {
+            try {
+                String textContent = FileUtils.readToString(dataHandler.getInputStream(), Charset.forName(charsetName)).trim();
+                return context != null ? context.replaceDynamicContentInString(textContent) : textContent;
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read SOAP attachment content", e);
+            }
         } else {
             try {
-                byte[] binaryData = FileUtils.readToString(getDataHandler().getInputStream(), Charset.forName(charsetName)).getBytes(Charset.forName(charsetName));
+                byte[] binaryData = FileCopyUtils.copyToByteArray(getDataHandler().getInputStream());
                 if (encodingType.equals(SoapAttachment.ENCODING_BASE64_BINARY)) {
                     return Base64.encodeBase64String(binaryData);
                 } else if (encodingType.equals(SoapAttachment.ENCODING_HEX_BINARY)) {
@@ -312,11 +347,17 @@ public class SoapAttachment implements Attachment, Serializable {
      * @param is Read all data from stream to calculate size of the stream
      */
     private static long getSizeOfContent(InputStream is) throws IOException {
-        long size = 0;
-        while (is.read() != -1) {
-            size++;
+        try {
+            long size = 0;
+            byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                size += read;
+            }
+            return size;
+        } finally {
+            is.close();
         }
-        return size;
     }
 
     /**
@@ -373,4 +414,169 @@ public class SoapAttachment implements Attachment, Serializable {
             return new PathMatchingResourcePatternResolver().getResource(SoapAttachment.this.getContentResourcePath());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Data source working on received attachment. Attachment data is read once on first access and kept in memory
+     * up to the spool threshold. Larger data is spooled to a temporary file that is deleted on release. Spool files of data
+     * sources garbage collected without release are deleted on next spooling.
+     */
+    private static final class SpooledDataSource implements DataSource {
+        private final InputStreamSource source;
+        private final String contentType;
+        private final String name;
+        private final int threshold;
+
+        /** Spooled data */
+        private byte[] data;
+        private File file;
+        private long size = -1;
+
+        /** Reference deleting spool file in case data source is garbage collected without release */
+        private SpoolFileReference spoolFileReference;
+
+        /** Spool file references of data sources that have not been released yet */
+        private static final Set<SpoolFileReference> spoolFileReferences = Collections.newSetFromMap(new ConcurrentHashMap<SpoolFileReference, Boolean>());
+
+        /** Queue of references to garbage collected data sources */
+        private static final ReferenceQueue<SpooledDataSource> collectedDataSources = new ReferenceQueue<>();
+
+        SpooledDataSource(InputStreamSource source, String contentType, String name, int threshold) {
+            this.source = source;
+            this.contentType = contentType;
+            this.name = name;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (size < 0) {
+                spool();
+            }
+
+            return file != null ? new FileInputStream(file) : new ByteArrayInputStream(data);
+        }
+
+        /**
+         * Gets size of spooled data.
+         * @return
+         * @throws IOException
+         */
+        synchronized long getSize() throws IOException {
+            if (size < 0) {
+                spool();
+            }
+
+            return size;
+        }
+
+        /**
+         * Reads attachment data to memory buffer. Switches to temporary file as soon as data exceeds threshold.
+         * @throws IOException
+         */
+        private void spool() throws IOException {
+            deleteCollectedSpoolFiles();
+
+            InputStream in = source.getInputStream();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            OutputStream out = buffer;
+            File spoolFile = null;
+
+            try {
+                byte[] chunk = new byte[StreamUtils.BUFFER_SIZE];
+                long total = 0L;
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    if (spoolFile == null && total + read > threshold) {
+                        spoolFile = File.createTempFile("citrus-soap-attachment", ".tmp");
+
+                        out = new BufferedOutputStream(new FileOutputStream(spoolFile));
+                        buffer.writeTo(out);
+                        buffer = null;
+                    }
+
+                    out.write(chunk, 0, read);
+                    total += read;
+                }
+
+                out.close();
+
+                if (spoolFile != null) {
+                    file = spoolFile;
+                    spoolFileReference = new SpoolFileReference(this, spoolFile);
+                    spoolFileReferences.add(spoolFileReference);
+                } else {
+                    data = buffer.toByteArray();
+                }
+
+                size = total;
+            } catch (IOException e) {
+                if (spoolFile != null) {
+                    out.close();
+                    spoolFile.delete();
+                }
+                throw e;
+            } finally {
+                in.close();
+            }
+        }
+
+        /**
+         * Deletes temporary spool file and drops in memory data. Data is read again from source on next access.
+         */
+        synchronized void release() {
+            if (file != null) {
+                file.delete();
+            }
+
+            if (spoolFileReference != null) {
+                spoolFileReferences.remove(spoolFileReference);
+                spoolFileReference.clear();
+                spoolFileReference = null;
+            }
+
+            file = null;
+            data = null;
+            size = -1;
+        }
+
+        /**
+         * Deletes spool files of data sources that have been garbage collected without release.
+         */
+        static void deleteCollectedSpoolFiles() {
+            Reference<? extends SpooledDataSource> reference;
+            while ((reference = collectedDataSources.poll()) != null) {
+                SpoolFileReference spoolFileReference = (SpoolFileReference) reference;
+                spoolFileReferences.remove(spoolFileReference);
+                spoolFileReference.file.delete();
+            }
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Phantom reference to spooled data source remembering the spool file to delete once the data source
+     * has been garbage collected.
+     */
+    private static final class SpoolFileReference extends PhantomReference<SpooledDataSource> {
+        private final File file;
+
+        SpoolFileReference(SpooledDataSource dataSource, File file) {
+            super(dataSource, SpooledDataSource.collectedDataSources);
+            this.file = file;
+        }
+    }
+}
@@ -47,6 +47,7 @@ import javax.xml.soap.MimeHeader;
 import javax.xml.soap.MimeHeaders;
 import javax.xml.transform.*;
 import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
 import java.io.*;
 import java.net.URISyntaxException;
 import java.util.*;
@@ -63,7 +64,22 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(SoapMessageConverter.class);
-    
+
+    /** Thread bound identity transformers copying payload and header content */
+    private static final ThreadLocal<Transformer> transformers = new ThreadLocal<Transformer>() {
+        @Override
+        protected Transformer initialValue() {
+            return createTransformer(false);
+        }
+    };
+
+    private static final ThreadLocal<Transformer> fragmentTransformers = new ThreadLocal<Transformer>() {
+        @Override
+        protected Transformer initialValue() {
+            return createTransformer(true);
+        }
+    };
+
     @Override
     public WebServiceMessage convertOutbound(Message internalMessage, WebServiceEndpointConfiguration endpointConfiguration, TestContext context) {
         WebServiceMessage message = endpointConfiguration.getMessageFactory().createWebServiceMessage();
@@ -83,11 +99,8 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
         }
 
         // Copy payload into soap-body:
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-
         try {
-            Transformer transformer = transformerFactory.newTransformer();
-            transformer.transform(new StringSource(soapMessage.getPayload(String.class)), soapRequest.getSoapBody().getPayloadResult());
+            transformers.get().transform(getPayloadSource(message), soapRequest.getSoapBody().getPayloadResult());
         } catch (TransformerException e) {
             throw new CitrusRuntimeException("Failed to write SOAP body payload", e);
         }
@@ -119,9 +132,7 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
 
         for (String headerData : soapMessage.getHeaderData()) {
             try {
-                Transformer transformer = transformerFactory.newTransformer();
-                transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-                transformer.transform(new StringSource(headerData),
+                fragmentTransformers.get().transform(new StringSource(headerData),
                         soapRequest.getSoapHeader().getResult());
             } catch (TransformerException e) {
                 throw new CitrusRuntimeException("Failed to write SOAP header content", e);
@@ -146,6 +157,42 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
         }
     }
 
+    /**
+     * Gets payload source for writing the SOAP body. DOM node payloads are used directly and binary payloads are
+     * streamed so the parser detects the encoding from the XML declaration. All other payloads are converted to string.
+     * @param message
+     * @return
+     */
+    private Source getPayloadSource(Message message) {
+        Object payload = message.getPayload();
+        if (payload instanceof Node) {
+            return new DOMSource((Node) payload);
+        } else if (payload instanceof byte[]) {
+            return new StreamSource(new ByteArrayInputStream((byte[]) payload));
+        }
+
+        return new StringSource(message.getPayload(String.class));
+    }
+
+    /**
+     * Creates new identity transformer.
+     * @param omitXmlDeclaration
+     * @return
+     */
+    private static Transformer createTransformer(boolean omitXmlDeclaration) {
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+
+            if (omitXmlDeclaration) {
+                transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            }
+
+            return transformer;
+        } catch (TransformerConfigurationException e) {
+            throw new CitrusRuntimeException("Failed to create identity transformer", e);
+        }
+    }
+
     @Override
     public SoapMessage convertInbound(WebServiceMessage message, WebServiceEndpointConfiguration endpointConfiguration, TestContext context) {
         return convertInbound(message, null, endpointConfiguration);
@@ -162,10 +209,7 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
                 payload = bos.toString();
             } else if (webServiceMessage.getPayloadSource() != null) {
                 StringResult payloadResult = new StringResult();
-
-                TransformerFactory transformerFactory = TransformerFactory.newInstance();
-                Transformer transformer = transformerFactory.newTransformer();
-                transformer.transform(webServiceMessage.getPayloadSource(), payloadResult);
+                transformers.get().transform(webServiceMessage.getPayloadSource(), payloadResult);
 
                 payload = payloadResult.toString();
             }
@@ -293,9 +337,7 @@ public class SoapMessageConverter implements WebServiceMessageConverter {
 
                 if (soapHeader.getSource() != null) {
                     StringResult headerData = new StringResult();
-                    TransformerFactory transformerFactory = TransformerFactory.newInstance();
-                    Transformer transformer = transformerFactory.newTransformer();
-                    transformer.transform(soapHeader.getSource(), headerData);
+                    transformers.get().transform(soapHeader.getSource(), headerData);
 
                     message.addHeaderData(headerData.toString());
                 }
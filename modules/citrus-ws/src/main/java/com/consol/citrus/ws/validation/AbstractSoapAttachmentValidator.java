@@ -53,9 +53,14 @@ public abstract class AbstractSoapAttachmentValidator implements SoapAttachmentV
                 log.debug("Found attachment with contentId '" + controlAttachment.getContentId() + "'");
             }
 
-            validateAttachmentContentId(attachment, controlAttachment);
-            validateAttachmentContentType(attachment, controlAttachment);
-            validateAttachmentContent(attachment, controlAttachment);
+            try {
+                validateAttachmentContentId(attachment, controlAttachment);
+                validateAttachmentContentType(attachment, controlAttachment);
+                validateAttachmentContent(attachment, controlAttachment);
+            } finally {
+                // delete temporary spool files of large attachment data
+                attachment.release();
+            }
 
             log.info("SOAP attachment validation successful: All values OK");
         }
@@ -90,7 +95,9 @@ public abstract class AbstractSoapAttachmentValidator implements SoapAttachmentV
             }
         }
 
-        if (matching != null) {
+        if (matching instanceof SoapAttachment) {
+            return (SoapAttachment) matching;
+        } else if (matching != null) {
             return SoapAttachment.from(matching);
         } else {
             throw new ValidationException(String.format("Unable to find SOAP attachment with content id '%s'", controlAttachment.getContentId()));
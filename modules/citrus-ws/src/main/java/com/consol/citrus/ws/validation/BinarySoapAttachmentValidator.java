@@ -18,15 +18,17 @@ package com.consol.citrus.ws.validation;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.ws.message.SoapAttachment;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
- * Soap attachment validator performs binary content validation by comparing attachment content binary input streams.
+ * Soap attachment validator performs binary content validation by comparing attachment content binary input streams
+ * chunk by chunk.
  *
  * @author Christoph Deppisch
  * @since 2.1
@@ -43,7 +45,7 @@ public class BinarySoapAttachmentValidator extends AbstractSoapAttachmentValidat
         }
 
         try {
-            Assert.isTrue(IOUtils.contentEquals(receivedAttachment.getInputStream(), controlAttachment.getInputStream()),
+            Assert.isTrue(contentEquals(receivedAttachment.getInputStream(), controlAttachment.getInputStream()),
                     "Values not equal for binary attachment content '"
                             + controlAttachment.getContentId() + "'");
         } catch(IOException e) {
@@ -54,4 +56,64 @@ public class BinarySoapAttachmentValidator extends AbstractSoapAttachmentValidat
             log.debug("Validating binary SOAP attachment content: OK");
         }
     }
+
+    /**
+     * Compares both streams chunk by chunk so only two chunk buffers are held in memory. Closes both streams.
+     * @param received
+     * @param control
+     * @return
+     * @throws IOException
+     */
+    private boolean contentEquals(InputStream received, InputStream control) throws IOException {
+        try {
+            byte[] receivedChunk = new byte[StreamUtils.BUFFER_SIZE];
+            byte[] controlChunk = new byte[StreamUtils.BUFFER_SIZE];
+
+            while (true) {
+                int receivedLength = readChunk(received, receivedChunk);
+                int controlLength = readChunk(control, controlChunk);
+
+                if (receivedLength != controlLength) {
+                    return false;
+                }
+
+                if (receivedLength == 0) {
+                    return true;
+                }
+
+                for (int i = 0; i < receivedLength; i++) {
+                    if (receivedChunk[i] != controlChunk[i]) {
+                        return false;
+                    }
+                }
+            }
+        } finally {
+            closeQuietly(received);
+            closeQuietly(control);
+        }
+    }
+
+    /**
+     * Reads from stream until chunk is full or end of stream is reached.
+     * @param in
+     * @param chunk
+     * @return number of bytes read, zero at end of stream
+     * @throws IOException
+     */
+    private int readChunk(InputStream in, byte[] chunk) throws IOException {
+        int length = 0;
+        int read;
+        while (length < chunk.length && (read = in.read(chunk, length, chunk.length - length)) != -1) {
+            length += read;
+        }
+        return length;
+    }
+
+    private void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            log.warn("Failed to close binary SOAP attachment stream", e);
+        }
+    }
 }
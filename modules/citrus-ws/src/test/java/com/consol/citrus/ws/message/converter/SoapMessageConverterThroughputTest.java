@@ -0,0 +1,164 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.ws.message.converter;
+
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.testng.AllocationProbe;
+import com.consol.citrus.ws.client.WebServiceEndpointConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+import org.springframework.xml.transform.StringResult;
+import org.springframework.xml.transform.StringSource;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.xml.transform.TransformerFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures messages per second and heap allocation per message of SOAP message conversion with small and large payloads.
+ * Compares conversion with transformer factory lookup per message and conversion with cached transformers. Each message
+ * is converted outbound and back inbound.
+ *
+ * @author Christoph Deppisch
+ */
+@Test(groups = "benchmark")
+public class SoapMessageConverterThroughputTest extends AbstractTestNGUnitTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SoapMessageConverterThroughputTest.class);
+
+    private SoapMessageConverter messageConverter = new SoapMessageConverter();
+    private WebServiceEndpointConfiguration endpointConfiguration = new WebServiceEndpointConfiguration();
+
+    @BeforeClass
+    public void setupMessageFactory() throws Exception {
+        SaajSoapMessageFactory messageFactory = new SaajSoapMessageFactory();
+        messageFactory.afterPropertiesSet();
+        endpointConfiguration.setMessageFactory(messageFactory);
+    }
+
+    @Test
+    public void testConversionThroughput() throws Exception {
+        AllocationProbe allocationProbe = AllocationProbe.forCurrentThread();
+
+        StringBuilder results = new StringBuilder();
+        results.append(measure(createPayload(10), 2000, allocationProbe));
+        results.append(measure(createPayload(50000), 10, allocationProbe));
+
+        log.info("Converted SOAP messages outbound and inbound:" + results);
+    }
+
+    /**
+     * Measures conversion of given number of messages with transformer factory per message and cached transformers.
+     * @param payload
+     * @param messages
+     * @param allocationProbe
+     * @return
+     * @throws Exception
+     */
+    private String measure(String payload, int messages, AllocationProbe allocationProbe) throws Exception {
+        //warm up
+        convert(payload, false, messages / 2, allocationProbe);
+        convert(payload, true, messages / 2, allocationProbe);
+
+        Result factory = convert(payload, false, messages, allocationProbe);
+        Result cached = convert(payload, true, messages, allocationProbe);
+
+        return String.format("%n  %d bytes payload - transformer factory per message: %d msg/s, %dKB per message - cached transformer: %d msg/s, %dKB per message",
+                payload.length(),
+                factory.messagesPerSecond(messages), factory.allocatedPerMessage(messages) / 1024,
+                cached.messagesPerSecond(messages), cached.allocatedPerMessage(messages) / 1024);
+    }
+
+    /**
+     * Converts messages outbound and inbound and records time and bytes allocated by current thread.
+     * @param payload
+     * @param cachedTransformer
+     * @param messages
+     * @param allocationProbe
+     * @return
+     * @throws Exception
+     */
+    private Result convert(String payload, boolean cachedTransformer, int messages, AllocationProbe allocationProbe) throws Exception {
+        Result result = new Result();
+
+        for (int i = 0; i < messages; i++) {
+            Message message = new DefaultMessage(payload);
+
+            long allocated = allocationProbe.getAllocatedBytes();
+            long start = System.nanoTime();
+
+            String inbound;
+            if (cachedTransformer) {
+                WebServiceMessage webServiceMessage = messageConverter.convertOutbound(message, endpointConfiguration, context);
+                inbound = messageConverter.convertInbound(webServiceMessage, endpointConfiguration, context).getPayload(String.class);
+            } else {
+                inbound = convertWithFactoryPerMessage(message);
+            }
+
+            result.nanos += System.nanoTime() - start;
+            result.allocated += allocationProbe.getAllocatedBytes() - allocated;
+
+            Assert.assertTrue(inbound.endsWith("</ns0:Order>"));
+        }
+
+        return result;
+    }
+
+    /**
+     * Copies payload to SOAP body and back with new transformer factory lookup per transformation.
+     * @param message
+     * @return
+     * @throws Exception
+     */
+    private String convertWithFactoryPerMessage(Message message) throws Exception {
+        org.springframework.ws.soap.SoapMessage soapMessage = (org.springframework.ws.soap.SoapMessage) endpointConfiguration.getMessageFactory().createWebServiceMessage();
+        TransformerFactory.newInstance().newTransformer().transform(new StringSource(message.getPayload(String.class)), soapMessage.getSoapBody().getPayloadResult());
+
+        StringResult payloadResult = new StringResult();
+        TransformerFactory.newInstance().newTransformer().transform(soapMessage.getPayloadSource(), payloadResult);
+        return payloadResult.toString();
+    }
+
+    private String createPayload(int elements) {
+        StringBuilder builder = new StringBuilder("<ns0:Order xmlns:ns0=\"http://citrusframework.org/schemas/order\">");
+        for (int i = 0; i < elements; i++) {
+            builder.append("<ns0:Item id=\"").append(i).append("\">Item ").append(i).append("</ns0:Item>");
+        }
+        builder.append("</ns0:Order>");
+        return builder.toString();
+    }
+
+    private static final class Result {
+        private long nanos;
+        private long allocated;
+
+        long messagesPerSecond(int messages) {
+            return messages * TimeUnit.SECONDS.toNanos(1) / Math.max(nanos, 1L);
+        }
+
+        long allocatedPerMessage(int messages) {
+            return allocated / messages;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2006-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.ws.validation;
+
+import com.consol.citrus.testng.AllocationProbe;
+import com.consol.citrus.ws.message.SoapAttachment;
+import com.consol.citrus.ws.message.SoapMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ws.mime.Attachment;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.activation.DataHandler;
+import javax.activation.DataSource;
+import java.io.*;
+import java.util.*;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class BinarySoapAttachmentValidatorTest {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(BinarySoapAttachmentValidatorTest.class);
+
+    private static final long LARGE_ATTACHMENT_SIZE = 1024L * 1024L * 1024L;
+
+    private BinarySoapAttachmentValidator validator = new BinarySoapAttachmentValidator();
+
+    @Test
+    public void testBinaryValidation() throws IOException {
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(receivedAttachment(1024L, -1L));
+
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment(1024L)));
+    }
+
+    @Test
+    public void testBinaryValidationSpooledToFile() throws IOException {
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(receivedAttachment(SoapAttachment.SPOOL_THRESHOLD * 3L, -1L));
+
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment(SoapAttachment.SPOOL_THRESHOLD * 3L)));
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment(SoapAttachment.SPOOL_THRESHOLD * 3L)));
+    }
+
+    @Test
+    public void testSpoolFileDeletedAfterValidation() throws IOException {
+        SoapAttachment receivedAttachment = receivedAttachment(SoapAttachment.SPOOL_THRESHOLD * 3L, -1L);
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(receivedAttachment);
+
+        Set<File> spoolFiles = getSpoolFiles();
+        Assert.assertEquals(receivedAttachment.getSize(), SoapAttachment.SPOOL_THRESHOLD * 3L);
+
+        Set<File> createdFiles = getSpoolFiles();
+        createdFiles.removeAll(spoolFiles);
+        Assert.assertEquals(createdFiles.size(), 1L);
+
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment(SoapAttachment.SPOOL_THRESHOLD * 3L)));
+        Assert.assertFalse(createdFiles.iterator().next().exists());
+    }
+
+    @Test
+    public void testSpoolFileDeletedAfterGarbageCollection() throws Exception {
+        Set<File> spoolFiles = getSpoolFiles();
+        Assert.assertEquals(receivedAttachment(SoapAttachment.SPOOL_THRESHOLD * 3L, -1L).getSize(), SoapAttachment.SPOOL_THRESHOLD * 3L);
+
+        Set<File> createdFiles = getSpoolFiles();
+        createdFiles.removeAll(spoolFiles);
+        Assert.assertEquals(createdFiles.size(), 1L);
+        File spoolFile = createdFiles.iterator().next();
+
+        for (int i = 0; i < 20 && spoolFile.exists(); i++) {
+            System.gc();
+            Thread.sleep(50L);
+
+            // spooling of next attachment deletes spool files of collected attachments
+            SoapAttachment next = receivedAttachment(SoapAttachment.SPOOL_THRESHOLD * 3L, -1L);
+            next.getSize();
+            next.release();
+        }
+
+        Assert.assertFalse(spoolFile.exists());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBinaryValidationWrongContent() throws IOException {
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(receivedAttachment(SoapAttachment.SPOOL_THRESHOLD * 3L, SoapAttachment.SPOOL_THRESHOLD * 3L - 1L));
+
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment(SoapAttachment.SPOOL_THRESHOLD * 3L)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBinaryValidationWrongSize() throws IOException {
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(receivedAttachment(1024L, -1L));
+
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment(1025L)));
+    }
+
+    @Test(groups = "benchmark")
+    public void testLargeAttachmentValidation() throws IOException {
+        AllocationProbe allocationProbe = AllocationProbe.forCurrentThread();
+
+        long allocated = allocationProbe.getAllocatedBytes();
+        long start = System.currentTimeMillis();
+
+        SoapAttachment receivedAttachment = receivedAttachment(LARGE_ATTACHMENT_SIZE, -1L);
+        SoapMessage testMessage = new SoapMessage("Some Payload")
+                .addAttachment(receivedAttachment);
+
+        Assert.assertEquals(receivedAttachment.getSize(), LARGE_ATTACHMENT_SIZE);
+        validator.validateAttachment(testMessage, Collections.singletonList(controlAttachment(LARGE_ATTACHMENT_SIZE)));
+
+        allocated = allocationProbe.getAllocatedBytes() - allocated;
+
+        log.info(String.format("Validated %dMB binary SOAP attachment in %dms with %dKB heap allocation",
+                LARGE_ATTACHMENT_SIZE / 1024 / 1024, System.currentTimeMillis() - start, allocated / 1024));
+
+        Assert.assertTrue(allocated < 16L * SoapAttachment.SPOOL_THRESHOLD, "Heap allocation " + allocated + " exceeds limit");
+    }
+
+    /**
+     * Lists temporary attachment spool files.
+     * @return
+     */
+    private Set<File> getSpoolFiles() {
+        File[] files = new File(System.getProperty("java.io.tmpdir")).listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.startsWith("citrus-soap-attachment");
+            }
+        });
+
+        return files != null ? new HashSet<>(Arrays.asList(files)) : new HashSet<File>();
+    }
+
+    /**
+     * Creates received attachment from Spring mime attachment with generated binary content.
+     * @param size
+     * @param corruptAt position of wrong byte or negative value for valid content
+     * @return
+     * @throws IOException
+     */
+    private SoapAttachment receivedAttachment(final long size, final long corruptAt) throws IOException {
+        Attachment attachment = mock(Attachment.class);
+        when(attachment.getContentId()).thenReturn("binaryAttachment");
+        when(attachment.getContentType()).thenReturn("application/octet-stream");
+        when(attachment.getDataHandler()).thenReturn(new DataHandler(new GeneratedDataSource(size, corruptAt)));
+
+        return SoapAttachment.from(attachment);
+    }
+
+    /**
+     * Creates control attachment with generated binary content.
+     * @param size
+     * @return
+     */
+    private SoapAttachment controlAttachment(long size) {
+        SoapAttachment controlAttachment = new SoapAttachment();
+        controlAttachment.setContentId("binaryAttachment");
+        controlAttachment.setContentType("application/octet-stream");
+        controlAttachment.setDataHandler(new DataHandler(new GeneratedDataSource(size, -1L)));
+        return controlAttachment;
+    }
+
+    /**
+     * Data source generating deterministic binary content of given size without holding the content in memory.
+     */
+    private static class GeneratedDataSource implements DataSource {
+        private final long size;
+        private final long corruptAt;
+
+        GeneratedDataSource(long size, long corruptAt) {
+            this.size = size;
+            this.corruptAt = corruptAt;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new InputStream() {
+                private long position = 0L;
+
+                @Override
+                public int read() throws IOException {
+                    if (position >= size) {
+                        return -1;
+                    }
+
+                    return valueAt(position++) & 0xff;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    if (position >= size) {
+                        return -1;
+                    }
+
+                    int length = (int) Math.min(len, size - position);
+                    for (int i = 0; i < length; i++) {
+                        b[off + i] = valueAt(position++);
+                    }
+                    return length;
+                }
+            };
+        }
+
+        private byte valueAt(long position) {
+            byte value = (byte) (position * 31 + (position >>> 10));
+            return position == corruptAt ? (byte) ~value : value;
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/octet-stream";
+        }
+
+        @Override
+        public String getName() {
+            return "generated";
+        }
+    }
+}